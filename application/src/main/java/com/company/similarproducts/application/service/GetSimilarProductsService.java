@@ -3,44 +3,112 @@ package com.company.similarproducts.application.service;
 import com.company.similarproducts.domain.exception.ProductNotFoundException;
 import com.company.similarproducts.domain.model.Product;
 import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.domain.model.SimilarProducts;
+import com.company.similarproducts.domain.port.CachedProductPort;
+import com.company.similarproducts.domain.port.DegradedModePort;
+import com.company.similarproducts.domain.port.FanOutMetricsPort;
 import com.company.similarproducts.domain.port.GetSimilarProductsUseCase;
 import com.company.similarproducts.domain.port.LoadProductPort;
 import com.company.similarproducts.domain.port.LoadSimilarProductIdsPort;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Slf4j
-@RequiredArgsConstructor
 public class GetSimilarProductsService implements GetSimilarProductsUseCase {
 
+    /** Product loads running at once per request. */
+    static final int FAN_OUT_CONCURRENCY = 8;
+
+    /** Similar ids a request may have started past the first one not yet returned. */
+    static final int REORDER_WINDOW = 32;
+
     private final LoadProductPort loadProductPort;
     private final LoadSimilarProductIdsPort loadSimilarProductIdsPort;
+    private final CachedProductPort cachedProductPort;
+    private final DegradedModePort degradedModePort;
+    private final FanOutMetricsPort fanOutMetricsPort;
+
+    public GetSimilarProductsService(LoadProductPort loadProductPort,
+                                     LoadSimilarProductIdsPort loadSimilarProductIdsPort) {
+        this(loadProductPort, loadSimilarProductIdsPort, null, DegradedModePort.NEVER);
+    }
+
+    /**
+     * @param cachedProductPort cache-only lookups used while degraded, {@code null} to never degrade
+     */
+    public GetSimilarProductsService(LoadProductPort loadProductPort,
+                                     LoadSimilarProductIdsPort loadSimilarProductIdsPort,
+                                     CachedProductPort cachedProductPort,
+                                     DegradedModePort degradedModePort) {
+        this(loadProductPort, loadSimilarProductIdsPort, cachedProductPort, degradedModePort, FanOutMetricsPort.NONE);
+    }
+
+    /**
+     * @param fanOutMetricsPort records how much each request's fan-out had to reorder
+     */
+    public GetSimilarProductsService(LoadProductPort loadProductPort,
+                                     LoadSimilarProductIdsPort loadSimilarProductIdsPort,
+                                     CachedProductPort cachedProductPort,
+                                     DegradedModePort degradedModePort,
+                                     FanOutMetricsPort fanOutMetricsPort) {
+        this.loadProductPort = loadProductPort;
+        this.loadSimilarProductIdsPort = loadSimilarProductIdsPort;
+        this.cachedProductPort = cachedProductPort;
+        this.degradedModePort = degradedModePort;
+        this.fanOutMetricsPort = fanOutMetricsPort;
+    }
 
     @Override
-    public Mono<List<Product>> getSimilarProducts(ProductId productId) {
-        log.info("Getting similar products for: {}", productId);
+    public Mono<SimilarProducts> getSimilarProducts(ProductId productId) {
+        log.debug("Getting similar products for: {}", productId);
+
+        if (cachedProductPort != null && degradedModePort.isDegraded()) {
+            return getCachedSimilarProducts(productId);
+        }
 
         return loadProductPort.loadProduct(productId)
-                .switchIfEmpty(Mono.error(new ProductNotFoundException(productId)))
-                .flatMap(product -> {
-                    log.debug("Product {} found, loading similar IDs", productId);
-                    return loadSimilarProductIdsPort.loadSimilarProductIds(productId);
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(productId)))
+                .flatMapMany(product -> {
+                    log.debug("Product {} found, streaming similar IDs", productId);
+                    return loadSimilarProductIdsPort.streamSimilarProductIds(productId);
                 })
+                .transform(ids -> loadAll(ids, loadProductPort::loadSimilarProduct))
+                .collectList()
+                .doOnSuccess(products -> log.debug("Returning {} similar products", products.size()))
+                .map(SimilarProducts::complete);
+    }
+
+    /**
+     * Serves whatever is cached without touching the upstream API. The product itself must be
+     * cached; otherwise the answer is still a 404, as it cannot be told apart from an unknown id.
+     */
+    private Mono<SimilarProducts> getCachedSimilarProducts(ProductId productId) {
+        return cachedProductPort.findCachedProduct(productId)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(productId)))
+                .flatMap(product -> cachedProductPort.findCachedSimilarProductIds(productId))
                 .flatMapMany(Flux::fromIterable)
-                .filter(id -> id != null && id.value() != null && !id.value().isBlank())
-                .flatMap(
-                        id -> loadProductPort.loadProduct(id)
-                                .onErrorResume(e -> {
-                                    log.debug("Failed to load product {}: {}", id, e.getMessage());
-                                    return Mono.empty();
-                                }),
-                        8
-                )
+                .transform(ids -> loadAll(ids, cachedProductPort::findCachedProduct))
                 .collectList()
-                .doOnSuccess(products -> log.info("Returning {} similar products", products.size()));
+                .doOnSuccess(products -> log.debug("Returning {} cached similar products (degraded)", products.size()))
+                .map(SimilarProducts::degraded);
+    }
+
+    /**
+     * Loads concurrently but returns the products in the order of their ids, which is similarity
+     * order; see {@link OrderedFanOut}.
+     */
+    private Flux<Product> loadAll(Flux<ProductId> ids, Function<ProductId, Mono<Product>> loader) {
+        return OrderedFanOut.fanOut(
+                ids.filter(id -> id != null && id.value() != null && !id.value().isBlank()),
+                id -> loader.apply(id)
+                        .onErrorResume(e -> {
+                            log.debug("Failed to load product {}: {}", id, e.getMessage());
+                            return Mono.empty();
+                        }),
+                FAN_OUT_CONCURRENCY, REORDER_WINDOW, fanOutMetricsPort);
     }
 }
@@ -0,0 +1,282 @@
+package com.company.similarproducts.application.service;
+
+import com.company.similarproducts.domain.port.FanOutMetricsPort;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Concurrent fan-out that emits results in source order.
+ * <p>
+ * Up to {@code concurrency} loads run at once, as with {@code flatMap}. A load that completes
+ * ahead of an earlier one is held in a reorder buffer until everything before it is emitted.
+ * The buffer spans {@code window} source items from the oldest one not yet emitted, so while a
+ * slow load holds up the head, later loads keep starting until the window is full. With
+ * {@code flatMapSequential} the window is the concurrency itself: once the other slots have
+ * completed behind a slow head, nothing new starts until it finishes.
+ * <p>
+ * Loads that complete empty are skipped. The first error, from the source or a load, cancels
+ * everything still running and is propagated.
+ */
+public final class OrderedFanOut {
+
+    private static final Object EMPTY = new Object();
+
+    private OrderedFanOut() {
+    }
+
+    /**
+     * @param window reorder buffer size, at least {@code concurrency}
+     */
+    public static <T, R> Flux<R> fanOut(Flux<T> source, Function<? super T, ? extends Mono<? extends R>> loader,
+                                        int concurrency, int window, FanOutMetricsPort metrics) {
+        if (concurrency < 1 || window < concurrency) {
+            throw new IllegalArgumentException(
+                    "Expected 1 <= concurrency <= window but got " + concurrency + " and " + window);
+        }
+        return Flux.<R>create(sink -> source.subscribe(new Window<T, R>(sink, loader, concurrency, window, metrics)));
+    }
+
+    /**
+     * Source item {@code i} lives in slot {@code i % window}: first its running load, then its
+     * result until emitted. Requests to the source keep both the running loads and the occupied
+     * slots within bounds, so a slot is always free again before it is reused. All emission and
+     * requesting happens in {@link #drain()}, which one thread at a time runs.
+     */
+    private static final class Window<T, R> implements CoreSubscriber<T> {
+
+        private final FluxSink<R> sink;
+        private final Context context;
+        private final Function<? super T, ? extends Mono<? extends R>> loader;
+        private final int concurrency;
+        private final int window;
+        private final FanOutMetricsPort metrics;
+
+        private final AtomicReferenceArray<Object> slots;
+        private final long[] readyNanos;
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile Subscription upstream;
+        private volatile long received;
+        private volatile boolean upstreamDone;
+        private volatile boolean cancelled;
+
+        /** Owned by the draining thread. */
+        private long requested;
+        private long head;
+        private int peakBuffered;
+        private long maxWaitNanos;
+
+        Window(FluxSink<R> sink, Function<? super T, ? extends Mono<? extends R>> loader,
+               int concurrency, int window, FanOutMetricsPort metrics) {
+            this.sink = sink;
+            this.context = Context.of(sink.contextView());
+            this.loader = loader;
+            this.concurrency = concurrency;
+            this.window = window;
+            this.metrics = metrics;
+            this.slots = new AtomicReferenceArray<>(window);
+            this.readyNanos = metrics != FanOutMetricsPort.NONE ? new long[window] : null;
+        }
+
+        @Override
+        public Context currentContext() {
+            return context;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            upstream = subscription;
+            sink.onCancel(() -> {
+                cancelled = true;
+                drain();
+            });
+            sink.onRequest(ignored -> drain());
+        }
+
+        /**
+         * The slot holds the load before it is subscribed, since a load may complete within
+         * {@code subscribe}, and {@code received} counts it first so that drain looks at it.
+         */
+        @Override
+        public void onNext(T item) {
+            long index = received;
+            Mono<? extends R> load;
+            try {
+                load = Objects.requireNonNull(loader.apply(item), "The loader returned a null Mono");
+            } catch (Throwable e) {
+                upstream.cancel();
+                onError(e);
+                return;
+            }
+            Load inner = new Load((int) (index % window));
+            slots.set(inner.slot, inner);
+            received = index + 1;
+            load.subscribe(inner);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error.compareAndSet(null, e);
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    cancelAll();
+                    return;
+                }
+                Throwable e = error.get();
+                if (e != null) {
+                    cancelAll();
+                    sink.error(e);
+                    return;
+                }
+                emitReady();
+                if (upstreamDone && head == received) {
+                    metrics.recordFanOut(peakBuffered, maxWaitNanos);
+                    sink.complete();
+                    return;
+                }
+                if (!upstreamDone) {
+                    long admit = Math.min(concurrency - (requested - completed.get()), window - (requested - head));
+                    if (admit > 0) {
+                        requested += admit;
+                        upstream.request(admit);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void emitReady() {
+            long demand = sink.requestedFromDownstream();
+            long now = readyNanos != null ? System.nanoTime() : 0;
+            while (head < received) {
+                int slot = (int) (head % window);
+                Object result = slots.get(slot);
+                if (result instanceof Window<?, ?>.Load) {
+                    break;
+                }
+                if (result != EMPTY) {
+                    if (demand == 0) {
+                        break;
+                    }
+                    demand--;
+                }
+                slots.lazySet(slot, null);
+                if (readyNanos != null) {
+                    maxWaitNanos = Math.max(maxWaitNanos, now - readyNanos[slot]);
+                }
+                head++;
+                if (result != EMPTY) {
+                    sink.next((R) result);
+                }
+            }
+            if (readyNanos != null) {
+                peakBuffered = (int) Math.max(peakBuffered, completed.get() - head);
+            }
+        }
+
+        private void cancelAll() {
+            upstream.cancel();
+            for (int i = 0; i < window; i++) {
+                if (slots.get(i) instanceof Window<?, ?>.Load load) {
+                    load.cancel();
+                }
+            }
+        }
+
+        /**
+         * One running load; replaces itself in its slot with the result.
+         */
+        private final class Load implements CoreSubscriber<R> {
+
+            private final int slot;
+            private volatile Subscription subscription;
+            private boolean done;
+
+            Load(int slot) {
+                this.slot = slot;
+            }
+
+            @Override
+            public Context currentContext() {
+                return context;
+            }
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                if (cancelled) {
+                    s.cancel();
+                } else {
+                    s.request(Long.MAX_VALUE);
+                }
+            }
+
+            @Override
+            public void onNext(R value) {
+                done = true;
+                complete(value);
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                error.compareAndSet(null, e);
+                drain();
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    complete(EMPTY);
+                }
+            }
+
+            private void complete(Object result) {
+                if (readyNanos != null) {
+                    readyNanos[slot] = System.nanoTime();
+                }
+                slots.set(slot, result);
+                completed.incrementAndGet();
+                drain();
+            }
+
+            void cancel() {
+                Subscription s = subscription;
+                if (s != null) {
+                    s.cancel();
+                }
+            }
+        }
+    }
+}
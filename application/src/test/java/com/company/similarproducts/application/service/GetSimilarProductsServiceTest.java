@@ -3,18 +3,23 @@ package com.company.similarproducts.application.service;
 import com.company.similarproducts.domain.exception.ProductNotFoundException;
 import com.company.similarproducts.domain.model.Product;
 import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.domain.model.SimilarProducts;
+import com.company.similarproducts.domain.port.CachedProductPort;
 import com.company.similarproducts.domain.port.LoadProductPort;
 import com.company.similarproducts.domain.port.LoadSimilarProductIdsPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
+import reactor.test.publisher.TestPublisher;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -29,10 +34,12 @@ import static org.mockito.Mockito.*;
 @DisplayName("GetSimilarProductsService Tests")
 class GetSimilarProductsServiceTest {
 
-    @Mock
+    /** Real default methods, so similar products load through the stubbed {@code loadProduct}. */
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private LoadProductPort loadProductPort;
 
-    @Mock
+    /** Real default methods, so the streaming variant goes through the stubbed list. */
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private LoadSimilarProductIdsPort loadSimilarProductIdsPort;
 
     private GetSimilarProductsService service;
@@ -62,7 +69,7 @@ class GetSimilarProductsServiceTest {
         when(loadProductPort.loadProduct(similarId2)).thenReturn(Mono.just(similarProduct2));
 
         // When
-        List<Product> result = service.getSimilarProducts(productId).block();
+        List<Product> result = service.getSimilarProducts(productId).block().products();
 
         // Then
         assertThat(result)
@@ -73,6 +80,9 @@ class GetSimilarProductsServiceTest {
         verify(loadSimilarProductIdsPort).loadSimilarProductIds(productId);
         verify(loadProductPort).loadProduct(similarId1);
         verify(loadProductPort).loadProduct(similarId2);
+        verify(loadProductPort).loadSimilarProduct(similarId1);
+        verify(loadProductPort).loadSimilarProduct(similarId2);
+        verify(loadProductPort, never()).loadSimilarProduct(productId);
     }
 
     @Test
@@ -86,7 +96,7 @@ class GetSimilarProductsServiceTest {
         when(loadSimilarProductIdsPort.loadSimilarProductIds(productId)).thenReturn(Mono.just(List.of()));
 
         // When
-        List<Product> result = service.getSimilarProducts(productId).block();
+        List<Product> result = service.getSimilarProducts(productId).block().products();
 
         // Then
         assertThat(result).isEmpty();
@@ -139,7 +149,7 @@ class GetSimilarProductsServiceTest {
         when(loadProductPort.loadProduct(similarId3)).thenReturn(Mono.just(similarProduct3));
 
         // When
-        List<Product> result = service.getSimilarProducts(productId).block();
+        List<Product> result = service.getSimilarProducts(productId).block().products();
 
         // Then
         assertThat(result)
@@ -169,7 +179,7 @@ class GetSimilarProductsServiceTest {
         when(loadProductPort.loadProduct(similarId)).thenReturn(Mono.just(similarProduct));
 
         // When
-        List<Product> result = service.getSimilarProducts(productId).block();
+        List<Product> result = service.getSimilarProducts(productId).block().products();
 
         // Then
         assertThat(result)
@@ -200,7 +210,7 @@ class GetSimilarProductsServiceTest {
         );
 
         // When
-        List<Product> result = service.getSimilarProducts(productId).block();
+        List<Product> result = service.getSimilarProducts(productId).block().products();
 
         // Then
         assertThat(result).hasSize(4);
@@ -209,6 +219,59 @@ class GetSimilarProductsServiceTest {
         similarIds.forEach(id -> verify(loadProductPort).loadProduct(id));
     }
 
+    @Test
+    @DisplayName("Should return similar products in similarity order when later ones load first")
+    void shouldKeepSimilarityOrder() {
+        // Given
+        ProductId productId = new ProductId("1");
+        List<ProductId> similarIds = List.of(new ProductId("2"), new ProductId("3"), new ProductId("4"));
+        Product slow = createProduct("2", "Slow", "10.00");
+        Product medium = createProduct("3", "Medium", "20.00");
+        Product fast = createProduct("4", "Fast", "30.00");
+
+        when(loadProductPort.loadProduct(productId)).thenReturn(Mono.just(createProduct("1", "Main Product", "100.00")));
+        when(loadSimilarProductIdsPort.loadSimilarProductIds(productId)).thenReturn(Mono.just(similarIds));
+        when(loadProductPort.loadProduct(similarIds.get(0))).thenReturn(Mono.just(slow).delayElement(Duration.ofMillis(60)));
+        when(loadProductPort.loadProduct(similarIds.get(1))).thenReturn(Mono.just(medium).delayElement(Duration.ofMillis(30)));
+        when(loadProductPort.loadProduct(similarIds.get(2))).thenReturn(Mono.just(fast));
+
+        // When
+        List<Product> result = service.getSimilarProducts(productId).block().products();
+
+        // Then
+        assertThat(result).containsExactly(slow, medium, fast);
+    }
+
+    @Test
+    @DisplayName("Should start loading products before the similar IDs stream completes")
+    void shouldStartLoadingProductsBeforeSimilarIdsComplete() {
+        // Given
+        ProductId productId = new ProductId("1");
+        ProductId similarId1 = new ProductId("2");
+        ProductId similarId2 = new ProductId("3");
+        Product similarProduct1 = createProduct("2", "Similar Product 1", "90.00");
+        Product similarProduct2 = createProduct("3", "Similar Product 2", "110.00");
+        TestPublisher<ProductId> ids = TestPublisher.create();
+
+        when(loadProductPort.loadProduct(productId)).thenReturn(Mono.just(createProduct("1", "Main Product", "100.00")));
+        doReturn(ids.flux()).when(loadSimilarProductIdsPort).streamSimilarProductIds(productId);
+        when(loadProductPort.loadProduct(similarId1)).thenReturn(Mono.just(similarProduct1));
+        when(loadProductPort.loadProduct(similarId2)).thenReturn(Mono.just(similarProduct2));
+
+        // When / Then
+        StepVerifier.create(service.getSimilarProducts(productId))
+                .then(() -> {
+                    ids.next(similarId1);
+                    verify(loadProductPort).loadProduct(similarId1);
+                    ids.next(similarId2).complete();
+                })
+                .assertNext(result -> assertThat(result.products())
+                        .containsExactlyInAnyOrder(similarProduct1, similarProduct2))
+                .verifyComplete();
+
+        verify(loadSimilarProductIdsPort, never()).loadSimilarProductIds(any());
+    }
+
     @Test
     @DisplayName("Should use constructor injection")
     void shouldUseConstructorInjection() {
@@ -233,13 +296,103 @@ class GetSimilarProductsServiceTest {
         when(loadSimilarProductIdsPort.loadSimilarProductIds(productId)).thenReturn(Mono.just(List.of()));
 
         // When
-        List<Product> result = service.getSimilarProducts(productId).block();
+        List<Product> result = service.getSimilarProducts(productId).block().products();
 
         // Then
         assertThat(result).isNotNull();
         // List.of() and .toList() return immutable lists
     }
 
+    @Test
+    @DisplayName("Should serve only cached products without calling upstream ports when degraded")
+    void shouldServeCachedProductsWhenDegraded() {
+        // Given
+        CachedProductPort cachedProductPort = mock(CachedProductPort.class);
+        GetSimilarProductsService degradedService = new GetSimilarProductsService(
+                loadProductPort, loadSimilarProductIdsPort, cachedProductPort, () -> true);
+
+        ProductId productId = new ProductId("1");
+        ProductId cachedId = new ProductId("2");
+        ProductId uncachedId = new ProductId("3");
+        Product cachedProduct = createProduct("2", "Cached Product", "90.00");
+
+        when(cachedProductPort.findCachedProduct(productId))
+                .thenReturn(Mono.just(createProduct("1", "Main Product", "100.00")));
+        when(cachedProductPort.findCachedSimilarProductIds(productId))
+                .thenReturn(Mono.just(List.of(cachedId, uncachedId)));
+        when(cachedProductPort.findCachedProduct(cachedId)).thenReturn(Mono.just(cachedProduct));
+        when(cachedProductPort.findCachedProduct(uncachedId)).thenReturn(Mono.empty());
+
+        // When
+        SimilarProducts result = degradedService.getSimilarProducts(productId).block();
+
+        // Then
+        assertThat(result.degraded()).isTrue();
+        assertThat(result.products()).containsExactly(cachedProduct);
+        verifyNoInteractions(loadProductPort, loadSimilarProductIdsPort);
+    }
+
+    @Test
+    @DisplayName("Should return an empty degraded result when similar IDs are not cached")
+    void shouldReturnEmptyDegradedResultWhenSimilarIdsNotCached() {
+        // Given
+        CachedProductPort cachedProductPort = mock(CachedProductPort.class);
+        GetSimilarProductsService degradedService = new GetSimilarProductsService(
+                loadProductPort, loadSimilarProductIdsPort, cachedProductPort, () -> true);
+        ProductId productId = new ProductId("1");
+
+        when(cachedProductPort.findCachedProduct(productId))
+                .thenReturn(Mono.just(createProduct("1", "Main Product", "100.00")));
+        when(cachedProductPort.findCachedSimilarProductIds(productId)).thenReturn(Mono.empty());
+
+        // When
+        SimilarProducts result = degradedService.getSimilarProducts(productId).block();
+
+        // Then
+        assertThat(result.degraded()).isTrue();
+        assertThat(result.products()).isEmpty();
+        verifyNoInteractions(loadProductPort, loadSimilarProductIdsPort);
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when degraded and the product is not cached")
+    void shouldThrowNotFoundWhenDegradedAndProductNotCached() {
+        // Given
+        CachedProductPort cachedProductPort = mock(CachedProductPort.class);
+        GetSimilarProductsService degradedService = new GetSimilarProductsService(
+                loadProductPort, loadSimilarProductIdsPort, cachedProductPort, () -> true);
+        ProductId productId = new ProductId("999");
+
+        when(cachedProductPort.findCachedProduct(productId)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(degradedService.getSimilarProducts(productId))
+                .expectError(ProductNotFoundException.class)
+                .verify();
+        verify(cachedProductPort, never()).findCachedSimilarProductIds(any());
+        verifyNoInteractions(loadProductPort, loadSimilarProductIdsPort);
+    }
+
+    @Test
+    @DisplayName("Should use upstream ports and not flag the result when not degraded")
+    void shouldUseUpstreamPortsWhenNotDegraded() {
+        // Given
+        CachedProductPort cachedProductPort = mock(CachedProductPort.class);
+        GetSimilarProductsService normalService = new GetSimilarProductsService(
+                loadProductPort, loadSimilarProductIdsPort, cachedProductPort, () -> false);
+        ProductId productId = new ProductId("1");
+
+        when(loadProductPort.loadProduct(productId)).thenReturn(Mono.just(createProduct("1", "Main Product", "100.00")));
+        when(loadSimilarProductIdsPort.loadSimilarProductIds(productId)).thenReturn(Mono.just(List.of()));
+
+        // When
+        SimilarProducts result = normalService.getSimilarProducts(productId).block();
+
+        // Then
+        assertThat(result.degraded()).isFalse();
+        verifyNoInteractions(cachedProductPort);
+    }
+
     // Helper method to create test products
     private Product createProduct(String id, String name, String price) {
         return Product.builder()
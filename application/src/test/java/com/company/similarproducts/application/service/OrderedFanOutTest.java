@@ -0,0 +1,132 @@
+package com.company.similarproducts.application.service;
+
+import com.company.similarproducts.domain.port.FanOutMetricsPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OrderedFanOut Tests")
+class OrderedFanOutTest {
+
+    @Test
+    @DisplayName("Should emit in source order when later loads complete first")
+    void shouldEmitInSourceOrder() {
+        StepVerifier.withVirtualTime(() -> OrderedFanOut.fanOut(Flux.range(1, 5),
+                        i -> Mono.just(i).delayElement(Duration.ofMillis(60 - i * 10L)), 8, 8, FanOutMetricsPort.NONE))
+                .thenAwait(Duration.ofMillis(60))
+                .expectNext(1, 2, 3, 4, 5)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should skip loads that complete empty")
+    void shouldSkipEmptyLoads() {
+        StepVerifier.create(OrderedFanOut.fanOut(Flux.range(1, 6),
+                        i -> i % 2 == 0 ? Mono.<Integer>empty() : Mono.just(i), 2, 4, FanOutMetricsPort.NONE))
+                .expectNext(1, 3, 5)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should run no more than the configured number of loads at once")
+    void shouldBoundConcurrency() {
+        List<Sinks.One<Integer>> loads = pending(10);
+        AtomicInteger started = new AtomicInteger();
+
+        StepVerifier.create(OrderedFanOut.fanOut(Flux.range(0, 10),
+                        i -> loads.get(i).asMono().doOnSubscribe(s -> started.incrementAndGet()), 3, 10, FanOutMetricsPort.NONE))
+                .then(() -> assertThat(started).hasValue(3))
+                .then(() -> loads.get(1).tryEmitValue(1))
+                .then(() -> assertThat(started).hasValue(4))
+                .then(() -> IntStream.range(0, 10).forEach(i -> loads.get(i).tryEmitValue(i)))
+                .expectNextCount(10)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep loading behind a slow head until the reorder window is full")
+    void shouldKeepLoadingBehindSlowHead() {
+        Sinks.One<Integer> head = Sinks.one();
+        AtomicInteger started = new AtomicInteger();
+        List<Integer> peaks = new ArrayList<>();
+
+        StepVerifier.create(OrderedFanOut.fanOut(Flux.range(0, 10),
+                        i -> (i == 0 ? head.asMono() : Mono.just(i)).doOnSubscribe(s -> started.incrementAndGet()),
+                        2, 4, (peak, waitNanos) -> peaks.add(peak)))
+                .then(() -> assertThat(started).hasValue(4))
+                .then(() -> head.tryEmitValue(0))
+                .expectNext(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)
+                .verifyComplete();
+
+        assertThat(peaks).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Should hold back no more than the downstream requested")
+    void shouldRespectDownstreamDemand() {
+        StepVerifier.create(OrderedFanOut.fanOut(Flux.range(0, 10), Mono::just, 2, 4, FanOutMetricsPort.NONE), 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(10))
+                .thenRequest(3)
+                .expectNext(0, 1, 2)
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(7)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should propagate the first load error and cancel the other loads")
+    void shouldPropagateErrorAndCancelLoads() {
+        AtomicInteger cancelled = new AtomicInteger();
+        Sinks.One<Integer> failing = Sinks.one();
+
+        StepVerifier.create(OrderedFanOut.fanOut(Flux.range(0, 4),
+                        i -> i == 2 ? failing.asMono() : Mono.<Integer>never().doOnCancel(cancelled::incrementAndGet),
+                        4, 4, FanOutMetricsPort.NONE))
+                .then(() -> failing.tryEmitError(new IllegalStateException("boom")))
+                .verifyErrorMessage("boom");
+
+        assertThat(cancelled).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should cancel running loads when the downstream cancels")
+    void shouldCancelLoadsOnCancel() {
+        AtomicInteger cancelled = new AtomicInteger();
+
+        StepVerifier.create(OrderedFanOut.fanOut(Flux.range(0, 4),
+                        i -> Mono.<Integer>never().doOnCancel(cancelled::incrementAndGet), 2, 4, FanOutMetricsPort.NONE))
+                .expectSubscription()
+                .expectNoEvent(Duration.ZERO)
+                .thenCancel()
+                .verify();
+
+        assertThat(cancelled).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a reorder window smaller than the concurrency")
+    void shouldRejectWindowSmallerThanConcurrency() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                OrderedFanOut.fanOut(Flux.range(0, 1), Mono::just, 8, 4, FanOutMetricsPort.NONE));
+    }
+
+    private static List<Sinks.One<Integer>> pending(int count) {
+        List<Sinks.One<Integer>> loads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            loads.add(Sinks.one());
+        }
+        return loads;
+    }
+}
@@ -1,13 +1,16 @@
 package com.company.similarproducts;
 
+import com.company.similarproducts.infrastructure.config.JsonRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * Spring Boot Application - Entry point.
  * Scans all infrastructure adapters and configuration.
  */
 @SpringBootApplication(scanBasePackages = "com.company.similarproducts")
+@ImportRuntimeHints(JsonRuntimeHints.class)
 public class SimilarProductsApplication {
 
     public static void main(String[] args) {
@@ -1,9 +1,13 @@
 package com.company.similarproducts.config;
 
 import com.company.similarproducts.application.service.GetSimilarProductsService;
+import com.company.similarproducts.domain.port.CachedProductPort;
+import com.company.similarproducts.domain.port.DegradedModePort;
+import com.company.similarproducts.domain.port.FanOutMetricsPort;
 import com.company.similarproducts.domain.port.GetSimilarProductsUseCase;
 import com.company.similarproducts.domain.port.LoadProductPort;
 import com.company.similarproducts.domain.port.LoadSimilarProductIdsPort;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -19,12 +23,19 @@ public class ApplicationConfig {
      * Creates the Use Case implementation.
      * Application service depends on domain ports (interfaces).
      * Infrastructure adapters implement those ports.
+     * The cache-only ports are optional: without them degraded mode is never entered.
+     * Without a fan-out metrics port, reordering is not recorded.
      */
     @Bean
     public GetSimilarProductsUseCase getSimilarProductsUseCase(
             LoadProductPort loadProductPort,
-            LoadSimilarProductIdsPort loadSimilarProductIdsPort) {
-        
-        return new GetSimilarProductsService(loadProductPort, loadSimilarProductIdsPort);
+            LoadSimilarProductIdsPort loadSimilarProductIdsPort,
+            ObjectProvider<CachedProductPort> cachedProductPort,
+            ObjectProvider<DegradedModePort> degradedModePort,
+            ObjectProvider<FanOutMetricsPort> fanOutMetricsPort) {
+
+        return new GetSimilarProductsService(loadProductPort, loadSimilarProductIdsPort,
+                cachedProductPort.getIfAvailable(), degradedModePort.getIfAvailable(() -> DegradedModePort.NEVER),
+                fanOutMetricsPort.getIfAvailable(() -> FanOutMetricsPort.NONE));
     }
 }
@@ -0,0 +1,46 @@
+package com.company.similarproducts.warmup;
+
+import com.company.similarproducts.domain.port.GetSimilarProductsUseCase;
+import com.company.similarproducts.infrastructure.adapter.rest.codec.ProductResponseEncoder;
+import com.company.similarproducts.infrastructure.adapter.rest.mapper.ProductRestMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Warm-up before readiness: caches, JIT and the upstream connection pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "warm-up", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class WarmUpConfig {
+
+    @Bean
+    public WarmUpRunner warmUpRunner(GetSimilarProductsUseCase getSimilarProductsUseCase,
+                                     ProductRestMapper productRestMapper,
+                                     ObjectMapper objectMapper,
+                                     ObjectProvider<ProductResponseEncoder> responseEncoder,
+                                     ObjectProvider<WebClient> webClient,
+                                     @Value("${external-apis.product-service.client:reactive}") String clientMode,
+                                     WarmUpProperties properties,
+                                     MeterRegistry meterRegistry) {
+        // The pool only matters for the reactive client; virtual-thread mode uses the JDK HttpClient.
+        WebClient upstream = "reactive".equals(clientMode) ? webClient.getIfAvailable() : null;
+        WarmUpRunner runner = new WarmUpRunner(getSimilarProductsUseCase, productRestMapper, objectMapper,
+                responseEncoder.getIfAvailable(), upstream, properties);
+
+        Gauge.builder("warmup.requests", runner, r -> r.getReport() != null ? r.getReport().requests() : 0)
+                .register(meterRegistry);
+        Gauge.builder("warmup.duration", runner, r -> r.getReport() != null ? r.getReport().elapsedMillis() : 0)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return runner;
+    }
+}
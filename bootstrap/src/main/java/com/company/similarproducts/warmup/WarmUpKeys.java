@@ -0,0 +1,72 @@
+package com.company.similarproducts.warmup;
+
+import com.company.similarproducts.infrastructure.adapter.rest.capture.TrafficLogFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the product ids to warm up from configuration, a key file and a traffic capture.
+ */
+final class WarmUpKeys {
+
+    private static final Pattern SIMILAR_PATH = Pattern.compile("^/product/([^/?]+)/similar");
+
+    private WarmUpKeys() {
+    }
+
+    static List<String> load(WarmUpProperties properties) throws IOException {
+        Set<String> keys = new LinkedHashSet<>();
+        properties.getProductIds().stream()
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .forEach(keys::add);
+        if (properties.getKeyFile() != null) {
+            keys.addAll(fromKeyFile(properties.getKeyFile()));
+        }
+        if (properties.getCaptureFile() != null) {
+            keys.addAll(fromCapture(properties.getCaptureFile(), properties.getMaxKeys()));
+        }
+        return keys.stream().limit(properties.getMaxKeys()).toList();
+    }
+
+    static List<String> fromKeyFile(Path file) throws IOException {
+        try (var lines = Files.lines(file)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} product ids, most requested first
+     */
+    static List<String> fromCapture(Path file, int limit) throws IOException {
+        Map<String, Integer> counts = new HashMap<>();
+        try (InputStream in = Files.newInputStream(file);
+             TrafficLogFormat.Reader reader = TrafficLogFormat.reader(in)) {
+            for (TrafficLogFormat.TrafficRecord record = reader.next(); record != null; record = reader.next()) {
+                Matcher matcher = SIMILAR_PATH.matcher(record.path());
+                if (matcher.find()) {
+                    counts.merge(matcher.group(1), 1, Integer::sum);
+                }
+            }
+        }
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
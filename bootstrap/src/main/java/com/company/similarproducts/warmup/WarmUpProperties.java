@@ -0,0 +1,56 @@
+package com.company.similarproducts.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warm-up run before the application reports readiness.
+ */
+@Data
+@ConfigurationProperties(prefix = "warm-up")
+public class WarmUpProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Product ids to replay, in addition to those from {@code key-file} and {@code capture-file}.
+     */
+    private List<String> productIds = new ArrayList<>();
+
+    /**
+     * Text file with one product id per line; blank lines and {@code #} comments are ignored.
+     */
+    private Path keyFile;
+
+    /**
+     * Traffic capture log (see {@code traffic-capture}); its most requested product ids are replayed.
+     */
+    private Path captureFile;
+
+    /**
+     * Upper bound on distinct product ids replayed.
+     */
+    private int maxKeys = 1_000;
+
+    /**
+     * Passes over the key list; later passes hit warm caches and exercise the steady-state path.
+     */
+    private int rounds = 20;
+
+    private int concurrency = 16;
+
+    /**
+     * Hard limit for the whole warm-up; readiness is reported once it is spent even if rounds remain.
+     */
+    private Duration timeBudget = Duration.ofSeconds(30);
+
+    /**
+     * Upstream connections opened concurrently at the end so the pool is warm, 0 to skip.
+     */
+    private int upstreamConnections = 32;
+}
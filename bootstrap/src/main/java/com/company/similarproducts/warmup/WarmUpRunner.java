@@ -0,0 +1,188 @@
+package com.company.similarproducts.warmup;
+
+import com.company.similarproducts.domain.exception.ProductNotFoundException;
+import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.domain.port.GetSimilarProductsUseCase;
+import com.company.similarproducts.infrastructure.adapter.rest.codec.ProductResponseEncoder;
+import com.company.similarproducts.infrastructure.adapter.rest.dto.ProductResponse;
+import com.company.similarproducts.infrastructure.adapter.rest.mapper.ProductRestMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBufAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays hot product ids through the real use case and the JSON encoding before traffic arrives.
+ * <p>
+ * Application runners complete before Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC},
+ * so {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} until this run has finished
+ * or its time budget is spent. The first round fills the caches; the following rounds give the JIT
+ * the steady-state cache-hit path. Finally a burst of concurrent upstream requests leaves that many
+ * connections open in the pool.
+ */
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner, InfoContributor {
+
+    private final GetSimilarProductsUseCase useCase;
+    private final ProductRestMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final ProductResponseEncoder responseEncoder;
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+    private final WebClient upstream;
+    private final WarmUpProperties properties;
+
+    private volatile WarmUpReport report;
+
+    /**
+     * @param responseEncoder encoder of the responses when it replaces Jackson, {@code null} otherwise
+     * @param upstream        upstream WebClient whose pool is pre-filled, {@code null} to skip that step
+     */
+    public WarmUpRunner(GetSimilarProductsUseCase useCase, ProductRestMapper mapper, ObjectMapper objectMapper,
+                        ProductResponseEncoder responseEncoder, WebClient upstream, WarmUpProperties properties) {
+        this.useCase = useCase;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.responseEncoder = responseEncoder;
+        this.upstream = upstream;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        List<String> keys = WarmUpKeys.load(properties);
+        if (keys.isEmpty()) {
+            log.info("Warm-up skipped: no product ids configured");
+            return;
+        }
+        report = warmUp(keys);
+        log.info("Warm-up finished: {}", report);
+    }
+
+    WarmUpReport warmUp(List<String> keys) {
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeBudget().toNanos();
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        double firstRoundMillis = 0;
+        double lastRoundMillis = 0;
+        int rounds = 0;
+        boolean budgetExhausted = false;
+
+        while (rounds < properties.getRounds()) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                budgetExhausted = true;
+                break;
+            }
+            long roundStart = System.nanoTime();
+            try {
+                Flux.fromIterable(keys)
+                        .flatMap(id -> replay(id, errors).doFinally(signal -> requests.incrementAndGet()),
+                                properties.getConcurrency())
+                        .then()
+                        .block(Duration.ofNanos(left));
+            } catch (IllegalStateException timeout) {
+                budgetExhausted = true;
+                break;
+            }
+            double roundMillis = (System.nanoTime() - roundStart) / 1_000_000.0;
+            if (rounds == 0) {
+                firstRoundMillis = roundMillis;
+            }
+            lastRoundMillis = roundMillis;
+            rounds++;
+        }
+
+        int connections = budgetExhausted ? 0 : openUpstreamConnections(keys.get(0), deadline);
+        return new WarmUpReport(keys.size(), rounds, requests.get(), errors.get(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                firstRoundMillis, lastRoundMillis, connections, budgetExhausted);
+    }
+
+    private Mono<byte[]> replay(String id, AtomicLong errors) {
+        return useCase.getSimilarProducts(new ProductId(id))
+                .map(result -> encode(result.products().stream().map(mapper::toResponse).toList()))
+                .onErrorResume(ProductNotFoundException.class, e -> Mono.empty())
+                .onErrorResume(e -> {
+                    errors.incrementAndGet();
+                    log.debug("Warm-up request for {} failed: {}", id, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Encodes the way the server does: with the direct encoder into a pooled buffer when it is
+     * registered, otherwise with Jackson.
+     */
+    private byte[] encode(List<ProductResponse> response) {
+        if (responseEncoder != null) {
+            DataBuffer buffer = responseEncoder.encode(response, bufferFactory);
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            return bytes;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Issues {@code upstreamConnections} concurrent uncached requests; each needs its own pooled connection.
+     */
+    private int openUpstreamConnections(String probeId, long deadline) {
+        int count = properties.getUpstreamConnections();
+        long left = deadline - System.nanoTime();
+        if (upstream == null || count <= 0 || left <= 0) {
+            return 0;
+        }
+        try {
+            Long opened = Flux.range(0, count)
+                    .flatMap(i -> upstream.get()
+                            .uri("/product/{productId}", probeId)
+                            .exchangeToMono(response -> response.releaseBody().thenReturn(1))
+                            .onErrorResume(e -> Mono.empty()), count)
+                    .count()
+                    .block(Duration.ofNanos(left));
+            return opened != null ? opened.intValue() : 0;
+        } catch (IllegalStateException timeout) {
+            return 0;
+        }
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        if (report != null) {
+            builder.withDetail("warmUp", report);
+        }
+    }
+
+    WarmUpReport getReport() {
+        return report;
+    }
+
+    /**
+     * Outcome of the warm-up; round durations show how much faster the warmed path got.
+     */
+    public record WarmUpReport(int keys, int rounds, long requests, long errors, long elapsedMillis,
+                               double firstRoundMillis, double lastRoundMillis,
+                               int upstreamConnections, boolean budgetExhausted) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.similarproducts.integration.component;
+
+import com.company.similarproducts.SimilarProductsApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+/**
+ * The admin endpoints documented in the README, called over HTTP with the shipped exposure
+ * settings. None of them needs the upstream service.
+ */
+@DisplayName("Actuator Endpoints Tests")
+@SpringBootTest(
+        classes = SimilarProductsApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "external-apis.product-service.base-url=http://localhost:9"
+)
+class ActuatorEndpointsTest {
+
+    @LocalServerPort
+    private int port;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should list the hot keys of the client caches at /actuator/hotkeys")
+    void shouldExposeHotKeys() {
+        webTestClient.get()
+                .uri("/actuator/hotkeys")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products.pinned").isEqualTo(0)
+                .jsonPath("$.similarIds.top").isArray();
+    }
+}
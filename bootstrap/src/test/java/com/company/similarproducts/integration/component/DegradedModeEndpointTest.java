@@ -0,0 +1,74 @@
+package com.company.similarproducts.integration.component;
+
+import com.company.similarproducts.SimilarProductsApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The manual degraded mode override documented in the README, called over HTTP with the shipped
+ * exposure settings and degraded mode enabled.
+ */
+@DisplayName("Degraded Mode Endpoint Tests")
+@SpringBootTest(
+        classes = SimilarProductsApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "external-apis.product-service.base-url=http://localhost:9",
+                "degraded-mode.enabled=true"
+        }
+)
+class DegradedModeEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        setMode("AUTO").expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Should force degraded mode on with POST /actuator/degradedmode")
+    void shouldForceDegradedModeOverHttp() {
+        setMode("ON")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.mode").isEqualTo("ON")
+                .jsonPath("$.degraded").isEqualTo(true);
+
+        webTestClient.get()
+                .uri("/actuator/degradedmode")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.mode").isEqualTo("ON")
+                .jsonPath("$.pendingFills").isEqualTo(0);
+    }
+
+    private WebTestClient.ResponseSpec setMode(String mode) {
+        return webTestClient.post()
+                .uri("/actuator/degradedmode")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("mode", mode))
+                .exchange();
+    }
+}
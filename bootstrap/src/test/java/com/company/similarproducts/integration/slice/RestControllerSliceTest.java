@@ -3,6 +3,7 @@ package com.company.similarproducts.integration.slice;
 import com.company.similarproducts.domain.exception.ProductNotFoundException;
 import com.company.similarproducts.domain.model.Product;
 import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.domain.model.SimilarProducts;
 import com.company.similarproducts.domain.port.GetSimilarProductsUseCase;
 import com.company.similarproducts.infrastructure.adapter.rest.SimilarProductsRestController;
 import com.company.similarproducts.infrastructure.adapter.rest.mapper.ProductRestMapper;
@@ -42,7 +43,7 @@ class RestControllerSliceTest {
         );
 
         when(getSimilarProductsUseCase.getSimilarProducts(any(ProductId.class)))
-                .thenReturn(Mono.just(mockProducts));
+                .thenReturn(Mono.just(SimilarProducts.complete(mockProducts)));
 
         webTestClient.get()
                 .uri("/product/1/similar")
@@ -63,7 +64,7 @@ class RestControllerSliceTest {
     @Test
     void shouldReturnEmptyListWhenNoSimilarProducts() {
         when(getSimilarProductsUseCase.getSimilarProducts(any(ProductId.class)))
-                .thenReturn(Mono.just(List.of()));
+                .thenReturn(Mono.just(SimilarProducts.complete(List.of())));
 
         webTestClient.get()
                 .uri("/product/1/similar")
@@ -122,7 +123,7 @@ class RestControllerSliceTest {
     @Test
     void shouldHandleSpecialCharactersInProductId() {
         when(getSimilarProductsUseCase.getSimilarProducts(any(ProductId.class)))
-                .thenReturn(Mono.just(List.of()));
+                .thenReturn(Mono.just(SimilarProducts.complete(List.of())));
 
         webTestClient.get()
                 .uri("/product/ABC-123/similar")
@@ -136,7 +137,7 @@ class RestControllerSliceTest {
     @Test
     void shouldHandleReactiveStreamErrors() {
         when(getSimilarProductsUseCase.getSimilarProducts(any(ProductId.class)))
-                .thenReturn(Mono.just(List.of()));
+                .thenReturn(Mono.just(SimilarProducts.complete(List.of())));
 
         webTestClient.get()
                 .uri("/product/1/similar")
@@ -155,7 +156,7 @@ class RestControllerSliceTest {
         );
 
         when(getSimilarProductsUseCase.getSimilarProducts(any(ProductId.class)))
-                .thenReturn(Mono.just(mockProducts));
+                .thenReturn(Mono.just(SimilarProducts.complete(mockProducts)));
 
         webTestClient.get()
                 .uri("/product/1/similar")
@@ -165,4 +166,31 @@ class RestControllerSliceTest {
                 .jsonPath("$[0].price").isEqualTo(999.99)
                 .jsonPath("$[1].price").isEqualTo(0.01);
     }
+
+    @Test
+    void shouldFlagDegradedResponses() {
+        when(getSimilarProductsUseCase.getSimilarProducts(any(ProductId.class)))
+                .thenReturn(Mono.just(SimilarProducts.degraded(List.of(
+                        new Product("2", "Product 2", new BigDecimal("20.00"), true)))));
+
+        webTestClient.get()
+                .uri("/product/1/similar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(SimilarProductsRestController.DEGRADED_HEADER, "true")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotFlagCompleteResponses() {
+        when(getSimilarProductsUseCase.getSimilarProducts(any(ProductId.class)))
+                .thenReturn(Mono.just(SimilarProducts.complete(List.of())));
+
+        webTestClient.get()
+                .uri("/product/1/similar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(SimilarProductsRestController.DEGRADED_HEADER);
+    }
 }
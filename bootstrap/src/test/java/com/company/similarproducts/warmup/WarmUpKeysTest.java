@@ -0,0 +1,50 @@
+package com.company.similarproducts.warmup;
+
+import com.company.similarproducts.infrastructure.adapter.rest.capture.TrafficLogFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("WarmUpKeys Tests")
+class WarmUpKeysTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should rank captured product ids by request count")
+    void shouldRankCapturedIds() throws IOException {
+        Path capture = dir.resolve("traffic.sptl");
+        try (OutputStream out = Files.newOutputStream(capture);
+             TrafficLogFormat.Writer writer = TrafficLogFormat.writer(out, 0L, 0L)) {
+            long t = 0;
+            for (String path : List.of("/product/2/similar", "/product/1/similar", "/product/2/similar",
+                    "/product/3/similar", "/product/2/similar", "/product/1/similar", "/actuator/health")) {
+                writer.write(t += 1_000, path);
+            }
+        }
+
+        assertThat(WarmUpKeys.fromCapture(capture, 2)).containsExactly("2", "1");
+    }
+
+    @Test
+    @DisplayName("Should merge configured ids, key file and capture without duplicates, up to max-keys")
+    void shouldMergeSources() throws IOException {
+        Path keyFile = dir.resolve("keys.txt");
+        Files.writeString(keyFile, "# hot products\n5\n\n 1 \n6\n");
+        WarmUpProperties properties = new WarmUpProperties();
+        properties.setProductIds(List.of("1", "2"));
+        properties.setKeyFile(keyFile);
+        properties.setMaxKeys(4);
+
+        assertThat(WarmUpKeys.load(properties)).containsExactly("1", "2", "5", "6");
+    }
+}
@@ -0,0 +1,64 @@
+package com.company.similarproducts.warmup;
+
+import com.company.similarproducts.domain.exception.ProductNotFoundException;
+import com.company.similarproducts.domain.model.Product;
+import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.domain.model.SimilarProducts;
+import com.company.similarproducts.domain.port.GetSimilarProductsUseCase;
+import com.company.similarproducts.infrastructure.adapter.rest.codec.ProductResponseEncoder;
+import com.company.similarproducts.infrastructure.adapter.rest.mapper.ProductRestMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("WarmUpRunner Tests")
+class WarmUpRunnerTest {
+
+    private final WarmUpProperties properties = new WarmUpProperties();
+
+    @Test
+    @DisplayName("Should replay every key for each round and count failures other than not found")
+    void shouldReplayAllRounds() {
+        properties.setRounds(3);
+        GetSimilarProductsUseCase useCase = productId -> switch (productId.value()) {
+            case "404" -> Mono.error(new ProductNotFoundException(productId));
+            case "500" -> Mono.error(new IllegalStateException("upstream down"));
+            default -> Mono.just(SimilarProducts.complete(List.of(
+                    new Product("2", "Product 2", new BigDecimal("20.00"), true))));
+        };
+
+        WarmUpRunner.WarmUpReport report = runner(useCase).warmUp(List.of("1", "404", "500"));
+
+        assertThat(report.rounds()).isEqualTo(3);
+        assertThat(report.requests()).isEqualTo(9);
+        assertThat(report.errors()).isEqualTo(3);
+        assertThat(report.budgetExhausted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop once the time budget is spent")
+    void shouldRespectTimeBudget() {
+        properties.setRounds(1_000);
+        properties.setTimeBudget(Duration.ofMillis(200));
+        GetSimilarProductsUseCase slow = productId -> Mono.just(SimilarProducts.complete(List.of()))
+                .delayElement(Duration.ofMillis(50));
+
+        WarmUpRunner.WarmUpReport report = runner(slow).warmUp(List.of("1"));
+
+        assertThat(report.budgetExhausted()).isTrue();
+        assertThat(report.rounds()).isLessThan(1_000);
+        assertThat(report.elapsedMillis()).isLessThan(2_000);
+    }
+
+    private WarmUpRunner runner(GetSimilarProductsUseCase useCase) {
+        return new WarmUpRunner(useCase, new ProductRestMapper(), new ObjectMapper(), new ProductResponseEncoder(), null,
+                properties);
+    }
+}
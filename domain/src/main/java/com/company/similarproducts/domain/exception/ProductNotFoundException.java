@@ -4,17 +4,25 @@ import com.company.similarproducts.domain.model.ProductId;
 
 /**
  * Domain exception thrown when a product is not found.
+ * <p>
+ * An expected outcome rather than a fault, so it carries no stack trace and builds its message
+ * only when asked: signalling a not-found costs one small allocation.
  */
 public class ProductNotFoundException extends RuntimeException {
     
     private final ProductId productId;
 
     public ProductNotFoundException(ProductId productId) {
-        super("Product not found: " + productId);
+        super(null, null, false, false);
         this.productId = productId;
     }
 
     public ProductId getProductId() {
         return productId;
     }
+
+    @Override
+    public String getMessage() {
+        return "Product not found: " + productId;
+    }
 }
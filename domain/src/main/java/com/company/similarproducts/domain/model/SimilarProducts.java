@@ -0,0 +1,22 @@
+package com.company.similarproducts.domain.model;
+
+import java.util.List;
+
+/**
+ * Result of a similar-products lookup.
+ * A degraded result was served from cache only and may be missing products.
+ */
+public record SimilarProducts(List<Product> products, boolean degraded) {
+
+    public SimilarProducts {
+        products = products == null ? List.of() : List.copyOf(products);
+    }
+
+    public static SimilarProducts complete(List<Product> products) {
+        return new SimilarProducts(products, false);
+    }
+
+    public static SimilarProducts degraded(List<Product> products) {
+        return new SimilarProducts(products, true);
+    }
+}
@@ -0,0 +1,27 @@
+package com.company.similarproducts.domain.port;
+
+import com.company.similarproducts.domain.model.Product;
+import com.company.similarproducts.domain.model.ProductId;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Output port (Secondary/Driven port) - SPI for cache-only lookups.
+ * Never calls the upstream API on the caller's behalf; implementations may
+ * schedule a background load for keys that were not cached.
+ */
+public interface CachedProductPort {
+
+    /**
+     * @param productId the product identifier
+     * @return Mono with the cached product, empty Mono when it is not cached
+     */
+    Mono<Product> findCachedProduct(ProductId productId);
+
+    /**
+     * @param productId the product identifier
+     * @return Mono with the cached similar product IDs, empty Mono when they are not cached
+     */
+    Mono<List<ProductId>> findCachedSimilarProductIds(ProductId productId);
+}
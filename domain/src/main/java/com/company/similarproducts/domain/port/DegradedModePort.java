@@ -0,0 +1,17 @@
+package com.company.similarproducts.domain.port;
+
+/**
+ * Output port (Secondary/Driven port) - tells whether the service must avoid upstream calls.
+ */
+public interface DegradedModePort {
+
+    /**
+     * Degraded mode is never entered.
+     */
+    DegradedModePort NEVER = () -> false;
+
+    /**
+     * @return true while requests must be served from cache only
+     */
+    boolean isDegraded();
+}
@@ -0,0 +1,21 @@
+package com.company.similarproducts.domain.port;
+
+/**
+ * Output port (Secondary/Driven port) - records how the similar-products fan-out reordered results.
+ */
+public interface FanOutMetricsPort {
+
+    /**
+     * Nothing is recorded.
+     */
+    FanOutMetricsPort NONE = (peakBuffered, maxHeadOfLineWaitNanos) -> {
+    };
+
+    /**
+     * Records one completed fan-out.
+     *
+     * @param peakBuffered           most results held back at once: loaded, but behind an earlier one still loading
+     * @param maxHeadOfLineWaitNanos longest any loaded result was held back
+     */
+    void recordFanOut(int peakBuffered, long maxHeadOfLineWaitNanos);
+}
@@ -1,11 +1,9 @@
 package com.company.similarproducts.domain.port;
 
-import com.company.similarproducts.domain.model.Product;
 import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.domain.model.SimilarProducts;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 /**
  * Input port (Primary/Driving port) - Use Case interface.
  * Uses Reactor Mono for reactive non-blocking execution.
@@ -16,7 +14,7 @@ public interface GetSimilarProductsUseCase {
      * Gets similar products for a given product ID reactively.
      *
      * @param productId the product identifier
-     * @return Mono with list of similar products ordered by similarity
+     * @return Mono with the similar products ordered by similarity, flagged when served degraded
      */
-    Mono<List<Product>> getSimilarProducts(ProductId productId);
+    Mono<SimilarProducts> getSimilarProducts(ProductId productId);
 }
@@ -17,4 +17,16 @@ public interface LoadProductPort {
      * @return Mono containing the product if found, empty Mono otherwise
      */
     Mono<Product> loadProduct(ProductId productId);
+
+    /**
+     * Loads a product as one of another product's similar products. A request may need hundreds
+     * of these, so adapters can give them lower upstream priority than {@link #loadProduct},
+     * which callers wait on before anything else.
+     *
+     * @param productId the product identifier
+     * @return Mono containing the product if found, empty Mono otherwise
+     */
+    default Mono<Product> loadSimilarProduct(ProductId productId) {
+        return loadProduct(productId);
+    }
 }
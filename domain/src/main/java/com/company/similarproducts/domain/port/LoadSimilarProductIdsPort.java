@@ -1,6 +1,7 @@
 package com.company.similarproducts.domain.port;
 
 import com.company.similarproducts.domain.model.ProductId;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -18,4 +19,16 @@ public interface LoadSimilarProductIdsPort {
      * @return Mono with list of similar product IDs ordered by similarity
      */
     Mono<List<ProductId>> loadSimilarProductIds(ProductId productId);
+
+    /**
+     * Streams the IDs of products similar to the given product, in similarity order. Adapters
+     * that can decode the upstream body incrementally emit each ID as soon as it is read, so
+     * callers can start on the first IDs before the list is complete.
+     *
+     * @param productId the product identifier
+     * @return Flux of similar product IDs ordered by similarity
+     */
+    default Flux<ProductId> streamSimilarProductIds(ProductId productId) {
+        return loadSimilarProductIds(productId).flatMapMany(Flux::fromIterable);
+    }
 }
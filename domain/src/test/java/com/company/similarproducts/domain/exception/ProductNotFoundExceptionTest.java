@@ -86,5 +86,18 @@ class ProductNotFoundExceptionTest {
         assertThat(exception1.getMessage()).contains("1");
         assertThat(exception2.getMessage()).contains("PROD-9999");
     }
-}
 
+    @Test
+    @DisplayName("Should not capture a stack trace")
+    void shouldBeStackless() {
+        // Given
+        ProductId productId = new ProductId("404");
+
+        // When
+        ProductNotFoundException exception = new ProductNotFoundException(productId);
+
+        // Then
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getCause()).isNull();
+    }
+}
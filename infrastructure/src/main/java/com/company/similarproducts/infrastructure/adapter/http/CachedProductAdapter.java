@@ -0,0 +1,47 @@
+package com.company.similarproducts.infrastructure.adapter.http;
+
+import com.company.similarproducts.domain.model.Product;
+import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.domain.port.CachedProductPort;
+import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
+import com.company.similarproducts.infrastructure.adapter.http.degraded.CacheFillQueue;
+import com.company.similarproducts.infrastructure.adapter.http.mapper.ProductDomainMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Cache-only view of {@link ProductApiClient} used while degraded.
+ * Misses are handed to the {@link CacheFillQueue} instead of calling upstream.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CachedProductAdapter implements CachedProductPort {
+
+    private final ProductApiClient productApiClient;
+    private final ProductDomainMapper mapper;
+    private final CacheFillQueue fillQueue;
+
+    @Override
+    public Mono<Product> findCachedProduct(ProductId productId) {
+        String id = productId.value();
+        return productApiClient.getCachedProductById(id)
+                .map(mapper::toDomain)
+                .switchIfEmpty(Mono.fromRunnable(() ->
+                        fillQueue.offer("p:" + id, () -> productApiClient.getProductById(id))));
+    }
+
+    @Override
+    public Mono<List<ProductId>> findCachedSimilarProductIds(ProductId productId) {
+        String id = productId.value();
+        return productApiClient.getCachedSimilarProductIds(id)
+                .map(ids -> ids.stream()
+                        .filter(similarId -> similarId != null && !similarId.isBlank())
+                        .map(ProductId::new)
+                        .toList())
+                .switchIfEmpty(Mono.fromRunnable(() ->
+                        fillQueue.offer("s:" + id, () -> productApiClient.getSimilarProductIds(id))));
+    }
+}
@@ -5,13 +5,17 @@ import com.company.similarproducts.domain.model.ProductId;
 import com.company.similarproducts.domain.port.LoadProductPort;
 import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
 import com.company.similarproducts.infrastructure.adapter.http.mapper.ProductDomainMapper;
+import com.company.similarproducts.infrastructure.adapter.http.scheduling.UpstreamPriority;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 @Slf4j
 @Component
+@ConditionalOnProperty(prefix = "external-apis.product-service", name = "client", havingValue = "reactive", matchIfMissing = true)
 @RequiredArgsConstructor
 public class LoadProductAdapter implements LoadProductPort {
 
@@ -25,4 +29,13 @@ public class LoadProductAdapter implements LoadProductPort {
         return productApiClient.getProductById(productId.value())
                 .map(mapper::toDomain);
     }
+
+    /**
+     * Queued behind lookups when upstream calls are scheduled.
+     */
+    @Override
+    public Mono<Product> loadSimilarProduct(ProductId productId) {
+        return loadProduct(productId)
+                .contextWrite(Context.of(UpstreamPriority.class, UpstreamPriority.FAN_OUT));
+    }
 }
@@ -5,13 +5,16 @@ import com.company.similarproducts.domain.port.LoadSimilarProductIdsPort;
 import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
 
 @Slf4j
 @Component
+@ConditionalOnProperty(prefix = "external-apis.product-service", name = "client", havingValue = "reactive", matchIfMissing = true)
 @RequiredArgsConstructor
 public class LoadSimilarProductIdsAdapter implements LoadSimilarProductIdsPort {
 
@@ -27,4 +30,13 @@ public class LoadSimilarProductIdsAdapter implements LoadSimilarProductIdsPort {
                         .map(ProductId::new)
                         .toList());
     }
+
+    @Override
+    public Flux<ProductId> streamSimilarProductIds(ProductId productId) {
+        log.debug("Streaming similar product IDs reactively: {}", productId);
+
+        return productApiClient.streamSimilarProductIds(productId.value())
+                .filter(id -> !id.isBlank())
+                .map(ProductId::new);
+    }
 }
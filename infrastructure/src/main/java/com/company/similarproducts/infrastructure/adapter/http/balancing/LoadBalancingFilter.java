@@ -0,0 +1,190 @@
+package com.company.similarproducts.infrastructure.adapter.http.balancing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WebClient filter that sends each upstream call to one of several product-service replicas,
+ * replacing the scheme, host and port of the request URL.
+ * <p>
+ * The replica is picked by power of two choices: of two drawn at random, the one with the
+ * lower {@linkplain UpstreamEndpoint#cost(long) cost}, its average response time times the calls it
+ * has in flight plus one. Health is checked passively: {@code failureThreshold} failures in a row,
+ * 5xx responses, request errors or calls cancelled once they have run for {@code upstreamTimeout},
+ * eject a replica from the draw for {@code ejectionTime}, doubling per repeat ejection up to
+ * {@code maxEjectionTime}. Should every replica be ejected, calls go to the one whose ejection
+ * ends first rather than failing outright.
+ * <p>
+ * Reactor Netty keeps one connection pool per remote address, so each replica has its own pool.
+ */
+@Slf4j
+public class LoadBalancingFilter implements ExchangeFilterFunction {
+
+    private final UpstreamEndpoint[] endpoints;
+    private final String baseUrl;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final long maxEjectionNanos;
+    /** Calls cancelled after this long count as timed out. */
+    private final long timeoutNanos;
+
+    /**
+     * @param upstreamTimeout the client's timeout for one call, which reaches this filter as a
+     *                        cancellation rather than an error. Its timer starts before the call
+     *                        reaches this filter, so a cancellation counts as a timeout from nine
+     *                        tenths of it on.
+     */
+    public LoadBalancingFilter(List<URI> endpoints, int failureThreshold, Duration ejectionTime,
+                               Duration maxEjectionTime, Duration upstreamTimeout) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one upstream endpoint is required");
+        }
+        if (failureThreshold < 1 || ejectionTime.isNegative() || ejectionTime.isZero()
+                || maxEjectionTime.compareTo(ejectionTime) < 0 || upstreamTimeout.isNegative() || upstreamTimeout.isZero()) {
+            throw new IllegalArgumentException("Invalid ejection settings: failureThreshold=" + failureThreshold
+                    + ", ejectionTime=" + ejectionTime + ", maxEjectionTime=" + maxEjectionTime
+                    + ", upstreamTimeout=" + upstreamTimeout);
+        }
+        this.endpoints = endpoints.stream().map(UpstreamEndpoint::new).toArray(UpstreamEndpoint[]::new);
+        this.baseUrl = endpoints.get(0).toString();
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejectionTime.toNanos();
+        this.maxEjectionNanos = maxEjectionTime.toNanos();
+        this.timeoutNanos = upstreamTimeout.toNanos() / 10 * 9;
+    }
+
+    /**
+     * @return the first endpoint, as the WebClient's base URL; any path in it applies to all
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public List<UpstreamEndpoint> endpoints() {
+        return List.of(endpoints);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            UpstreamEndpoint endpoint = choose();
+            Call call = new Call(endpoint);
+            return next.exchange(ClientRequest.from(request).url(endpoint.resolve(request.url())).build())
+                    .doOnSuccess(call::response)
+                    .doOnError(call::error)
+                    .doOnCancel(call::cancel);
+        });
+    }
+
+    UpstreamEndpoint choose() {
+        UpstreamEndpoint[] all = endpoints;
+        if (all.length == 1) {
+            return all[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(all.length);
+        int b = random.nextInt(all.length - 1);
+        if (b >= a) {
+            b++;
+        }
+        long now = System.nanoTime();
+        UpstreamEndpoint first = all[a];
+        UpstreamEndpoint second = all[b];
+        boolean firstAvailable = first.isAvailable(now);
+        boolean secondAvailable = second.isAvailable(now);
+        if (firstAvailable && secondAvailable) {
+            return first.cost(now) <= second.cost(now) ? first : second;
+        }
+        if (firstAvailable || secondAvailable) {
+            return firstAvailable ? first : second;
+        }
+        return fallback(all, a, now);
+    }
+
+    /**
+     * Both picks are ejected: the next available endpoint, or the one back soonest when none is.
+     */
+    private static UpstreamEndpoint fallback(UpstreamEndpoint[] all, int from, long now) {
+        UpstreamEndpoint soonest = null;
+        for (int i = 0; i < all.length; i++) {
+            UpstreamEndpoint endpoint = all[(from + i) % all.length];
+            if (endpoint.isAvailable(now)) {
+                return endpoint;
+            }
+            if (soonest == null || endpoint.ejectedUntil() - soonest.ejectedUntil() < 0) {
+                soonest = endpoint;
+            }
+        }
+        return soonest;
+    }
+
+    /**
+     * Settles one call with its endpoint exactly once, whichever signal comes first.
+     */
+    private final class Call extends AtomicBoolean {
+
+        private final UpstreamEndpoint endpoint;
+        private final long start;
+
+        Call(UpstreamEndpoint endpoint) {
+            this.endpoint = endpoint;
+            this.start = System.nanoTime();
+            endpoint.start();
+        }
+
+        void response(ClientResponse response) {
+            if (!compareAndSet(false, true)) {
+                return;
+            }
+            if (response == null) {
+                endpoint.cancelled(System.nanoTime() - start);
+            } else if (response.statusCode().is5xxServerError()) {
+                failed("status " + response.statusCode().value());
+            } else {
+                endpoint.succeeded(System.nanoTime() - start);
+            }
+        }
+
+        void error(Throwable e) {
+            if (compareAndSet(false, true)) {
+                failed(e.getClass().getSimpleName());
+            }
+        }
+
+        /**
+         * A cancellation at the upstream timeout is the replica failing to answer in time.
+         */
+        void cancel() {
+            if (!compareAndSet(false, true)) {
+                return;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (elapsed < timeoutNanos) {
+                endpoint.cancelled(elapsed);
+            } else if (endpoint.timedOut(elapsed, failureThreshold, ejectionNanos, maxEjectionNanos)) {
+                logEjection("timeout");
+            }
+        }
+
+        private void failed(String reason) {
+            if (endpoint.failed(failureThreshold, ejectionNanos, maxEjectionNanos)) {
+                logEjection(reason);
+            }
+        }
+
+        private void logEjection(String reason) {
+            log.warn("Ejected upstream endpoint {} after {} failures in a row, last: {}",
+                    endpoint, failureThreshold, reason);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.company.similarproducts.infrastructure.adapter.http.balancing;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One product-service replica as seen by {@link LoadBalancingFilter}: calls in flight, a moving
+ * average of response times, and passive health from the outcome of real calls. Failures in a
+ * row eject it for a time that doubles with each ejection since its last success.
+ * <p>
+ * The average decays while no call completes, so a replica that lost every draw for being slow
+ * is eventually tried again and re-measured.
+ */
+public final class UpstreamEndpoint {
+
+    /** Weight of the newest response time in the moving average. */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    /** Ejections beyond this no longer double the ejection time. */
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
+    /** Time for the average to decay to 1/e of itself without a completed call. */
+    private static final double DECAY_NANOS = 10_000_000_000.0;
+
+    /** Cost of a replica with calls in flight but no response time yet, above any measured one. */
+    private static final double UNMEASURED_PENALTY = 1e15;
+
+    private final String origin;
+    private final String name;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder ejections = new LongAdder();
+
+    /** Written under {@code this} when ejecting, reset by any success. */
+    private volatile int ejectionsSinceSuccess;
+
+    private volatile double latencyNanos;
+    private volatile long latencyStampNanos;
+    private volatile long ejectedUntilNanos;
+    private volatile boolean ejected;
+
+    UpstreamEndpoint(URI uri) {
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Upstream endpoint needs a scheme and a host: " + uri);
+        }
+        this.origin = uri.getScheme() + "://" + uri.getRawAuthority();
+        this.name = uri.getHost() + ":" + (uri.getPort() != -1 ? uri.getPort() : defaultPort(uri.getScheme()));
+    }
+
+    /**
+     * @return {@code host:port}, as tagged on the endpoint's meters
+     */
+    public String name() {
+        return name;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public double latencyMillis() {
+        return decayedLatency(System.nanoTime()) / 1_000_000.0;
+    }
+
+    public boolean isEjected() {
+        return ejected && System.nanoTime() - ejectedUntilNanos < 0;
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    public long ejectionCount() {
+        return ejections.sum();
+    }
+
+    /**
+     * Same path and query on this endpoint; the path is kept raw, so nothing is encoded twice.
+     */
+    URI resolve(URI url) {
+        String rawQuery = url.getRawQuery();
+        return URI.create(origin + url.getRawPath() + (rawQuery != null ? "?" + rawQuery : ""));
+    }
+
+    /**
+     * Expected wait for one more call: the average response time scaled by the calls already
+     * queued on it, so a replica that is fast but busy can still lose to one that is idle. A
+     * replica never measured is tried first when idle, and ranked by calls in flight otherwise.
+     */
+    double cost(long now) {
+        double latency = decayedLatency(now);
+        int queued = inFlight.get();
+        if (latency == 0 && queued != 0) {
+            return UNMEASURED_PENALTY + queued;
+        }
+        return latency * (queued + 1);
+    }
+
+    boolean isAvailable(long now) {
+        if (!ejected) {
+            return true;
+        }
+        if (now - ejectedUntilNanos < 0) {
+            return false;
+        }
+        ejected = false;
+        return true;
+    }
+
+    long ejectedUntil() {
+        return ejectedUntilNanos;
+    }
+
+    void start() {
+        requests.increment();
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * A call that got a response. Only successes are timed: a replica failing fast must not look
+     * fast and draw more calls before it is ejected.
+     */
+    void succeeded(long elapsedNanos) {
+        inFlight.decrementAndGet();
+        recordLatency(elapsedNanos);
+        consecutiveFailures.set(0);
+        if (ejectionsSinceSuccess != 0) {
+            ejectionsSinceSuccess = 0;
+        }
+    }
+
+    /**
+     * A call that failed against the endpoint's health; the last of {@code threshold} in a row
+     * ejects it.
+     *
+     * @return whether this failure ejected the endpoint
+     */
+    boolean failed(int threshold, long ejectionNanos, long maxEjectionNanos) {
+        inFlight.decrementAndGet();
+        if (consecutiveFailures.incrementAndGet() < threshold) {
+            return false;
+        }
+        return eject(ejectionNanos, maxEjectionNanos);
+    }
+
+    /**
+     * A call the caller gave up on before the upstream timeout. The time waited only counts when
+     * it is above the average, so a replica too slow for its callers still looks slow.
+     */
+    void cancelled(long elapsedNanos) {
+        inFlight.decrementAndGet();
+        recordWait(elapsedNanos);
+    }
+
+    /**
+     * A call cancelled at the upstream timeout: a failure, timed like a cancellation.
+     *
+     * @return whether this failure ejected the endpoint
+     */
+    boolean timedOut(long elapsedNanos, int threshold, long ejectionNanos, long maxEjectionNanos) {
+        recordWait(elapsedNanos);
+        return failed(threshold, ejectionNanos, maxEjectionNanos);
+    }
+
+    private void recordWait(long elapsedNanos) {
+        if (elapsedNanos > decayedLatency(System.nanoTime())) {
+            recordLatency(elapsedNanos);
+        }
+    }
+
+    /**
+     * Races between concurrent completions may drop a sample, which the average tolerates.
+     */
+    private void recordLatency(long elapsedNanos) {
+        long now = System.nanoTime();
+        double previous = decayedLatency(now);
+        latencyNanos = previous == 0 ? elapsedNanos : previous + (elapsedNanos - previous) * LATENCY_SMOOTHING;
+        latencyStampNanos = now;
+    }
+
+    private double decayedLatency(long now) {
+        double latency = latencyNanos;
+        long idle = now - latencyStampNanos;
+        return latency == 0 || idle <= 0 ? latency : latency * Math.exp(-idle / DECAY_NANOS);
+    }
+
+    /**
+     * Calls that were already in flight when the endpoint was ejected do not eject it again.
+     */
+    private synchronized boolean eject(long ejectionNanos, long maxEjectionNanos) {
+        consecutiveFailures.set(0);
+        if (isEjected()) {
+            return false;
+        }
+        long time = ejectionNanos << Math.min(ejectionsSinceSuccess, MAX_BACKOFF_SHIFT);
+        if (time <= 0 || time > maxEjectionNanos) {
+            time = maxEjectionNanos;
+        }
+        ejectionsSinceSuccess++;
+        ejectedUntilNanos = System.nanoTime() + time;
+        ejected = true;
+        ejections.increment();
+        return true;
+    }
+
+    private static int defaultPort(String scheme) {
+        return "https".equalsIgnoreCase(scheme) ? 443 : 80;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
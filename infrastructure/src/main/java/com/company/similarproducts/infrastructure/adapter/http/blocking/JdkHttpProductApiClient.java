@@ -0,0 +1,315 @@
+package com.company.similarproducts.infrastructure.adapter.http.blocking;
+
+import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import com.company.similarproducts.infrastructure.cache.CacheEntrySink;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry;
+import com.company.similarproducts.infrastructure.cache.CacheWeights;
+import com.company.similarproducts.infrastructure.cache.CompactProduct;
+import com.company.similarproducts.infrastructure.cache.OffHeapProductStore;
+import com.company.similarproducts.infrastructure.cache.SnapshotableProductCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Blocking counterpart of {@link ProductApiClient} built on {@link java.net.http.HttpClient}.
+ * Every upstream call runs as plain sequential code on its own virtual thread.
+ * <p>
+ * Caches hold completed futures rather than using a synchronous loader: a blocking load
+ * inside {@code ConcurrentHashMap.compute} would pin the carrier thread. Loads run outside
+ * Caffeine, shared between concurrent misses, and only their values are cached: a transient
+ * upstream error is retried on the next request and never reaches Caffeine as a failed load.
+ */
+@Slf4j
+public class JdkHttpProductApiClient implements SnapshotableProductCache {
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final UriBuilderFactory uriFactory;
+    private final Duration timeout;
+    private final Duration productTtl;
+    private final Duration similarIdsTtl;
+    private final AsyncCache<String, Optional<CompactProduct>> productCache;
+    private final AsyncCache<String, List<String>> similarIdsCache;
+    private final OffHeapProductStore offHeapStore;
+    private final Map<String, CompletableFuture<Optional<CompactProduct>>> productLoads = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<List<String>>> similarIdsLoads = new ConcurrentHashMap<>();
+
+    /**
+     * @param offHeapStore optional off-heap L2 for products, {@code null} for none
+     */
+    public JdkHttpProductApiClient(HttpClient httpClient, ExecutorService executor, ObjectMapper objectMapper,
+                                   CacheRegistry cacheRegistry, String baseUrl, Duration timeout,
+                                   OffHeapProductStore offHeapStore) {
+        this.httpClient = httpClient;
+        this.offHeapStore = offHeapStore;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.uriFactory = new DefaultUriBuilderFactory(baseUrl);
+        this.timeout = timeout;
+
+        this.productTtl = cacheRegistry.definition(ProductApiClient.PRODUCTS_CACHE).ttl();
+        this.similarIdsTtl = cacheRegistry.definition(ProductApiClient.SIMILAR_IDS_CACHE).ttl();
+
+        this.productCache = cacheRegistry.newBuilder(ProductApiClient.PRODUCTS_CACHE, CacheWeights::optionalProduct)
+                .executor(executor)
+                .buildAsync();
+
+        this.similarIdsCache = cacheRegistry.newBuilder(ProductApiClient.SIMILAR_IDS_CACHE, CacheWeights::similarIds)
+                .executor(executor)
+                .buildAsync();
+
+        cacheRegistry.monitor(productCache.synchronous(), ProductApiClient.PRODUCTS_CACHE);
+        cacheRegistry.monitor(similarIdsCache.synchronous(), ProductApiClient.SIMILAR_IDS_CACHE);
+    }
+
+    /**
+     * Completes with the product, with an empty optional when upstream answers 404,
+     * or exceptionally on any other failure.
+     */
+    public CompletableFuture<Optional<CompactProduct>> getProductById(String productId) {
+        if (productId == null || productId.isBlank()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        return getOrLoad(productCache, productLoads, productId, this::fetchProduct);
+    }
+
+    /**
+     * Completes with the similar ids, with an empty list when upstream answers 404,
+     * or exceptionally on any other failure.
+     */
+    public CompletableFuture<List<String>> getSimilarProductIds(String productId) {
+        if (productId == null || productId.isBlank()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        return getOrLoad(similarIdsCache, similarIdsLoads, productId, this::fetchSimilarIds);
+    }
+
+    /**
+     * Cache-only lookup: the cached future if its load has already completed successfully,
+     * otherwise {@code null}. Loads still in flight are not returned, so callers never wait on upstream.
+     */
+    public CompletableFuture<Optional<CompactProduct>> getCachedProductById(String productId) {
+        CompletableFuture<Optional<CompactProduct>> cached = productCache.getIfPresent(productId);
+        if (cached != null || offHeapStore == null) {
+            return completedOrNull(cached);
+        }
+        ProductApiDto stored = offHeapStore.get(productId);
+        if (stored == null) {
+            return null;
+        }
+        CompletableFuture<Optional<CompactProduct>> promoted =
+                CompletableFuture.completedFuture(Optional.of(CompactProduct.from(stored)));
+        productCache.put(productId, promoted);
+        return promoted;
+    }
+
+    /**
+     * Cache-only lookup of similar ids, {@code null} when not cached or still loading.
+     */
+    public CompletableFuture<List<String>> getCachedSimilarProductIds(String productId) {
+        return completedOrNull(similarIdsCache.getIfPresent(productId));
+    }
+
+    private static <V> CompletableFuture<V> completedOrNull(CompletableFuture<V> future) {
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future : null;
+    }
+
+    @Override
+    public void exportEntries(CacheEntrySink sink) {
+        long now = System.currentTimeMillis();
+        Policy.VarExpiration<String, Optional<CompactProduct>> productExpiry =
+                productCache.synchronous().policy().expireVariably().orElseThrow();
+        productCache.asMap().forEach((id, future) -> {
+            CompletableFuture<Optional<CompactProduct>> done = completedOrNull(future);
+            if (done != null && done.join().isPresent()) {
+                productExpiry.getExpiresAfter(id).ifPresent(left ->
+                        sink.product(id, done.join().get().toDto(), writeMillis(now, productTtl, left)));
+            }
+        });
+        Policy.VarExpiration<String, List<String>> similarIdsExpiry =
+                similarIdsCache.synchronous().policy().expireVariably().orElseThrow();
+        similarIdsCache.asMap().forEach((id, future) -> {
+            CompletableFuture<List<String>> done = completedOrNull(future);
+            if (done != null && !done.join().isEmpty()) {
+                similarIdsExpiry.getExpiresAfter(id).ifPresent(left -> sink.similarIds(id, done.join(), writeMillis(now, similarIdsTtl, left)));
+            }
+        });
+    }
+
+    @Override
+    public CacheEntrySink importer() {
+        Policy.VarExpiration<String, Optional<CompactProduct>> productExpiry =
+                productCache.synchronous().policy().expireVariably().orElseThrow();
+        Policy.VarExpiration<String, List<String>> similarIdsExpiry =
+                similarIdsCache.synchronous().policy().expireVariably().orElseThrow();
+        return new CacheEntrySink() {
+            @Override
+            public void product(String productId, ProductApiDto product, long writeMillis) {
+                Duration left = remaining(productTtl, writeMillis);
+                if (left != null) {
+                    productExpiry.putIfAbsent(productId, Optional.of(CompactProduct.from(product)), left);
+                }
+            }
+
+            @Override
+            public void similarIds(String productId, List<String> similarIds, long writeMillis) {
+                Duration left = remaining(similarIdsTtl, writeMillis);
+                if (left != null) {
+                    similarIdsExpiry.putIfAbsent(productId, similarIds, left);
+                }
+            }
+        };
+    }
+
+    private static long writeMillis(long nowMillis, Duration ttl, Duration left) {
+        return nowMillis - (ttl.toMillis() - left.toMillis());
+    }
+
+    private static Duration remaining(Duration ttl, long writeMillis) {
+        Duration left = ttl.minusMillis(System.currentTimeMillis() - writeMillis);
+        return left.isNegative() || left.isZero() ? null : left;
+    }
+
+    /**
+     * The cached value, or the load in flight for {@code key}, or a new one on the executor. The
+     * value is cached before the load leaves {@code loads}, so a request never misses both.
+     */
+    private <V> CompletableFuture<V> getOrLoad(AsyncCache<String, V> cache, Map<String, CompletableFuture<V>> loads,
+                                               String key, Function<String, V> fetch) {
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loads.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    V value = fetch.apply(key);
+                    cache.put(key, CompletableFuture.completedFuture(value));
+                    load.complete(value);
+                } catch (Throwable e) {
+                    load.completeExceptionally(e);
+                } finally {
+                    loads.remove(key, load);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loads.remove(key, load);
+            load.completeExceptionally(e);
+        }
+        return load;
+    }
+
+    private Optional<CompactProduct> fetchProduct(String productId) {
+        if (offHeapStore != null) {
+            ProductApiDto stored = offHeapStore.get(productId);
+            if (stored != null) {
+                return Optional.of(CompactProduct.from(stored));
+            }
+        }
+        log.debug("Cache MISS - Calling external API for product: {}", productId);
+        byte[] body = send(uriFactory.expand("/product/{productId}", productId));
+        if (body == null) {
+            return Optional.empty();
+        }
+        ProductApiDto product = read(body, ProductApiDto.class);
+        if (offHeapStore != null) {
+            offHeapStore.put(productId, product);
+        }
+        return Optional.of(CompactProduct.from(product));
+    }
+
+    private List<String> fetchSimilarIds(String productId) {
+        log.debug("Cache MISS - Calling external API for similar IDs: {}", productId);
+        byte[] body = send(uriFactory.expand("/product/{productId}/similarids", productId));
+        if (body == null) {
+            return List.of();
+        }
+        List<String> ids = read(body, STRING_LIST);
+        return ids == null ? List.of() : ids;
+    }
+
+    /**
+     * Blocks the calling virtual thread until the response arrives; returns {@code null} on 404.
+     */
+    private byte[] send(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            int status = response.statusCode();
+            if (status == 404) {
+                return null;
+            }
+            if (status < 200 || status >= 300) {
+                throw new UpstreamStatusException(uri.getRawPath(), status);
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted calling " + uri.getRawPath(), e);
+        }
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(byte[] body, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Non-2xx, non-404 upstream answer.
+     */
+    static class UpstreamStatusException extends RuntimeException {
+
+        UpstreamStatusException(String path, int status) {
+            super("Upstream returned " + status + " for " + path, null, false, false);
+        }
+    }
+}
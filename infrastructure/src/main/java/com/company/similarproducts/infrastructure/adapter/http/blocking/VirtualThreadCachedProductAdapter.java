@@ -0,0 +1,51 @@
+package com.company.similarproducts.infrastructure.adapter.http.blocking;
+
+import com.company.similarproducts.domain.model.Product;
+import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.domain.port.CachedProductPort;
+import com.company.similarproducts.infrastructure.adapter.http.degraded.CacheFillQueue;
+import com.company.similarproducts.infrastructure.adapter.http.mapper.ProductDomainMapper;
+import com.company.similarproducts.infrastructure.cache.CompactProduct;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cache-only view of {@link JdkHttpProductApiClient} used while degraded.
+ * Misses are handed to the {@link CacheFillQueue} instead of calling upstream.
+ */
+@RequiredArgsConstructor
+public class VirtualThreadCachedProductAdapter implements CachedProductPort {
+
+    private final JdkHttpProductApiClient client;
+    private final ProductDomainMapper mapper;
+    private final CacheFillQueue fillQueue;
+
+    @Override
+    public Mono<Product> findCachedProduct(ProductId productId) {
+        String id = productId.value();
+        CompletableFuture<Optional<CompactProduct>> cached = client.getCachedProductById(id);
+        if (cached == null) {
+            fillQueue.offer("p:" + id, () -> Mono.fromFuture(() -> client.getProductById(id)));
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(cached.join()).map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<List<ProductId>> findCachedSimilarProductIds(ProductId productId) {
+        String id = productId.value();
+        CompletableFuture<List<String>> cached = client.getCachedSimilarProductIds(id);
+        if (cached == null) {
+            fillQueue.offer("s:" + id, () -> Mono.fromFuture(() -> client.getSimilarProductIds(id)));
+            return Mono.empty();
+        }
+        return Mono.just(cached.join().stream()
+                .filter(similarId -> similarId != null && !similarId.isBlank())
+                .map(ProductId::new)
+                .toList());
+    }
+}
@@ -0,0 +1,56 @@
+package com.company.similarproducts.infrastructure.adapter.http.blocking;
+
+import com.company.similarproducts.domain.model.Product;
+import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.domain.port.LoadProductPort;
+import com.company.similarproducts.domain.port.LoadSimilarProductIdsPort;
+import com.company.similarproducts.infrastructure.adapter.http.mapper.ProductDomainMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Implements both output ports on top of {@link JdkHttpProductApiClient}.
+ * Selected with {@code external-apis.product-service.client=virtual-threads}.
+ * <p>
+ * The ports stay reactive, so the use case fans out exactly as in reactive mode; each
+ * branch of that fan-out is a blocking call on its own virtual thread. Errors other than
+ * 404 are swallowed the same way the reactive {@code ProductApiClient} does.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class VirtualThreadProductAdapter implements LoadProductPort, LoadSimilarProductIdsPort {
+
+    private final JdkHttpProductApiClient client;
+    private final ProductDomainMapper mapper;
+
+    @Override
+    public Mono<Product> loadProduct(ProductId productId) {
+        log.debug("Loading product on virtual thread: {}", productId);
+
+        return Mono.fromFuture(() -> client.getProductById(productId.value()))
+                .flatMap(Mono::justOrEmpty)
+                .map(mapper::toDomain)
+                .onErrorResume(e -> {
+                    log.debug("Error loading product {}: {}", productId, e.getClass().getSimpleName());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<List<ProductId>> loadSimilarProductIds(ProductId productId) {
+        log.debug("Loading similar product IDs on virtual thread: {}", productId);
+
+        return Mono.fromFuture(() -> client.getSimilarProductIds(productId.value()))
+                .map(ids -> ids.stream()
+                        .filter(id -> id != null && !id.isBlank())
+                        .map(ProductId::new)
+                        .toList())
+                .onErrorResume(e -> {
+                    log.debug("Error loading similar IDs {}: {}", productId, e.getClass().getSimpleName());
+                    return Mono.just(List.of());
+                });
+    }
+}
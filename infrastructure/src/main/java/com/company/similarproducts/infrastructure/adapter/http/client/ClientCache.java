@@ -0,0 +1,376 @@
+package com.company.similarproducts.infrastructure.adapter.http.client;
+
+import com.company.similarproducts.infrastructure.cache.CacheOutcome;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry.CacheDefinition;
+import com.company.similarproducts.infrastructure.cache.EarlyRefresh;
+import com.company.similarproducts.infrastructure.cache.ExpireAfterWrite;
+import com.company.similarproducts.infrastructure.cache.HotKeyTracker;
+import com.company.similarproducts.infrastructure.cache.LongKeyedCache;
+import com.company.similarproducts.infrastructure.cache.ProductIdCodec;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.micrometer.core.instrument.Counter;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * One cache of {@link ProductApiClient}: an async Caffeine cache of resolved values, the optional
+ * long-keyed fast path for numeric ids in front of it, and early refresh of entries close to expiry.
+ * <p>
+ * With hot keys configured, every lookup is also recorded by a {@link HotKeyTracker}, and the
+ * keys it reports are pinned: held outside Caffeine, so eviction never drops them, and reloaded
+ * by {@link #refreshHotSet} shortly before they expire rather than once they have.
+ * <p>
+ * The source fails a load when upstream failed, as opposed to answering that the key does not
+ * exist. A failed miss is cached as the {@code failed} value, but a failed reload of a key that
+ * already has a value keeps that value.
+ * <p>
+ * A miss starts one load; concurrent misses for the same key join it, so only pending loads are
+ * shared and only resolved values are kept. {@code V} is what is cached, {@code R} what callers
+ * get; the fast path stores the {@code Mono<R>} built when the value arrived.
+ */
+final class ClientCache<V, R> {
+
+    /**
+     * Receives a resolved entry with the wall-clock time it was written.
+     */
+    interface EntryConsumer<V> {
+
+        void accept(String id, V value, long writeMillis);
+    }
+
+    private final AsyncCache<String, V> cache;
+    private final Policy.VarExpiration<String, V> expiry;
+    private final ExpireAfterWrite<String, V> ttlPolicy;
+    private final Duration ttl;
+    private final LongKeyedCache<Mono<R>> fastPath;
+    private final EarlyRefresh earlyRefresh;
+    private final Counter earlyRefreshes;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final HotKeyTracker hotKeys;
+    private final Map<String, Mono<R>> pinned = new ConcurrentHashMap<>();
+    private final LongAdder pinnedHits = new LongAdder();
+    private final Function<String, Mono<V>> source;
+    private final V failed;
+    private final Function<V, Mono<R>> toMono;
+
+    /** Allocated once, so a cache hit does not capture a new lambda. */
+    private final BiFunction<String, Executor, CompletableFuture<V>> loader =
+            (id, ignored) -> loadMiss(id, Context.empty());
+
+    /**
+     * @param source upstream load of one key; completing empty leaves the key uncached, and an
+     *               error means the load failed
+     * @param failed value a miss caches when its load fails
+     */
+    ClientCache(CacheRegistry registry, String name, String fastPathName, String hotSetName,
+                Weigher<String, V> weigher, Function<String, Mono<V>> source, V failed,
+                Function<V, Mono<R>> toMono) {
+        CacheDefinition definition = registry.definition(name);
+        this.ttl = definition.ttl();
+        this.ttlPolicy = definition.expiry();
+        this.source = source;
+        this.failed = failed;
+        this.toMono = toMono;
+
+        this.cache = registry.newBuilder(name, weigher).buildAsync();
+        registry.monitor(cache.synchronous(), name);
+        this.expiry = cache.synchronous().policy().expireVariably().orElseThrow();
+
+        if (registry.numericIdSlots() > 0) {
+            this.fastPath = new LongKeyedCache<>(registry.numericIdSlots());
+            registry.monitorHits(fastPath, fastPathName);
+        } else {
+            this.fastPath = null;
+        }
+        this.earlyRefresh = registry.earlyRefresh(name);
+        this.earlyRefreshes = registry.counter("cache.refreshes.early", name);
+        this.hotKeys = registry.hotKeyTracker(name);
+        if (hotKeys != null) {
+            registry.monitorPinned(pinned, pinnedHits, hotSetName);
+        }
+    }
+
+    /**
+     * Fast path first for numeric ids, then the pinned hot set, then the async cache. A completed
+     * hit refills the fast path with the lifetime the entry has left, and a hit on either cache
+     * may start an early refresh; pinned keys are refreshed by {@link #refreshHotSet()} instead.
+     */
+    Mono<R> get(String id, long numericId) {
+        return get(id, numericId, Context.empty());
+    }
+
+    /**
+     * Same lookup, with a miss loading in {@code context}: the caller's Reactor context, which
+     * the load would otherwise not see, since it runs detached as a future. Refreshes still load
+     * in an empty context, on behalf of no caller.
+     */
+    Mono<R> get(String id, long numericId, ContextView context) {
+        if (hotKeys != null) {
+            hotKeys.record(id);
+        }
+        boolean fastPathKey = fastPath != null && numericId != ProductIdCodec.NOT_NUMERIC;
+        if (fastPathKey) {
+            Mono<R> hit = fastPath.get(numericId);
+            if (hit != null) {
+                if (earlyRefresh != null && !pinned.containsKey(id)) {
+                    maybeRefresh(id, fastPath.remainingNanos(numericId));
+                }
+                return hit;
+            }
+        }
+        Mono<R> pinnedHit = pinnedHit(id);
+        if (pinnedHit != null) {
+            return pinnedHit;
+        }
+        CompletableFuture<V> future = context.isEmpty()
+                ? cache.get(id, loader)
+                : cache.get(id, (key, ignored) -> loadMiss(key, context));
+        if (!isCompleted(future)) {
+            return CacheOutcome.recordMiss(Mono.fromFuture(future, true).flatMap(toMono));
+        }
+        V resolved = future.join();
+        if (resolved == null) {
+            return Mono.empty();
+        }
+        Mono<R> value = toMono.apply(resolved);
+        if (fastPathKey || earlyRefresh != null) {
+            long left = remainingNanos(id);
+            if (fastPathKey && left > 0) {
+                fastPath.put(numericId, value, left);
+            }
+            if (earlyRefresh != null) {
+                maybeRefresh(id, left);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Cache-only lookup; a load still in flight is returned as is. {@code null} when not cached.
+     */
+    Mono<R> getIfPresent(String id, long numericId) {
+        if (hotKeys != null) {
+            hotKeys.record(id);
+        }
+        Mono<R> hit = fastPath != null && numericId != ProductIdCodec.NOT_NUMERIC ? fastPath.get(numericId) : null;
+        if (hit == null) {
+            hit = pinnedHit(id);
+        }
+        if (hit != null) {
+            return hit;
+        }
+        CompletableFuture<V> future = cache.getIfPresent(id);
+        if (future == null) {
+            return null;
+        }
+        if (!isCompleted(future)) {
+            return Mono.fromFuture(future, true).flatMap(toMono);
+        }
+        V resolved = future.join();
+        return resolved != null ? toMono.apply(resolved) : Mono.empty();
+    }
+
+    /**
+     * Inserts a value obtained without loading, such as an off-heap L2 hit, with a full lifetime.
+     */
+    Mono<R> put(String id, V value) {
+        return store(id, value);
+    }
+
+    /**
+     * Hands every resolved entry to {@code consumer}; loads still in flight are skipped.
+     */
+    void export(EntryConsumer<V> consumer) {
+        long now = System.currentTimeMillis();
+        cache.synchronous().asMap().forEach((id, value) -> {
+            long left = remainingNanos(id);
+            if (left > 0) {
+                consumer.accept(id, value, now - (ttl.toMillis() - TimeUnit.NANOSECONDS.toMillis(left)));
+            }
+        });
+    }
+
+    /**
+     * The lifetime the entry of {@code id} has left, or -1 when it is absent or its lifetime is not
+     * known yet: Caffeine gives an async load its lifetime only after the load's future has
+     * completed, and until then reports one far beyond the TTL.
+     */
+    private long remainingNanos(String id) {
+        long left = expiry.getExpiresAfter(id, TimeUnit.NANOSECONDS).orElse(-1);
+        return left > ttl.toNanos() ? -1 : left;
+    }
+
+    /**
+     * Inserts an entry with the lifetime it had left, unless it has expired or the key is cached.
+     */
+    void restore(String id, V value, long writeMillis) {
+        Duration left = ttl.minusMillis(System.currentTimeMillis() - writeMillis);
+        if (!left.isNegative() && !left.isZero()) {
+            expiry.putIfAbsent(id, value, left);
+        }
+    }
+
+    /**
+     * Pins the tracker's current top keys and unpins the ones that dropped out. A key whose cached
+     * value still has more than {@code reloadWithinNanos} to live is pinned with that value; the
+     * others are reloaded, and a key stays served as before until its reload completes. A failed
+     * reload keeps the pinned and cached value, and one that finds the key gone unpins it.
+     */
+    void refreshHotSet(long reloadWithinNanos) {
+        if (hotKeys == null) {
+            return;
+        }
+        Set<String> hot = new HashSet<>();
+        for (HotKeyTracker.HotKey key : hotKeys.topKeys()) {
+            hot.add(key.key());
+        }
+        pinned.keySet().retainAll(hot);
+        for (String id : hot) {
+            V cached = cache.synchronous().asMap().get(id);
+            if (cached != null && remainingNanos(id) > reloadWithinNanos) {
+                pinned.put(id, toMono.apply(cached));
+                continue;
+            }
+            load(id).whenComplete((value, error) -> {
+                if (error != null || !hotKeys.isHot(id)) {
+                    return;
+                }
+                if (value == null) {
+                    pinned.remove(id);
+                    invalidate(id);
+                } else {
+                    pinned.put(id, store(id, value));
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the tracker's top keys, most requested first; empty without hot keys configured
+     */
+    List<HotKeyTracker.HotKey> hotKeys() {
+        return hotKeys != null ? hotKeys.topKeys() : List.of();
+    }
+
+    /**
+     * @return whether a miss load of {@code id} is in flight; a read of the map, so no stats
+     */
+    boolean isLoading(String id) {
+        CompletableFuture<V> future = cache.asMap().get(id);
+        return future != null && !future.isDone();
+    }
+
+    int pinnedCount() {
+        return pinned.size();
+    }
+
+    private Mono<R> pinnedHit(String id) {
+        if (pinned.isEmpty()) {
+            return null;
+        }
+        Mono<R> hit = pinned.get(id);
+        if (hit != null) {
+            pinnedHits.increment();
+        }
+        return hit;
+    }
+
+    /**
+     * Load for the async cache, which never completes exceptionally: a failed load is cached as
+     * {@code failed}, like a miss always was, and Caffeine has no exception to log.
+     */
+    private CompletableFuture<V> loadMiss(String id, ContextView context) {
+        Mono<V> source = this.source.apply(id);
+        return load(id, (context.isEmpty() ? source : source.contextWrite(context)).onErrorReturn(failed));
+    }
+
+    /**
+     * Reload of a key outside the async cache; completes exceptionally when the load failed.
+     */
+    private CompletableFuture<V> load(String id) {
+        return load(id, source.apply(id));
+    }
+
+    /**
+     * A miss fills the fast path on its first hit, once Caffeine has given the entry its lifetime,
+     * so the two never disagree on when it expires.
+     */
+    private CompletableFuture<V> load(String id, Mono<V> source) {
+        long start = System.nanoTime();
+        CompletableFuture<V> load = source.toFuture();
+        if (earlyRefresh == null) {
+            return load;
+        }
+        return load.whenComplete((value, error) -> earlyRefresh.recordLoad(System.nanoTime() - start));
+    }
+
+    /**
+     * Reloads in the background while readers keep the current value, at most once per key at a
+     * time. A failed reload leaves the current value to expire as it would have; one that finds
+     * the key gone drops it.
+     */
+    private void maybeRefresh(String id, long remainingNanos) {
+        if (remainingNanos <= 0 || !earlyRefresh.shouldRefresh(remainingNanos) || !refreshing.add(id)) {
+            return;
+        }
+        earlyRefreshes.increment();
+        load(id).whenComplete((value, error) -> {
+            refreshing.remove(id);
+            if (error != null) {
+                return;
+            }
+            if (value == null) {
+                invalidate(id);
+            } else {
+                store(id, value);
+            }
+        });
+    }
+
+    /**
+     * Caches a value with a new lifetime, the same in the fast path as in Caffeine.
+     */
+    private Mono<R> store(String id, V value) {
+        long ttlNanos = ttlPolicy.nextTtlNanos();
+        expiry.put(id, value, ttlNanos, TimeUnit.NANOSECONDS);
+        Mono<R> mono = toMono.apply(value);
+        long numericId = fastPath != null ? ProductIdCodec.encode(id) : ProductIdCodec.NOT_NUMERIC;
+        if (numericId != ProductIdCodec.NOT_NUMERIC) {
+            fastPath.put(numericId, mono, ttlNanos);
+        }
+        return mono;
+    }
+
+    private void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+        long numericId = fastPath != null ? ProductIdCodec.encode(id) : ProductIdCodec.NOT_NUMERIC;
+        if (numericId != ProductIdCodec.NOT_NUMERIC) {
+            fastPath.invalidate(numericId);
+        }
+    }
+
+    /**
+     * Waiters on a load still in flight subscribe with cancellation suppressed: one caller giving
+     * up must not cancel the shared load for the others.
+     */
+    private static boolean isCompleted(CompletableFuture<?> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.similarproducts.infrastructure.adapter.http.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * Admin endpoint listing the hot keys of the upstream client caches.
+ * <ul>
+ *   <li>GET /actuator/hotkeys - per cache, the pinned count and the top keys with estimated recent hits</li>
+ * </ul>
+ */
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeyEndpoint {
+
+    private final ProductApiClient productApiClient;
+
+    @ReadOperation
+    public Map<String, ProductApiClient.HotKeys> hotKeys() {
+        return productApiClient.hotKeys();
+    }
+}
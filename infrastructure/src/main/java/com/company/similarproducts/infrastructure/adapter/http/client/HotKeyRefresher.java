@@ -0,0 +1,55 @@
+package com.company.similarproducts.infrastructure.adapter.http.client;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+
+/**
+ * Periodically re-pins the hot keys of {@link ProductApiClient} and reloads the ones that would
+ * expire within two intervals, so the keys that carry most of the traffic are refreshed on a
+ * schedule instead of expiring under load, and a failed reload is retried once before they do.
+ */
+@Slf4j
+public class HotKeyRefresher {
+
+    private final ProductApiClient productApiClient;
+    private final Duration interval;
+    private final Scheduler timer;
+
+    private volatile Disposable refresh;
+
+    public HotKeyRefresher(ProductApiClient productApiClient, Duration interval, Scheduler timer) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        this.productApiClient = productApiClient;
+        this.interval = interval;
+        this.timer = timer;
+    }
+
+    public void start() {
+        if (refresh == null) {
+            refresh = Flux.interval(interval, interval, timer)
+                    .onBackpressureDrop()
+                    .subscribe(ignored -> refreshHotKeys());
+        }
+    }
+
+    public void close() {
+        Disposable current = refresh;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private void refreshHotKeys() {
+        try {
+            productApiClient.refreshHotKeys(interval.multipliedBy(2));
+        } catch (RuntimeException e) {
+            log.warn("Hot key refresh failed: {}", e.toString());
+        }
+    }
+}
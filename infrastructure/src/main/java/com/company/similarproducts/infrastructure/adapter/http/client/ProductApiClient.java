@@ -1,82 +1,322 @@
 package com.company.similarproducts.infrastructure.adapter.http.client;
 
+import com.company.similarproducts.infrastructure.adapter.http.codec.CompactProductDecoder;
+import com.company.similarproducts.infrastructure.adapter.http.codec.SimilarIdsDecoder;
 import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.company.similarproducts.infrastructure.adapter.http.scheduling.UpstreamScheduler;
+import com.company.similarproducts.infrastructure.cache.CacheEntrySink;
+import com.company.similarproducts.infrastructure.cache.CacheOutcome;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry;
+import com.company.similarproducts.infrastructure.cache.CacheWeights;
+import com.company.similarproducts.infrastructure.cache.CompactProduct;
+import com.company.similarproducts.infrastructure.cache.HotKeyTracker;
+import com.company.similarproducts.infrastructure.cache.NotFoundFilter;
+import com.company.similarproducts.infrastructure.cache.OffHeapProductStore;
+import com.company.similarproducts.infrastructure.cache.ProductIdCodec;
+import com.company.similarproducts.infrastructure.cache.SnapshotableProductCache;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
-public class ProductApiClient {
+@ConditionalOnProperty(prefix = "external-apis.product-service", name = "client", havingValue = "reactive", matchIfMissing = true)
+public class ProductApiClient implements SnapshotableProductCache {
+
+    /**
+     * Cache metrics are published as {@code cache.*} meters tagged with these names.
+     */
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String SIMILAR_IDS_CACHE = "similarIds";
+    public static final String CACHE_MANAGER_TAG = CacheRegistry.CACHE_MANAGER_TAG;
+    public static final String CACHE_MANAGER = "productApiClient";
+    public static final String PRODUCTS_BY_NUMERIC_ID_CACHE = "productsByNumericId";
+    public static final String SIMILAR_IDS_BY_NUMERIC_ID_CACHE = "similarIdsByNumericId";
+    public static final String PRODUCTS_HOT_CACHE = "productsHot";
+    public static final String SIMILAR_IDS_HOT_CACHE = "similarIdsHot";
+
+    private static final CompactProductDecoder PRODUCT_DECODER = new CompactProductDecoder();
+    private static final SimilarIdsDecoder SIMILAR_IDS_DECODER = new SimilarIdsDecoder();
+    private static final Duration UPSTREAM_TIMEOUT = Duration.ofMillis(2000);
 
     private final WebClient webClient;
-    private final Cache<String, Mono<ProductApiDto>> productCache;
-    private final Cache<String, Mono<List<String>>> similarIdsCache;
+    private final ClientCache<Optional<CompactProduct>, CompactProduct> products;
+    private final ClientCache<List<String>, List<String>> similarIds;
+    private final OffHeapProductStore offHeapStore;
+    private final NotFoundFilter notFoundFilter;
+    private final UpstreamScheduler scheduler;
 
-    public ProductApiClient(WebClient webClient) {
-        this.webClient = webClient;
+    /** Id streams of similar-ids loads in flight, which streaming callers join instead of the list. */
+    private final Map<String, Flux<String>> similarIdStreams = new ConcurrentHashMap<>();
 
-        this.productCache = Caffeine.newBuilder()
-                .maximumSize(10_000)
-                .expireAfterWrite(Duration.ofMinutes(10))
-                .build();
+    /**
+     * @param offHeapStore   optional off-heap L2 for products, {@code null} for none
+     * @param notFoundFilter optional filter of ids upstream answered 404 for, {@code null} to cache them as absent
+     * @param scheduler      optional fair queuing of upstream calls across requests, {@code null} to call at once
+     */
+    public ProductApiClient(WebClient webClient, CacheRegistry cacheRegistry,
+                            @Nullable OffHeapProductStore offHeapStore, @Nullable NotFoundFilter notFoundFilter,
+                            @Nullable UpstreamScheduler scheduler) {
+        this.webClient = webClient;
+        this.offHeapStore = offHeapStore;
+        this.notFoundFilter = notFoundFilter;
+        this.scheduler = scheduler;
 
-        this.similarIdsCache = Caffeine.newBuilder()
-                .maximumSize(5_000)
-                .expireAfterWrite(Duration.ofMinutes(10))
-                .build();
+        this.products = new ClientCache<>(cacheRegistry, PRODUCTS_CACHE, PRODUCTS_BY_NUMERIC_ID_CACHE,
+                PRODUCTS_HOT_CACHE, CacheWeights::optionalProduct, this::loadProductEntry, Optional.empty(), ProductApiClient::productMono);
+        this.similarIds = new ClientCache<>(cacheRegistry, SIMILAR_IDS_CACHE, SIMILAR_IDS_BY_NUMERIC_ID_CACHE,
+                SIMILAR_IDS_HOT_CACHE, CacheWeights::similarIds, this::fetchSimilarIds, List.of(), Mono::just);
     }
 
-    public Mono<ProductApiDto> getProductById(String productId) {
-        if (productId == null || productId.isBlank()) {
+    /**
+     * Products are cached in their {@link CompactProduct} form; callers expand them once.
+     * Failed loads are cached as absent for the TTL, and so are not-found ones unless the
+     * not-found filter is enabled, which then answers for them without a cache entry. A failed
+     * refresh of a cached product keeps the cached value.
+     * <p>
+     * With a scheduler, a miss loads in the caller's context, so its upstream call is queued
+     * with the caller's flow and priority.
+     */
+    public Mono<CompactProduct> getProductById(String productId) {
+        long numericId = ProductIdCodec.encode(productId);
+        if (numericId == ProductIdCodec.NOT_NUMERIC && (productId == null || productId.isBlank())) {
             return Mono.empty();
         }
 
-        return productCache.get(productId, id ->
-            webClient.get()
-                    .uri("/product/{productId}", id)
-                    .retrieve()
-                    .bodyToMono(ProductApiDto.class)
-                    .timeout(Duration.ofMillis(2000))
-                    .doOnSubscribe(s -> log.debug("Cache MISS - Calling external API for product: {}", id))
-                    .onErrorResume(WebClientResponseException.NotFound.class, e -> {
-                        log.debug("Product not found: {}", id);
-                        return Mono.empty();
-                    })
-                    .onErrorResume(e -> {
-                        log.debug("Error loading product {}: {}", id, e.getClass().getSimpleName());
-                        return Mono.empty();
-                    })
-                    .cache(Duration.ofMinutes(10))
-        );
+        if (scheduler == null) {
+            return products.get(productId, numericId);
+        }
+        return Mono.deferContextual(context -> products.get(productId, numericId, context));
     }
 
     public Mono<List<String>> getSimilarProductIds(String productId) {
-        if (productId == null || productId.isBlank()) {
+        long numericId = ProductIdCodec.encode(productId);
+        if (numericId == ProductIdCodec.NOT_NUMERIC && (productId == null || productId.isBlank())) {
             return Mono.just(List.of());
         }
 
-        return similarIdsCache.get(productId, id ->
-            webClient.get()
-                    .uri("/product/{productId}/similarids", id)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<List<String>>() {})
-                    .timeout(Duration.ofMillis(2000))
-                    .doOnSubscribe(s -> log.debug("Cache MISS - Calling external API for similar IDs: {}", id))
-                    .onErrorResume(e -> {
-                        log.debug("Error loading similar IDs {}: {}", id, e.getClass().getSimpleName());
-                        return Mono.just(List.of());
-                    })
-                    .defaultIfEmpty(List.of())
-                    .cache(Duration.ofMinutes(10))
-        );
+        if (scheduler == null) {
+            return similarIds.get(productId, numericId);
+        }
+        return Mono.deferContextual(context -> similarIds.get(productId, numericId, context));
+    }
+
+    /**
+     * Same ids as {@link #getSimilarProductIds}, but while the upstream call is in flight they
+     * are emitted as the body is decoded rather than once the whole array has arrived. The call
+     * is the cache's own load: the cache still gets the complete list. Should the body fail
+     * midway, the ids already emitted stand and the stream completes, while the cache keeps an
+     * empty list for the key as it does for any failed load.
+     */
+    public Flux<String> streamSimilarProductIds(String productId) {
+        long numericId = ProductIdCodec.encode(productId);
+        if (numericId == ProductIdCodec.NOT_NUMERIC && (productId == null || productId.isBlank())) {
+            return Flux.empty();
+        }
+
+        if (scheduler == null) {
+            return streamSimilarProductIds(productId, numericId, Context.empty());
+        }
+        return Flux.deferContextual(context -> streamSimilarProductIds(productId, numericId, context));
+    }
+
+    private Flux<String> streamSimilarProductIds(String productId, long numericId, ContextView context) {
+        Mono<List<String>> ids = similarIds.get(productId, numericId, context);
+        Flux<String> inFlight = similarIds.isLoading(productId) ? similarIdStreams.get(productId) : null;
+        if (inFlight != null) {
+            return CacheOutcome.recordMiss(inFlight.onErrorResume(e -> Flux.empty()));
+        }
+        return ids.flatMapIterable(list -> list);
+    }
+
+    private static Mono<CompactProduct> productMono(Optional<CompactProduct> product) {
+        return Mono.justOrEmpty(product);
+    }
+
+    /**
+     * Cache entry for a product: empty, so not cached, when the not-found filter already knows
+     * or has just learned that upstream has no such product. A sampled share of filter hits is
+     * still loaded to catch false positives.
+     */
+    private Mono<Optional<CompactProduct>> loadProductEntry(String id) {
+        if (notFoundFilter == null) {
+            return loadProduct(id).map(Optional::of).defaultIfEmpty(Optional.empty());
+        }
+        NotFoundFilter.Verdict verdict = notFoundFilter.check(id);
+        if (verdict == NotFoundFilter.Verdict.NOT_FOUND) {
+            return Mono.empty();
+        }
+        Mono<Optional<CompactProduct>> entry = loadProduct(id).map(Optional::of);
+        if (verdict == NotFoundFilter.Verdict.VERIFY) {
+            entry = entry.doOnNext(product -> notFoundFilter.confirmExists(id));
+        }
+        return entry.switchIfEmpty(Mono.fromSupplier(() ->
+                notFoundFilter.contains(id) ? null : Optional.<CompactProduct>empty()));
+    }
+
+    /**
+     * L1 miss: served from the off-heap L2 when present, otherwise fetched and written to L2.
+     */
+    private Mono<CompactProduct> loadProduct(String id) {
+        if (offHeapStore == null) {
+            return fetchProduct(id);
+        }
+        return Mono.defer(() -> {
+            ProductApiDto stored = offHeapStore.get(id);
+            return stored != null
+                    ? Mono.just(CompactProduct.from(stored))
+                    : fetchProduct(id).doOnNext(product -> offHeapStore.put(id, product.toDto()));
+        });
+    }
+
+    /**
+     * The body is decoded into the cached form as its buffers arrive, without a DTO in between
+     * and without aggregating it under the client's {@code maxInMemorySize}. Completes empty
+     * when upstream has no such product, and with an error when the call failed.
+     */
+    private Mono<CompactProduct> fetchProduct(String id) {
+        Mono<CompactProduct> call = webClient.get()
+                .uri("/product/{productId}", id)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(PRODUCT_DECODER::decode);
+        return scheduled(call)
+                .timeout(UPSTREAM_TIMEOUT)
+                .doOnSubscribe(s -> log.debug("Cache MISS - Calling external API for product: {}", id))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    log.debug("Product not found: {}", id);
+                    if (notFoundFilter != null) {
+                        notFoundFilter.put(id);
+                    }
+                    return Mono.empty();
+                })
+                .doOnError(e -> log.debug("Error loading product {}: {}", id, e.getClass().getSimpleName()));
+    }
+
+    /**
+     * The body is decoded id by id into a replaying stream, published for
+     * {@link #streamSimilarProductIds} while the load runs, and collected into the cached list.
+     * The timeout covers the whole body, as it did when the body was decoded in one piece. A 404
+     * is an empty list; any other failure is an error.
+     */
+    private Mono<List<String>> fetchSimilarIds(String id) {
+        Mono<Long> deadline = Mono.delay(UPSTREAM_TIMEOUT).cache();
+        Flux<String> call = webClient.get()
+                .uri("/product/{productId}/similarids", id)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(SIMILAR_IDS_DECODER::decode);
+        Flux<String> stream = scheduled(call)
+                .timeout(deadline, ignored -> deadline)
+                .doOnSubscribe(s -> log.debug("Cache MISS - Calling external API for similar IDs: {}", id))
+                .cache();
+        similarIdStreams.put(id, stream);
+        return stream.collectList()
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(List.of()))
+                .doOnError(e -> log.debug("Error loading similar IDs {}: {}", id, e.getClass().getSimpleName()))
+                .doFinally(signal -> similarIdStreams.remove(id, stream));
+    }
+
+    /**
+     * The call holds a scheduler slot until its body is decoded, and its wait for one counts
+     * against the upstream timeout, as a wait for a pooled connection does.
+     */
+    private <T> Mono<T> scheduled(Mono<T> call) {
+        return scheduler != null ? scheduler.schedule(call) : call;
+    }
+
+    private <T> Flux<T> scheduled(Flux<T> call) {
+        return scheduler != null ? scheduler.schedule(call) : call;
+    }
+
+    /**
+     * Cache-only lookup: never calls upstream. An entry whose load is still in flight is
+     * returned as is, since waiting on it adds no upstream call. L2 hits are promoted to L1.
+     */
+    public Mono<CompactProduct> getCachedProductById(String productId) {
+        long numericId = ProductIdCodec.encode(productId);
+        Mono<CompactProduct> cached = products.getIfPresent(productId, numericId);
+        if (cached != null) {
+            return cached;
+        }
+        ProductApiDto stored = offHeapStore != null ? offHeapStore.get(productId) : null;
+        if (stored == null) {
+            return Mono.empty();
+        }
+        return products.put(productId, Optional.of(CompactProduct.from(stored)));
+    }
+
+    /**
+     * Cache-only lookup of similar ids; empty when they are not cached.
+     */
+    public Mono<List<String>> getCachedSimilarProductIds(String productId) {
+        Mono<List<String>> cached = similarIds.getIfPresent(productId, ProductIdCodec.encode(productId));
+        return cached != null ? cached : Mono.empty();
+    }
+
+    /**
+     * Re-pins the current hot keys of both caches and reloads the ones that expire within
+     * {@code reloadWithin} from upstream.
+     */
+    public void refreshHotKeys(Duration reloadWithin) {
+        products.refreshHotSet(reloadWithin.toNanos());
+        similarIds.refreshHotSet(reloadWithin.toNanos());
+    }
+
+    /**
+     * @return per cache, how many keys are pinned and the top keys with their estimated recent hits
+     */
+    public Map<String, HotKeys> hotKeys() {
+        Map<String, HotKeys> hotKeys = new LinkedHashMap<>();
+        hotKeys.put(PRODUCTS_CACHE, new HotKeys(products.pinnedCount(), products.hotKeys()));
+        hotKeys.put(SIMILAR_IDS_CACHE, new HotKeys(similarIds.pinnedCount(), similarIds.hotKeys()));
+        return hotKeys;
+    }
+
+    public record HotKeys(int pinned, List<HotKeyTracker.HotKey> top) {
+    }
+
+    @Override
+    public void exportEntries(CacheEntrySink sink) {
+        products.export((id, product, writeMillis) -> {
+            if (product.isPresent()) {
+                sink.product(id, product.get().toDto(), writeMillis);
+            }
+        });
+        similarIds.export((id, ids, writeMillis) -> {
+            if (!ids.isEmpty()) {
+                sink.similarIds(id, ids, writeMillis);
+            }
+        });
+    }
+
+    @Override
+    public CacheEntrySink importer() {
+        return new CacheEntrySink() {
+            @Override
+            public void product(String productId, ProductApiDto product, long writeMillis) {
+                products.restore(productId, Optional.of(CompactProduct.from(product)), writeMillis);
+            }
+
+            @Override
+            public void similarIds(String productId, List<String> ids, long writeMillis) {
+                similarIds.restore(productId, ids, writeMillis);
+            }
+        };
     }
 }
@@ -0,0 +1,144 @@
+package com.company.similarproducts.infrastructure.adapter.http.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Live view of the upstream connection pools, registered with the WebClient's
+ * {@link ConnectionProvider}. Reactor Netty creates one pool per remote address;
+ * the totals here are summed over all of them, and each remote address also gets
+ * its own {@code upstream.endpoint.pool.*} meters tagged {@code endpoint=host:port}.
+ * Endpoints known up front can be {@linkplain #bind(String) bound} before their first
+ * connection, so their meters read zero rather than being absent.
+ */
+@Component
+public class UpstreamPoolMonitor implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+    private final Set<String> endpoints = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+
+    private record Pool(String endpoint, ConnectionPoolMetrics metrics) {
+    }
+
+    public UpstreamPoolMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("upstream.pool.pending.acquires", this, UpstreamPoolMonitor::pendingAcquires)
+                .description("Requests waiting for an upstream connection")
+                .register(meterRegistry);
+        Gauge.builder("upstream.pool.acquired", this, UpstreamPoolMonitor::acquiredConnections)
+                .description("Upstream connections currently in use")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        String endpoint = endpoint(remoteAddress);
+        pools.put(id, new Pool(endpoint, metrics));
+        bind(endpoint);
+    }
+
+    /**
+     * Registers the {@code upstream.endpoint.pool.*} meters of an endpoint, once.
+     *
+     * @param endpoint {@code host:port} of one remote address
+     */
+    public void bind(String endpoint) {
+        if (!endpoints.add(endpoint)) {
+            return;
+        }
+        Gauge.builder("upstream.endpoint.pool.pending.acquires", this, monitor -> monitor.endpointPendingAcquires(endpoint))
+                .description("Requests waiting for a connection to this upstream endpoint")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("upstream.endpoint.pool.acquired", this, monitor -> monitor.endpointAcquiredConnections(endpoint))
+                .description("Connections to this upstream endpoint currently in use")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("upstream.endpoint.pool.idle", this, monitor -> monitor.endpointIdleConnections(endpoint))
+                .description("Idle connections to this upstream endpoint")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("upstream.endpoint.pool.allocated", this,
+                        monitor -> monitor.endpointSum(endpoint, ConnectionPoolMetrics::allocatedSize))
+                .description("Connections to this upstream endpoint, in use or idle")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("upstream.endpoint.pool.max.allocated", this,
+                        monitor -> monitor.endpointSum(endpoint, ConnectionPoolMetrics::maxAllocatedSize))
+                .description("Most connections the pools to this upstream endpoint may open")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("upstream.endpoint.pool.max.pending.acquires", this,
+                        monitor -> monitor.endpointSum(endpoint, ConnectionPoolMetrics::maxPendingAcquireSize))
+                .description("Most requests that may wait for a connection to this upstream endpoint")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(id);
+    }
+
+    public int pendingAcquires() {
+        int pending = 0;
+        for (Pool pool : pools.values()) {
+            pending += pool.metrics().pendingAcquireSize();
+        }
+        return pending;
+    }
+
+    public int acquiredConnections() {
+        int acquired = 0;
+        for (Pool pool : pools.values()) {
+            acquired += pool.metrics().acquiredSize();
+        }
+        return acquired;
+    }
+
+    /**
+     * @param endpoint {@code host:port} of one remote address
+     */
+    public int endpointPendingAcquires(String endpoint) {
+        return endpointSum(endpoint, ConnectionPoolMetrics::pendingAcquireSize);
+    }
+
+    public int endpointAcquiredConnections(String endpoint) {
+        return endpointSum(endpoint, ConnectionPoolMetrics::acquiredSize);
+    }
+
+    public int endpointIdleConnections(String endpoint) {
+        return endpointSum(endpoint, ConnectionPoolMetrics::idleSize);
+    }
+
+    private int endpointSum(String endpoint, ToIntFunction<ConnectionPoolMetrics> metric) {
+        int sum = 0;
+        for (Pool pool : pools.values()) {
+            if (pool.endpoint().equals(endpoint)) {
+                sum += metric.applyAsInt(pool.metrics());
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Same {@code host:port} form as the balancer's endpoint names, unresolved hosts included.
+     */
+    private static String endpoint(SocketAddress address) {
+        if (address instanceof InetSocketAddress inet) {
+            return inet.getHostString() + ":" + inet.getPort();
+        }
+        return String.valueOf(address);
+    }
+}
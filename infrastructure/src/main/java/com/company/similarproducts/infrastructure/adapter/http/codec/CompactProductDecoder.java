@@ -0,0 +1,136 @@
+package com.company.similarproducts.infrastructure.adapter.http.codec;
+
+import com.company.similarproducts.infrastructure.cache.CompactProduct;
+import com.fasterxml.jackson.core.JsonToken;
+import org.reactivestreams.Publisher;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Decodes an upstream product body into a {@link CompactProduct} as its buffers arrive, with
+ * Jackson's non-blocking parser reading each {@link DataBuffer} in place, so there is neither an
+ * intermediate DTO nor an aggregated copy of the body.
+ * <p>
+ * Accepts what binding to {@code ProductApiDto} accepted: unknown fields are skipped, numbers
+ * and strings are coerced as Jackson coerces them, and a {@code null} or empty body completes
+ * empty. Bodies larger than {@code maxBytes} fail with {@link DataBufferLimitException}; they
+ * are never buffered whole, so this limit replaces the client-wide {@code maxInMemorySize}.
+ */
+public final class CompactProductDecoder {
+
+    /** A product is around a hundred bytes; anything near this is not a product. */
+    public static final int DEFAULT_MAX_BYTES = 64 * 1024;
+
+    private final int maxBytes;
+
+    public CompactProductDecoder(int maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    public CompactProductDecoder() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public Mono<CompactProduct> decode(Publisher<DataBuffer> body) {
+        return Flux.from(body)
+                .collect(() -> new ProductReader(maxBytes), ProductReader::feed)
+                .<CompactProduct>handle((reader, sink) -> {
+                    CompactProduct product = reader.product();
+                    if (product != null) {
+                        sink.next(product);
+                    }
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Field values collected token by token; values nested in fields are skipped by depth.
+     */
+    private static final class ProductReader extends StreamingJsonReader {
+
+        private boolean isObject;
+        private String field;
+
+        private String id;
+        private String name;
+        private BigDecimal price;
+        private boolean availability;
+
+        ProductReader(int maxBytes) {
+            super(maxBytes);
+        }
+
+        /**
+         * @return the product, or {@code null} for a {@code null} or blank body
+         */
+        CompactProduct product() {
+            if (!finish() || !isObject) {
+                return null;
+            }
+            return CompactProduct.of(id, name, price, availability);
+        }
+
+        @Override
+        protected void accept(JsonToken token, int depth) throws IOException {
+            if (token == JsonToken.START_OBJECT && depth == 1) {
+                isObject = true;
+            } else if (!isObject && token != JsonToken.VALUE_NULL) {
+                throw new DecodingException("Expected a product object but got " + token);
+            } else if (token == JsonToken.FIELD_NAME) {
+                field = depth == 1 ? parser.currentName() : null;
+            } else if (depth == 1 && field != null && token.isScalarValue()) {
+                value(field, token);
+            }
+        }
+
+        private void value(String field, JsonToken token) throws IOException {
+            switch (field) {
+                case "id" -> id = text(token);
+                case "name" -> name = text(token);
+                case "price" -> price = decimal(token);
+                case "availability" -> availability = bool(token);
+                default -> {
+                }
+            }
+        }
+
+        private String text(JsonToken token) throws IOException {
+            return token == JsonToken.VALUE_NULL ? null : parser.getText();
+        }
+
+        private BigDecimal decimal(JsonToken token) throws IOException {
+            return switch (token) {
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+                case VALUE_STRING -> {
+                    String text = parser.getText().trim();
+                    try {
+                        yield text.isEmpty() ? null : new BigDecimal(text);
+                    } catch (NumberFormatException e) {
+                        throw new DecodingException("Invalid product price: " + text, e);
+                    }
+                }
+                case VALUE_NULL -> null;
+                default -> throw new DecodingException("Invalid product price token: " + token);
+            };
+        }
+
+        private boolean bool(JsonToken token) throws IOException {
+            return switch (token) {
+                case VALUE_TRUE -> true;
+                case VALUE_NUMBER_INT -> parser.getLongValue() != 0;
+                case VALUE_STRING -> Boolean.parseBoolean(parser.getText().trim());
+                default -> false;
+            };
+        }
+    }
+}
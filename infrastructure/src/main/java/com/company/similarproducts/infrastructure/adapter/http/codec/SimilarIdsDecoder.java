@@ -0,0 +1,91 @@
+package com.company.similarproducts.infrastructure.adapter.http.codec;
+
+import com.fasterxml.jackson.core.JsonToken;
+import org.reactivestreams.Publisher;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes an upstream similar-ids body, a JSON array of ids, into a stream of ids: each id is
+ * emitted as soon as the buffer that completes it has been parsed, so callers can act on the
+ * first ids while the rest of the array is still arriving.
+ * <p>
+ * Numeric ids are emitted as their text; {@code null} elements and nested values are skipped,
+ * and a {@code null} or empty body completes empty.
+ */
+public final class SimilarIdsDecoder {
+
+    /** The limit the aggregated Jackson decode of these bodies had. */
+    public static final int DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+    private final int maxBytes;
+
+    public SimilarIdsDecoder(int maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    public SimilarIdsDecoder() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public Flux<String> decode(Publisher<DataBuffer> body) {
+        return Flux.defer(() -> {
+            IdsReader reader = new IdsReader(maxBytes);
+            return Flux.from(body)
+                    .concatMapIterable(reader::read)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(reader.rest())));
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Collects the ids each buffer completes, handed out per buffer.
+     */
+    private static final class IdsReader extends StreamingJsonReader {
+
+        private boolean isArray;
+        private List<String> ids = new ArrayList<>();
+
+        IdsReader(int maxBytes) {
+            super(maxBytes);
+        }
+
+        List<String> read(DataBuffer buffer) {
+            feed(buffer);
+            return drain();
+        }
+
+        List<String> rest() {
+            finish();
+            return drain();
+        }
+
+        @Override
+        protected void accept(JsonToken token, int depth) throws IOException {
+            if (token == JsonToken.START_ARRAY && depth == 1) {
+                isArray = true;
+            } else if (!isArray && token != JsonToken.VALUE_NULL) {
+                throw new DecodingException("Expected an array of ids but got " + token);
+            } else if (depth == 1 && token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+                ids.add(parser.getText());
+            }
+        }
+
+        private List<String> drain() {
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            List<String> drained = ids;
+            ids = new ArrayList<>();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.company.similarproducts.infrastructure.adapter.http.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Feeds the buffers of one response body to Jackson's non-blocking parser and hands every token
+ * of the first top-level value to {@link #accept(JsonToken, int)}. A buffer is read in place and
+ * released once all tokens it completes are handled; the parser keeps copies of partial tokens
+ * only, so nothing holds on to the body.
+ */
+abstract class StreamingJsonReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final long maxBytes;
+    private long bytes;
+
+    private int depth;
+    private boolean started;
+    private boolean done;
+
+    StreamingJsonReader(long maxBytes) {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new DecodingException("Could not create JSON parser", e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Handles one token of the top-level value; {@code depth} is the nesting level the token
+     * leaves the parser at, 0 once the value is complete.
+     */
+    protected abstract void accept(JsonToken token, int depth) throws IOException;
+
+    final void feed(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator buffers = buffer.readableByteBuffers()) {
+            while (buffers.hasNext()) {
+                ByteBuffer next = buffers.next();
+                bytes += next.remaining();
+                if (bytes > maxBytes) {
+                    throw new DataBufferLimitException("Exceeded limit on max bytes per body: " + maxBytes);
+                }
+                feeder.feedInput(next);
+                parseAvailable();
+            }
+        } catch (IOException e) {
+            throw new DecodingException("Invalid JSON body: " + e.getMessage(), e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Signals the end of the body.
+     *
+     * @return whether the body held a value; {@code false} when it was blank
+     */
+    final boolean finish() {
+        try {
+            feeder.endOfInput();
+            parseAvailable();
+            parser.close();
+        } catch (IOException e) {
+            throw new DecodingException("Invalid JSON body: " + e.getMessage(), e);
+        }
+        if (started && !done) {
+            throw new DecodingException("Incomplete JSON body");
+        }
+        return started;
+    }
+
+    private void parseAvailable() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (done) {
+                continue;
+            }
+            started = true;
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            done = depth == 0;
+            accept(token, depth);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.company.similarproducts.infrastructure.adapter.http.degraded;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, de-duplicated queue of cache loads skipped while degraded.
+ * <p>
+ * Loads are started in FIFO order at no more than {@code ratePerSecond}, so refilling the
+ * caches never adds more than a fixed trickle of upstream calls. Offers beyond
+ * {@code capacity} are dropped; the key is simply offered again on its next miss.
+ */
+@Slf4j
+public class CacheFillQueue {
+
+    private final int capacity;
+    private final int permitsPerTick;
+    private final Duration tick;
+    private final Scheduler timer;
+
+    private final Map<String, Supplier<Mono<?>>> loaders = new ConcurrentHashMap<>();
+    private final Queue<String> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile Disposable drain;
+
+    public CacheFillQueue(int capacity, int ratePerSecond, Duration tick, Scheduler timer) {
+        if (capacity < 1 || ratePerSecond < 1) {
+            throw new IllegalArgumentException("capacity and ratePerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.tick = tick;
+        this.timer = timer;
+        this.permitsPerTick = (int) Math.max(1, Math.round(ratePerSecond * tick.toNanos() / 1_000_000_000.0));
+    }
+
+    /**
+     * Queues {@code loader} unless {@code key} is already queued or the queue is full.
+     *
+     * @return true when the key is queued after the call
+     */
+    public boolean offer(String key, Supplier<Mono<?>> loader) {
+        if (loaders.containsKey(key)) {
+            return true;
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        if (loaders.putIfAbsent(key, loader) != null) {
+            size.decrementAndGet();
+            return true;
+        }
+        order.offer(key);
+        return true;
+    }
+
+    public void start() {
+        if (drain == null) {
+            drain = Flux.interval(tick, tick, timer)
+                    .onBackpressureDrop()
+                    .subscribe(ignored -> drainTick());
+        }
+    }
+
+    public void close() {
+        Disposable current = drain;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    void drainTick() {
+        for (int i = 0; i < permitsPerTick; i++) {
+            String key = order.poll();
+            if (key == null) {
+                return;
+            }
+            Supplier<Mono<?>> loader = loaders.remove(key);
+            size.decrementAndGet();
+            started.increment();
+            loader.get().subscribe(
+                    ignored -> { },
+                    e -> log.debug("Background fill failed for {}: {}", key, e.getClass().getSimpleName()));
+        }
+    }
+
+    public int pending() {
+        return size.get();
+    }
+
+    public long startedCount() {
+        return started.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+}
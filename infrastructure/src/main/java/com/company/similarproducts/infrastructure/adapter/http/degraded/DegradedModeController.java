@@ -0,0 +1,91 @@
+package com.company.similarproducts.infrastructure.adapter.http.degraded;
+
+import com.company.similarproducts.domain.port.DegradedModePort;
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when requests are served from cache only.
+ * <p>
+ * {@link Mode#ON} and {@link Mode#OFF} are admin overrides. In {@link Mode#AUTO} degraded mode
+ * starts as soon as the upstream pool has {@code enterPendingAcquires} waiters or
+ * {@code enterInFlight} requests are in flight, and lasts until no threshold has been
+ * reached for {@code hold}, so a flapping signal does not toggle it on every request.
+ */
+public class DegradedModeController implements DegradedModePort {
+
+    public enum Mode { AUTO, ON, OFF }
+
+    private final int enterPendingAcquires;
+    private final int enterInFlight;
+    private final long holdNanos;
+    private final IntSupplier pendingAcquires;
+    private final IntSupplier inFlight;
+    private final LongSupplier clock;
+
+    private volatile Mode mode;
+    private volatile boolean saturated;
+    private volatile long lastSaturatedNanos;
+    private final LongAdder activations = new LongAdder();
+
+    @Builder
+    private DegradedModeController(Mode mode, int enterPendingAcquires, int enterInFlight, Duration hold,
+                                   IntSupplier pendingAcquires, IntSupplier inFlight, LongSupplier clock) {
+        this.mode = mode != null ? mode : Mode.AUTO;
+        this.enterPendingAcquires = enterPendingAcquires;
+        this.enterInFlight = enterInFlight;
+        this.holdNanos = hold != null ? hold.toNanos() : 0L;
+        this.pendingAcquires = pendingAcquires != null ? pendingAcquires : () -> 0;
+        this.inFlight = inFlight != null ? inFlight : () -> 0;
+        this.clock = clock != null ? clock : System::nanoTime;
+    }
+
+    @Override
+    public boolean isDegraded() {
+        return switch (mode) {
+            case ON -> true;
+            case OFF -> false;
+            case AUTO -> evaluate();
+        };
+    }
+
+    private boolean evaluate() {
+        long now = clock.getAsLong();
+        if (thresholdReached()) {
+            if (!saturated) {
+                saturated = true;
+                activations.increment();
+            }
+            lastSaturatedNanos = now;
+            return true;
+        }
+        if (saturated && now - lastSaturatedNanos >= holdNanos) {
+            saturated = false;
+        }
+        return saturated;
+    }
+
+    private boolean thresholdReached() {
+        return (enterPendingAcquires > 0 && pendingAcquires.getAsInt() >= enterPendingAcquires)
+                || (enterInFlight > 0 && inFlight.getAsInt() >= enterInFlight);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Number of times {@link Mode#AUTO} entered degraded mode.
+     */
+    public long activationCount() {
+        return activations.sum();
+    }
+}
@@ -0,0 +1,35 @@
+package com.company.similarproducts.infrastructure.adapter.http.degraded;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Admin endpoint to inspect and override degraded mode at runtime.
+ * <ul>
+ *   <li>GET /actuator/degradedmode - mode, whether responses are currently degraded, pending fills</li>
+ *   <li>POST /actuator/degradedmode {@code {"mode":"ON|OFF|AUTO"}} - force or release degraded mode</li>
+ * </ul>
+ */
+@Endpoint(id = "degradedmode")
+@RequiredArgsConstructor
+public class DegradedModeEndpoint {
+
+    private final DegradedModeController controller;
+    private final CacheFillQueue fillQueue;
+
+    @ReadOperation
+    public DegradedModeState state() {
+        return new DegradedModeState(controller.getMode(), controller.isDegraded(), fillQueue.pending());
+    }
+
+    @WriteOperation
+    public DegradedModeState update(DegradedModeController.Mode mode) {
+        controller.setMode(mode);
+        return state();
+    }
+
+    public record DegradedModeState(DegradedModeController.Mode mode, boolean degraded, int pendingFills) {
+    }
+}
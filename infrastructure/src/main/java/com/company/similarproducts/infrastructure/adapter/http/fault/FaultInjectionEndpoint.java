@@ -0,0 +1,95 @@
+package com.company.similarproducts.infrastructure.adapter.http.fault;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Admin endpoint to inspect and change fault injection at runtime.
+ * <ul>
+ *   <li>GET /actuator/faultinjection - current state and rules</li>
+ *   <li>POST /actuator/faultinjection - toggle {@code active} and/or upsert the rule for {@code pathPattern};
+ *       fields left out keep their current value, or their default in a new rule</li>
+ *   <li>DELETE /actuator/faultinjection?pathPattern=... - remove one rule, or all rules without the parameter</li>
+ * </ul>
+ */
+@Endpoint(id = "faultinjection")
+@RequiredArgsConstructor
+public class FaultInjectionEndpoint {
+
+    private final FaultInjectionFilter filter;
+
+    @ReadOperation
+    public FaultInjectionState state() {
+        return new FaultInjectionState(filter.isActive(), filter.getRules());
+    }
+
+    @WriteOperation
+    public FaultInjectionState update(@Nullable Boolean active,
+                                      @Nullable String pathPattern,
+                                      @Nullable LatencyDistribution latencyDistribution,
+                                      @Nullable Long latencyMinMillis,
+                                      @Nullable Long latencyMaxMillis,
+                                      @Nullable Long latencyMeanMillis,
+                                      @Nullable Double errorRate,
+                                      @Nullable Integer errorStatus,
+                                      @Nullable Double resetRate,
+                                      @Nullable Integer slowDripChunkSize,
+                                      @Nullable Long slowDripChunkDelayMillis) {
+        if (pathPattern != null) {
+            filter.updateRule(pathPattern, rule -> {
+                if (latencyDistribution != null) {
+                    rule.latencyDistribution(latencyDistribution);
+                }
+                if (latencyMinMillis != null) {
+                    rule.latencyMin(Duration.ofMillis(latencyMinMillis));
+                }
+                if (latencyMaxMillis != null) {
+                    rule.latencyMax(Duration.ofMillis(latencyMaxMillis));
+                }
+                if (latencyMeanMillis != null) {
+                    rule.latencyMean(Duration.ofMillis(latencyMeanMillis));
+                }
+                if (errorRate != null) {
+                    rule.errorRate(errorRate);
+                }
+                if (errorStatus != null) {
+                    rule.errorStatus(errorStatus);
+                }
+                if (resetRate != null) {
+                    rule.resetRate(resetRate);
+                }
+                if (slowDripChunkSize != null) {
+                    rule.slowDripChunkSize(slowDripChunkSize);
+                }
+                if (slowDripChunkDelayMillis != null) {
+                    rule.slowDripChunkDelay(Duration.ofMillis(slowDripChunkDelayMillis));
+                }
+                return rule;
+            });
+        }
+        if (active != null) {
+            filter.setActive(active);
+        }
+        return state();
+    }
+
+    @DeleteOperation
+    public FaultInjectionState remove(@Nullable String pathPattern) {
+        if (pathPattern == null) {
+            filter.setRules(List.of());
+        } else {
+            filter.removeRule(pathPattern);
+        }
+        return state();
+    }
+
+    public record FaultInjectionState(boolean active, List<FaultRule> rules) {
+    }
+}
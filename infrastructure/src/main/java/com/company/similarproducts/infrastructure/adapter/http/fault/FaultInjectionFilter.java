@@ -0,0 +1,224 @@
+package com.company.similarproducts.infrastructure.adapter.http.fault;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.SocketException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.random.RandomGenerator;
+
+/**
+ * WebClient filter that injects latency, error responses, connection resets and
+ * slow-drip bodies into upstream calls, to rehearse outages against a local upstream.
+ * Rules and the active flag can be replaced at runtime. Rule patterns match the path relative
+ * to the client's base URL, so {@code /product/**} holds whatever context path the base URL has.
+ */
+@Slf4j
+public class FaultInjectionFilter implements ExchangeFilterFunction {
+
+    private static final String INJECTED_ERROR_BODY = "{\"message\":\"Injected fault\"}";
+
+    private final String basePath;
+    private final Supplier<RandomGenerator> random;
+    private volatile List<CompiledRule> rules = List.of();
+    private volatile boolean active;
+
+    /**
+     * @param baseUrl the WebClient's base URL, whose path is left out when matching rules
+     */
+    public FaultInjectionFilter(List<FaultRule> rules, boolean active, String baseUrl) {
+        this(rules, active, baseUrl, ThreadLocalRandom::current);
+    }
+
+    FaultInjectionFilter(List<FaultRule> rules, boolean active, String baseUrl, Supplier<RandomGenerator> random) {
+        String path = URI.create(baseUrl).getRawPath();
+        this.basePath = path == null || path.equals("/") ? "" : StringUtils.trimTrailingCharacter(path, '/');
+        this.random = random;
+        this.active = active;
+        setRules(rules);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!active) {
+            return next.exchange(request);
+        }
+
+        FaultRule rule = findRule(relativePath(request.url().getRawPath()));
+        if (rule == null) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(() -> {
+            RandomGenerator generator = random.get();
+            Duration delay = rule.latencyDistribution()
+                    .sample(generator, rule.latencyMin(), rule.latencyMax(), rule.latencyMean());
+            Mono<ClientResponse> response = inject(rule, request, next, generator);
+            return delay.isZero() ? response : Mono.delay(delay).then(response);
+        });
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        log.info("Fault injection {}", active ? "activated" : "deactivated");
+        this.active = active;
+    }
+
+    public List<FaultRule> getRules() {
+        return rules.stream().map(CompiledRule::rule).toList();
+    }
+
+    public void setRules(List<FaultRule> rules) {
+        this.rules = rules.stream()
+                .map(rule -> new CompiledRule(rule.compile(), rule))
+                .toList();
+        log.info("Fault injection rules updated: {}", rules);
+    }
+
+    /**
+     * Replaces the rule with the same path pattern, or appends it.
+     */
+    public synchronized void putRule(FaultRule rule) {
+        List<FaultRule> updated = new ArrayList<>(getRules());
+        updated.removeIf(existing -> existing.pathPattern().equals(rule.pathPattern()));
+        updated.add(rule);
+        setRules(updated);
+    }
+
+    /**
+     * Applies {@code changes} to the rule for {@code pathPattern}, or to a new rule with defaults,
+     * and puts the result; fields the changes do not set keep their value.
+     */
+    public synchronized void updateRule(String pathPattern, UnaryOperator<FaultRule.FaultRuleBuilder> changes) {
+        FaultRule.FaultRuleBuilder builder = getRules().stream()
+                .filter(existing -> existing.pathPattern().equals(pathPattern))
+                .findFirst()
+                .map(FaultRule::toBuilder)
+                .orElseGet(() -> FaultRule.builder().pathPattern(pathPattern));
+        putRule(changes.apply(builder).build());
+    }
+
+    public synchronized void removeRule(String pathPattern) {
+        List<FaultRule> updated = new ArrayList<>(getRules());
+        updated.removeIf(existing -> existing.pathPattern().equals(pathPattern));
+        setRules(updated);
+    }
+
+    private String relativePath(String rawPath) {
+        if (basePath.isEmpty() || !rawPath.startsWith(basePath)) {
+            return rawPath;
+        }
+        if (rawPath.length() == basePath.length()) {
+            return "/";
+        }
+        return rawPath.charAt(basePath.length()) == '/' ? rawPath.substring(basePath.length()) : rawPath;
+    }
+
+    private FaultRule findRule(String path) {
+        List<CompiledRule> current = rules;
+        if (current.isEmpty()) {
+            return null;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (CompiledRule compiled : current) {
+            if (compiled.pattern().matches(pathContainer)) {
+                return compiled.rule();
+            }
+        }
+        return null;
+    }
+
+    private Mono<ClientResponse> inject(FaultRule rule, ClientRequest request, ExchangeFunction next,
+                                        RandomGenerator generator) {
+        if (rule.resetRate() > 0 && generator.nextDouble() < rule.resetRate()) {
+            log.debug("Injecting connection reset for {}", request.url());
+            return Mono.error(new WebClientRequestException(
+                    new SocketException("Connection reset (injected)"),
+                    request.method(), request.url(), request.headers()));
+        }
+
+        if (rule.errorRate() > 0 && generator.nextDouble() < rule.errorRate()) {
+            log.debug("Injecting {} for {}", rule.errorStatus(), request.url());
+            return Mono.just(ClientResponse.create(HttpStatusCode.valueOf(rule.errorStatus()))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(INJECTED_ERROR_BODY)
+                    .request(asHttpRequest(request))
+                    .build());
+        }
+
+        Mono<ClientResponse> response = next.exchange(request);
+        if (!rule.slowDrip()) {
+            return response;
+        }
+        return response.map(clientResponse -> clientResponse.mutate()
+                .body(body -> drip(body, rule.slowDripChunkSize(), rule.slowDripChunkDelay()))
+                .build());
+    }
+
+    private static Flux<DataBuffer> drip(Flux<DataBuffer> body, int chunkSize, Duration chunkDelay) {
+        return body.concatMapIterable(buffer -> split(buffer, chunkSize))
+                .delayElements(chunkDelay);
+    }
+
+    private static List<DataBuffer> split(DataBuffer buffer, int chunkSize) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+
+        List<DataBuffer> chunks = new ArrayList<>(bytes.length / chunkSize + 1);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            byte[] chunk = Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + chunkSize));
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return chunks;
+    }
+
+    private static HttpRequest asHttpRequest(ClientRequest request) {
+        return new HttpRequest() {
+            @Override
+            public HttpMethod getMethod() {
+                return request.method();
+            }
+
+            @Override
+            public URI getURI() {
+                return request.url();
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return request.headers();
+            }
+        };
+    }
+
+    private record CompiledRule(PathPattern pattern, FaultRule rule) {
+    }
+}
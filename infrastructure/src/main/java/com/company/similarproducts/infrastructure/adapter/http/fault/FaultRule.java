@@ -0,0 +1,70 @@
+package com.company.similarproducts.infrastructure.adapter.http.fault;
+
+import com.company.similarproducts.infrastructure.config.FaultInjectionProperties;
+import lombok.Builder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+
+/**
+ * Immutable fault injection rule for upstream paths matching {@code pathPattern}.
+ * Rates are probabilities in the range [0, 1].
+ */
+@Builder(toBuilder = true)
+public record FaultRule(
+        String pathPattern,
+        LatencyDistribution latencyDistribution,
+        Duration latencyMin,
+        Duration latencyMax,
+        Duration latencyMean,
+        double errorRate,
+        int errorStatus,
+        double resetRate,
+        int slowDripChunkSize,
+        Duration slowDripChunkDelay
+) {
+
+    public FaultRule {
+        if (pathPattern == null || pathPattern.isBlank()) {
+            throw new IllegalArgumentException("Fault rule path pattern cannot be null or empty");
+        }
+        latencyDistribution = latencyDistribution != null ? latencyDistribution : LatencyDistribution.NONE;
+        latencyMin = latencyMin != null ? latencyMin : Duration.ZERO;
+        latencyMax = latencyMax != null ? latencyMax : Duration.ZERO;
+        latencyMean = latencyMean != null ? latencyMean : Duration.ZERO;
+        errorStatus = errorStatus > 0 ? errorStatus : 500;
+        slowDripChunkDelay = slowDripChunkDelay != null ? slowDripChunkDelay : Duration.ZERO;
+        checkRate("errorRate", errorRate);
+        checkRate("resetRate", resetRate);
+    }
+
+    public static FaultRule from(FaultInjectionProperties.Rule rule) {
+        return FaultRule.builder()
+                .pathPattern(rule.getPathPattern())
+                .latencyDistribution(rule.getLatency().getDistribution())
+                .latencyMin(rule.getLatency().getMin())
+                .latencyMax(rule.getLatency().getMax())
+                .latencyMean(rule.getLatency().getMean())
+                .errorRate(rule.getErrorRate())
+                .errorStatus(rule.getErrorStatus())
+                .resetRate(rule.getResetRate())
+                .slowDripChunkSize(rule.getSlowDrip().getChunkSize())
+                .slowDripChunkDelay(rule.getSlowDrip().getChunkDelay())
+                .build();
+    }
+
+    PathPattern compile() {
+        return PathPatternParser.defaultInstance.parse(pathPattern);
+    }
+
+    public boolean slowDrip() {
+        return slowDripChunkSize > 0;
+    }
+
+    private static void checkRate(String name, double rate) {
+        if (rate < 0.0 || rate > 1.0) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1: " + rate);
+        }
+    }
+}
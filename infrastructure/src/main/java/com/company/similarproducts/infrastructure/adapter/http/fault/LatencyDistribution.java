@@ -0,0 +1,55 @@
+package com.company.similarproducts.infrastructure.adapter.http.fault;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Shapes of artificial latency that can be added to upstream calls.
+ */
+public enum LatencyDistribution {
+
+    NONE {
+        @Override
+        long sampleMillis(RandomGenerator random, long min, long max, long mean) {
+            return 0;
+        }
+    },
+
+    /**
+     * Always {@code min}.
+     */
+    FIXED {
+        @Override
+        long sampleMillis(RandomGenerator random, long min, long max, long mean) {
+            return min;
+        }
+    },
+
+    /**
+     * Uniform between {@code min} and {@code max}.
+     */
+    UNIFORM {
+        @Override
+        long sampleMillis(RandomGenerator random, long min, long max, long mean) {
+            return max <= min ? min : random.nextLong(min, max + 1);
+        }
+    },
+
+    /**
+     * {@code min} plus an exponential tail with the given {@code mean}, capped at {@code max}.
+     * Produces the long-tail latencies typically seen on a degraded upstream.
+     */
+    EXPONENTIAL {
+        @Override
+        long sampleMillis(RandomGenerator random, long min, long max, long mean) {
+            long value = min + Math.round(random.nextExponential() * mean);
+            return max > min ? Math.min(value, max) : value;
+        }
+    };
+
+    abstract long sampleMillis(RandomGenerator random, long min, long max, long mean);
+
+    public Duration sample(RandomGenerator random, Duration min, Duration max, Duration mean) {
+        return Duration.ofMillis(sampleMillis(random, min.toMillis(), max.toMillis(), mean.toMillis()));
+    }
+}
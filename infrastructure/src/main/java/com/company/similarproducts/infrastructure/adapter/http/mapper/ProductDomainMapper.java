@@ -2,6 +2,7 @@ package com.company.similarproducts.infrastructure.adapter.http.mapper;
 
 import com.company.similarproducts.domain.model.Product;
 import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import com.company.similarproducts.infrastructure.cache.CompactProduct;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,4 +20,16 @@ public class ProductDomainMapper {
                 .availability(apiDto.isAvailability())
                 .build();
     }
+
+    /**
+     * Cached products are expanded here, once per request, rather than held expanded in the cache.
+     */
+    public Product toDomain(CompactProduct cached) {
+        return Product.builder()
+                .id(cached.id())
+                .name(cached.name())
+                .price(cached.price())
+                .availability(cached.availability())
+                .build();
+    }
 }
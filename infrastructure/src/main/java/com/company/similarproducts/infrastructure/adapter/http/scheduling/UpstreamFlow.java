@@ -0,0 +1,9 @@
+package com.company.similarproducts.infrastructure.adapter.http.scheduling;
+
+/**
+ * The upstream calls of one inbound request, as one flow of the {@link UpstreamScheduler}.
+ * {@link UpstreamFlowWebFilter} puts a new one into the Reactor context of each request under
+ * {@code UpstreamFlow.class}; flows are told apart by identity.
+ */
+public final class UpstreamFlow {
+}
@@ -0,0 +1,28 @@
+package com.company.similarproducts.infrastructure.adapter.http.scheduling;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Gives every request under {@code pathPrefix} its own {@link UpstreamFlow}, so the upstream calls
+ * it makes are queued fairly against those of other requests.
+ */
+public class UpstreamFlowWebFilter implements WebFilter {
+
+    private final String pathPrefix;
+
+    public UpstreamFlowWebFilter(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getURI().getRawPath().startsWith(pathPrefix)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).contextWrite(Context.of(UpstreamFlow.class, new UpstreamFlow()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.similarproducts.infrastructure.adapter.http.scheduling;
+
+/**
+ * Scheduling class of an upstream call, read by {@link UpstreamScheduler} from the Reactor context
+ * under {@code UpstreamPriority.class}. Calls of a higher class always go first; calls without
+ * one are lookups.
+ */
+public enum UpstreamPriority {
+
+    /** Existence check and similar-ids lookup: few per request, and everything else waits on them. */
+    LOOKUP,
+
+    /** Loads of similar products: up to hundreds per request. */
+    FAN_OUT
+}
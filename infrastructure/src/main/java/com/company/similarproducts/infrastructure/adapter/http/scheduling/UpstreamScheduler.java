@@ -0,0 +1,289 @@
+package com.company.similarproducts.infrastructure.adapter.http.scheduling;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Global limit on upstream calls in flight, with the waiting calls queued fairly per inbound request.
+ * <p>
+ * Up to {@code maxInFlight} calls run at once. The rest wait by {@link UpstreamPriority}, and a
+ * free slot always goes to the highest class with a waiting call. Within a class, each
+ * {@link UpstreamFlow} has its own queue and the flows take turns, deficit round-robin: a flow
+ * gets up to {@code quantum} calls per turn and every call costs one. A request with hundreds of
+ * similar products therefore gets one turn like any other, rather than a slot for every call it
+ * queued first, and a request that needs only a few calls is not stuck behind it.
+ * <p>
+ * Calls made outside any request, such as early refreshes and hot-set reloads, share one
+ * background flow of the lowest class.
+ */
+public class UpstreamScheduler {
+
+    static final UpstreamFlow BACKGROUND = new UpstreamFlow();
+
+    private static final UpstreamPriority[] PRIORITIES = UpstreamPriority.values();
+
+    private final int maxInFlight;
+    private final int quantum;
+    private final LongSupplier clock;
+
+    private final Object lock = new Object();
+    private final Level[] levels = new Level[PRIORITIES.length];
+    private int inFlight;
+    private int queued;
+
+    private final LongAdder[] granted = new LongAdder[PRIORITIES.length];
+    private final LongAdder[] waitNanos = new LongAdder[PRIORITIES.length];
+
+    public UpstreamScheduler(int maxInFlight, int quantum) {
+        this(maxInFlight, quantum, System::nanoTime);
+    }
+
+    UpstreamScheduler(int maxInFlight, int quantum, LongSupplier clock) {
+        if (maxInFlight < 1 || quantum < 1) {
+            throw new IllegalArgumentException("maxInFlight and quantum must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.quantum = quantum;
+        this.clock = clock;
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            levels[i] = new Level();
+            granted[i] = new LongAdder();
+            waitNanos[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Runs {@code call} once it gets a slot, for the flow and priority in the subscriber's context,
+     * and frees the slot when it terminates or is cancelled.
+     */
+    public <T> Mono<T> schedule(Mono<T> call) {
+        return Mono.deferContextual(context -> acquire(flow(context), priority(context))
+                .flatMap(permit -> call.doFinally(signal -> permit.release())));
+    }
+
+    /**
+     * Streaming form of {@link #schedule(Mono)}; the slot is held until the stream terminates.
+     */
+    public <T> Flux<T> schedule(Flux<T> call) {
+        return Flux.deferContextual(context -> acquire(flow(context), priority(context))
+                .flatMapMany(permit -> call.doFinally(signal -> permit.release())));
+    }
+
+    private static UpstreamFlow flow(ContextView context) {
+        return context.getOrDefault(UpstreamFlow.class, BACKGROUND);
+    }
+
+    private static UpstreamPriority priority(ContextView context) {
+        if (!context.hasKey(UpstreamFlow.class)) {
+            return UpstreamPriority.FAN_OUT;
+        }
+        return context.getOrDefault(UpstreamPriority.class, UpstreamPriority.LOOKUP);
+    }
+
+    /**
+     * Emits a permit once the call may run. The permit must be released when the call completes.
+     */
+    public Mono<Permit> acquire(UpstreamFlow flow, UpstreamPriority priority) {
+        return Mono.create(sink -> acquire(sink, flow, priority));
+    }
+
+    private void acquire(MonoSink<Permit> sink, UpstreamFlow flow, UpstreamPriority priority) {
+        Waiter waiter;
+        synchronized (lock) {
+            if (queued == 0 && inFlight < maxInFlight) {
+                inFlight++;
+                waiter = null;
+            } else {
+                waiter = new Waiter(sink, priority, clock.getAsLong());
+                levels[priority.ordinal()].enqueue(flow, waiter);
+                queued++;
+            }
+        }
+
+        if (waiter == null) {
+            granted[priority.ordinal()].increment();
+            sink.success(new Permit());
+            return;
+        }
+        sink.onCancel(() -> cancel(waiter));
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit permit;
+        synchronized (lock) {
+            if (levels[waiter.priority.ordinal()].remove(waiter)) {
+                queued--;
+                return;
+            }
+            permit = waiter.permit;
+        }
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    private void release() {
+        Waiter next = null;
+        long waited;
+        synchronized (lock) {
+            for (Level level : levels) {
+                next = level.poll(quantum);
+                if (next != null) {
+                    break;
+                }
+            }
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            queued--;
+            next.permit = new Permit();
+            waited = clock.getAsLong() - next.enqueuedNanos;
+        }
+        granted[next.priority.ordinal()].increment();
+        waitNanos[next.priority.ordinal()].add(waited);
+        next.sink.success(next.permit);
+    }
+
+    public int inFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    public int queued(UpstreamPriority priority) {
+        synchronized (lock) {
+            return levels[priority.ordinal()].queued;
+        }
+    }
+
+    /**
+     * @return flows of the given class with at least one call waiting
+     */
+    public int waitingFlows(UpstreamPriority priority) {
+        synchronized (lock) {
+            return levels[priority.ordinal()].active.size();
+        }
+    }
+
+    public long grantedCount(UpstreamPriority priority) {
+        return granted[priority.ordinal()].sum();
+    }
+
+    /**
+     * Total time calls of the given class spent waiting for a slot.
+     */
+    public long totalWaitNanos(UpstreamPriority priority) {
+        return waitNanos[priority.ordinal()].sum();
+    }
+
+    /**
+     * Right to run one upstream call; releasing it more than once has no effect.
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                UpstreamScheduler.this.release();
+            }
+        }
+    }
+
+    /**
+     * The flows of one class with calls waiting, in turn order; the head is the flow whose turn it is.
+     * Guarded by the scheduler's lock.
+     */
+    private static final class Level {
+
+        private final Map<UpstreamFlow, Flow> flows = new HashMap<>();
+        private final Deque<Flow> active = new ArrayDeque<>();
+        private int queued;
+
+        void enqueue(UpstreamFlow key, Waiter waiter) {
+            Flow flow = flows.get(key);
+            if (flow == null) {
+                flow = new Flow(key);
+                flows.put(key, flow);
+                active.addLast(flow);
+            }
+            flow.waiters.addLast(waiter);
+            waiter.flow = flow;
+            queued++;
+        }
+
+        /**
+         * Next call of the flow whose turn it is. A flow that has used its quantum goes to the back;
+         * one left with nothing waiting drops out and forfeits the rest of its turn.
+         */
+        Waiter poll(int quantum) {
+            Flow flow = active.peekFirst();
+            if (flow == null) {
+                return null;
+            }
+            if (flow.deficit == 0) {
+                flow.deficit = quantum;
+            }
+            Waiter waiter = flow.waiters.pollFirst();
+            flow.deficit--;
+            queued--;
+            if (flow.waiters.isEmpty()) {
+                active.pollFirst();
+                flows.remove(flow.key);
+            } else if (flow.deficit == 0) {
+                active.addLast(active.pollFirst());
+            }
+            return waiter;
+        }
+
+        boolean remove(Waiter waiter) {
+            Flow flow = waiter.flow;
+            if (!flow.waiters.remove(waiter)) {
+                return false;
+            }
+            queued--;
+            if (flow.waiters.isEmpty()) {
+                active.remove(flow);
+                flows.remove(flow.key);
+            }
+            return true;
+        }
+    }
+
+    private static final class Flow {
+
+        private final UpstreamFlow key;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int deficit;
+
+        private Flow(UpstreamFlow key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private final UpstreamPriority priority;
+        private final long enqueuedNanos;
+        private Flow flow;
+        private Permit permit;
+
+        private Waiter(MonoSink<Permit> sink, UpstreamPriority priority, long enqueuedNanos) {
+            this.sink = sink;
+            this.priority = priority;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.similarproducts.infrastructure.adapter.metrics;
+
+import com.company.similarproducts.domain.port.FanOutMetricsPort;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the reordering of each request's product fan-out: how many loaded products were
+ * held back at once, and how long the longest-held one waited for the products before it.
+ */
+@Component
+public class FanOutMetricsAdapter implements FanOutMetricsPort {
+
+    private final DistributionSummary buffered;
+    private final Timer headOfLineWait;
+
+    public FanOutMetricsAdapter(MeterRegistry meterRegistry) {
+        this.buffered = DistributionSummary.builder("fanout.reorder.buffered")
+                .description("Most loaded products held back at once per request, waiting on an earlier one")
+                .baseUnit("products")
+                .register(meterRegistry);
+        this.headOfLineWait = Timer.builder("fanout.reorder.wait")
+                .description("Longest a loaded product was held back per request, waiting on an earlier one")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordFanOut(int peakBuffered, long maxHeadOfLineWaitNanos) {
+        buffered.record(peakBuffered);
+        headOfLineWait.record(maxHeadOfLineWaitNanos, TimeUnit.NANOSECONDS);
+    }
+}
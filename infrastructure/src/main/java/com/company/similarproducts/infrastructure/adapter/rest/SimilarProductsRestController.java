@@ -6,7 +6,6 @@ import com.company.similarproducts.infrastructure.adapter.rest.dto.ProductRespon
 import com.company.similarproducts.infrastructure.adapter.rest.mapper.ProductRestMapper;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,26 +16,33 @@ import reactor.core.publisher.Mono;
 
 import java.util.List;
 
-@Slf4j
 @Validated
 @RestController
 @RequestMapping("/product")
 @RequiredArgsConstructor
 public class SimilarProductsRestController {
 
+    /**
+     * Set on responses served from cache only while degraded mode is active.
+     */
+    public static final String DEGRADED_HEADER = "X-Degraded";
+
     private final GetSimilarProductsUseCase getSimilarProductsUseCase;
     private final ProductRestMapper mapper;
 
     @GetMapping("/{productId}/similar")
     public Mono<ResponseEntity<List<ProductResponse>>> getSimilarProducts(
             @PathVariable("productId") @NotBlank(message = "Product ID must not be blank") String productId) {
-        log.info("REST request received for similar products of productId: {}", productId);
-        
         return getSimilarProductsUseCase.getSimilarProducts(new ProductId(productId))
-                .map(products -> products.stream()
-                        .map(mapper::toResponse)
-                        .toList())
-                .doOnSuccess(response -> log.info("Returning {} similar products", response.size()))
-                .map(ResponseEntity::ok);
+                .map(result -> {
+                    List<ProductResponse> response = result.products().stream()
+                            .map(mapper::toResponse)
+                            .toList();
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                    if (result.degraded()) {
+                        builder.header(DEGRADED_HEADER, "true");
+                    }
+                    return builder.body(response);
+                });
     }
 }
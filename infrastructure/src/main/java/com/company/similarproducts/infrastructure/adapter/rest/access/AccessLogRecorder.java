@@ -0,0 +1,156 @@
+package com.company.similarproducts.infrastructure.adapter.rest.access;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves access-log records from the event loops to a single background writer thread, which
+ * formats them as JSON lines and writes them in batches.
+ * <p>
+ * Recording is a slot write into an {@link AccessLogRingBuffer}: no formatting, no I/O and no
+ * wake-up of the writer, which instead polls the ring every 10ms while idle.
+ */
+@Slf4j
+public class AccessLogRecorder implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 1_024;
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AccessLogRingBuffer ring;
+    private final OutputStream out;
+    private final boolean closeStream;
+    private final Thread writerThread;
+    private final StringBuilder line = new StringBuilder(256);
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * @param closeStream whether {@link #close()} closes {@code out}; false for {@code System.out}
+     */
+    public AccessLogRecorder(OutputStream out, boolean closeStream, int capacity) {
+        this.ring = new AccessLogRingBuffer(capacity);
+        this.out = out;
+        this.closeStream = closeStream;
+        this.writerThread = new Thread(this::drainLoop, "access-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * @return false when the record was dropped because the writer has fallen behind
+     */
+    public boolean record(long timestampMillis, long latencyNanos, int status, String requestId, String path,
+                          String endpoint, String cache) {
+        return ring.offer(timestampMillis, latencyNanos, status, requestId, path, endpoint, cache);
+    }
+
+    public long writtenCount() {
+        return written.get();
+    }
+
+    public long droppedCount() {
+        return ring.droppedCount() + failed.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (closeStream) {
+            out.close();
+        } else {
+            out.flush();
+        }
+        log.info("Access log closed: written={}, dropped={}", written.get(), droppedCount());
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drainBatch() == 0) {
+                LockSupport.parkNanos(POLL_NANOS);
+            }
+        }
+        while (drainBatch() > 0) {
+            // Flush what was recorded before shutdown
+        }
+    }
+
+    private int drainBatch() {
+        line.setLength(0);
+        int drained = ring.drain(this::format, BATCH_SIZE);
+        if (drained == 0) {
+            return 0;
+        }
+        try {
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            written.addAndGet(drained);
+        } catch (IOException e) {
+            log.warn("Failed to write {} access log records: {}", drained, e.getMessage());
+            failed.addAndGet(drained);
+        }
+        return drained;
+    }
+
+    /**
+     * {@code {"ts":...,"requestId":...,"endpoint":...,"productId":...,"status":...,"latencyMs":...,"cache":...}}
+     */
+    void format(AccessLogRingBuffer.Slot slot) {
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(slot.timestampMillis)).append('"');
+        appendField("requestId", slot.requestId);
+        appendField("endpoint", slot.endpoint);
+        appendField("productId", productId(slot.path));
+        line.append(",\"status\":").append(slot.status);
+        line.append(",\"latencyMs\":").append(slot.latencyNanos / 1_000_000).append('.');
+        long micros = slot.latencyNanos / 1_000 % 1_000;
+        if (micros < 100) {
+            line.append(micros < 10 ? "00" : "0");
+        }
+        line.append(micros);
+        appendField("cache", slot.cache);
+        line.append("}\n");
+    }
+
+    /**
+     * The path segment after {@code /product/}, parsed here rather than on the event loop.
+     */
+    private static String productId(String path) {
+        if (path == null || !path.startsWith("/product/")) {
+            return null;
+        }
+        int start = "/product/".length();
+        int end = path.indexOf('/', start);
+        return path.substring(start, end < 0 ? path.length() : end);
+    }
+
+    private void appendField(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        line.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04X", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
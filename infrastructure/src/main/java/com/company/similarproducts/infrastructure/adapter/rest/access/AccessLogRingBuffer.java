@@ -0,0 +1,106 @@
+package com.company.similarproducts.infrastructure.adapter.rest.access;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated access-log slots.
+ * <p>
+ * A producer claims a sequence number with one CAS, fills the slot in place and publishes it;
+ * nothing is allocated per record. When the consumer has fallen a full ring behind, the record
+ * is dropped and counted rather than waiting, so the event loops never block on logging.
+ */
+final class AccessLogRingBuffer {
+
+    /** One access-log record; fields are overwritten in place on every lap of the ring. */
+    static final class Slot {
+        long timestampMillis;
+        long latencyNanos;
+        int status;
+        String requestId;
+        String path;
+        String endpoint;
+        String cache;
+    }
+
+    private final Slot[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long tail;
+
+    AccessLogRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int size = Math.max(Integer.highestOneBit(capacity - 1) << 1, 1);
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.published = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return false when the ring is full and the record was dropped
+     */
+    boolean offer(long timestampMillis, long latencyNanos, int status, String requestId, String path,
+                  String endpoint, String cache) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        Slot slot = slots[index];
+        slot.timestampMillis = timestampMillis;
+        slot.latencyNanos = latencyNanos;
+        slot.status = status;
+        slot.requestId = requestId;
+        slot.path = path;
+        slot.endpoint = endpoint;
+        slot.cache = cache;
+        published.setRelease(index, sequence + 1);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published records, in order, to {@code consumer}; consumer thread only.
+     * The slot passed in is reused once {@code consumer} returns.
+     *
+     * @return the number of records drained
+     */
+    int drain(Consumer<Slot> consumer, int max) {
+        long next = tail;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) next & mask;
+            if (published.getAcquire(index) != next + 1) {
+                break;
+            }
+            Slot slot = slots[index];
+            consumer.accept(slot);
+            slot.requestId = null;
+            slot.path = null;
+            tail = ++next;
+            drained++;
+        }
+        return drained;
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,86 @@
+package com.company.similarproducts.infrastructure.adapter.rest.access;
+
+import com.company.similarproducts.infrastructure.adapter.rest.SimilarProductsRestController;
+import com.company.similarproducts.infrastructure.cache.CacheOutcome;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Access log for requests under {@code pathPrefix}: request id, product id, status, latency and
+ * cache outcome, handed to an {@link AccessLogRecorder} once the response completes.
+ * <p>
+ * Requests are sampled per endpoint (the matched route pattern), except failed ({@code 5xx}) and
+ * slow ones, which are always logged. Sampled-out requests cost a clock read, a random draw and
+ * the {@link CacheOutcome} in their context.
+ */
+public class AccessLogWebFilter implements WebFilter {
+
+    static final String DEGRADED = "degraded";
+
+    private final AccessLogRecorder recorder;
+    private final String pathPrefix;
+    private final double defaultSampleRate;
+    private final Map<String, Double> sampleRates;
+    private final long slowNanos;
+
+    /**
+     * @param sampleRates share of requests logged per route pattern, such as
+     *                    {@code /product/{productId}/similar}; others use {@code defaultSampleRate}
+     */
+    public AccessLogWebFilter(AccessLogRecorder recorder, String pathPrefix, double defaultSampleRate,
+                              Map<String, Double> sampleRates, Duration slowThreshold) {
+        this.recorder = recorder;
+        this.pathPrefix = pathPrefix;
+        this.defaultSampleRate = defaultSampleRate;
+        this.sampleRates = Map.copyOf(sampleRates);
+        this.slowNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getURI().getRawPath();
+        if (!path.startsWith(pathPrefix)) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        CacheOutcome outcome = new CacheOutcome();
+        return chain.filter(exchange)
+                .contextWrite(Context.of(CacheOutcome.class, outcome))
+                .doFinally(signal -> complete(exchange, path, signal, System.nanoTime() - start, outcome));
+    }
+
+    private void complete(ServerWebExchange exchange, String path, SignalType signal, long latencyNanos,
+                          CacheOutcome outcome) {
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : signal == SignalType.ON_ERROR ? 500 : 200;
+        String endpoint = endpoint(exchange);
+        if (status < 500 && latencyNanos < slowNanos && !sampled(endpoint)) {
+            return;
+        }
+        String cache = exchange.getResponse().getHeaders().containsKey(SimilarProductsRestController.DEGRADED_HEADER)
+                ? DEGRADED : outcome.result();
+        recorder.record(System.currentTimeMillis(), latencyNanos, status, exchange.getRequest().getId(), path,
+                endpoint, cache);
+    }
+
+    private boolean sampled(String endpoint) {
+        double rate = endpoint != null ? sampleRates.getOrDefault(endpoint, defaultSampleRate) : defaultSampleRate;
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static String endpoint(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof PathPattern pathPattern ? pathPattern.getPatternString() : null;
+    }
+}
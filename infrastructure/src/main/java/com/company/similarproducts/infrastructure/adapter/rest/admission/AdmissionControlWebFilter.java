@@ -0,0 +1,55 @@
+package com.company.similarproducts.infrastructure.adapter.rest.admission;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Puts every request under {@code pathPrefix} through the {@link AdmissionController};
+ * shed requests get {@code 503} with {@code Retry-After} and a problem detail body.
+ */
+public class AdmissionControlWebFilter implements WebFilter {
+
+    private static final byte[] REJECTED_BODY = ("{\"type\":\"about:blank\",\"title\":\"Service Unavailable\","
+            + "\"status\":503,\"detail\":\"Server is overloaded, retry later\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final AdmissionController admissionController;
+    private final String pathPrefix;
+    private final String retryAfterSeconds;
+
+    public AdmissionControlWebFilter(AdmissionController admissionController, String pathPrefix, Duration retryAfter) {
+        this.admissionController = admissionController;
+        this.pathPrefix = pathPrefix;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getURI().getRawPath().startsWith(pathPrefix)) {
+            return chain.filter(exchange);
+        }
+
+        return admissionController.acquire()
+                .flatMap(permit -> chain.filter(exchange).doFinally(signal -> permit.release()))
+                .onErrorResume(AdmissionRejectedException.class, e -> reject(exchange.getResponse()));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        HttpHeaders headers = response.getHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        headers.setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        headers.setContentLength(REJECTED_BODY.length);
+        DataBuffer body = response.bufferFactory().wrap(REJECTED_BODY);
+        return response.writeWith(Mono.just(body));
+    }
+}
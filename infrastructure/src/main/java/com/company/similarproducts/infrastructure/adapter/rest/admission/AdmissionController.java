@@ -0,0 +1,250 @@
+package com.company.similarproducts.infrastructure.adapter.rest.admission;
+
+import lombok.Builder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit with a bounded wait queue managed CoDel-style.
+ * <p>
+ * Up to {@code maxConcurrent} requests run at once; the rest wait in FIFO order. While the
+ * queue drains regularly a waiter may wait up to {@code interval}. Once the queue has not
+ * been empty for a whole {@code interval} there is a standing queue, and new waiters only
+ * get {@code target}: excess work is shed quickly instead of pushing everyone's latency up.
+ * <p>
+ * Independently of the queue, a request is rejected straight away when the upstream pool
+ * already has {@code maxPendingAcquires} waiters or the event loops lag more than {@code maxEventLoopLag}.
+ */
+public class AdmissionController {
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final int maxPendingAcquires;
+    private final long maxEventLoopLagNanos;
+    private final IntSupplier pendingAcquires;
+    private final LongSupplier eventLoopLagNanos;
+    private final LongSupplier clock;
+    private final Scheduler timer;
+
+    private final Object lock = new Object();
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private int inFlight;
+    private long lastEmptyNanos;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder[] rejected = new LongAdder[AdmissionRejectedException.Reason.values().length];
+    private final LongAdder queueDelayNanos = new LongAdder();
+
+    @Builder
+    private AdmissionController(int maxConcurrent, int maxQueue, Duration target, Duration interval,
+                                int maxPendingAcquires, Duration maxEventLoopLag,
+                                IntSupplier pendingAcquires, LongSupplier eventLoopLagNanos,
+                                LongSupplier clock, Scheduler timer) {
+        if (maxConcurrent < 1 || maxQueue < 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive and maxQueue not negative");
+        }
+        if (target == null || interval == null || target.compareTo(interval) > 0) {
+            throw new IllegalArgumentException("target and interval are required and target must not exceed interval");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.targetNanos = target.toNanos();
+        this.intervalNanos = interval.toNanos();
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.maxEventLoopLagNanos = maxEventLoopLag != null ? maxEventLoopLag.toNanos() : Long.MAX_VALUE;
+        this.pendingAcquires = pendingAcquires != null ? pendingAcquires : () -> 0;
+        this.eventLoopLagNanos = eventLoopLagNanos != null ? eventLoopLagNanos : () -> 0L;
+        this.clock = clock != null ? clock : System::nanoTime;
+        this.timer = timer != null ? timer : Schedulers.parallel();
+        this.lastEmptyNanos = this.clock.getAsLong();
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Emits a permit once the request may run, or fails with {@link AdmissionRejectedException}.
+     * The permit must be released when the request completes.
+     */
+    public Mono<Permit> acquire() {
+        return Mono.create(this::acquire);
+    }
+
+    private void acquire(MonoSink<Permit> sink) {
+        if (maxPendingAcquires > 0 && pendingAcquires.getAsInt() >= maxPendingAcquires) {
+            reject(sink, AdmissionRejectedException.Reason.UPSTREAM_SATURATED);
+            return;
+        }
+        if (eventLoopLagNanos.getAsLong() > maxEventLoopLagNanos) {
+            reject(sink, AdmissionRejectedException.Reason.EVENT_LOOP_LAG);
+            return;
+        }
+
+        Waiter waiter;
+        long timeoutNanos;
+        synchronized (lock) {
+            long now = clock.getAsLong();
+            if (queue.isEmpty()) {
+                lastEmptyNanos = now;
+                if (inFlight < maxConcurrent) {
+                    inFlight++;
+                    waiter = null;
+                    timeoutNanos = 0;
+                } else if (maxQueue == 0) {
+                    waiter = null;
+                    timeoutNanos = -1;
+                } else {
+                    waiter = enqueue(sink, now);
+                    timeoutNanos = intervalNanos;
+                }
+            } else if (queue.size() >= maxQueue) {
+                waiter = null;
+                timeoutNanos = -1;
+            } else {
+                waiter = enqueue(sink, now);
+                timeoutNanos = now - lastEmptyNanos > intervalNanos ? targetNanos : intervalNanos;
+            }
+        }
+
+        if (waiter == null) {
+            if (timeoutNanos == 0) {
+                admitted.increment();
+                sink.success(new Permit());
+            } else {
+                reject(sink, AdmissionRejectedException.Reason.QUEUE_FULL);
+            }
+            return;
+        }
+
+        Disposable expiry = timer.schedule(() -> expire(waiter), timeoutNanos, TimeUnit.NANOSECONDS);
+        sink.onDispose(expiry);
+        sink.onCancel(() -> cancel(waiter));
+    }
+
+    private Waiter enqueue(MonoSink<Permit> sink, long now) {
+        Waiter waiter = new Waiter(sink, now);
+        queue.addLast(waiter);
+        return waiter;
+    }
+
+    private void expire(Waiter waiter) {
+        boolean removed;
+        synchronized (lock) {
+            removed = queue.remove(waiter);
+            if (removed && queue.isEmpty()) {
+                lastEmptyNanos = clock.getAsLong();
+            }
+        }
+        if (removed) {
+            reject(waiter.sink, AdmissionRejectedException.Reason.QUEUE_TIMEOUT);
+        }
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit granted;
+        synchronized (lock) {
+            if (queue.remove(waiter)) {
+                if (queue.isEmpty()) {
+                    lastEmptyNanos = clock.getAsLong();
+                }
+                return;
+            }
+            granted = waiter.permit;
+        }
+        if (granted != null) {
+            granted.release();
+        }
+    }
+
+    private void release() {
+        Waiter next;
+        synchronized (lock) {
+            next = queue.pollFirst();
+            long now = clock.getAsLong();
+            if (next == null) {
+                inFlight--;
+                lastEmptyNanos = now;
+                return;
+            }
+            if (queue.isEmpty()) {
+                lastEmptyNanos = now;
+            }
+            next.permit = new Permit();
+            queueDelayNanos.add(now - next.enqueuedNanos);
+        }
+        admitted.increment();
+        next.sink.success(next.permit);
+    }
+
+    private void reject(MonoSink<Permit> sink, AdmissionRejectedException.Reason reason) {
+        rejected[reason.ordinal()].increment();
+        sink.error(AdmissionRejectedException.of(reason));
+    }
+
+    public int inFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    public int queued() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    public long admittedCount() {
+        return admitted.sum();
+    }
+
+    public long rejectedCount(AdmissionRejectedException.Reason reason) {
+        return rejected[reason.ordinal()].sum();
+    }
+
+    /**
+     * Total time admitted requests spent waiting in the queue.
+     */
+    public long totalQueueDelayNanos() {
+        return queueDelayNanos.sum();
+    }
+
+    /**
+     * Right to run one request; releasing it more than once has no effect.
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                AdmissionController.this.release();
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private final long enqueuedNanos;
+        private Permit permit;
+
+        private Waiter(MonoSink<Permit> sink, long enqueuedNanos) {
+            this.sink = sink;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
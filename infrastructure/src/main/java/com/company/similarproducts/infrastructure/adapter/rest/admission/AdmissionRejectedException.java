@@ -0,0 +1,38 @@
+package com.company.similarproducts.infrastructure.adapter.rest.admission;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Signals that a request was shed by the {@link AdmissionController}.
+ * Instances are shared and stackless: rejection must stay cheap under overload.
+ */
+public final class AdmissionRejectedException extends RuntimeException {
+
+    public enum Reason {
+        QUEUE_FULL, QUEUE_TIMEOUT, UPSTREAM_SATURATED, EVENT_LOOP_LAG
+    }
+
+    private static final Map<Reason, AdmissionRejectedException> INSTANCES = new EnumMap<>(Reason.class);
+
+    static {
+        for (Reason reason : Reason.values()) {
+            INSTANCES.put(reason, new AdmissionRejectedException(reason));
+        }
+    }
+
+    private final Reason reason;
+
+    private AdmissionRejectedException(Reason reason) {
+        super("Request rejected: " + reason, null, false, false);
+        this.reason = reason;
+    }
+
+    public static AdmissionRejectedException of(Reason reason) {
+        return INSTANCES.get(reason);
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
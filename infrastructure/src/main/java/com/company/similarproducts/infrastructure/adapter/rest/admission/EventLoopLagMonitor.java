@@ -0,0 +1,91 @@
+package com.company.similarproducts.infrastructure.adapter.rest.admission;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how long a task waits before an event loop runs it, by posting a probe to every
+ * loop of a group at a fixed rate. A probe that has not run yet counts with its age, so a
+ * blocked loop shows up immediately rather than when it finally recovers.
+ */
+@Slf4j
+public class EventLoopLagMonitor implements AutoCloseable {
+
+    private static final long IDLE = -1;
+
+    private final List<Probe> probes = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+
+    public EventLoopLagMonitor(EventLoopGroup group, Duration probeInterval) {
+        for (EventExecutor executor : group) {
+            probes.add(new Probe(executor));
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-loop-lag-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = probeInterval.toNanos();
+        scheduler.scheduleAtFixedRate(this::probe, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        log.info("Probing {} event loops every {}ms", probes.size(), probeInterval.toMillis());
+    }
+
+    /**
+     * Current worst lag over all probed loops.
+     */
+    public long lagNanos() {
+        long now = System.nanoTime();
+        long lag = 0;
+        for (Probe probe : probes) {
+            lag = Math.max(lag, probe.lagNanos(now));
+        }
+        return lag;
+    }
+
+    private void probe() {
+        for (Probe probe : probes) {
+            probe.send();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class Probe {
+
+        private final EventExecutor executor;
+        private final AtomicLong sentAt = new AtomicLong(IDLE);
+        private volatile long lastLagNanos;
+
+        private Probe(EventExecutor executor) {
+            this.executor = executor;
+        }
+
+        void send() {
+            long now = System.nanoTime();
+            if (!sentAt.compareAndSet(IDLE, now) || executor.isShuttingDown()) {
+                return;
+            }
+            executor.execute(() -> {
+                lastLagNanos = System.nanoTime() - now;
+                sentAt.set(IDLE);
+            });
+        }
+
+        long lagNanos(long now) {
+            long pendingSince = sentAt.get();
+            return pendingSince == IDLE ? lastLagNanos : Math.max(lastLagNanos, now - pendingSince);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.company.similarproducts.infrastructure.adapter.rest.capture;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands captured requests from the event loops to a single background writer thread.
+ * Recording never blocks: when the queue is full the record is dropped and counted.
+ * <p>
+ * Closing clears the running flag and waits for the writer to drain the queue. The writer thread
+ * is never interrupted: the capture file's channel would close on the interrupt and lose the tail.
+ * It closes the log itself once drained: should closing stop waiting while the writer is still
+ * busy, the writer finishes the file on its own instead of having it closed under it.
+ */
+@Slf4j
+public class TrafficCaptureRecorder implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 1_024;
+    private static final long POLL_MILLIS = 100;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final BlockingQueue<Entry> queue;
+    private final TrafficLogFormat.Writer writer;
+    private final Thread writerThread;
+    private final Duration closeTimeout;
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+
+    public TrafficCaptureRecorder(OutputStream out, int queueCapacity) throws IOException {
+        this(out, queueCapacity, CLOSE_TIMEOUT);
+    }
+
+    TrafficCaptureRecorder(OutputStream out, int queueCapacity, Duration closeTimeout) throws IOException {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.closeTimeout = closeTimeout;
+        this.writer = TrafficLogFormat.writer(out, System.currentTimeMillis(), System.nanoTime());
+        this.writerThread = new Thread(this::drainLoop, "traffic-capture-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    public void record(long arrivalNanos, String path) {
+        if (!queue.offer(new Entry(arrivalNanos, path))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long recordedCount() {
+        return recorded.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writerThread.join(closeTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Traffic capture writer still draining after {}ms, it closes the log when done: recorded={}, dropped={}",
+                    closeTimeout.toMillis(), recorded.get(), dropped.get());
+            return;
+        }
+        log.info("Traffic capture closed: recorded={}, dropped={}", recorded.get(), dropped.get());
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch);
+            }
+            write(batch);
+            batch.clear();
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the traffic capture log: {}", e.getMessage());
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            for (Entry entry : batch) {
+                writer.write(entry.arrivalNanos(), entry.path());
+            }
+            writer.flush();
+            recorded.addAndGet(batch.size());
+        } catch (IOException e) {
+            log.warn("Failed to write {} traffic capture records: {}", batch.size(), e.getMessage());
+            dropped.addAndGet(batch.size());
+        }
+    }
+
+    private record Entry(long arrivalNanos, String path) {
+    }
+}
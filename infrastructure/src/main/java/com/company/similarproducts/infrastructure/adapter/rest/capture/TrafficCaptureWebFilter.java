@@ -0,0 +1,27 @@
+package com.company.similarproducts.infrastructure.adapter.rest.capture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records the path and arrival time of every request under {@code pathPrefix}.
+ * Only a timestamp read and a queue offer happen on the event loop.
+ */
+@RequiredArgsConstructor
+public class TrafficCaptureWebFilter implements WebFilter {
+
+    private final TrafficCaptureRecorder recorder;
+    private final String pathPrefix;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getURI().getRawPath();
+        if (path.startsWith(pathPrefix)) {
+            recorder.record(System.nanoTime(), path);
+        }
+        return chain.filter(exchange);
+    }
+}
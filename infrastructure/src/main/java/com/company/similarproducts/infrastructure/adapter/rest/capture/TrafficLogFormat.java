@@ -0,0 +1,151 @@
+package com.company.similarproducts.infrastructure.adapter.rest.capture;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary log of incoming request paths and arrival times.
+ * <pre>
+ * header : magic "SPTL" (int) | version (byte) | capture start epoch millis (long)
+ * record : arrival delta since previous record in micros (varint) | path length (varint) | UTF-8 path
+ * </pre>
+ * A typical {@code /product/123/similar} record takes about 25 bytes. A log cut short mid-record,
+ * by a crash or a copy of a file still being written, reads up to its last complete record.
+ */
+public final class TrafficLogFormat {
+
+    static final int MAGIC = 0x5350544C;
+    static final byte VERSION = 1;
+
+    private TrafficLogFormat() {
+    }
+
+    public static Writer writer(OutputStream out, long startEpochMillis, long startNanos) throws IOException {
+        return new Writer(out, startEpochMillis, startNanos);
+    }
+
+    public static Reader reader(InputStream in) throws IOException {
+        return new Reader(in);
+    }
+
+    /**
+     * A captured request, {@code offsetMicros} after the capture started.
+     */
+    public record TrafficRecord(long offsetMicros, String path) {
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private final long startNanos;
+        private long lastOffsetMicros;
+
+        private Writer(OutputStream out, long startEpochMillis, long startNanos) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+            this.startNanos = startNanos;
+            this.out.writeInt(MAGIC);
+            this.out.writeByte(VERSION);
+            this.out.writeLong(startEpochMillis);
+        }
+
+        /**
+         * Appends a record. Arrival times slightly out of order (several event loops
+         * feeding one queue) are clamped to the previous record.
+         */
+        public void write(long arrivalNanos, String path) throws IOException {
+            long offsetMicros = (arrivalNanos - startNanos) / 1_000;
+            long deltaMicros = Math.max(0, offsetMicros - lastOffsetMicros);
+            lastOffsetMicros += deltaMicros;
+            byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(deltaMicros);
+            writeVarLong(bytes.length);
+            out.write(bytes);
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+
+    public static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private final long startEpochMillis;
+        private long offsetMicros;
+
+        private Reader(InputStream in) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+            if (this.in.readInt() != MAGIC) {
+                throw new IOException("Not a traffic capture log");
+            }
+            byte version = this.in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported traffic capture log version: " + version);
+            }
+            this.startEpochMillis = this.in.readLong();
+        }
+
+        public long startEpochMillis() {
+            return startEpochMillis;
+        }
+
+        /**
+         * @return the next record, or {@code null} at the end of the log, including a partial last record
+         */
+        public TrafficRecord next() throws IOException {
+            long deltaMicros;
+            byte[] bytes;
+            try {
+                deltaMicros = readVarLong();
+                bytes = new byte[(int) readVarLong()];
+                in.readFully(bytes);
+            } catch (EOFException e) {
+                return null;
+            }
+            offsetMicros += deltaMicros;
+            return new TrafficRecord(offsetMicros, new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                byte b = in.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+                if (shift > 63) {
+                    throw new IOException("Malformed varint in traffic capture log");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.similarproducts.infrastructure.adapter.rest.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON string contents, without the quotes, as the UTF-8 bytes Jackson's default generator
+ * writes for them. Shared by the response bodies encoded without Jackson.
+ */
+public final class JsonStrings {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private JsonStrings() {
+    }
+
+    /**
+     * Strings that need no escaping, nearly all of them, are only encoded; the others are escaped first.
+     */
+    public static byte[] utf8(String value) {
+        return (needsEscaping(value) ? escape(value) : value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean needsEscaping(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\' || Character.isSurrogate(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Jackson's default escaping: quote, backslash and control characters, with the short forms
+     * where JSON has them and an upper-case hex escape otherwise. Jackson's UTF-8 generator also
+     * writes each half of a surrogate pair as its own hex escape rather than as four UTF-8 bytes.
+     */
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                case '\b' -> escaped.append("\\b");
+                case '\f' -> escaped.append("\\f");
+                default -> {
+                    if (c < 0x20 || Character.isSurrogate(c)) {
+                        escaped.append("\\u")
+                                .append((char) HEX[c >> 12]).append((char) HEX[(c >> 8) & 0xF])
+                                .append((char) HEX[(c >> 4) & 0xF]).append((char) HEX[c & 0xF]);
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,185 @@
+package com.company.similarproducts.infrastructure.adapter.rest.codec;
+
+import com.company.similarproducts.infrastructure.adapter.rest.dto.ProductResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the similar-products response, a {@code List<ProductResponse>}, without going through
+ * Jackson: the four fields are written in declaration order straight into a buffer from the
+ * response's {@link DataBufferFactory}, which under Reactor Netty is a pooled {@code ByteBuf}.
+ * <p>
+ * The output is byte for byte what the default {@code ObjectMapper} writes: no whitespace,
+ * {@code null} for missing values, strings escaped as Jackson escapes them and prices as
+ * {@link BigDecimal#toString()} prints them. Prices of up to 18 digits in plain notation are
+ * formatted from their unscaled value straight into bytes; only the rest go through a string.
+ * Registered ahead of the Jackson encoder, it only claims {@code List<ProductResponse>} bodies
+ * written as UTF-8 {@code application/json}.
+ */
+public final class ProductResponseEncoder implements Encoder<List<ProductResponse>> {
+
+    private static final List<MimeType> MIME_TYPES = List.of(MediaType.APPLICATION_JSON);
+
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] NAME = ascii(",\"name\":");
+    private static final byte[] PRICE = ascii(",\"price\":");
+    private static final byte[] AVAILABLE = ascii(",\"availability\":true}");
+    private static final byte[] UNAVAILABLE = ascii(",\"availability\":false}");
+    private static final byte[] NULL = ascii("null");
+
+    /** Fixed bytes of one element plus room for a typical price, added to its strings' encoded length. */
+    private static final int ELEMENT_OVERHEAD = 64;
+
+    /** Widest unscaled price formatted directly; any {@code long} of 18 digits fits. */
+    private static final int MAX_DIRECT_DIGITS = 18;
+
+    /** Room for the longest directly formatted price: sign, {@code 0.}, five zeros and 18 digits. */
+    private static final int MAX_PRICE_LENGTH = 32;
+
+    /** {@link BigDecimal#toString()} switches to exponent notation below this adjusted exponent. */
+    private static final int MIN_PLAIN_EXPONENT = -6;
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        if (mimeType != null && (!MediaType.APPLICATION_JSON.isCompatibleWith(mimeType)
+                || (mimeType.getCharset() != null && !StandardCharsets.UTF_8.equals(mimeType.getCharset())))) {
+            return false;
+        }
+        return List.class.isAssignableFrom(elementType.toClass())
+                && elementType.asCollection().resolveGeneric(0) == ProductResponse.class;
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<? extends List<ProductResponse>> inputStream,
+                                   DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        return Flux.from(inputStream).map(products -> encode(products, bufferFactory));
+    }
+
+    @Override
+    public DataBuffer encodeValue(List<ProductResponse> products, DataBufferFactory bufferFactory,
+                                  ResolvableType valueType, @Nullable MimeType mimeType,
+                                  @Nullable Map<String, Object> hints) {
+        return encode(products, bufferFactory);
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return MIME_TYPES;
+    }
+
+    /**
+     * Strings are encoded, and escaped where needed, before the buffer is allocated, so that it is
+     * sized from their encoded length and each is copied in with one array write.
+     *
+     * @return a buffer holding the JSON array, owned by the caller
+     */
+    public DataBuffer encode(List<ProductResponse> products, DataBufferFactory bufferFactory) {
+        int count = products.size();
+        byte[][] strings = new byte[count * 2][];
+        int size = 2;
+        for (int i = 0; i < count; i++) {
+            ProductResponse product = products.get(i);
+            strings[2 * i] = product.id() != null ? JsonStrings.utf8(product.id()) : null;
+            strings[2 * i + 1] = product.name() != null ? JsonStrings.utf8(product.name()) : null;
+            size += ELEMENT_OVERHEAD + length(strings[2 * i]) + length(strings[2 * i + 1]);
+        }
+
+        DataBuffer buffer = bufferFactory.allocateBuffer(size);
+        boolean written = false;
+        try {
+            byte[] priceText = new byte[MAX_PRICE_LENGTH];
+            buffer.write((byte) '[');
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    buffer.write((byte) ',');
+                }
+                ProductResponse product = products.get(i);
+                buffer.write(ID);
+                writeString(buffer, strings[2 * i]);
+                buffer.write(NAME);
+                writeString(buffer, strings[2 * i + 1]);
+                buffer.write(PRICE);
+                writePrice(buffer, product.price(), priceText);
+                buffer.write(product.availability() ? AVAILABLE : UNAVAILABLE);
+            }
+            buffer.write((byte) ']');
+            written = true;
+            return buffer;
+        } finally {
+            if (!written) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    private static int length(@Nullable byte[] contents) {
+        return contents != null ? contents.length : 0;
+    }
+
+    /**
+     * @param contents encoded by {@link JsonStrings#utf8}, {@code null} for a missing value
+     */
+    private static void writeString(DataBuffer buffer, @Nullable byte[] contents) {
+        if (contents == null) {
+            buffer.write(NULL);
+            return;
+        }
+        buffer.write((byte) '"');
+        buffer.write(contents);
+        buffer.write((byte) '"');
+    }
+
+    /**
+     * Same text as {@link BigDecimal#toString()}, formatted right to left into {@code text}: the
+     * {@code scale} fraction digits, which come out zero-padded on their own, the point, then the
+     * integer digits and the sign. The result is copied into the buffer in one write.
+     */
+    private static void writePrice(DataBuffer buffer, @Nullable BigDecimal price, byte[] text) {
+        if (price == null) {
+            buffer.write(NULL);
+            return;
+        }
+        int scale = price.scale();
+        int precision = price.precision();
+        if (precision > MAX_DIRECT_DIGITS || scale < 0 || precision - 1 - scale < MIN_PLAIN_EXPONENT) {
+            buffer.write(price.toString().getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        long unscaled = price.unscaledValue().longValue();
+        long remaining = Math.abs(unscaled);
+        int position = text.length;
+        for (int i = 0; i < scale; i++) {
+            text[--position] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        if (scale > 0) {
+            text[--position] = '.';
+        }
+        do {
+            text[--position] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (unscaled < 0) {
+            text[--position] = '-';
+        }
+        buffer.write(text, position, text.length - position);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
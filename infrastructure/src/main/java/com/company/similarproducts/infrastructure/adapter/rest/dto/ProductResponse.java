@@ -8,7 +8,6 @@ import java.math.BigDecimal;
 /**
  * DTO for product response in REST API.
  * Follows the OpenAPI contract.
- * Using Java 17 record for immutability and conciseness.
  */
 @Builder
 public record ProductResponse(
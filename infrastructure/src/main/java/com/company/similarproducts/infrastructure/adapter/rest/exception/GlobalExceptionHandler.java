@@ -3,24 +3,41 @@ package com.company.similarproducts.infrastructure.adapter.rest.exception;
 import com.company.similarproducts.domain.exception.ProductNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
 
 import jakarta.validation.ConstraintViolationException;
 
 /**
  * Global exception handler for REST controllers.
  * Translates domain exceptions to HTTP responses.
+ * <p>
+ * Not-found and unexpected errors are answered with pre-encoded bodies, since they can arrive at
+ * the same rate as successes; the bodies have the members a {@link ProblemDetail} would have. Their
+ * log statements, like those for bad requests, are rate limited per kind of outcome, so a flood of
+ * 404s does not silence validation errors; a dropped statement only increments a counter, reported
+ * with the next statement of its kind let through.
  */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final int WARNINGS_PER_SECOND = 10;
+    private static final int ERRORS_PER_SECOND = 10;
+
+    private final LogRateLimiter validationWarnings = new LogRateLimiter(WARNINGS_PER_SECOND);
+    private final LogRateLimiter notFoundWarnings = new LogRateLimiter(WARNINGS_PER_SECOND);
+    private final LogRateLimiter invalidArgumentWarnings = new LogRateLimiter(WARNINGS_PER_SECOND);
+    private final LogRateLimiter errors = new LogRateLimiter(ERRORS_PER_SECOND);
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ProblemDetail handleConstraintViolation(ConstraintViolationException ex) {
-        log.warn("Constraint violation caught by handler: {}", ex.getMessage());
+        warn(validationWarnings, "Constraint violation caught by handler: {}", ex.getMessage());
 
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
                 HttpStatus.BAD_REQUEST,
@@ -32,7 +49,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(WebExchangeBindException.class)
     public ProblemDetail handleWebExchangeBindException(WebExchangeBindException ex) {
-        log.warn("Validation error: {}", ex.getMessage());
+        warn(validationWarnings, "Validation error: {}", ex.getMessage());
 
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
                 HttpStatus.BAD_REQUEST,
@@ -43,21 +60,16 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(ProductNotFoundException.class)
-    public ProblemDetail handleProductNotFound(ProductNotFoundException ex) {
-        log.warn("Product not found: {}", ex.getProductId());
+    public ResponseEntity<byte[]> handleProductNotFound(ProductNotFoundException ex, ServerWebExchange exchange) {
+        warn(notFoundWarnings, "Product not found: {}", ex.getProductId());
 
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.NOT_FOUND,
-                ex.getMessage()
-        );
-        problemDetail.setTitle("Product Not Found");
-        return problemDetail;
+        return problem(HttpStatus.NOT_FOUND, ProblemBodies.notFound(ex.getProductId().value(), instance(exchange)));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
-        log.warn("Invalid argument: {}", ex.getMessage());
-        
+        warn(invalidArgumentWarnings, "Invalid argument: {}", ex.getMessage());
+
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
                 HttpStatus.BAD_REQUEST,
                 ex.getMessage()
@@ -67,14 +79,40 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(Exception.class)
-    public ProblemDetail handleGenericException(Exception ex) {
-        log.error("Unexpected error occurred", ex);
-        
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.INTERNAL_SERVER_ERROR,
-                "An unexpected error occurred"
-        );
-        problemDetail.setTitle("Internal Server Error");
-        return problemDetail;
+    public ResponseEntity<byte[]> handleGenericException(Exception ex, ServerWebExchange exchange) {
+        long dropped = errors.tryAcquire();
+        if (dropped == 0) {
+            log.error("Unexpected error occurred", ex);
+        } else if (dropped != LogRateLimiter.DROP) {
+            log.error("Unexpected error occurred ({} errors dropped)", dropped, ex);
+        }
+
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, ProblemBodies.internalServerError(instance(exchange)));
+    }
+
+    /**
+     * Logs through {@code limiter}, with the count of statements it dropped when there were any.
+     */
+    private static void warn(LogRateLimiter limiter, String message, Object argument) {
+        long dropped = limiter.tryAcquire();
+        if (dropped == 0) {
+            log.warn(message, argument);
+        } else if (dropped != LogRateLimiter.DROP) {
+            log.warn(message + " ({} warnings dropped)", argument, dropped);
+        }
+    }
+
+    /**
+     * The request path, which Spring also sets as the {@code instance} of a returned {@link ProblemDetail}.
+     */
+    private static String instance(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().value();
+    }
+
+    private static ResponseEntity<byte[]> problem(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .contentLength(body.length)
+                .body(body);
     }
 }
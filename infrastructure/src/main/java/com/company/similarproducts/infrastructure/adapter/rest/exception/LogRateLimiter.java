@@ -0,0 +1,52 @@
+package com.company.similarproducts.infrastructure.adapter.rest.exception;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets at most {@code permitsPerSecond} log statements through per one-second window, so a flood
+ * of expected outcomes such as 404s costs a counter increment per request instead of a log line.
+ * The first statement let through after a window with drops reports how many were dropped.
+ */
+final class LogRateLimiter {
+
+    /** Returned by {@link #tryAcquire()} when the statement must be dropped. */
+    static final long DROP = -1;
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int permitsPerSecond;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong window;
+    private final AtomicLong used = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    LogRateLimiter(int permitsPerSecond, LongSupplier nanoClock) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoClock = nanoClock;
+        this.window = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    LogRateLimiter(int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    /**
+     * @return {@link #DROP}, or the number of statements dropped since the last one let through
+     */
+    long tryAcquire() {
+        long now = nanoClock.getAsLong();
+        long start = window.get();
+        if (now - start >= WINDOW_NANOS && window.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() > permitsPerSecond) {
+            dropped.increment();
+            return DROP;
+        }
+        return dropped.sumThenReset();
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.similarproducts.infrastructure.adapter.rest.exception;
+
+import com.company.similarproducts.infrastructure.adapter.rest.codec.JsonStrings;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pre-encoded {@code application/problem+json} bodies for the outcomes that are common enough to
+ * matter under load, with the members Spring writes for a {@code ProblemDetail}: {@code type},
+ * {@code title}, {@code status}, {@code detail} and {@code instance}, the request path. Only the
+ * product id and the path are encoded per response.
+ */
+final class ProblemBodies {
+
+    private static final byte[] INTERNAL_SERVER_ERROR_PREFIX = ascii("{\"type\":\"about:blank\","
+            + "\"title\":\"Internal Server Error\",\"status\":500,\"detail\":\"An unexpected error occurred\","
+            + "\"instance\":\"");
+    private static final byte[] NOT_FOUND_PREFIX = ascii("{\"type\":\"about:blank\",\"title\":\"Product Not Found\","
+            + "\"status\":404,\"detail\":\"Product not found: ");
+    private static final byte[] INSTANCE = ascii("\",\"instance\":\"");
+    private static final byte[] SUFFIX = ascii("\"}");
+
+    private ProblemBodies() {
+    }
+
+    static byte[] internalServerError(String instance) {
+        return concat(INTERNAL_SERVER_ERROR_PREFIX, JsonStrings.utf8(instance), SUFFIX);
+    }
+
+    static byte[] notFound(String productId, String instance) {
+        return concat(NOT_FOUND_PREFIX, JsonStrings.utf8(productId), INSTANCE, JsonStrings.utf8(instance), SUFFIX);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] body = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, body, offset, part.length);
+            offset += part.length;
+        }
+        return body;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
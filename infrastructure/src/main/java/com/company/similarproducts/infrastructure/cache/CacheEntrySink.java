@@ -0,0 +1,15 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+
+import java.util.List;
+
+/**
+ * Receives cache entries together with the wall-clock time they were written.
+ */
+public interface CacheEntrySink {
+
+    void product(String productId, ProductApiDto product, long writeMillis);
+
+    void similarIds(String productId, List<String> similarIds, long writeMillis);
+}
@@ -0,0 +1,46 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Upper bound on the estimated bytes a cache may retain, either absolute ({@code "64MB"}) or a
+ * share of the maximum heap ({@code "10%"}), resolved once at startup.
+ */
+public final class CacheLimit {
+
+    private final DataSize size;
+    private final double heapPercent;
+
+    private CacheLimit(DataSize size, double heapPercent) {
+        this.size = size;
+        this.heapPercent = heapPercent;
+    }
+
+    /**
+     * Parses {@code "<n>%"} as a share of {@code -Xmx}, anything else as a {@link DataSize}.
+     */
+    public static CacheLimit valueOf(String text) {
+        String value = text.trim();
+        if (!value.endsWith("%")) {
+            return new CacheLimit(DataSize.parse(value), 0);
+        }
+        double percent = Double.parseDouble(value.substring(0, value.length() - 1).trim());
+        if (!(percent > 0 && percent <= 100)) {
+            throw new IllegalArgumentException("Heap percentage out of range: " + text);
+        }
+        return new CacheLimit(null, percent);
+    }
+
+    public static CacheLimit ofBytes(long bytes) {
+        return new CacheLimit(DataSize.ofBytes(bytes), 0);
+    }
+
+    public long toBytes(long maxHeapBytes) {
+        return size != null ? size.toBytes() : (long) (maxHeapBytes * heapPercent / 100);
+    }
+
+    @Override
+    public String toString() {
+        return size != null ? size.toString() : heapPercent + "%";
+    }
+}
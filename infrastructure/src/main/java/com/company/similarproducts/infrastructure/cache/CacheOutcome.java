@@ -0,0 +1,47 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-request record of whether any client cache lookup had to wait for upstream. The access
+ * log puts one into the Reactor context of each request; cache lookups that miss mark it.
+ */
+public final class CacheOutcome {
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+
+    private volatile boolean miss;
+
+    /**
+     * Wraps a lookup that waits on an upstream load, so that subscribing to it marks the
+     * requesting request's outcome, if it has one, as a miss.
+     */
+    public static <T> Mono<T> recordMiss(Mono<T> load) {
+        return Mono.deferContextual(context -> {
+            CacheOutcome outcome = context.getOrDefault(CacheOutcome.class, null);
+            if (outcome != null) {
+                outcome.miss = true;
+            }
+            return load;
+        });
+    }
+
+    /**
+     * Streaming form of {@link #recordMiss(Mono)}.
+     */
+    public static <T> Flux<T> recordMiss(Flux<T> load) {
+        return Flux.deferContextual(context -> {
+            CacheOutcome outcome = context.getOrDefault(CacheOutcome.class, null);
+            if (outcome != null) {
+                outcome.miss = true;
+            }
+            return load;
+        });
+    }
+
+    public String result() {
+        return miss ? MISS : HIT;
+    }
+}
@@ -0,0 +1,179 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single source of the upstream client cache definitions: each cache is bounded by estimated
+ * bytes through a weigher and expires a jittered time after write.
+ * <p>
+ * Caches built here publish the standard {@code cache.*} meters plus {@code cache.weight.estimated}
+ * and {@code cache.weight.max} in bytes and {@code cache.expirations}, all tagged with the
+ * registry's cache manager. A rising {@code cache.expirations} rate is the upstream reload burst
+ * that TTL jitter and early refresh are meant to flatten. A cache with hot keys configured also
+ * gets a {@link HotKeyTracker} feeding a pinned hot set, monitored as a cache of its own.
+ */
+public class CacheRegistry {
+
+    public static final String CACHE_MANAGER_TAG = "cache.manager";
+
+    /** Load time assumed by early refresh before any load has been timed. */
+    private static final long INITIAL_LOAD_NANOS = Duration.ofMillis(50).toNanos();
+
+    /** Counters per row of each hot-key sketch: 256KB per cache. */
+    private static final int HOT_KEY_SKETCH_WIDTH = 1 << 14;
+
+    /**
+     * Hot-key counts are halved at least this often, and a key needs this many of them to be
+     * pinned: about four requests a minute, kept up.
+     */
+    private static final Duration HOT_KEY_AGING = Duration.ofMinutes(1);
+    private static final int HOT_KEY_MIN_HITS = 8;
+
+    /**
+     * @param maxWeightBytes   estimated bytes the cache may retain before evicting
+     * @param ttlJitter        entries live between {@code ttl - ttlJitter} and {@code ttl}
+     * @param earlyRefreshBeta XFetch beta for {@link EarlyRefresh}, 0 to only reload once expired
+     * @param hotKeys          size of the pinned hot set fed by a {@link HotKeyTracker}, 0 for none
+     */
+    public record CacheDefinition(String name, long maxWeightBytes, Duration ttl, Duration ttlJitter,
+                                  double earlyRefreshBeta, int hotKeys) {
+
+        public CacheDefinition(String name, long maxWeightBytes, Duration ttl) {
+            this(name, maxWeightBytes, ttl, Duration.ZERO, 0, 0);
+        }
+
+        public <K, V> ExpireAfterWrite<K, V> expiry() {
+            return new ExpireAfterWrite<>(ttl, ttlJitter);
+        }
+    }
+
+    private final Map<String, CacheDefinition> definitions = new LinkedHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final String cacheManager;
+    private final int numericIdSlots;
+
+    /**
+     * @param numericIdSlots slots of the long-keyed fast path for numeric ids, 0 to disable it
+     */
+    public CacheRegistry(MeterRegistry meterRegistry, String cacheManager, int numericIdSlots,
+                         CacheDefinition... definitions) {
+        this.meterRegistry = meterRegistry;
+        this.cacheManager = cacheManager;
+        this.numericIdSlots = numericIdSlots;
+        for (CacheDefinition definition : definitions) {
+            this.definitions.put(definition.name(), definition);
+        }
+    }
+
+    public CacheDefinition definition(String name) {
+        CacheDefinition definition = definitions.get(name);
+        if (definition == null) {
+            throw new IllegalArgumentException("No cache definition named " + name);
+        }
+        return definition;
+    }
+
+    public Iterable<CacheDefinition> definitions() {
+        return definitions.values();
+    }
+
+    public int numericIdSlots() {
+        return numericIdSlots;
+    }
+
+    /**
+     * Builder bounded by the definition's weight and TTL, recording stats; callers add what is
+     * specific to them, such as an executor, before building.
+     */
+    public <K, V> Caffeine<K, V> newBuilder(String name, Weigher<K, V> weigher) {
+        CacheDefinition definition = definition(name);
+        Counter expirations = Counter.builder("cache.expirations")
+                .tags("cache", name, CACHE_MANAGER_TAG, cacheManager)
+                .register(meterRegistry);
+        return Caffeine.newBuilder()
+                .maximumWeight(definition.maxWeightBytes())
+                .weigher(weigher)
+                .expireAfter(definition.<K, V>expiry())
+                .evictionListener((K key, V value, RemovalCause cause) -> {
+                    if (cause == RemovalCause.EXPIRED) {
+                        expirations.increment();
+                    }
+                })
+                .recordStats();
+    }
+
+    /**
+     * @return the early refresh policy of the cache, or {@code null} when it only reloads once expired
+     */
+    public EarlyRefresh earlyRefresh(String name) {
+        double beta = definition(name).earlyRefreshBeta();
+        return beta > 0 ? new EarlyRefresh(beta, INITIAL_LOAD_NANOS) : null;
+    }
+
+    /**
+     * @return the hot-key tracker of the cache, or {@code null} when it has no pinned hot set
+     */
+    public HotKeyTracker hotKeyTracker(String name) {
+        int hotKeys = definition(name).hotKeys();
+        return hotKeys > 0 ? new HotKeyTracker(hotKeys, HOT_KEY_SKETCH_WIDTH, HOT_KEY_MIN_HITS, HOT_KEY_AGING) : null;
+    }
+
+    public Counter counter(String meterName, String cacheName) {
+        return Counter.builder(meterName)
+                .tags("cache", cacheName, CACHE_MANAGER_TAG, cacheManager)
+                .register(meterRegistry);
+    }
+
+    public void monitor(Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name, CACHE_MANAGER_TAG, cacheManager);
+        Tags tags = Tags.of("cache", name, CACHE_MANAGER_TAG, cacheManager);
+        Gauge.builder("cache.weight.estimated", cache, CacheRegistry::weightedSize)
+                .tags(tags).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("cache.weight.max", cache, CacheRegistry::maximumWeight)
+                .tags(tags).baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * Only hits are counted: a miss falls through to the Caffeine cache behind the fast path,
+     * which counts it, so the {@code cache.gets} totals still add up to one lookup per call.
+     */
+    public void monitorHits(LongKeyedCache<?> cache, String name) {
+        FunctionCounter.builder("cache.gets", cache, LongKeyedCache::hitCount)
+                .tags("cache", name, CACHE_MANAGER_TAG, cacheManager, "result", "hit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A pinned hot set sits in front of its cache like the fast path: hits only, plus its size.
+     */
+    public void monitorPinned(Map<?, ?> pinned, LongAdder hits, String name) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", name, CACHE_MANAGER_TAG, cacheManager, "result", "hit")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", pinned, Map::size)
+                .tags("cache", name, CACHE_MANAGER_TAG, cacheManager)
+                .register(meterRegistry);
+    }
+
+    private static double weightedSize(Cache<?, ?> cache) {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    private static double maximumWeight(Cache<?, ?> cache) {
+        return cache.policy().eviction().map(eviction -> eviction.getMaximum()).orElse(0L);
+    }
+}
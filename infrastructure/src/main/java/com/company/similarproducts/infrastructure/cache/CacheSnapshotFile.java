@@ -0,0 +1,146 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary snapshot of the client caches.
+ * <p>
+ * Layout: {@code [magic:i32][version:i32]} followed by records
+ * {@code [type:u8][key:str][writeMillis:i64][payload]} and a {@code 0} end marker. Products are
+ * {@link ProductBinaryCodec} bytes with an {@code i32} length prefix, similar ids an {@code i32}
+ * count followed by the ids. Strings are UTF-8 with an {@code i32} length prefix, as in
+ * {@link ProductBinaryCodec}, so none is limited to 64KB. Files are written next to the target and moved into place atomically,
+ * so a crash mid-write never leaves a torn snapshot behind.
+ */
+public final class CacheSnapshotFile {
+
+    private static final int MAGIC = 0x53504353;
+    private static final int VERSION = 3;
+    private static final int END = 0;
+    private static final int PRODUCT = 1;
+    private static final int SIMILAR_IDS = 2;
+
+    private CacheSnapshotFile() {
+    }
+
+    /**
+     * @return number of entries written
+     */
+    public static int write(Path path, SnapshotableProductCache cache) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            int count;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                RecordWriter writer = new RecordWriter(out);
+                cache.exportEntries(writer);
+                out.writeByte(END);
+                count = writer.count;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Streams the snapshot into {@code sink}. A missing file reads as empty; on a truncated one the
+     * entries before the truncation have already been delivered when the {@link EOFException} is thrown.
+     *
+     * @return number of entries read
+     */
+    public static int read(Path path, CacheEntrySink sink) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return 0;
+        }
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a cache snapshot (or unsupported version): " + path);
+            }
+            for (int type = in.readUnsignedByte(); type != END; type = in.readUnsignedByte()) {
+                String key = ProductBinaryCodec.readString(in);
+                long writeMillis = in.readLong();
+                if (type == PRODUCT) {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    sink.product(key, ProductBinaryCodec.decode(bytes), writeMillis);
+                } else if (type == SIMILAR_IDS) {
+                    int size = in.readInt();
+                    List<String> ids = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        ids.add(ProductBinaryCodec.readString(in));
+                    }
+                    sink.similarIds(key, List.copyOf(ids), writeMillis);
+                } else {
+                    throw new IOException("Unknown record type " + type + " in " + path);
+                }
+                count++;
+            }
+        } catch (EOFException e) {
+            throw new EOFException("Truncated cache snapshot " + path + " after " + count + " entries");
+        }
+        return count;
+    }
+
+    private static final class RecordWriter implements CacheEntrySink {
+
+        private final DataOutputStream out;
+        private int count;
+
+        RecordWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void product(String productId, ProductApiDto product, long writeMillis) {
+            try {
+                byte[] bytes = ProductBinaryCodec.encode(product);
+                writeHeader(PRODUCT, productId, writeMillis);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void similarIds(String productId, List<String> similarIds, long writeMillis) {
+            try {
+                writeHeader(SIMILAR_IDS, productId, writeMillis);
+                out.writeInt(similarIds.size());
+                for (String id : similarIds) {
+                    ProductBinaryCodec.writeString(out, id);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeHeader(int type, String key, long writeMillis) throws IOException {
+            out.writeByte(type);
+            ProductBinaryCodec.writeString(out, key);
+            out.writeLong(writeMillis);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Restores the client caches from the snapshot file on startup, then rewrites the file every
+ * {@code interval} and once more on shutdown.
+ * <p>
+ * {@link #start()} restores synchronously, so when it runs as a bean init method the caches are
+ * warm before the application context is refreshed and readiness is reported.
+ */
+@Slf4j
+public class CacheSnapshotManager {
+
+    private final SnapshotableProductCache cache;
+    private final Path path;
+    private final Duration interval;
+    private final Scheduler scheduler;
+
+    private volatile Disposable periodic;
+    private volatile int restoredEntries;
+    private volatile int writtenEntries;
+
+    public CacheSnapshotManager(SnapshotableProductCache cache, Path path, Duration interval, Scheduler scheduler) {
+        this.cache = cache;
+        this.path = path;
+        this.interval = interval;
+        this.scheduler = scheduler;
+    }
+
+    public void start() {
+        restore();
+        if (!interval.isZero() && !interval.isNegative()) {
+            periodic = Flux.interval(interval, interval, scheduler)
+                    .onBackpressureDrop()
+                    .subscribe(ignored -> save());
+        }
+    }
+
+    public void close() {
+        Disposable current = periodic;
+        if (current != null) {
+            current.dispose();
+        }
+        save();
+    }
+
+    void restore() {
+        long start = System.nanoTime();
+        try {
+            restoredEntries = CacheSnapshotFile.read(path, cache.importer());
+            log.info("Cache snapshot {}: read {} entries in {}ms", path, restoredEntries,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Cache snapshot {} not restored: {}", path, e.getMessage());
+        }
+    }
+
+    public synchronized void save() {
+        long start = System.nanoTime();
+        try {
+            writtenEntries = CacheSnapshotFile.write(path, cache);
+            log.debug("Cache snapshot {}: wrote {} entries in {}ms", path, writtenEntries,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cache snapshot {} not written: {}", path, e.getMessage());
+        }
+    }
+
+    public int restoredEntries() {
+        return restoredEntries;
+    }
+
+    public int writtenEntries() {
+        return writtenEntries;
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Estimated retained bytes of client cache entries, for Caffeine weighers.
+ * <p>
+ * Estimates assume a 64-bit JVM with compressed oops and compact strings, and include the
+ * cache's own per-entry node. They only need to be proportionate: the cache limits are budgets,
+ * not hard caps.
+ */
+public final class CacheWeights {
+
+    /** Caffeine node with expiry and weight fields, plus its hash table slot. */
+    static final int ENTRY_OVERHEAD = 96;
+
+    private CacheWeights() {
+    }
+
+    public static int product(String key, CompactProduct product) {
+        return ENTRY_OVERHEAD + string(key) + (product != null ? product.estimatedBytes() : 0);
+    }
+
+    public static int optionalProduct(String key, Optional<CompactProduct> product) {
+        return 16 + product(key, product.orElse(null));
+    }
+
+    public static int similarIds(String key, List<String> ids) {
+        int bytes = ENTRY_OVERHEAD + string(key) + 40 + 4 * ids.size();
+        for (String id : ids) {
+            bytes += string(id);
+        }
+        return bytes;
+    }
+
+    static int string(String value) {
+        return value == null ? 0 : 24 + array(value.length());
+    }
+
+    static int array(int length) {
+        return (16 + length + 7) & ~7;
+    }
+}
@@ -0,0 +1,150 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cached form of a product: one object plus at most two byte arrays, instead of the DTO with
+ * its {@code String}s and {@code BigDecimal}.
+ * <p>
+ * Canonical numeric ids are kept as a {@code long}, other ids and the name as UTF-8 bytes. The
+ * price is its unscaled value as a {@code long} plus its scale, so {@code 19.90} comes back as
+ * {@code 19.90}; only prices that do not fit keep their {@code BigDecimal}. Strings and the
+ * {@code BigDecimal} are created again on every read, so convert once, where the value leaves
+ * the cache.
+ */
+public final class CompactProduct {
+
+    private static final long NO_NUMERIC_ID = ProductIdCodec.NOT_NUMERIC;
+
+    private static final byte AVAILABLE = 1;
+    private static final byte HAS_PRICE = 1 << 1;
+
+    private final long numericId;
+    private final byte[] id;
+    private final byte[] name;
+    private final long unscaledPrice;
+    private final BigDecimal widePrice;
+    private final byte priceScale;
+    private final byte flags;
+
+    private CompactProduct(long numericId, byte[] id, byte[] name, long unscaledPrice, BigDecimal widePrice,
+                           byte priceScale, byte flags) {
+        this.numericId = numericId;
+        this.id = id;
+        this.name = name;
+        this.unscaledPrice = unscaledPrice;
+        this.widePrice = widePrice;
+        this.priceScale = priceScale;
+        this.flags = flags;
+    }
+
+    public static CompactProduct of(String id, String name, BigDecimal price, boolean availability) {
+        long numericId = ProductIdCodec.encode(id);
+        byte[] idBytes = id != null && numericId == NO_NUMERIC_ID ? id.getBytes(StandardCharsets.UTF_8) : null;
+        byte[] nameBytes = name != null ? name.getBytes(StandardCharsets.UTF_8) : null;
+
+        long unscaled = 0;
+        BigDecimal wide = null;
+        byte scale = 0;
+        if (price != null) {
+            if (price.unscaledValue().bitLength() < Long.SIZE && price.scale() == (byte) price.scale()) {
+                unscaled = price.unscaledValue().longValue();
+                scale = (byte) price.scale();
+            } else {
+                wide = price;
+            }
+        }
+        byte flags = (byte) ((availability ? AVAILABLE : 0) | (price != null ? HAS_PRICE : 0));
+        return new CompactProduct(numericId, idBytes, nameBytes, unscaled, wide, scale, flags);
+    }
+
+    public static CompactProduct from(ProductApiDto dto) {
+        return of(dto.getId(), dto.getName(), dto.getPrice(), dto.isAvailability());
+    }
+
+    public ProductApiDto toDto() {
+        return new ProductApiDto(id(), name(), price(), availability());
+    }
+
+    /**
+     * @return the id, or {@code null} when upstream sent none
+     */
+    public String id() {
+        if (numericId != NO_NUMERIC_ID) {
+            return ProductIdCodec.decode(numericId);
+        }
+        return id != null ? new String(id, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * @return the id as a number, or {@link ProductIdCodec#NOT_NUMERIC} when it is not canonical
+     */
+    public long numericId() {
+        return numericId;
+    }
+
+    public String name() {
+        return name != null ? new String(name, StandardCharsets.UTF_8) : null;
+    }
+
+    public BigDecimal price() {
+        if ((flags & HAS_PRICE) == 0) {
+            return null;
+        }
+        return widePrice != null ? widePrice : BigDecimal.valueOf(unscaledPrice, priceScale);
+    }
+
+    public boolean availability() {
+        return (flags & AVAILABLE) != 0;
+    }
+
+    /**
+     * Estimated retained bytes of this object and its arrays; see {@link CacheWeights}.
+     */
+    public int estimatedBytes() {
+        int bytes = 48;
+        if (id != null) {
+            bytes += CacheWeights.array(id.length);
+        }
+        if (name != null) {
+            bytes += CacheWeights.array(name.length);
+        }
+        return widePrice != null ? bytes + 96 : bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactProduct other)) {
+            return false;
+        }
+        return numericId == other.numericId
+                && unscaledPrice == other.unscaledPrice
+                && priceScale == other.priceScale
+                && flags == other.flags
+                && Arrays.equals(id, other.id)
+                && Arrays.equals(name, other.name)
+                && (widePrice == null ? other.widePrice == null : widePrice.equals(other.widePrice));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(numericId);
+        result = 31 * result + Arrays.hashCode(id);
+        result = 31 * result + Arrays.hashCode(name);
+        result = 31 * result + Long.hashCode(unscaledPrice);
+        return 31 * result + flags;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactProduct(id=" + id() + ", name=" + name() + ", price=" + price()
+                + ", availability=" + availability() + ")";
+    }
+}
@@ -0,0 +1,54 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Probabilistic early recomputation in the style of XFetch (Vattani, Chierichetti and Lowenstein,
+ * "Optimal Probabilistic Cache Stampede Prevention"). A read refreshes its entry ahead of expiry
+ * when {@code delta * beta * -ln(rand) >= remaining}, where {@code delta} is how long a reload
+ * takes. The closer the expiry, the slower the reload and the hotter the key, the likelier an
+ * early refresh, so a hot key is normally reloaded once, in the background, before it expires.
+ * <p>
+ * {@code delta} is a moving average of observed load times rather than a per-entry value, which
+ * keeps entries free of bookkeeping. Reads far from expiry return without drawing a random number.
+ */
+public final class EarlyRefresh {
+
+    /** {@code -ln} of the smallest positive double {@code nextDouble} returns, rounded up. */
+    private static final double MAX_EXPONENT = 37;
+
+    private final double beta;
+    private volatile long deltaNanos;
+
+    /**
+     * @param beta         above 1 favours earlier refreshes, below 1 later ones
+     * @param initialDelta load time assumed until loads have been observed
+     */
+    public EarlyRefresh(double beta, long initialDelta) {
+        if (!(beta > 0)) {
+            throw new IllegalArgumentException("beta must be positive: " + beta);
+        }
+        this.beta = beta;
+        this.deltaNanos = initialDelta;
+    }
+
+    public boolean shouldRefresh(long remainingNanos) {
+        double scale = beta * deltaNanos;
+        if (remainingNanos > scale * MAX_EXPONENT) {
+            return false;
+        }
+        return -scale * Math.log(ThreadLocalRandom.current().nextDouble()) >= remainingNanos;
+    }
+
+    /**
+     * Folds one load time into the average; concurrent updates may lose a sample, which is harmless.
+     */
+    public void recordLoad(long nanos) {
+        long delta = deltaNanos;
+        deltaNanos = delta + (nanos - delta) / 8;
+    }
+
+    public long deltaNanos() {
+        return deltaNanos;
+    }
+}
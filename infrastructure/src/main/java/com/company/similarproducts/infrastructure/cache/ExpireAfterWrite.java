@@ -0,0 +1,54 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fixed time-to-live from the last write, like {@code expireAfterWrite}, but as a variable
+ * {@link Expiry} so entries can also be inserted with a shorter remaining lifetime.
+ * <p>
+ * With a jitter, each write lives a uniformly random time between {@code ttl - jitter} and
+ * {@code ttl}, so keys written together (a warm-up, a snapshot restore) do not all expire, and
+ * reload, in the same second. No entry ever lives longer than {@code ttl}.
+ */
+public final class ExpireAfterWrite<K, V> implements Expiry<K, V> {
+
+    private final long ttlNanos;
+    private final long jitterNanos;
+
+    public ExpireAfterWrite(Duration ttl, Duration jitter) {
+        if (jitter.isNegative() || jitter.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("jitter must be within [0, ttl): " + jitter);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.jitterNanos = jitter.toNanos();
+    }
+
+    public ExpireAfterWrite(Duration ttl) {
+        this(ttl, Duration.ZERO);
+    }
+
+    /**
+     * @return the lifetime of a new write, jitter applied
+     */
+    public long nextTtlNanos() {
+        return jitterNanos == 0 ? ttlNanos : ttlNanos - ThreadLocalRandom.current().nextLong(jitterNanos + 1);
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        return nextTtlNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return nextTtlNanos();
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
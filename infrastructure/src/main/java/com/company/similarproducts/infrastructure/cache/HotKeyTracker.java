@@ -0,0 +1,187 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Streaming heavy-hitters tracker: a Count-Min Sketch estimates how often each key was recorded
+ * and a small candidate set keeps the {@code topK} keys with the highest estimates.
+ * <p>
+ * Recording a key is four counter increments and, only once its estimate beats the weakest
+ * candidate, a lookup in the candidate set; the set itself changes under a lock, which keys that
+ * are already in it never take. Counters are plain {@code int}s updated without synchronization,
+ * so concurrent increments may be lost; the estimates are approximate by design.
+ * <p>
+ * All counters are halved every {@code 10 * width} records and at least once per
+ * {@code agingInterval}, so keys that stop being requested age out on a quiet instance too. A key
+ * only counts as hot while its estimate is at least {@code minHits}; until then it is not admitted,
+ * and a candidate that ages below it is dropped, so a key requested once is never hot.
+ */
+public final class HotKeyTracker {
+
+    /** A tracked key with its estimated (aged) number of recent requests. */
+    public record HotKey(String key, long hits) {
+    }
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int topK;
+    private final int[] counters;
+    private final int mask;
+    private final int sampleSize;
+    private final int minHits;
+    private final long agingIntervalNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Boolean> candidates = new ConcurrentHashMap<>();
+    private volatile int admissionThreshold;
+    private volatile long nextAgingNanos;
+    private int additions;
+
+    /**
+     * @param topK          number of keys reported as hot
+     * @param width         counters per sketch row, rounded up to a power of two
+     * @param minHits       estimate a key needs to count as hot
+     * @param agingInterval longest time between two halvings of the counters
+     */
+    public HotKeyTracker(int topK, int width, int minHits, Duration agingInterval, LongSupplier nanoClock) {
+        if (topK < 1 || width < 1 || width > 1 << 24 || minHits < 1) {
+            throw new IllegalArgumentException("topK, width and minHits out of range: " + topK + ", " + width
+                    + ", " + minHits);
+        }
+        if (agingInterval.isNegative() || agingInterval.isZero()) {
+            throw new IllegalArgumentException("agingInterval must be positive: " + agingInterval);
+        }
+        int rowWidth = Math.max(Integer.highestOneBit(width - 1) << 1, 1);
+        this.topK = topK;
+        this.counters = new int[DEPTH * rowWidth];
+        this.mask = rowWidth - 1;
+        this.sampleSize = 10 * rowWidth;
+        this.minHits = minHits;
+        this.agingIntervalNanos = agingInterval.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextAgingNanos = nanoClock.getAsLong() + agingIntervalNanos;
+    }
+
+    public HotKeyTracker(int topK, int width, int minHits, Duration agingInterval) {
+        this(topK, width, minHits, agingInterval, System::nanoTime);
+    }
+
+    public void record(String key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            int count = counters[index];
+            if (count < Integer.MAX_VALUE) {
+                counters[index] = ++count;
+            }
+            estimate = Math.min(estimate, count);
+        }
+        if (++additions >= sampleSize || nanoClock.getAsLong() - nextAgingNanos >= 0) {
+            age();
+        }
+        if (estimate >= minHits && estimate > admissionThreshold && !candidates.containsKey(key)) {
+            admit(key, estimate);
+        }
+    }
+
+    public boolean isHot(String key) {
+        return candidates.containsKey(key);
+    }
+
+    /**
+     * @return the current hot keys, most requested first
+     */
+    public List<HotKey> topKeys() {
+        if (nanoClock.getAsLong() - nextAgingNanos >= 0) {
+            age();
+        }
+        List<HotKey> keys = new ArrayList<>(topK);
+        for (String key : candidates.keySet()) {
+            keys.add(new HotKey(key, estimate(key)));
+        }
+        keys.sort(Comparator.comparingLong(HotKey::hits).reversed());
+        return keys;
+    }
+
+    public long estimate(String key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters[index(hash, row)]);
+        }
+        return estimate;
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    /**
+     * Takes the place of the weakest candidate once the set is full. Candidates are re-estimated
+     * here rather than on every record, since their counts keep moving.
+     */
+    private synchronized void admit(String key, int estimate) {
+        if (candidates.containsKey(key)) {
+            return;
+        }
+        if (candidates.size() < topK) {
+            candidates.put(key, Boolean.TRUE);
+            if (candidates.size() == topK) {
+                admissionThreshold = (int) weakest().hits();
+            }
+            return;
+        }
+        HotKey weakest = weakest();
+        if (estimate > weakest.hits()) {
+            candidates.remove(weakest.key());
+            candidates.put(key, Boolean.TRUE);
+            weakest = weakest();
+        }
+        admissionThreshold = (int) weakest.hits();
+    }
+
+    private HotKey weakest() {
+        HotKey weakest = null;
+        for (String candidate : candidates.keySet()) {
+            long hits = estimate(candidate);
+            if (weakest == null || hits < weakest.hits()) {
+                weakest = new HotKey(candidate, hits);
+            }
+        }
+        return weakest;
+    }
+
+    /**
+     * Halves the counters once per aging interval that has passed, and at least once when the
+     * sample is full, then drops the candidates that fell below {@code minHits}.
+     */
+    private synchronized void age() {
+        long now = nanoClock.getAsLong();
+        long intervals = now - nextAgingNanos >= 0 ? (now - nextAgingNanos) / agingIntervalNanos + 1 : 0;
+        if (additions < sampleSize && intervals == 0) {
+            return;
+        }
+        int shift = (int) Math.min(31, Math.max(intervals, 1));
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>>= shift;
+        }
+        additions = 0;
+        nextAgingNanos = now + agingIntervalNanos;
+        candidates.keySet().removeIf(candidate -> estimate(candidate) < minHits);
+        admissionThreshold = candidates.size() < topK ? 0 : (int) weakest().hits();
+    }
+
+    private int index(int hash, int row) {
+        long spread = (hash + SEEDS[row]) * SEEDS[row];
+        return row * (mask + 1) + ((int) (spread >>> 32) & mask);
+    }
+}
@@ -0,0 +1,100 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Direct-mapped cache keyed by a primitive {@code long}, used as a fast path in front of the
+ * {@code String}-keyed Caffeine caches for ids that {@link ProductIdCodec} can encode.
+ * <p>
+ * Each slot holds one immutable entry, replaced wholesale on write, so a lookup is a multiply,
+ * a mask and one array read: no key boxing, no {@code String.hashCode} and no allocation. A key
+ * that collides with another simply displaces it; the backing cache stays authoritative and
+ * refills the slot on its next hit. Entries carry their own deadline, since hits here never reach
+ * the backing cache's expiry.
+ */
+public final class LongKeyedCache<V> {
+
+    private final AtomicReferenceArray<Entry<V>> slots;
+    private final int mask;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder hits = new LongAdder();
+
+    public LongKeyedCache(int capacity, LongSupplier nanoClock) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int slotCount = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.max(slotCount, 1));
+        this.mask = slots.length() - 1;
+        this.nanoClock = nanoClock;
+    }
+
+    public LongKeyedCache(int capacity) {
+        this(capacity, System::nanoTime);
+    }
+
+    /**
+     * @return the live value for {@code key}, or {@code null} when absent, displaced or expired
+     */
+    public V get(long key) {
+        Entry<V> entry = slots.getAcquire(index(key));
+        if (entry == null || entry.key != key || entry.expiresAtNanos - nanoClock.getAsLong() <= 0) {
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Stores {@code value} for {@code ttl}, replacing whatever occupied the slot.
+     */
+    public void put(long key, V value, Duration ttl) {
+        put(key, value, ttl.toNanos());
+    }
+
+    public void put(long key, V value, long ttlNanos) {
+        slots.setRelease(index(key), new Entry<>(key, value, nanoClock.getAsLong() + ttlNanos));
+    }
+
+    /**
+     * @return nanoseconds until the entry for {@code key} expires, or {@code -1} when absent or expired
+     */
+    public long remainingNanos(long key) {
+        Entry<V> entry = slots.getAcquire(index(key));
+        if (entry == null || entry.key != key) {
+            return -1;
+        }
+        long remaining = entry.expiresAtNanos - nanoClock.getAsLong();
+        return remaining > 0 ? remaining : -1;
+    }
+
+    public void invalidate(long key) {
+        int index = index(key);
+        Entry<V> entry = slots.getAcquire(index);
+        if (entry != null && entry.key == key) {
+            slots.compareAndSet(index, entry, null);
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Fibonacci hashing: sequential ids spread over the table instead of filling adjacent slots.
+     */
+    private int index(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private record Entry<V>(long key, V value, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,221 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Rotating Bloom filter of product ids that upstream has confirmed do not exist, so lookups of
+ * those ids can be answered without a cache entry or an upstream call.
+ * <p>
+ * Ids are added to the current generation and looked up in the current and the previous one.
+ * The filter rotates once the current generation holds {@code expectedInsertions} ids or is
+ * {@code rotation} old, so an id is remembered for one to two rotations and the false-positive
+ * rate never exceeds the configured one. A rotation is what lets a product created upstream
+ * after its id was recorded show up again.
+ * <p>
+ * False positives, existing ids that collide with recorded ones, are caught by verification: a
+ * filter hit still goes upstream with probability {@code verifyRatio}, and an id found to exist
+ * is exempted until the next rotation.
+ */
+public final class NotFoundFilter {
+
+    /** Verified false positives kept per rotation; beyond this they are only corrected by rotation. */
+    private static final int MAX_FALSE_POSITIVES = 10_000;
+
+    /** Lookup outcome: pass the id through, answer not-found, or answer from upstream to verify. */
+    public enum Verdict { UNKNOWN, NOT_FOUND, VERIFY }
+
+    private final int expectedInsertions;
+    private final long rotationNanos;
+    private final double verifyRatio;
+    private final LongSupplier nanoClock;
+    private final int bits;
+    private final int hashes;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+    private final Set<String> falsePositives = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder falsePositiveCount = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+
+    public NotFoundFilter(int expectedInsertions, double falsePositiveRate, Duration rotation, double verifyRatio,
+                          LongSupplier nanoClock) {
+        if (expectedInsertions < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1)
+                || !(verifyRatio >= 0 && verifyRatio <= 1) || rotation.isNegative() || rotation.isZero()) {
+            throw new IllegalArgumentException("Invalid not-found filter settings");
+        }
+        this.expectedInsertions = expectedInsertions;
+        this.rotationNanos = rotation.toNanos();
+        this.verifyRatio = verifyRatio;
+        this.nanoClock = nanoClock;
+
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = (int) Math.min(Math.max(optimalBits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * ln2));
+        this.current = new Generation(bits, nanoClock.getAsLong());
+        this.previous = new Generation(bits, nanoClock.getAsLong());
+    }
+
+    public NotFoundFilter(int expectedInsertions, double falsePositiveRate, Duration rotation, double verifyRatio) {
+        this(expectedInsertions, falsePositiveRate, rotation, verifyRatio, System::nanoTime);
+    }
+
+    /**
+     * Records an id upstream answered 404 for.
+     */
+    public void put(String id) {
+        Generation generation = currentGeneration();
+        long hash = hash(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            generation.set(index(h1 + i * h2));
+        }
+        generation.insertions.incrementAndGet();
+        falsePositives.remove(id);
+    }
+
+    public Verdict check(String id) {
+        if (!contains(id)) {
+            return Verdict.UNKNOWN;
+        }
+        if (verifyRatio > 0 && ThreadLocalRandom.current().nextDouble() < verifyRatio) {
+            verifications.increment();
+            return Verdict.VERIFY;
+        }
+        hits.increment();
+        return Verdict.NOT_FOUND;
+    }
+
+    /**
+     * Membership only, without counting a hit or drawing a verification.
+     */
+    public boolean contains(String id) {
+        long hash = hash(id);
+        return (contains(currentGeneration(), hash) || contains(previous, hash)) && !falsePositives.contains(id);
+    }
+
+    /**
+     * Exempts an id that was reported as not found but exists upstream.
+     */
+    public void confirmExists(String id) {
+        falsePositiveCount.increment();
+        if (falsePositives.size() < MAX_FALSE_POSITIVES) {
+            falsePositives.add(id);
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long verificationCount() {
+        return verifications.sum();
+    }
+
+    public long falsePositiveCount() {
+        return falsePositiveCount.sum();
+    }
+
+    public long rotationCount() {
+        return rotations.sum();
+    }
+
+    /**
+     * @return ids recorded in the generations currently looked up
+     */
+    public long size() {
+        return current.insertions.get() + previous.insertions.get();
+    }
+
+    /**
+     * @return heap taken by both generations' bit arrays
+     */
+    public long sizeInBytes() {
+        return 2L * ((bits + Long.SIZE - 1) / Long.SIZE) * Long.BYTES;
+    }
+
+    private Generation currentGeneration() {
+        Generation generation = current;
+        if (generation.insertions.get() >= expectedInsertions
+                || nanoClock.getAsLong() - generation.createdNanos >= rotationNanos) {
+            return rotate(generation);
+        }
+        return generation;
+    }
+
+    private synchronized Generation rotate(Generation expired) {
+        if (current != expired) {
+            return current;
+        }
+        previous = expired;
+        current = new Generation(bits, nanoClock.getAsLong());
+        falsePositives.clear();
+        rotations.increment();
+        return current;
+    }
+
+    private boolean contains(Generation generation, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            if (!generation.get(index(h1 + i * h2))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bits;
+    }
+
+    /**
+     * 64-bit FNV-1a over the id's chars, finished with a murmur mix; the two halves seed the
+     * double hashing of the {@code k} probes.
+     */
+    private static long hash(String id) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash = (hash ^ id.charAt(i)) * 0x100000001B3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+        private final long createdNanos;
+        private final AtomicLong insertions = new AtomicLong();
+
+        Generation(int bits, long createdNanos) {
+            this.words = new AtomicLongArray((bits + Long.SIZE - 1) / Long.SIZE);
+            this.createdNanos = createdNanos;
+        }
+
+        boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << bit)) != 0;
+        }
+
+        void set(int bit) {
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long value = words.get(word);
+            while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask)) {
+                value = words.get(word);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Second-level product cache in direct memory, behind the on-heap Caffeine caches.
+ * <p>
+ * Products are stored serialized with {@link ProductBinaryCodec} in {@code segments} independent
+ * {@link OffHeapSegment}s, each bounded by bytes and evicting oldest-first. Only the per-segment
+ * index lives on the heap, so millions of products cost a few bytes of heap each and no GC work.
+ * Entries older than {@code ttl} are treated as absent.
+ */
+public class OffHeapProductStore {
+
+    private final OffHeapSegment[] segments;
+    private final int segmentShift;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public OffHeapProductStore(long capacityBytes, int segmentCount, Duration ttl, LongSupplier clock) {
+        if (Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("segments must be a power of two: " + segmentCount);
+        }
+        long segmentBytes = capacityBytes / segmentCount;
+        if (segmentBytes < OffHeapSegment.HEADER_BYTES || segmentBytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("capacity per segment out of range: " + segmentBytes);
+        }
+        this.segments = new OffHeapSegment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new OffHeapSegment((int) segmentBytes);
+        }
+        this.segmentShift = Integer.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    public OffHeapProductStore(long capacityBytes, int segmentCount, Duration ttl) {
+        this(capacityBytes, segmentCount, ttl, System::currentTimeMillis);
+    }
+
+    /**
+     * @return the stored product, or {@code null} when absent or expired
+     */
+    public ProductApiDto get(String productId) {
+        byte[] key = productId.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(key);
+        byte[] value = segmentFor(hash).get(hash, key, clock.getAsLong() - ttlMillis);
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return ProductBinaryCodec.decode(value);
+    }
+
+    public void put(String productId, ProductApiDto product) {
+        put(productId, product, clock.getAsLong());
+    }
+
+    /**
+     * Stores {@code product} as if written at {@code writeMillis}, so it expires relative to that time.
+     */
+    public void put(String productId, ProductApiDto product, long writeMillis) {
+        byte[] key = productId.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(key);
+        segmentFor(hash).put(hash, key, ProductBinaryCodec.encode(product), writeMillis);
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        long total = 0;
+        for (OffHeapSegment segment : segments) {
+            total += segment.evictionCount();
+        }
+        return total;
+    }
+
+    public long size() {
+        long total = 0;
+        for (OffHeapSegment segment : segments) {
+            total += segment.size();
+        }
+        return total;
+    }
+
+    public long usedBytes() {
+        long total = 0;
+        for (OffHeapSegment segment : segments) {
+            total += segment.usedBytes();
+        }
+        return total;
+    }
+
+    public long capacityBytes() {
+        return (long) segments[0].capacity() * segments.length;
+    }
+
+    private OffHeapSegment segmentFor(int hash) {
+        return segmentShift == Integer.SIZE ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    /**
+     * Murmur3 finalizer over the key bytes; the high bits pick the segment, the low bits the index slot.
+     */
+    private static int hash(byte[] key) {
+        int h = 1;
+        for (byte b : key) {
+            h = 31 * h + b;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,236 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One lock-protected slice of {@link OffHeapProductStore}: an append-only ring log in a direct
+ * buffer plus an open-addressing index of {@code long} slots.
+ * <p>
+ * Records are {@code [keyLen:u16][valueLen:i32][hash:i32][writeMillis:i64][key][value]}.
+ * New records are appended at the tail; when the ring is full the oldest records at the head are
+ * dropped (FIFO), which keeps eviction O(1) and bounded by bytes rather than entries. An update
+ * appends a new record and leaves the old one as garbage until the head passes it.
+ * <p>
+ * Each index slot packs the key hash (high 32 bits) with the record offset + 1 (low 32 bits), so
+ * the on-heap cost is 8 bytes per slot regardless of key or value size.
+ */
+final class OffHeapSegment {
+
+    static final int HEADER_BYTES = 2 + 4 + 4 + 8;
+    private static final int MAX_KEY_BYTES = 0xFFFF;
+    private static final int INITIAL_SLOTS = 1 << 10;
+
+    private final ByteBuffer arena;
+    private final int capacity;
+
+    private long[] slots = new long[INITIAL_SLOTS];
+    private int indexed;
+
+    private int head;
+    private int tail;
+    /** End of the valid data before the tail wrapped to 0, or -1 while not wrapped. */
+    private int wrapAt = -1;
+    private int records;
+
+    private long evictions;
+
+    OffHeapSegment(int capacityBytes) {
+        this.arena = ByteBuffer.allocateDirect(capacityBytes);
+        this.capacity = capacityBytes;
+    }
+
+    /**
+     * @return the value bytes, or {@code null} when absent or written before {@code minWriteMillis}
+     */
+    synchronized byte[] get(int hash, byte[] key, long minWriteMillis) {
+        int slot = find(hash, key);
+        if (slot < 0) {
+            return null;
+        }
+        int offset = offset(slots[slot]);
+        if (arena.getLong(offset + 10) < minWriteMillis) {
+            return null;
+        }
+        int keyLen = arena.getShort(offset) & 0xFFFF;
+        byte[] value = new byte[arena.getInt(offset + 2)];
+        arena.get(offset + HEADER_BYTES + keyLen, value);
+        return value;
+    }
+
+    /**
+     * @return false when the record can never fit in this segment
+     */
+    synchronized boolean put(int hash, byte[] key, byte[] value, long writeMillis) {
+        int size = HEADER_BYTES + key.length + value.length;
+        if (key.length > MAX_KEY_BYTES || size > capacity) {
+            return false;
+        }
+        int offset = append(size);
+        arena.putShort(offset, (short) key.length);
+        arena.putInt(offset + 2, value.length);
+        arena.putInt(offset + 6, hash);
+        arena.putLong(offset + 10, writeMillis);
+        arena.put(offset + HEADER_BYTES, key);
+        arena.put(offset + HEADER_BYTES + key.length, value);
+
+        int slot = find(hash, key);
+        if (slot >= 0) {
+            slots[slot] = pack(hash, offset);
+        } else {
+            insert(pack(hash, offset));
+        }
+        return true;
+    }
+
+    synchronized int size() {
+        return indexed;
+    }
+
+    synchronized long usedBytes() {
+        if (records == 0) {
+            return 0;
+        }
+        return wrapAt < 0 ? tail - head : (wrapAt - head) + tail;
+    }
+
+    synchronized long evictionCount() {
+        return evictions;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Reserves {@code size} contiguous bytes at the tail, dropping records at the head as needed.
+     */
+    private int append(int size) {
+        if (records == 0) {
+            head = 0;
+            tail = 0;
+            wrapAt = -1;
+        }
+        while (true) {
+            if (wrapAt < 0) {
+                if (capacity - tail >= size) {
+                    break;
+                }
+                wrapAt = tail;
+                tail = 0;
+            }
+            if (head - tail >= size) {
+                break;
+            }
+            evictHead();
+        }
+        int offset = tail;
+        tail += size;
+        records++;
+        return offset;
+    }
+
+    private void evictHead() {
+        int keyLen = arena.getShort(head) & 0xFFFF;
+        int size = HEADER_BYTES + keyLen + arena.getInt(head + 2);
+        if (remove(pack(arena.getInt(head + 6), head))) {
+            evictions++;
+        }
+        head += size;
+        records--;
+        if (records == 0) {
+            head = 0;
+            tail = 0;
+            wrapAt = -1;
+        } else if (wrapAt >= 0 && head >= wrapAt) {
+            head = 0;
+            wrapAt = -1;
+        }
+    }
+
+    private int find(int hash, byte[] key) {
+        int mask = slots.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == 0) {
+                return -1;
+            }
+            if ((int) (slot >>> 32) == hash && keyEquals(offset(slot), key)) {
+                return i;
+            }
+        }
+    }
+
+    private boolean keyEquals(int offset, byte[] key) {
+        if ((arena.getShort(offset) & 0xFFFF) != key.length) {
+            return false;
+        }
+        int start = offset + HEADER_BYTES;
+        for (int i = 0; i < key.length; i++) {
+            if (arena.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(long packed) {
+        if (indexed + 1 > slots.length * 3 / 4) {
+            resize();
+        }
+        place(slots, packed);
+        indexed++;
+    }
+
+    private static void place(long[] table, long packed) {
+        int mask = table.length - 1;
+        int i = (int) (packed >>> 32) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = packed;
+    }
+
+    private void resize() {
+        long[] larger = new long[slots.length << 1];
+        for (long slot : slots) {
+            if (slot != 0) {
+                place(larger, slot);
+            }
+        }
+        slots = larger;
+    }
+
+    /**
+     * Removes the exact slot value if present, using backward-shift deletion to keep probe chains intact.
+     */
+    private boolean remove(long packed) {
+        int mask = slots.length - 1;
+        int i = (int) (packed >>> 32) & mask;
+        while (slots[i] != packed) {
+            if (slots[i] == 0) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        int gap = i;
+        for (int j = (gap + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+            int home = (int) (slots[j] >>> 32) & mask;
+            boolean reachable = gap <= j ? (gap < home && home <= j) : (gap < home || home <= j);
+            if (!reachable) {
+                slots[gap] = slots[j];
+                gap = j;
+            }
+        }
+        slots[gap] = 0;
+        indexed--;
+        return true;
+    }
+
+    private static long pack(int hash, int offset) {
+        return ((long) hash << 32) | (offset + 1L);
+    }
+
+    private static int offset(long slot) {
+        return (int) slot - 1;
+    }
+}
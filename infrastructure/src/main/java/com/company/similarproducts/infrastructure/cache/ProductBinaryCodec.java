@@ -0,0 +1,105 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary form of {@link ProductApiDto} for caches kept outside the heap or on disk.
+ * <p>
+ * Layout: {@code [flags][id][name][price]}; strings are UTF-8 with an {@code i32} length prefix,
+ * so unlike {@code writeUTF} they may exceed 64KB, and the price is its scale plus its unscaled
+ * value, as a {@code long} whenever it fits.
+ */
+public final class ProductBinaryCodec {
+
+    private static final int AVAILABLE = 1;
+    private static final int HAS_ID = 1 << 1;
+    private static final int HAS_NAME = 1 << 2;
+    private static final int HAS_PRICE = 1 << 3;
+    private static final int PRICE_IS_LONG = 1 << 4;
+
+    private ProductBinaryCodec() {
+    }
+
+    public static byte[] encode(ProductApiDto product) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            BigDecimal price = product.getPrice();
+            boolean priceIsLong = price != null && price.unscaledValue().bitLength() < Long.SIZE;
+            int flags = (product.isAvailability() ? AVAILABLE : 0)
+                    | (product.getId() != null ? HAS_ID : 0)
+                    | (product.getName() != null ? HAS_NAME : 0)
+                    | (price != null ? HAS_PRICE : 0)
+                    | (priceIsLong ? PRICE_IS_LONG : 0);
+            out.writeByte(flags);
+            if (product.getId() != null) {
+                writeString(out, product.getId());
+            }
+            if (product.getName() != null) {
+                writeString(out, product.getName());
+            }
+            if (price != null) {
+                out.writeInt(price.scale());
+                if (priceIsLong) {
+                    out.writeLong(price.unscaledValue().longValue());
+                } else {
+                    byte[] unscaled = price.unscaledValue().toByteArray();
+                    out.writeShort(unscaled.length);
+                    out.write(unscaled);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static ProductApiDto decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int flags = in.readUnsignedByte();
+            String id = (flags & HAS_ID) != 0 ? readString(in) : null;
+            String name = (flags & HAS_NAME) != 0 ? readString(in) : null;
+            BigDecimal price = null;
+            if ((flags & HAS_PRICE) != 0) {
+                int scale = in.readInt();
+                if ((flags & PRICE_IS_LONG) != 0) {
+                    price = BigDecimal.valueOf(in.readLong(), scale);
+                } else {
+                    byte[] unscaled = new byte[in.readUnsignedShort()];
+                    in.readFully(unscaled);
+                    price = new BigDecimal(new BigInteger(unscaled), scale);
+                }
+            }
+            return new ProductApiDto(id, name, price, (flags & AVAILABLE) != 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.similarproducts.infrastructure.cache;
+
+/**
+ * Maps canonical decimal product ids to a {@code long} and back, without allocating.
+ * <p>
+ * Ids such as {@code "42"} round-trip; {@code "042"}, {@code "+42"}, anything above 18 digits and
+ * non-numeric ids do not, and encode to {@link #NOT_NUMERIC}. Callers keep those as text.
+ */
+public final class ProductIdCodec {
+
+    public static final long NOT_NUMERIC = -1;
+
+    private static final int MAX_DIGITS = 18;
+
+    private ProductIdCodec() {
+    }
+
+    /**
+     * @return the id as a number, or {@link #NOT_NUMERIC} when it is {@code null} or not canonical
+     */
+    public static long encode(String id) {
+        if (id == null) {
+            return NOT_NUMERIC;
+        }
+        int length = id.length();
+        if (length == 0 || length > MAX_DIGITS || (length > 1 && id.charAt(0) == '0')) {
+            return NOT_NUMERIC;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_NUMERIC;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public static String decode(long numericId) {
+        if (numericId < 0) {
+            throw new IllegalArgumentException("Not an encoded product id: " + numericId);
+        }
+        return Long.toString(numericId);
+    }
+}
@@ -0,0 +1,17 @@
+package com.company.similarproducts.infrastructure.cache;
+
+/**
+ * Upstream client caches that can be saved to and restored from a {@link CacheSnapshotFile}.
+ */
+public interface SnapshotableProductCache {
+
+    /**
+     * Hands every resolved, non-empty entry to {@code sink}; loads still in flight are skipped.
+     */
+    void exportEntries(CacheEntrySink sink);
+
+    /**
+     * @return a sink inserting entries with the lifetime they had left, dropping expired ones
+     */
+    CacheEntrySink importer();
+}
@@ -0,0 +1,62 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.rest.access.AccessLogRecorder;
+import com.company.similarproducts.infrastructure.adapter.rest.access.AccessLogWebFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Access log written off the event loop: request id, product id, status, latency and cache
+ * outcome per sampled request, as JSON lines.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "access-log", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public AccessLogRecorder accessLogRecorder(AccessLogProperties properties, MeterRegistry meterRegistry)
+            throws IOException {
+        boolean toFile = !properties.getFile().isBlank();
+        OutputStream out = System.out;
+        if (toFile) {
+            Path file = Path.of(properties.getFile());
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        log.info("Access log under {} to {}: sampleRate={}, sampleRates={}, slowThreshold={}ms",
+                properties.getPathPrefix(), toFile ? properties.getFile() : "stdout", properties.getSampleRate(),
+                properties.getSampleRates(), properties.getSlowThreshold().toMillis());
+
+        AccessLogRecorder recorder = new AccessLogRecorder(out, toFile, properties.getBufferSize());
+
+        FunctionCounter.builder("access.log.written", recorder, AccessLogRecorder::writtenCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("access.log.dropped", recorder, AccessLogRecorder::droppedCount)
+                .register(meterRegistry);
+        return recorder;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public AccessLogWebFilter accessLogWebFilter(AccessLogRecorder recorder, AccessLogProperties properties) {
+        return new AccessLogWebFilter(recorder, properties.getPathPrefix(), properties.getSampleRate(),
+                properties.getSampleRates(), properties.getSlowThreshold());
+    }
+}
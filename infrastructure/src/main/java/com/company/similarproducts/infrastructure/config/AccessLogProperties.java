@@ -0,0 +1,49 @@
+package com.company.similarproducts.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Asynchronous, sampled JSON-lines access log.
+ */
+@Data
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * File the JSON lines are appended to; blank writes them to standard output.
+     */
+    private String file = "";
+
+    /**
+     * Only requests whose path starts with this prefix are logged.
+     */
+    private String pathPrefix = "/product/";
+
+    /**
+     * Records buffered between the event loops and the writer thread, rounded up to a power of two;
+     * overflow is dropped.
+     */
+    private int bufferSize = 65_536;
+
+    /**
+     * Share of requests logged for endpoints without their own rate.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Share of requests logged per route pattern, e.g. {@code "[/product/{productId}/similar]": 0.05}.
+     */
+    private Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    /**
+     * Requests at least this slow are always logged, as are 5xx responses.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
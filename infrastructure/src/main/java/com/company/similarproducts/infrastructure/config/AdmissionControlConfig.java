@@ -0,0 +1,91 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.client.UpstreamPoolMonitor;
+import com.company.similarproducts.infrastructure.adapter.rest.admission.AdmissionControlWebFilter;
+import com.company.similarproducts.infrastructure.adapter.rest.admission.AdmissionController;
+import com.company.similarproducts.infrastructure.adapter.rest.admission.AdmissionRejectedException;
+import com.company.similarproducts.infrastructure.adapter.rest.admission.EventLoopLagMonitor;
+import com.company.similarproducts.infrastructure.transport.TransportLoopResources;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control: sheds load with {@code 503} before the upstream pool and the event loops saturate.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "admission-control", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    @Bean(destroyMethod = "close")
+    public EventLoopLagMonitor eventLoopLagMonitor(AdmissionControlProperties properties,
+                                                   ObjectProvider<TransportLoopResources> transportLoopResources,
+                                                   MeterRegistry meterRegistry) {
+        TransportLoopResources transport = transportLoopResources.getIfAvailable();
+        LoopResources loops = transport != null ? transport : HttpResources.get();
+        EventLoopLagMonitor monitor = new EventLoopLagMonitor(
+                loops.onServer(LoopResources.DEFAULT_NATIVE), properties.getEventLoopProbeInterval());
+
+        Gauge.builder("admission.event.loop.lag", monitor, m -> m.lagNanos() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    @Bean
+    public AdmissionController admissionController(AdmissionControlProperties properties,
+                                                   UpstreamPoolMonitor upstreamPoolMonitor,
+                                                   EventLoopLagMonitor eventLoopLagMonitor,
+                                                   MeterRegistry meterRegistry) {
+        log.info("Admission control: maxConcurrent={}, maxQueue={}, target={}ms, interval={}ms",
+                properties.getMaxConcurrent(), properties.getMaxQueue(),
+                properties.getTarget().toMillis(), properties.getInterval().toMillis());
+
+        AdmissionController controller = AdmissionController.builder()
+                .maxConcurrent(properties.getMaxConcurrent())
+                .maxQueue(properties.getMaxQueue())
+                .target(properties.getTarget())
+                .interval(properties.getInterval())
+                .maxPendingAcquires(properties.getMaxPendingAcquires())
+                .maxEventLoopLag(properties.getMaxEventLoopLag())
+                .pendingAcquires(upstreamPoolMonitor::pendingAcquires)
+                .eventLoopLagNanos(eventLoopLagMonitor::lagNanos)
+                .build();
+
+        Gauge.builder("admission.in.flight", controller, AdmissionController::inFlight).register(meterRegistry);
+        Gauge.builder("admission.queued", controller, AdmissionController::queued).register(meterRegistry);
+        FunctionCounter.builder("admission.admitted", controller, AdmissionController::admittedCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("admission.queue.delay", controller,
+                        c -> c.totalQueueDelayNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1))
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        for (AdmissionRejectedException.Reason reason : AdmissionRejectedException.Reason.values()) {
+            FunctionCounter.builder("admission.rejected", controller, c -> c.rejectedCount(reason))
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        return controller;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 10)
+    public AdmissionControlWebFilter admissionControlWebFilter(AdmissionController admissionController,
+                                                               AdmissionControlProperties properties) {
+        return new AdmissionControlWebFilter(admissionController, properties.getPathPrefix(), properties.getRetryAfter());
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.similarproducts.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Load shedding in front of the product endpoints.
+ */
+@Data
+@ConfigurationProperties(prefix = "admission-control")
+public class AdmissionControlProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Only requests whose path starts with this prefix are subject to admission control.
+     */
+    private String pathPrefix = "/product/";
+
+    /**
+     * Requests processed concurrently; the rest wait in the admission queue.
+     */
+    private int maxConcurrent = 512;
+
+    /**
+     * Waiting requests beyond this are rejected immediately.
+     */
+    private int maxQueue = 1_024;
+
+    /**
+     * Acceptable queue delay; the longest a request may wait once a standing queue is detected.
+     */
+    private Duration target = Duration.ofMillis(5);
+
+    /**
+     * Window for detecting a standing queue, and the longest wait while there is none.
+     */
+    private Duration interval = Duration.ofMillis(100);
+
+    /**
+     * Reject while this many upstream calls wait for a pooled connection, 0 to ignore the pool.
+     */
+    private int maxPendingAcquires = 500;
+
+    /**
+     * Reject while the server event loops lag more than this.
+     */
+    private Duration maxEventLoopLag = Duration.ofMillis(200);
+
+    private Duration eventLoopProbeInterval = Duration.ofMillis(50);
+
+    /**
+     * Sent as {@code Retry-After} on rejected requests, whole seconds.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -1,43 +1,71 @@
 package com.company.similarproducts.infrastructure.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.company.similarproducts.infrastructure.adapter.http.client.HotKeyEndpoint;
+import com.company.similarproducts.infrastructure.adapter.http.client.HotKeyRefresher;
+import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry.CacheDefinition;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import java.util.concurrent.TimeUnit;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Cache configuration using Caffeine for high performance.
- * Caches product data and similar product IDs to reduce external API calls.
+ * Every on-heap cache is defined here, bounded by estimated bytes rather than entry count.
  */
 @Slf4j
 @Configuration
-@EnableCaching
+@EnableConfigurationProperties(ClientCacheProperties.class)
 public class CacheConfig {
 
     /**
      * Cache names used in the application
      */
-    public static final String PRODUCTS_CACHE = "products";
-    public static final String SIMILAR_IDS_CACHE = "similarIds";
+    public static final String PRODUCTS_CACHE = ProductApiClient.PRODUCTS_CACHE;
+    public static final String SIMILAR_IDS_CACHE = ProductApiClient.SIMILAR_IDS_CACHE;
 
     @Bean
-    public CacheManager cacheManager() {
-        log.info("Configuring Caffeine cache manager");
+    public CacheRegistry cacheRegistry(ClientCacheProperties properties, MeterRegistry meterRegistry) {
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        CacheRegistry registry = new CacheRegistry(meterRegistry, ProductApiClient.CACHE_MANAGER, properties.getNumericIdSlots(),
+                definition(PRODUCTS_CACHE, properties.getProducts(), maxHeap),
+                definition(SIMILAR_IDS_CACHE, properties.getSimilarIds(), maxHeap));
+
+        long total = 0;
+        for (CacheDefinition definition : registry.definitions()) {
+            log.info("Cache {}: maxWeight={}MB, ttl={}s, ttlJitter={}s, earlyRefreshBeta={}, hotKeys={}",
+                    definition.name(), definition.maxWeightBytes() >> 20, definition.ttl().toSeconds(),
+                    definition.ttlJitter().toSeconds(), definition.earlyRefreshBeta(), definition.hotKeys());
+            total += definition.maxWeightBytes();
+        }
+        log.info("Caches configured: {}MB of {}MB max heap", total >> 20, maxHeap >> 20);
+        if (total > maxHeap / 2) {
+            log.warn("Cache budgets add up to more than half the max heap");
+        }
+        return registry;
+    }
 
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PRODUCTS_CACHE, SIMILAR_IDS_CACHE);
+    private static CacheDefinition definition(String name, ClientCacheProperties.Spec spec, long maxHeap) {
+        return new CacheDefinition(name, spec.getMaxWeight().toBytes(maxHeap), spec.getTtl(), spec.getTtlJitter(),
+                spec.getEarlyRefreshBeta(), spec.getHotKeys());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "external-apis.product-service", name = "client", havingValue = "reactive", matchIfMissing = true)
+    static class Reactive {
 
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(10_000)
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                .recordStats());
+        @Bean(initMethod = "start", destroyMethod = "close")
+        public HotKeyRefresher hotKeyRefresher(ProductApiClient productApiClient, ClientCacheProperties properties) {
+            return new HotKeyRefresher(productApiClient, properties.getHotKeyRefresh(), Schedulers.parallel());
+        }
 
-        log.info("Cache configured: maxSize=10000, TTL=5min");
-        return cacheManager;
+        @Bean
+        public HotKeyEndpoint hotKeyEndpoint(ProductApiClient productApiClient) {
+            return new HotKeyEndpoint(productApiClient);
+        }
     }
 }
-
@@ -0,0 +1,38 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.cache.CacheSnapshotManager;
+import com.company.similarproducts.infrastructure.cache.SnapshotableProductCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Persists the upstream client caches across restarts. The snapshot is restored while the
+ * context starts, so a restarted instance only reports ready once its caches are warm.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "cache-snapshot", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(CacheSnapshotProperties.class)
+public class CacheSnapshotConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public CacheSnapshotManager cacheSnapshotManager(SnapshotableProductCache snapshotableProductCache,
+                                                     CacheSnapshotProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        log.info("Cache snapshots: path={}, interval={}s", properties.getPath().toAbsolutePath(),
+                properties.getInterval().toSeconds());
+
+        CacheSnapshotManager manager = new CacheSnapshotManager(snapshotableProductCache, properties.getPath(),
+                properties.getInterval(), Schedulers.boundedElastic());
+
+        Gauge.builder("cache.snapshot.restored", manager, CacheSnapshotManager::restoredEntries).register(meterRegistry);
+        Gauge.builder("cache.snapshot.written", manager, CacheSnapshotManager::writtenEntries).register(meterRegistry);
+        return manager;
+    }
+}
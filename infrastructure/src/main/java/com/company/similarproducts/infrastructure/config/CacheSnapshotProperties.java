@@ -0,0 +1,27 @@
+package com.company.similarproducts.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Snapshots of the upstream client caches for warm restarts.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache-snapshot")
+public class CacheSnapshotProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Snapshot file, restored on startup and rewritten periodically and on shutdown.
+     */
+    private Path path = Path.of("cache-snapshot", "client-caches.bin");
+
+    /**
+     * Time between periodic snapshots, 0 to only write on shutdown.
+     */
+    private Duration interval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,59 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.cache.CacheLimit;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * On-heap upstream client caches, shared by both client modes.
+ */
+@Data
+@ConfigurationProperties(prefix = "client-caches")
+public class ClientCacheProperties {
+
+    private Spec products = new Spec(CacheLimit.valueOf("10%"), Duration.ofMinutes(10), Duration.ofMinutes(1), 1.0, 64);
+
+    private Spec similarIds = new Spec(CacheLimit.valueOf("5%"), Duration.ofMinutes(10), Duration.ofMinutes(1), 1.0, 32);
+
+    /**
+     * Slots of the long-keyed fast path for numeric ids (reactive client), 0 to disable it.
+     */
+    private int numericIdSlots = 16_384;
+
+    /**
+     * How often pinned hot keys are re-selected and reloaded (reactive client).
+     */
+    private Duration hotKeyRefresh = Duration.ofSeconds(30);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+
+        /**
+         * Estimated bytes retained, absolute ({@code 64MB}) or a share of the max heap ({@code 10%}).
+         */
+        private CacheLimit maxWeight;
+
+        private Duration ttl;
+
+        /**
+         * Each write lives a random time between {@code ttl - ttlJitter} and {@code ttl}.
+         */
+        private Duration ttlJitter = Duration.ZERO;
+
+        /**
+         * XFetch beta for probabilistic early refresh of entries close to expiry (reactive client), 0 to disable.
+         */
+        private double earlyRefreshBeta;
+
+        /**
+         * Most requested keys pinned outside eviction and refreshed proactively (reactive client), 0 to disable.
+         */
+        private int hotKeys;
+    }
+}
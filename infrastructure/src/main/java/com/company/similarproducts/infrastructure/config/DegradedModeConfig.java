@@ -0,0 +1,106 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.CachedProductAdapter;
+import com.company.similarproducts.infrastructure.adapter.http.blocking.JdkHttpProductApiClient;
+import com.company.similarproducts.infrastructure.adapter.http.blocking.VirtualThreadCachedProductAdapter;
+import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
+import com.company.similarproducts.infrastructure.adapter.http.client.UpstreamPoolMonitor;
+import com.company.similarproducts.infrastructure.adapter.http.degraded.CacheFillQueue;
+import com.company.similarproducts.infrastructure.adapter.http.degraded.DegradedModeController;
+import com.company.similarproducts.infrastructure.adapter.http.degraded.DegradedModeEndpoint;
+import com.company.similarproducts.infrastructure.adapter.http.mapper.ProductDomainMapper;
+import com.company.similarproducts.infrastructure.adapter.rest.admission.AdmissionController;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Degraded mode: while saturated, similar products are served from the client caches only
+ * and cache misses are refilled in the background at a fixed rate.
+ * <p>
+ * The per-client adapters are imported rather than annotated as configurations, so component
+ * scanning cannot register them on their own while degraded mode is disabled.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "degraded-mode", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DegradedModeProperties.class)
+@Import({DegradedModeConfig.Reactive.class, DegradedModeConfig.VirtualThreads.class})
+public class DegradedModeConfig {
+
+    private static final Duration FILL_TICK = Duration.ofMillis(100);
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public CacheFillQueue cacheFillQueue(DegradedModeProperties properties, MeterRegistry meterRegistry) {
+        CacheFillQueue queue = new CacheFillQueue(properties.getFillQueueCapacity(), properties.getFillRate(),
+                FILL_TICK, Schedulers.parallel());
+
+        Gauge.builder("degraded.fill.pending", queue, CacheFillQueue::pending).register(meterRegistry);
+        FunctionCounter.builder("degraded.fill.started", queue, CacheFillQueue::startedCount).register(meterRegistry);
+        FunctionCounter.builder("degraded.fill.dropped", queue, CacheFillQueue::droppedCount).register(meterRegistry);
+        return queue;
+    }
+
+    @Bean
+    public DegradedModeController degradedModeController(DegradedModeProperties properties,
+                                                         UpstreamPoolMonitor upstreamPoolMonitor,
+                                                         ObjectProvider<AdmissionController> admissionController,
+                                                         MeterRegistry meterRegistry) {
+        log.info("Degraded mode: mode={}, enterPendingAcquires={}, enterInFlight={}, hold={}s, fillRate={}/s",
+                properties.getMode(), properties.getEnterPendingAcquires(), properties.getEnterInFlight(),
+                properties.getHold().toSeconds(), properties.getFillRate());
+
+        AdmissionController admission = admissionController.getIfAvailable();
+        DegradedModeController controller = DegradedModeController.builder()
+                .mode(properties.getMode())
+                .enterPendingAcquires(properties.getEnterPendingAcquires())
+                .enterInFlight(admission != null ? properties.getEnterInFlight() : 0)
+                .hold(properties.getHold())
+                .pendingAcquires(upstreamPoolMonitor::pendingAcquires)
+                .inFlight(admission != null ? admission::inFlight : null)
+                .build();
+
+        Gauge.builder("degraded.mode.active", controller, c -> c.isDegraded() ? 1 : 0).register(meterRegistry);
+        FunctionCounter.builder("degraded.mode.activations", controller, DegradedModeController::activationCount)
+                .register(meterRegistry);
+        return controller;
+    }
+
+    @Bean
+    public DegradedModeEndpoint degradedModeEndpoint(DegradedModeController degradedModeController,
+                                                     CacheFillQueue cacheFillQueue) {
+        return new DegradedModeEndpoint(degradedModeController, cacheFillQueue);
+    }
+
+    @ConditionalOnProperty(prefix = "external-apis.product-service", name = "client", havingValue = "reactive", matchIfMissing = true)
+    static class Reactive {
+
+        @Bean
+        public CachedProductAdapter cachedProductAdapter(ProductApiClient productApiClient,
+                                                         ProductDomainMapper productDomainMapper,
+                                                         CacheFillQueue cacheFillQueue) {
+            return new CachedProductAdapter(productApiClient, productDomainMapper, cacheFillQueue);
+        }
+    }
+
+    @ConditionalOnProperty(prefix = "external-apis.product-service", name = "client", havingValue = "virtual-threads")
+    static class VirtualThreads {
+
+        @Bean
+        public VirtualThreadCachedProductAdapter virtualThreadCachedProductAdapter(JdkHttpProductApiClient jdkHttpProductApiClient,
+                                                                                   ProductDomainMapper productDomainMapper,
+                                                                                   CacheFillQueue cacheFillQueue) {
+            return new VirtualThreadCachedProductAdapter(jdkHttpProductApiClient, productDomainMapper, cacheFillQueue);
+        }
+    }
+}
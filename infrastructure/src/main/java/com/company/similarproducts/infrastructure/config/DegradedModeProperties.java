@@ -0,0 +1,47 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.degraded.DegradedModeController;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cache-only serving while the upstream is saturated.
+ */
+@Data
+@ConfigurationProperties(prefix = "degraded-mode")
+public class DegradedModeProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * AUTO follows the saturation thresholds; ON and OFF force it, also switchable via /actuator/degradedmode.
+     */
+    private DegradedModeController.Mode mode = DegradedModeController.Mode.AUTO;
+
+    /**
+     * Enter degraded mode while this many upstream calls wait for a pooled connection, 0 to ignore the pool.
+     */
+    private int enterPendingAcquires = 300;
+
+    /**
+     * Enter degraded mode while admission control has this many requests in flight, 0 to ignore.
+     */
+    private int enterInFlight = 384;
+
+    /**
+     * Stay degraded until no threshold has been reached for this long.
+     */
+    private Duration hold = Duration.ofSeconds(5);
+
+    /**
+     * Upstream loads per second started by the background fill of skipped cache misses.
+     */
+    private int fillRate = 50;
+
+    /**
+     * Skipped keys waiting for the background fill; further misses are dropped.
+     */
+    private int fillQueueCapacity = 10_000;
+}
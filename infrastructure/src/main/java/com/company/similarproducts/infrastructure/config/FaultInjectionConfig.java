@@ -0,0 +1,49 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.balancing.LoadBalancingFilter;
+import com.company.similarproducts.infrastructure.adapter.http.fault.FaultInjectionEndpoint;
+import com.company.similarproducts.infrastructure.adapter.http.fault.FaultInjectionFilter;
+import com.company.similarproducts.infrastructure.adapter.http.fault.FaultRule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Upstream fault injection for performance and resilience experiments.
+ * Enabled with the {@code fault-injection} profile or
+ * {@code external-apis.product-service.fault-injection.enabled=true}; never enable it in production.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "external-apis.product-service.fault-injection", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(FaultInjectionProperties.class)
+public class FaultInjectionConfig {
+
+    @Value("${external-apis.product-service.base-url}")
+    private String baseUrl;
+
+    /**
+     * Rules match paths relative to the WebClient's base URL, the first replica's when balancing.
+     */
+    @Bean
+    public FaultInjectionFilter faultInjectionFilter(FaultInjectionProperties properties,
+                                                     ObjectProvider<LoadBalancingFilter> loadBalancingFilter) {
+        log.warn("Upstream fault injection is ENABLED: active={}, rules={}",
+                properties.isActive(), properties.getRules().size());
+
+        LoadBalancingFilter balancer = loadBalancingFilter.getIfAvailable();
+        return new FaultInjectionFilter(
+                properties.getRules().stream().map(FaultRule::from).toList(),
+                properties.isActive(),
+                balancer != null ? balancer.baseUrl() : baseUrl);
+    }
+
+    @Bean
+    public FaultInjectionEndpoint faultInjectionEndpoint(FaultInjectionFilter faultInjectionFilter) {
+        return new FaultInjectionEndpoint(faultInjectionFilter);
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.fault.LatencyDistribution;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fault injection settings for the upstream product service.
+ * Only bound when fault injection is enabled (see {@link FaultInjectionConfig}).
+ */
+@Data
+@ConfigurationProperties(prefix = "external-apis.product-service.fault-injection")
+public class FaultInjectionProperties {
+
+    /**
+     * Installs the fault injection filter in the WebClient.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Whether the installed filter starts injecting faults right away.
+     * Can be toggled at runtime through the faultinjection actuator endpoint.
+     */
+    private boolean active = true;
+
+    /**
+     * Rules evaluated in order, the first matching path pattern wins.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String pathPattern = "/**";
+        private Latency latency = new Latency();
+        private double errorRate = 0.0;
+        private int errorStatus = 500;
+        private double resetRate = 0.0;
+        private SlowDrip slowDrip = new SlowDrip();
+    }
+
+    @Data
+    public static class Latency {
+        private LatencyDistribution distribution = LatencyDistribution.NONE;
+        private Duration min = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+        private Duration mean = Duration.ZERO;
+    }
+
+    @Data
+    public static class SlowDrip {
+        private int chunkSize = 0;
+        private Duration chunkDelay = Duration.ZERO;
+    }
+}
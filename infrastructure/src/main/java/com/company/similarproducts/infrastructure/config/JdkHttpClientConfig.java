@@ -0,0 +1,68 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.blocking.JdkHttpProductApiClient;
+import com.company.similarproducts.infrastructure.adapter.http.blocking.VirtualThreadProductAdapter;
+import com.company.similarproducts.infrastructure.adapter.http.mapper.ProductDomainMapper;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry;
+import com.company.similarproducts.infrastructure.cache.OffHeapProductStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Alternative upstream client: blocking {@link HttpClient} calls on virtual threads.
+ * Enabled with {@code external-apis.product-service.client=virtual-threads};
+ * the default {@code reactive} mode keeps WebClient and Reactor Netty.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "external-apis.product-service", name = "client", havingValue = "virtual-threads")
+public class JdkHttpClientConfig {
+
+    @Value("${external-apis.product-service.base-url}")
+    private String baseUrl;
+
+    @Value("${external-apis.product-service.timeout:2000}")
+    private int timeout;
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService upstreamVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upstream-vt-", 0).factory());
+    }
+
+    @Bean
+    public HttpClient jdkHttpClient(ExecutorService upstreamVirtualThreadExecutor) {
+        log.info("Configuring JDK HttpClient on virtual threads: baseUrl={}, timeout={}ms", baseUrl, timeout);
+
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(timeout))
+                .executor(upstreamVirtualThreadExecutor)
+                .build();
+    }
+
+    @Bean
+    public JdkHttpProductApiClient jdkHttpProductApiClient(HttpClient jdkHttpClient,
+                                                           ExecutorService upstreamVirtualThreadExecutor,
+                                                           ObjectMapper objectMapper,
+                                                           CacheRegistry cacheRegistry,
+                                                           ObjectProvider<OffHeapProductStore> offHeapProductStore) {
+        return new JdkHttpProductApiClient(jdkHttpClient, upstreamVirtualThreadExecutor, objectMapper,
+                cacheRegistry, baseUrl, Duration.ofMillis(timeout), offHeapProductStore.getIfAvailable());
+    }
+
+    @Bean
+    public VirtualThreadProductAdapter virtualThreadProductAdapter(JdkHttpProductApiClient jdkHttpProductApiClient,
+                                                                   ProductDomainMapper productDomainMapper) {
+        return new VirtualThreadProductAdapter(jdkHttpProductApiClient, productDomainMapper);
+    }
+}
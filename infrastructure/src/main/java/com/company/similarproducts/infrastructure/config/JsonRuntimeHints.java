@@ -0,0 +1,31 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import com.company.similarproducts.infrastructure.adapter.rest.dto.ProductResponse;
+import com.company.similarproducts.infrastructure.adapter.rest.dto.VersionResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the JSON DTOs, for the AOT-processed and native builds.
+ * <p>
+ * The controller return types are inferred by Spring AOT, but upstream responses are bound through
+ * {@code bodyToMono} and {@code ObjectMapper} calls that AOT cannot see.
+ */
+public class JsonRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingHints.registerReflectionHints(hints.reflection(),
+                ProductApiDto.class, ProductResponse.class, VersionResponse.class);
+        hints.reflection()
+                .registerType(ProductApiDto.ProductApiDtoBuilder.class,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(ProductResponse.ProductResponseBuilder.class,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -0,0 +1,41 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.transport.NettyTransport;
+import com.company.similarproducts.infrastructure.transport.TransportLoopResources;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Explicit Netty transport for the server and the upstream client, see {@link NettyTransportProperties}.
+ * The client side is picked up by {@link WebClientConfig}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "netty-transport", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(NettyTransportProperties.class)
+public class NettyTransportConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public TransportLoopResources transportLoopResources(NettyTransportProperties properties) {
+        NettyTransport transport = NettyTransport.resolve(properties.getType());
+        if (properties.getType() != NettyTransport.Preference.AUTO
+                && !transport.name().equals(properties.getType().name())) {
+            log.warn("Netty transport {} is not available here, falling back to {}", properties.getType(), transport);
+        }
+
+        return new TransportLoopResources(transport,
+                properties.getSelectThreads(),
+                properties.resolvedWorkerThreads(),
+                properties.isShareLoops(),
+                properties.resolvedClientThreads());
+    }
+
+    @Bean
+    public NettyServerCustomizer transportServerCustomizer(TransportLoopResources transportLoopResources) {
+        return httpServer -> httpServer.runOn(transportLoopResources);
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.transport.NettyTransport;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Event-loop transport and sizing shared by the WebFlux server and the upstream WebClient.
+ */
+@Data
+@ConfigurationProperties(prefix = "netty-transport")
+public class NettyTransportProperties {
+
+    /**
+     * When disabled, server and client keep Reactor Netty's default loop resources.
+     */
+    private boolean enabled = false;
+
+    /**
+     * auto, io-uring, epoll or nio; an unavailable native transport falls back to the next one.
+     */
+    private NettyTransport.Preference type = NettyTransport.Preference.AUTO;
+
+    /**
+     * Run the upstream client on the server worker loops instead of a separate group.
+     */
+    private boolean shareLoops = true;
+
+    /**
+     * Acceptor threads; one is enough for a single listening port.
+     */
+    private int selectThreads = 1;
+
+    /**
+     * Server worker threads, 0 for one per available core.
+     */
+    private int workerThreads = 0;
+
+    /**
+     * Client threads when loops are not shared, 0 for one per available core.
+     */
+    private int clientThreads = 0;
+
+    public int resolvedWorkerThreads() {
+        return perCore(workerThreads);
+    }
+
+    public int resolvedClientThreads() {
+        return perCore(clientThreads);
+    }
+
+    private static int perCore(int threads) {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
+import com.company.similarproducts.infrastructure.cache.NotFoundFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Short-circuits lookups of product ids upstream has confirmed do not exist, instead of keeping
+ * a negative cache entry per id. Its meters are tagged {@code cache=productsNotFound}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "not-found-filter", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(NotFoundFilterProperties.class)
+public class NotFoundFilterConfig {
+
+    public static final String NOT_FOUND_FILTER = "productsNotFound";
+
+    @Bean
+    public NotFoundFilter notFoundFilter(NotFoundFilterProperties properties, MeterRegistry meterRegistry) {
+        NotFoundFilter filter = new NotFoundFilter(properties.getExpectedInsertions(),
+                properties.getFalsePositiveRate(), properties.getRotation(), properties.getVerifyRatio());
+        log.info("Not-found filter: expectedInsertions={}, falsePositiveRate={}, rotation={}m, verifyRatio={}, size={}KB",
+                properties.getExpectedInsertions(), properties.getFalsePositiveRate(),
+                properties.getRotation().toMinutes(), properties.getVerifyRatio(), filter.sizeInBytes() >> 10);
+
+        Tags tags = Tags.of("cache", NOT_FOUND_FILTER, ProductApiClient.CACHE_MANAGER_TAG, ProductApiClient.CACHE_MANAGER);
+        Gauge.builder("cache.size", filter, NotFoundFilter::size).tags(tags).register(meterRegistry);
+        FunctionCounter.builder("cache.gets", filter, NotFoundFilter::hitCount)
+                .tags(tags).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.notfound.verifications", filter, NotFoundFilter::verificationCount)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("cache.notfound.false.positives", filter, NotFoundFilter::falsePositiveCount)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("cache.notfound.rotations", filter, NotFoundFilter::rotationCount)
+                .tags(tags).register(meterRegistry);
+        return filter;
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.similarproducts.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Rotating Bloom filter of product ids upstream answered 404 for (reactive client).
+ */
+@Data
+@ConfigurationProperties(prefix = "not-found-filter")
+public class NotFoundFilterProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Ids per generation before it rotates early; with the false-positive rate, sizes the bit arrays.
+     */
+    private int expectedInsertions = 1_000_000;
+
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Age at which a generation rotates; a recorded id is forgotten after one to two rotations.
+     */
+    private Duration rotation = Duration.ofHours(1);
+
+    /**
+     * Share of filter hits still loaded from upstream to catch false positives.
+     */
+    private double verifyRatio = 0.01;
+}
@@ -0,0 +1,49 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
+import com.company.similarproducts.infrastructure.cache.OffHeapProductStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Off-heap L2 for the product caches of both upstream client modes.
+ * Its meters use the standard {@code cache.*} names, tagged {@code cache=productsOffHeap}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "off-heap-cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(OffHeapCacheProperties.class)
+public class OffHeapCacheConfig {
+
+    public static final String OFF_HEAP_CACHE = "productsOffHeap";
+
+    @Bean
+    public OffHeapProductStore offHeapProductStore(OffHeapCacheProperties properties, MeterRegistry meterRegistry) {
+        log.info("Off-heap product cache: capacity={}MB, segments={}, ttl={}m",
+                properties.getCapacity().toMegabytes(), properties.getSegments(), properties.getTtl().toMinutes());
+
+        OffHeapProductStore store = new OffHeapProductStore(
+                properties.getCapacity().toBytes(), properties.getSegments(), properties.getTtl());
+
+        Tags tags = Tags.of("cache", OFF_HEAP_CACHE, ProductApiClient.CACHE_MANAGER_TAG, ProductApiClient.CACHE_MANAGER);
+        Gauge.builder("cache.size", store, OffHeapProductStore::size).tags(tags).register(meterRegistry);
+        Gauge.builder("cache.offheap.used", store, OffHeapProductStore::usedBytes)
+                .tags(tags).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("cache.offheap.capacity", store, OffHeapProductStore::capacityBytes)
+                .tags(tags).baseUnit("bytes").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", store, OffHeapProductStore::hitCount)
+                .tags(tags).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", store, OffHeapProductStore::missCount)
+                .tags(tags).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", store, OffHeapProductStore::evictionCount)
+                .tags(tags).register(meterRegistry);
+        return store;
+    }
+}
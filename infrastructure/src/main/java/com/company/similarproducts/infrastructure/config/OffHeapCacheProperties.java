@@ -0,0 +1,29 @@
+package com.company.similarproducts.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Off-heap second-level product cache behind the on-heap client caches.
+ */
+@Data
+@ConfigurationProperties(prefix = "off-heap-cache")
+public class OffHeapCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Direct memory reserved up front; must fit within {@code -XX:MaxDirectMemorySize}.
+     */
+    private DataSize capacity = DataSize.ofMegabytes(256);
+
+    /**
+     * Independently locked slices of the capacity, a power of two.
+     */
+    private int segments = 16;
+
+    private Duration ttl = Duration.ofMinutes(10);
+}
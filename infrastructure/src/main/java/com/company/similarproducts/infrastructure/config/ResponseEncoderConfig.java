@@ -0,0 +1,27 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.rest.codec.ProductResponseEncoder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Encodes the similar-products response with {@link ProductResponseEncoder} instead of Jackson.
+ * Custom codecs are consulted before the default ones, so the Jackson encoder still writes every
+ * other body, including the error responses. On unless {@code response-encoder.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "response-encoder", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseEncoderConfig {
+
+    @Bean
+    public ProductResponseEncoder productResponseEncoder() {
+        return new ProductResponseEncoder();
+    }
+
+    @Bean
+    public CodecCustomizer productResponseEncoderCustomizer(ProductResponseEncoder productResponseEncoder) {
+        return configurer -> configurer.customCodecs().register(productResponseEncoder);
+    }
+}
@@ -0,0 +1,57 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.rest.capture.TrafficCaptureRecorder;
+import com.company.similarproducts.infrastructure.adapter.rest.capture.TrafficCaptureWebFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Traffic capture mode: writes incoming request paths and arrival times to a binary log
+ * that can be replayed with the performance module's TrafficReplayTool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "traffic-capture", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TrafficCaptureProperties.class)
+public class TrafficCaptureConfig {
+
+    @Bean(destroyMethod = "close")
+    public TrafficCaptureRecorder trafficCaptureRecorder(TrafficCaptureProperties properties,
+                                                         MeterRegistry meterRegistry) throws IOException {
+        Path directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("traffic-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".sptl");
+
+        log.info("Capturing traffic under {} to {}", properties.getPathPrefix(), file.toAbsolutePath());
+
+        TrafficCaptureRecorder recorder = new TrafficCaptureRecorder(
+                Files.newOutputStream(file), properties.getQueueCapacity());
+
+        Gauge.builder("traffic.capture.recorded", recorder, TrafficCaptureRecorder::recordedCount)
+                .register(meterRegistry);
+        Gauge.builder("traffic.capture.dropped", recorder, TrafficCaptureRecorder::droppedCount)
+                .register(meterRegistry);
+        return recorder;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public TrafficCaptureWebFilter trafficCaptureWebFilter(TrafficCaptureRecorder recorder,
+                                                           TrafficCaptureProperties properties) {
+        return new TrafficCaptureWebFilter(recorder, properties.getPathPrefix());
+    }
+}
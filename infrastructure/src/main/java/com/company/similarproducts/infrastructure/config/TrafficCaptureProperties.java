@@ -0,0 +1,29 @@
+package com.company.similarproducts.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for capturing incoming request paths to a binary traffic log.
+ */
+@Data
+@ConfigurationProperties(prefix = "traffic-capture")
+public class TrafficCaptureProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Directory where capture files are written, one file per application start.
+     */
+    private String directory = "traffic-capture";
+
+    /**
+     * Only requests whose path starts with this prefix are captured.
+     */
+    private String pathPrefix = "/product/";
+
+    /**
+     * Records buffered between the event loops and the writer thread; overflow is dropped.
+     */
+    private int queueCapacity = 65_536;
+}
@@ -0,0 +1,58 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.balancing.LoadBalancingFilter;
+import com.company.similarproducts.infrastructure.adapter.http.balancing.UpstreamEndpoint;
+import com.company.similarproducts.infrastructure.adapter.http.client.UpstreamPoolMonitor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Spreads upstream calls of the reactive client over several product-service replicas, without
+ * a proxy in between. Every replica's meters are tagged {@code endpoint=host:port}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "upstream-balancing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(UpstreamBalancingProperties.class)
+public class UpstreamBalancingConfig {
+
+    @Value("${external-apis.product-service.timeout:2000}")
+    private int timeout;
+
+    @Bean
+    public LoadBalancingFilter loadBalancingFilter(UpstreamBalancingProperties properties, MeterRegistry meterRegistry,
+                                                   UpstreamPoolMonitor upstreamPoolMonitor) {
+        LoadBalancingFilter filter = new LoadBalancingFilter(properties.getEndpoints(),
+                properties.getConsecutiveFailures(), properties.getEjectionTime(), properties.getMaxEjectionTime(),
+                Duration.ofMillis(timeout));
+        log.info("Upstream balancing: endpoints={}, consecutiveFailures={}, ejectionTime={}s, maxEjectionTime={}s",
+                filter.endpoints(), properties.getConsecutiveFailures(), properties.getEjectionTime().toSeconds(),
+                properties.getMaxEjectionTime().toSeconds());
+
+        for (UpstreamEndpoint endpoint : filter.endpoints()) {
+            upstreamPoolMonitor.bind(endpoint.name());
+            Gauge.builder("upstream.endpoint.in.flight", endpoint, UpstreamEndpoint::inFlight)
+                    .tag("endpoint", endpoint.name()).register(meterRegistry);
+            Gauge.builder("upstream.endpoint.latency", endpoint, UpstreamEndpoint::latencyMillis)
+                    .description("Moving average of successful response times")
+                    .baseUnit("milliseconds")
+                    .tag("endpoint", endpoint.name()).register(meterRegistry);
+            Gauge.builder("upstream.endpoint.ejected", endpoint, e -> e.isEjected() ? 1 : 0)
+                    .tag("endpoint", endpoint.name()).register(meterRegistry);
+            FunctionCounter.builder("upstream.endpoint.requests", endpoint, UpstreamEndpoint::requestCount)
+                    .tag("endpoint", endpoint.name()).register(meterRegistry);
+            FunctionCounter.builder("upstream.endpoint.ejections", endpoint, UpstreamEndpoint::ejectionCount)
+                    .tag("endpoint", endpoint.name()).register(meterRegistry);
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,37 @@
+package com.company.similarproducts.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client-side balancing of upstream calls across product-service replicas (reactive client).
+ */
+@Data
+@ConfigurationProperties(prefix = "upstream-balancing")
+public class UpstreamBalancingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Replica base URLs, differing only in scheme, host and port; replaces
+     * {@code external-apis.product-service.base-url}.
+     */
+    private List<URI> endpoints = new ArrayList<>();
+
+    /**
+     * Failed calls in a row, 5xx responses, request errors or timeouts, that eject a replica.
+     */
+    private int consecutiveFailures = 5;
+
+    /**
+     * First ejection of a replica; doubles per repeat ejection until it succeeds again.
+     */
+    private Duration ejectionTime = Duration.ofSeconds(10);
+
+    private Duration maxEjectionTime = Duration.ofMinutes(2);
+}
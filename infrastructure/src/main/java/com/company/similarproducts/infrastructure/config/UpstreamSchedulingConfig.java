@@ -0,0 +1,63 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.scheduling.UpstreamFlowWebFilter;
+import com.company.similarproducts.infrastructure.adapter.http.scheduling.UpstreamPriority;
+import com.company.similarproducts.infrastructure.adapter.http.scheduling.UpstreamScheduler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global fair scheduling of upstream calls: lookups before fan-out, and requests taking turns
+ * within each, so a request with hundreds of similar products cannot hold up small ones.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "upstream-scheduling", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(UpstreamSchedulingProperties.class)
+public class UpstreamSchedulingConfig {
+
+    @Bean
+    public UpstreamScheduler upstreamScheduler(UpstreamSchedulingProperties properties, MeterRegistry meterRegistry) {
+        log.info("Upstream scheduling: maxInFlight={}, quantum={}",
+                properties.getMaxInFlight(), properties.getQuantum());
+
+        UpstreamScheduler scheduler = new UpstreamScheduler(properties.getMaxInFlight(), properties.getQuantum());
+
+        Gauge.builder("upstream.scheduler.in.flight", scheduler, UpstreamScheduler::inFlight).register(meterRegistry);
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("upstream.scheduler.queued", scheduler, s -> s.queued(priority))
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            Gauge.builder("upstream.scheduler.flows", scheduler, s -> s.waitingFlows(priority))
+                    .description("Requests with upstream calls waiting")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("upstream.scheduler.granted", scheduler, s -> s.grantedCount(priority))
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("upstream.scheduler.wait", scheduler,
+                            s -> s.totalWaitNanos(priority) / (double) TimeUnit.MILLISECONDS.toNanos(1))
+                    .baseUnit("milliseconds")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+        }
+        return scheduler;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 20)
+    public UpstreamFlowWebFilter upstreamFlowWebFilter(UpstreamSchedulingProperties properties) {
+        return new UpstreamFlowWebFilter(properties.getPathPrefix());
+    }
+}
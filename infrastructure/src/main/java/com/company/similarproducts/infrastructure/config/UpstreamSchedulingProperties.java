@@ -0,0 +1,30 @@
+package com.company.similarproducts.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Fair queuing of upstream calls across concurrent requests (reactive client).
+ */
+@Data
+@ConfigurationProperties(prefix = "upstream-scheduling")
+public class UpstreamSchedulingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Requests whose path starts with this prefix each get their own flow; other calls share the background flow.
+     */
+    private String pathPrefix = "/product/";
+
+    /**
+     * Upstream calls in flight at once, across all requests. Kept below the connection pool's
+     * size, so that excess calls wait here, fairly, rather than in the pool's FIFO.
+     */
+    private int maxInFlight = 256;
+
+    /**
+     * Calls a flow may start per round-robin turn.
+     */
+    private int quantum = 1;
+}
@@ -1,9 +1,14 @@
 package com.company.similarproducts.infrastructure.config;
 
+import com.company.similarproducts.infrastructure.adapter.http.balancing.LoadBalancingFilter;
+import com.company.similarproducts.infrastructure.adapter.http.client.UpstreamPoolMonitor;
+import com.company.similarproducts.infrastructure.adapter.http.fault.FaultInjectionFilter;
+import com.company.similarproducts.infrastructure.transport.TransportLoopResources;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,8 +33,13 @@ public class WebClientConfig {
     private int timeout;
 
     @Bean
-    public WebClient webClient() {
-        log.info("Configuring WebClient: baseUrl={}, timeout={}ms", baseUrl, timeout);
+    public WebClient webClient(UpstreamPoolMonitor upstreamPoolMonitor,
+                               ObjectProvider<FaultInjectionFilter> faultInjectionFilter,
+                               ObjectProvider<TransportLoopResources> transportLoopResources,
+                               ObjectProvider<LoadBalancingFilter> loadBalancingFilter) {
+        LoadBalancingFilter balancer = loadBalancingFilter.getIfAvailable();
+        String url = balancer != null ? balancer.baseUrl() : baseUrl;
+        log.info("Configuring WebClient: baseUrl={}, timeout={}ms", url, timeout);
 
         ConnectionProvider connectionProvider = ConnectionProvider.builder("custom")
                 .maxConnections(500)
@@ -38,9 +48,16 @@ public class WebClientConfig {
                 .maxIdleTime(Duration.ofSeconds(20))
                 .maxLifeTime(Duration.ofMinutes(5))
                 .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true, () -> upstreamPoolMonitor)
                 .build();
 
-        HttpClient httpClient = HttpClient.create(connectionProvider)
+        HttpClient baseClient = HttpClient.create(connectionProvider);
+        TransportLoopResources loopResources = transportLoopResources.getIfAvailable();
+        if (loopResources != null) {
+            baseClient = baseClient.runOn(loopResources);
+        }
+
+        HttpClient httpClient = baseClient
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout)
                 .option(ChannelOption.SO_KEEPALIVE, true)
                 .option(ChannelOption.TCP_NODELAY, true)
@@ -52,15 +69,26 @@ public class WebClientConfig {
         ExchangeStrategies strategies = ExchangeStrategies.builder()
                 .codecs(configurer -> {
                     ClientCodecConfigurer.ClientDefaultCodecs codecs = configurer.defaultCodecs();
+                    // Bodies still bound through Jackson; product and similar-ids bodies are streamed by their decoders
                     codecs.maxInMemorySize(16 * 1024 * 1024);
                     codecs.enableLoggingRequestDetails(false);
                 })
                 .build();
 
-        return WebClient.builder()
-                .baseUrl(baseUrl)
+        WebClient.Builder builder = WebClient.builder()
+                .baseUrl(url)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .exchangeStrategies(strategies)
-                .build();
+                .exchangeStrategies(strategies);
+
+        faultInjectionFilter.ifAvailable(filter -> {
+            log.warn("Installing upstream fault injection filter");
+            builder.filter(filter);
+        });
+        // Innermost, so injected faults never reach a replica and do not count against its health
+        if (balancer != null) {
+            builder.filter(balancer);
+        }
+
+        return builder.build();
     }
 }
@@ -0,0 +1,109 @@
+package com.company.similarproducts.infrastructure.transport;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Netty I/O transports, looked up by class name so the native ones stay optional:
+ * epoll ships with Reactor Netty on Linux, io_uring needs the {@code io-uring} Maven profile.
+ */
+public enum NettyTransport {
+
+    IO_URING("io.netty.incubator.channel.uring.IOUring",
+            "io.netty.incubator.channel.uring.IOUringEventLoopGroup",
+            "io.netty.incubator.channel.uring.IOUringSocketChannel",
+            "io.netty.incubator.channel.uring.IOUringServerSocketChannel",
+            "io.netty.incubator.channel.uring.IOUringDatagramChannel"),
+
+    EPOLL("io.netty.channel.epoll.Epoll",
+            "io.netty.channel.epoll.EpollEventLoopGroup",
+            "io.netty.channel.epoll.EpollSocketChannel",
+            "io.netty.channel.epoll.EpollServerSocketChannel",
+            "io.netty.channel.epoll.EpollDatagramChannel"),
+
+    NIO(null,
+            "io.netty.channel.nio.NioEventLoopGroup",
+            "io.netty.channel.socket.nio.NioSocketChannel",
+            "io.netty.channel.socket.nio.NioServerSocketChannel",
+            "io.netty.channel.socket.nio.NioDatagramChannel");
+
+    /**
+     * Requested transport; {@code AUTO} picks the best one available, in Reactor Netty's own order.
+     */
+    public enum Preference {
+        AUTO, IO_URING, EPOLL, NIO
+    }
+
+    private final String availabilityClass;
+    private final String eventLoopGroupClass;
+    private final Map<Class<? extends Channel>, String> channelClasses;
+
+    NettyTransport(String availabilityClass, String eventLoopGroupClass,
+                   String socketChannelClass, String serverSocketChannelClass, String datagramChannelClass) {
+        this.availabilityClass = availabilityClass;
+        this.eventLoopGroupClass = eventLoopGroupClass;
+        this.channelClasses = Map.of(
+                SocketChannel.class, socketChannelClass,
+                ServerSocketChannel.class, serverSocketChannelClass,
+                DatagramChannel.class, datagramChannelClass);
+    }
+
+    /**
+     * The preferred transport if it is usable on this machine, otherwise the next one down
+     * the chain io_uring, epoll, NIO.
+     */
+    public static NettyTransport resolve(Preference preference) {
+        NettyTransport[] candidates = values();
+        int start = preference == Preference.AUTO ? 0 : valueOf(preference.name()).ordinal();
+        for (int i = start; i < candidates.length; i++) {
+            if (candidates[i].isAvailable()) {
+                return candidates[i];
+            }
+        }
+        return NIO;
+    }
+
+    public boolean isAvailable() {
+        if (availabilityClass == null) {
+            return true;
+        }
+        try {
+            return (Boolean) Class.forName(availabilityClass).getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        try {
+            return (EventLoopGroup) Class.forName(eventLoopGroupClass)
+                    .getConstructor(int.class, ThreadFactory.class)
+                    .newInstance(threads, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + this + " event loop group", e);
+        }
+    }
+
+    /**
+     * Concrete channel class of this transport for a channel type, or {@code null} when the
+     * transport has no implementation of it.
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends Channel> Class<? extends C> channelClass(Class<C> channelType) {
+        String className = channelClasses.get(channelType);
+        if (className == null) {
+            return null;
+        }
+        try {
+            return (Class<? extends C>) Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Transport " + this + " is not on the classpath", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.company.similarproducts.infrastructure.transport;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event loops for both the WebFlux server and the upstream WebClient on an explicit transport.
+ * <p>
+ * When {@code shared}, the client runs on the server worker loops, colocated: an upstream
+ * request issued while handling an inbound request is written, and its response read, on
+ * the same thread, so nothing hops between loop groups. Otherwise the client gets its own group.
+ */
+@Slf4j
+public class TransportLoopResources implements LoopResources {
+
+    private final NettyTransport transport;
+    private final boolean shared;
+    private final EventLoopGroup selectGroup;
+    private final EventLoopGroup workerGroup;
+    private final EventLoopGroup clientGroup;
+
+    public TransportLoopResources(NettyTransport transport, int selectThreads, int workerThreads,
+                                  boolean shared, int clientThreads) {
+        this.transport = transport;
+        this.shared = shared;
+
+        String prefix = "http-" + transport.name().toLowerCase().replace('_', '-');
+        this.selectGroup = transport.newEventLoopGroup(selectThreads, new DefaultThreadFactory(prefix + "-select", true));
+        this.workerGroup = transport.newEventLoopGroup(workerThreads, new DefaultThreadFactory(prefix + "-worker", true));
+        this.clientGroup = shared
+                ? LoopResources.colocate(workerGroup)
+                : transport.newEventLoopGroup(clientThreads, new DefaultThreadFactory(prefix + "-client", true));
+
+        log.info("Netty transport {}: select={}, workers={}, client={}", transport, selectThreads, workerThreads,
+                shared ? "shared with server workers" : clientThreads + " threads");
+    }
+
+    public NettyTransport transport() {
+        return transport;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    @Override
+    public EventLoopGroup onServerSelect(boolean useNative) {
+        return selectGroup;
+    }
+
+    @Override
+    public EventLoopGroup onServer(boolean useNative) {
+        return workerGroup;
+    }
+
+    @Override
+    public EventLoopGroup onClient(boolean useNative) {
+        return clientGroup;
+    }
+
+    @Override
+    public <C extends Channel> C onChannel(Class<C> channelType, EventLoopGroup group) {
+        Class<? extends C> channelClass = transport.channelClass(channelType);
+        if (channelClass == null) {
+            return LoopResources.super.onChannel(channelType, group);
+        }
+        try {
+            return channelClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + channelClass.getName(), e);
+        }
+    }
+
+    @Override
+    public <C extends Channel> Class<? extends C> onChannelClass(Class<C> channelType, EventLoopGroup group) {
+        Class<? extends C> channelClass = transport.channelClass(channelType);
+        return channelClass != null ? channelClass : LoopResources.super.onChannelClass(channelType, group);
+    }
+
+    @Override
+    public boolean daemon() {
+        return true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return workerGroup.isShuttingDown();
+    }
+
+    @Override
+    public void dispose() {
+        disposeLater().block();
+    }
+
+    @Override
+    public Mono<Void> disposeLater() {
+        return disposeLater(Duration.ofSeconds(LoopResources.DEFAULT_SHUTDOWN_QUIET_PERIOD),
+                Duration.ofSeconds(LoopResources.DEFAULT_SHUTDOWN_TIMEOUT));
+    }
+
+    @Override
+    public Mono<Void> disposeLater(Duration quietPeriod, Duration timeout) {
+        return Mono.fromRunnable(() -> {
+            List<EventLoopGroup> groups = new ArrayList<>(List.of(selectGroup, workerGroup));
+            if (!shared) {
+                groups.add(clientGroup);
+            }
+            groups.stream()
+                    .map(group -> group.shutdownGracefully(quietPeriod.toMillis(), timeout.toMillis(), TimeUnit.MILLISECONDS))
+                    .forEach(future -> future.awaitUninterruptibly(timeout.toMillis() + quietPeriod.toMillis()));
+        });
+    }
+}
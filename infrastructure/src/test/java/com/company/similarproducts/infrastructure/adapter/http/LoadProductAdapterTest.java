@@ -3,8 +3,9 @@ package com.company.similarproducts.infrastructure.adapter.http;
 import com.company.similarproducts.domain.model.Product;
 import com.company.similarproducts.domain.model.ProductId;
 import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
-import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
 import com.company.similarproducts.infrastructure.adapter.http.mapper.ProductDomainMapper;
+import com.company.similarproducts.infrastructure.adapter.http.scheduling.UpstreamPriority;
+import com.company.similarproducts.infrastructure.cache.CompactProduct;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,12 +41,7 @@ class LoadProductAdapterTest {
     @DisplayName("Should load product when found in API")
     void shouldLoadProductWhenFound() {
         ProductId productId = new ProductId("1");
-        ProductApiDto apiDto = ProductApiDto.builder()
-                .id("1")
-                .name("Product")
-                .price(BigDecimal.TEN)
-                .availability(true)
-                .build();
+        CompactProduct cached = CompactProduct.of("1", "Product", BigDecimal.TEN, true);
         Product expectedProduct = Product.builder()
                 .id("1")
                 .name("Product")
@@ -52,15 +49,15 @@ class LoadProductAdapterTest {
                 .availability(true)
                 .build();
 
-        when(productApiClient.getProductById("1")).thenReturn(Mono.just(apiDto));
-        when(mapper.toDomain(apiDto)).thenReturn(expectedProduct);
+        when(productApiClient.getProductById("1")).thenReturn(Mono.just(cached));
+        when(mapper.toDomain(cached)).thenReturn(expectedProduct);
 
         Product result = adapter.loadProduct(productId).block();
 
         assertThat(result).isNotNull().isEqualTo(expectedProduct);
 
         verify(productApiClient).getProductById("1");
-        verify(mapper).toDomain(apiDto);
+        verify(mapper).toDomain(cached);
     }
 
     @Test
@@ -75,6 +72,24 @@ class LoadProductAdapterTest {
         assertThat(result).isNull();
 
         verify(productApiClient).getProductById("999");
-        verify(mapper, never()).toDomain(any());
+        verify(mapper, never()).toDomain(any(CompactProduct.class));
+    }
+
+    @Test
+    @DisplayName("Should load similar products at fan-out priority")
+    void shouldLoadSimilarProductAtFanOutPriority() {
+        CompactProduct cached = CompactProduct.of("2", "Similar", BigDecimal.ONE, true);
+        AtomicReference<UpstreamPriority> priority = new AtomicReference<>();
+        when(productApiClient.getProductById("2")).thenReturn(Mono.deferContextual(context -> {
+            priority.set(context.getOrDefault(UpstreamPriority.class, null));
+            return Mono.just(cached);
+        }));
+        when(mapper.toDomain(cached)).thenReturn(Product.builder().id("2").build());
+
+        adapter.loadSimilarProduct(new ProductId("2")).block();
+        assertThat(priority).hasValue(UpstreamPriority.FAN_OUT);
+
+        adapter.loadProduct(new ProductId("2")).block();
+        assertThat(priority).hasValue(null);
     }
 }
@@ -8,7 +8,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.util.List;
 
@@ -59,4 +61,16 @@ class LoadSimilarProductIdsAdapterTest {
 
         verify(productApiClient).getSimilarProductIds("999");
     }
+
+    @Test
+    @DisplayName("Should stream similar product IDs, skipping blank ones")
+    void shouldStreamSimilarProductIds() {
+        when(productApiClient.streamSimilarProductIds("1")).thenReturn(Flux.just("2", " ", "3"));
+
+        StepVerifier.create(adapter.streamSimilarProductIds(new ProductId("1")))
+                .expectNext(new ProductId("2"), new ProductId("3"))
+                .verifyComplete();
+
+        verify(productApiClient, never()).getSimilarProductIds(any());
+    }
 }
@@ -0,0 +1,238 @@
+package com.company.similarproducts.infrastructure.adapter.http.balancing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LoadBalancingFilter Tests")
+class LoadBalancingFilterTest {
+
+    private static final List<URI> ENDPOINTS = List.of(
+            URI.create("http://replica-a:3001"), URI.create("http://replica-b:3001"), URI.create("http://replica-c:3001"));
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Map<String, HttpStatus> statuses = new ConcurrentHashMap<>();
+    private final Set<String> unreachable = ConcurrentHashMap.newKeySet();
+
+    private final ExchangeFunction upstream = request -> {
+        String host = request.url().getHost();
+        calls.computeIfAbsent(host, h -> new AtomicInteger()).incrementAndGet();
+        if (unreachable.contains(host)) {
+            return Mono.error(new WebClientRequestException(new ConnectException("Connection refused"),
+                    request.method(), request.url(), request.headers()));
+        }
+        return Mono.just(ClientResponse.create(statuses.getOrDefault(host, HttpStatus.OK)).build());
+    };
+
+    @Test
+    @DisplayName("Should rewrite the origin and keep the path and query")
+    void shouldRewriteOrigin() {
+        LoadBalancingFilter filter = filter(List.of(URI.create("http://replica-a:3001")), 5, Duration.ofSeconds(10));
+        ExchangeFunction echo = request -> {
+            assertThat(request.url()).isEqualTo(URI.create("http://replica-a:3001/product/1%2F2/similarids?x=a%20b"));
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        ClientResponse response = filter.filter(request("/product/1%2F2/similarids?x=a%20b"), echo).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("Should spread calls in flight across all endpoints")
+    void shouldSpreadCallsInFlight() {
+        LoadBalancingFilter filter = filter(ENDPOINTS, 5, Duration.ofSeconds(10));
+        ExchangeFunction hanging = request -> {
+            calls.computeIfAbsent(request.url().getHost(), h -> new AtomicInteger()).incrementAndGet();
+            return Mono.never();
+        };
+
+        List<Disposable> pending = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            pending.add(filter.filter(request("/product/1"), hanging).subscribe());
+        }
+
+        assertThat(calls).containsOnlyKeys("replica-a", "replica-b", "replica-c");
+        assertThat(calls.values()).allSatisfy(count -> assertThat(count.get()).isBetween(80, 120));
+        pending.forEach(Disposable::dispose);
+        assertThat(filter.endpoints()).allSatisfy(endpoint -> assertThat(endpoint.inFlight()).isZero());
+    }
+
+    @Test
+    @DisplayName("Should route around a slow endpoint until its calls in flight drain")
+    void shouldRouteAroundSlowEndpoint() {
+        LoadBalancingFilter filter = filter(ENDPOINTS.subList(0, 2), 5, Duration.ofSeconds(10));
+        UpstreamEndpoint fast = endpoint(filter, "replica-a:3001");
+        UpstreamEndpoint slow = endpoint(filter, "replica-b:3001");
+        complete(fast, 2);
+        complete(slow, 40);
+
+        assertThat(filter.choose()).isSameAs(fast);
+
+        for (int i = 0; i < 30; i++) {
+            fast.start();
+        }
+        assertThat(filter.choose()).isSameAs(slow);
+    }
+
+    @Test
+    @DisplayName("Should eject an endpoint after consecutive 5xx responses and route around it")
+    void shouldEjectFailingEndpoint() {
+        statuses.put("replica-b", HttpStatus.SERVICE_UNAVAILABLE);
+        LoadBalancingFilter filter = filter(ENDPOINTS, 3, Duration.ofSeconds(30));
+
+        for (int i = 0; i < 300; i++) {
+            filter.filter(request("/product/1"), upstream).block();
+        }
+
+        UpstreamEndpoint replicaB = endpoint(filter, "replica-b:3001");
+        assertThat(replicaB.isEjected()).isTrue();
+        assertThat(replicaB.ejectionCount()).isEqualTo(1);
+        assertThat(calls.get("replica-b")).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should let an ejected endpoint back once its ejection time has passed")
+    void shouldReadmitAfterEjectionTime() throws InterruptedException {
+        statuses.put("replica-b", HttpStatus.BAD_GATEWAY);
+        LoadBalancingFilter filter = filter(ENDPOINTS.subList(0, 2), 1, Duration.ofMillis(50));
+        while (!endpoint(filter, "replica-b:3001").isEjected()) {
+            filter.filter(request("/product/1"), upstream).block();
+        }
+        int failedCalls = calls.get("replica-b").get();
+        statuses.remove("replica-b");
+        Thread.sleep(60);
+
+        for (int i = 0; i < 20; i++) {
+            filter.filter(request("/product/1"), upstream).block();
+        }
+
+        assertThat(endpoint(filter, "replica-b:3001").isEjected()).isFalse();
+        assertThat(calls.get("replica-b").get()).isGreaterThan(failedCalls);
+    }
+
+    @Test
+    @DisplayName("Should eject an endpoint whose connections fail")
+    void shouldEjectUnreachableEndpoint() {
+        unreachable.add("replica-c");
+        LoadBalancingFilter filter = filter(ENDPOINTS, 2, Duration.ofSeconds(30));
+
+        for (int i = 0; i < 100; i++) {
+            filter.filter(request("/product/1"), upstream).onErrorResume(e -> Mono.empty()).block();
+        }
+
+        assertThat(endpoint(filter, "replica-c:3001").isEjected()).isTrue();
+        assertThat(calls.get("replica-c")).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not count 4xx responses against an endpoint")
+    void shouldNotEjectOnClientErrors() {
+        statuses.put("replica-a", HttpStatus.NOT_FOUND);
+        LoadBalancingFilter filter = filter(ENDPOINTS, 2, Duration.ofSeconds(30));
+
+        for (int i = 0; i < 100; i++) {
+            filter.filter(request("/product/1"), upstream).block();
+        }
+
+        assertThat(filter.endpoints()).noneMatch(UpstreamEndpoint::isEjected);
+    }
+
+    @Test
+    @DisplayName("Should still send calls somewhere when every endpoint is ejected")
+    void shouldFallBackWhenAllEjected() {
+        ENDPOINTS.forEach(uri -> statuses.put(uri.getHost(), HttpStatus.INTERNAL_SERVER_ERROR));
+        LoadBalancingFilter filter = filter(ENDPOINTS, 1, Duration.ofSeconds(30));
+
+        for (int i = 0; i < 20; i++) {
+            StepVerifier.create(filter.filter(request("/product/1"), upstream))
+                    .assertNext(response -> assertThat(response.statusCode().value()).isEqualTo(500))
+                    .verifyComplete();
+        }
+
+        assertThat(filter.endpoints()).allMatch(UpstreamEndpoint::isEjected);
+    }
+
+    @Test
+    @DisplayName("Should release the in-flight slot when the caller cancels")
+    void shouldReleaseOnCancel() {
+        LoadBalancingFilter filter = filter(ENDPOINTS.subList(0, 1), 5, Duration.ofSeconds(10));
+
+        StepVerifier.create(filter.filter(request("/product/1"), request -> Mono.never()))
+                .thenAwait(Duration.ofMillis(10))
+                .thenCancel()
+                .verify();
+
+        assertThat(filter.endpoints().get(0).inFlight()).isZero();
+        assertThat(filter.endpoints().get(0).latencyMillis()).isPositive();
+        assertThat(filter.endpoints().get(0).isEjected()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should count a call cancelled at the upstream timeout as a failure")
+    void shouldEjectOnTimeout() {
+        LoadBalancingFilter filter = filter(ENDPOINTS.subList(0, 1), 2, Duration.ofSeconds(30), Duration.ofMillis(20));
+        UpstreamEndpoint endpoint = filter.endpoints().get(0);
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(filter.filter(request("/product/1"), request -> Mono.never())
+                            .timeout(Duration.ofMillis(20)))
+                    .verifyError(TimeoutException.class);
+        }
+
+        assertThat(endpoint.isEjected()).isTrue();
+        assertThat(endpoint.inFlight()).isZero();
+        assertThat(endpoint.latencyMillis()).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty endpoint list")
+    void shouldRejectNoEndpoints() {
+        assertThatIllegalArgumentException().isThrownBy(() -> filter(List.of(), 5, Duration.ofSeconds(10)));
+    }
+
+    private static LoadBalancingFilter filter(List<URI> endpoints, int failureThreshold, Duration ejectionTime) {
+        return filter(endpoints, failureThreshold, ejectionTime, Duration.ofSeconds(2));
+    }
+
+    private static LoadBalancingFilter filter(List<URI> endpoints, int failureThreshold, Duration ejectionTime,
+                                              Duration upstreamTimeout) {
+        return new LoadBalancingFilter(endpoints, failureThreshold, ejectionTime, ejectionTime.multipliedBy(4),
+                upstreamTimeout);
+    }
+
+    private static void complete(UpstreamEndpoint endpoint, long millis) {
+        endpoint.start();
+        endpoint.succeeded(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static UpstreamEndpoint endpoint(LoadBalancingFilter filter, String name) {
+        return filter.endpoints().stream().filter(e -> e.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static ClientRequest request(String path) {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://localhost:3001" + path)).build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.company.similarproducts.infrastructure.adapter.http.blocking;
+
+import com.company.similarproducts.domain.model.Product;
+import com.company.similarproducts.domain.model.ProductId;
+import com.company.similarproducts.infrastructure.adapter.http.client.ProductApiClient;
+import com.company.similarproducts.infrastructure.adapter.http.mapper.ProductDomainMapper;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry.CacheDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("VirtualThreadProductAdapter Tests")
+class VirtualThreadProductAdapterTest {
+
+    private WireMockServer upstream;
+    private ExecutorService executor;
+    private VirtualThreadProductAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        upstream = new WireMockServer(options().dynamicPort());
+        upstream.start();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        HttpClient httpClient = HttpClient.newBuilder().executor(executor).build();
+        CacheRegistry cacheRegistry = new CacheRegistry(new SimpleMeterRegistry(), ProductApiClient.CACHE_MANAGER, 0,
+                new CacheDefinition(ProductApiClient.PRODUCTS_CACHE, 1 << 20, Duration.ofMinutes(10)),
+                new CacheDefinition(ProductApiClient.SIMILAR_IDS_CACHE, 1 << 20, Duration.ofMinutes(10)));
+        JdkHttpProductApiClient client = new JdkHttpProductApiClient(httpClient, executor, new ObjectMapper(),
+                cacheRegistry, upstream.baseUrl(), Duration.ofSeconds(2), null);
+        adapter = new VirtualThreadProductAdapter(client, new ProductDomainMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+        upstream.stop();
+    }
+
+    @Test
+    @DisplayName("Should load and cache product from upstream")
+    void shouldLoadAndCacheProduct() {
+        upstream.stubFor(get("/product/1").willReturn(okJson(
+                "{\"id\":\"1\",\"name\":\"Shirt\",\"price\":9.99,\"availability\":true}")));
+
+        Product expected = new Product("1", "Shirt", new BigDecimal("9.99"), true);
+        StepVerifier.create(adapter.loadProduct(new ProductId("1"))).expectNext(expected).verifyComplete();
+        StepVerifier.create(adapter.loadProduct(new ProductId("1"))).expectNext(expected).verifyComplete();
+
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/1")));
+    }
+
+    @Test
+    @DisplayName("Should complete empty when upstream returns 404")
+    void shouldReturnEmptyWhenNotFound() {
+        upstream.stubFor(get("/product/999").willReturn(notFound()));
+
+        StepVerifier.create(adapter.loadProduct(new ProductId("999"))).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not cache upstream errors")
+    void shouldNotCacheUpstreamErrors() {
+        upstream.stubFor(get("/product/2").willReturn(serverError()));
+
+        StepVerifier.create(adapter.loadProduct(new ProductId("2"))).verifyComplete();
+        StepVerifier.create(adapter.loadProduct(new ProductId("2"))).verifyComplete();
+
+        upstream.verify(2, getRequestedFor(urlEqualTo("/product/2")));
+    }
+
+    @Test
+    @DisplayName("Should share one upstream call between concurrent misses")
+    void shouldDeduplicateInFlightLoads() {
+        upstream.stubFor(get("/product/5").willReturn(okJson(
+                "{\"id\":\"5\",\"name\":\"Slow\",\"price\":1,\"availability\":true}").withFixedDelay(200)));
+
+        Mono<Product> first = adapter.loadProduct(new ProductId("5"));
+        Mono<Product> second = adapter.loadProduct(new ProductId("5"));
+
+        assertThat(Mono.zip(first, second).block().getT2().name()).isEqualTo("Slow");
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/5")));
+    }
+
+    @Test
+    @DisplayName("Should encode reserved characters of the product id into a single path segment")
+    void shouldEncodeProductId() {
+        upstream.stubFor(get("/product/..%2Fadmin%3Fx%3D1%23y%20z").willReturn(okJson(
+                "{\"id\":\"../admin?x=1#y z\",\"name\":\"Odd\",\"price\":1,\"availability\":true}")));
+        upstream.stubFor(get("/product/..%2Fadmin%3Fx%3D1%23y%20z/similarids").willReturn(okJson("[\"2\"]")));
+
+        StepVerifier.create(adapter.loadProduct(new ProductId("../admin?x=1#y z")))
+                .assertNext(product -> assertThat(product.name()).isEqualTo("Odd"))
+                .verifyComplete();
+        StepVerifier.create(adapter.loadSimilarProductIds(new ProductId("../admin?x=1#y z")))
+                .expectNext(List.of(new ProductId("2")))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should load similar ids and drop blank entries")
+    void shouldLoadSimilarIds() {
+        upstream.stubFor(get("/product/1/similarids").willReturn(okJson("[\"2\",\"\",\"3\"]")));
+
+        StepVerifier.create(adapter.loadSimilarProductIds(new ProductId("1")))
+                .assertNext(ids -> assertThat(ids).containsExactly(new ProductId("2"), new ProductId("3")))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return empty similar ids on upstream failure")
+    void shouldReturnEmptySimilarIdsOnFailure() {
+        upstream.stubFor(get("/product/1/similarids").willReturn(serverError()));
+
+        StepVerifier.create(adapter.loadSimilarProductIds(new ProductId("1")))
+                .expectNext(List.of())
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,320 @@
+package com.company.similarproducts.infrastructure.adapter.http.client;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import com.company.similarproducts.infrastructure.adapter.http.scheduling.UpstreamFlow;
+import com.company.similarproducts.infrastructure.adapter.http.scheduling.UpstreamPriority;
+import com.company.similarproducts.infrastructure.adapter.http.scheduling.UpstreamScheduler;
+import com.company.similarproducts.infrastructure.cache.CacheEntrySink;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry;
+import com.company.similarproducts.infrastructure.cache.CacheRegistry.CacheDefinition;
+import com.company.similarproducts.infrastructure.cache.CacheSnapshotFile;
+import com.company.similarproducts.infrastructure.cache.CompactProduct;
+import com.company.similarproducts.infrastructure.cache.HotKeyTracker;
+import com.company.similarproducts.infrastructure.cache.NotFoundFilter;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProductApiClient Tests")
+class ProductApiClientTest {
+
+    @TempDir
+    Path dir;
+
+    private WireMockServer upstream;
+
+    @BeforeEach
+    void setUp() {
+        upstream = new WireMockServer(options().dynamicPort());
+        upstream.start();
+        upstream.stubFor(get("/product/1").willReturn(okJson(
+                "{\"id\":\"1\",\"name\":\"Shirt\",\"price\":19.99,\"availability\":true}")));
+        upstream.stubFor(get("/product/1/similarids").willReturn(okJson("[\"2\",\"3\"]")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop();
+    }
+
+    @Test
+    @DisplayName("Should restore a snapshot into a fresh client without calling upstream")
+    void shouldRestoreSnapshot() throws IOException {
+        ProductApiClient warm = client();
+        warm.getProductById("1").block();
+        warm.getSimilarProductIds("1").block();
+        Path file = dir.resolve("snapshot.bin");
+
+        assertThat(CacheSnapshotFile.write(file, warm)).isEqualTo(2);
+
+        ProductApiClient restarted = client();
+        CacheSnapshotFile.read(file, restarted.importer());
+
+        assertThat(restarted.getCachedProductById("1").block().name()).isEqualTo("Shirt");
+        assertThat(restarted.getCachedSimilarProductIds("1").block()).containsExactly("2", "3");
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/1")));
+    }
+
+    @Test
+    @DisplayName("Should drop restored entries whose TTL has already run out")
+    void shouldSkipExpiredEntries() {
+        ProductApiClient restarted = client();
+        CacheEntrySink importer = restarted.importer();
+        long now = System.currentTimeMillis();
+
+        importer.product("1", new ProductApiDto("1", "Fresh", BigDecimal.ONE, true), now - Duration.ofMinutes(1).toMillis());
+        importer.product("2", new ProductApiDto("2", "Stale", BigDecimal.ONE, true), now - Duration.ofMinutes(11).toMillis());
+        importer.similarIds("1", List.of("2"), now - Duration.ofMinutes(20).toMillis());
+
+        assertThat(restarted.getCachedProductById("1").block()).isNotNull();
+        assertThat(restarted.getCachedProductById("2").block()).isNull();
+        assertThat(restarted.getCachedSimilarProductIds("1").block()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve numeric ids from the long-keyed fast path and others from Caffeine")
+    void shouldServeNumericIdsFromFastPath() {
+        upstream.stubFor(get("/product/A-7").willReturn(okJson(
+                "{\"id\":\"A-7\",\"name\":\"Hat\",\"price\":5,\"availability\":false}")));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProductApiClient client = new ProductApiClient(WebClient.create(upstream.baseUrl()), cacheRegistry(registry),
+                null, null, null);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(client.getProductById("1").block().name()).isEqualTo("Shirt");
+            assertThat(client.getProductById("A-7").block().name()).isEqualTo("Hat");
+        }
+
+        assertThat(registry.get("cache.gets").tag("cache", ProductApiClient.PRODUCTS_BY_NUMERIC_ID_CACHE)
+                .functionCounter().count()).isPositive();
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/1")));
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/A-7")));
+    }
+
+    @Test
+    @DisplayName("Should share one upstream call between concurrent misses and cache the resolved value")
+    void shouldDeduplicateInFlightLoads() {
+        upstream.stubFor(get("/product/5").willReturn(okJson(
+                "{\"id\":\"5\",\"name\":\"Slow\",\"price\":1,\"availability\":true}").withFixedDelay(200)));
+        ProductApiClient client = client();
+
+        Mono<CompactProduct> first = client.getProductById("5");
+        Mono<CompactProduct> second = client.getProductById("5");
+
+        assertThat(Mono.zip(first, second).block().getT2().name()).isEqualTo("Slow");
+        assertThat(client.getCachedProductById("5").block().name()).isEqualTo("Slow");
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/5")));
+    }
+
+    @Test
+    @DisplayName("Should stream similar ids from the in-flight load and cache the complete list")
+    void shouldStreamSimilarIdsFromInFlightLoad() {
+        upstream.stubFor(get("/product/5/similarids").willReturn(okJson("[\"6\",7,null,\"8\"]")
+                .withChunkedDribbleDelay(4, 200)));
+        ProductApiClient client = client();
+
+        Mono<List<String>> listed = client.getSimilarProductIds("5");
+        List<String> streamed = client.streamSimilarProductIds("5").collectList().block();
+
+        assertThat(streamed).containsExactly("6", "7", "8");
+        assertThat(listed.block()).containsExactly("6", "7", "8");
+        assertThat(client.streamSimilarProductIds("5").collectList().block()).containsExactly("6", "7", "8");
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/5/similarids")));
+    }
+
+    @Test
+    @DisplayName("Should cache an empty list when the similar ids body is malformed")
+    void shouldCacheEmptyListForMalformedSimilarIds() {
+        upstream.stubFor(get("/product/5/similarids").willReturn(okJson("[\"6\",{")));
+        ProductApiClient client = client();
+
+        assertThat(client.streamSimilarProductIds("5").collectList().block()).containsExactly("6");
+        assertThat(client.getCachedSimilarProductIds("5").block()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should cache not-found products as absent")
+    void shouldCacheNotFoundAsAbsent() {
+        upstream.stubFor(get("/product/404").willReturn(notFound()));
+        ProductApiClient client = client();
+
+        assertThat(client.getProductById("404").block()).isNull();
+        assertThat(client.getProductById("404").block()).isNull();
+
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/404")));
+    }
+
+    @Test
+    @DisplayName("Should answer ids upstream reported missing from the not-found filter, not the cache")
+    void shouldShortCircuitKnownNotFoundIds() {
+        upstream.stubFor(get("/product/404").willReturn(notFound()));
+        upstream.stubFor(get("/product/500").willReturn(serverError()));
+        NotFoundFilter filter = new NotFoundFilter(1_000, 0.01, Duration.ofHours(1), 0);
+        ProductApiClient client = new ProductApiClient(WebClient.create(upstream.baseUrl()),
+                cacheRegistry(new SimpleMeterRegistry()), null, filter, null);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.getProductById("404").block()).isNull();
+            assertThat(client.getProductById("500").block()).isNull();
+        }
+
+        assertThat(filter.hitCount()).isEqualTo(2);
+        assertThat(client.getCachedProductById("404").block()).isNull();
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/404")));
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/500")));
+    }
+
+    @Test
+    @DisplayName("Should verify filter hits against upstream and exempt ids that exist")
+    void shouldVerifyFalsePositives() {
+        NotFoundFilter filter = new NotFoundFilter(1_000, 0.01, Duration.ofHours(1), 1.0);
+        filter.put("1");
+        ProductApiClient client = new ProductApiClient(WebClient.create(upstream.baseUrl()),
+                cacheRegistry(new SimpleMeterRegistry()), null, filter, null);
+
+        assertThat(client.getProductById("1").block().name()).isEqualTo("Shirt");
+
+        assertThat(filter.falsePositiveCount()).isEqualTo(1);
+        assertThat(filter.contains("1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep the cached value when an early refresh fails")
+    void shouldKeepValueWhenEarlyRefreshFails() throws InterruptedException {
+        ProductApiClient client = new ProductApiClient(WebClient.create(upstream.baseUrl()),
+                new CacheRegistry(new SimpleMeterRegistry(), ProductApiClient.CACHE_MANAGER, 1024,
+                        new CacheDefinition(ProductApiClient.PRODUCTS_CACHE, 1 << 20, Duration.ofMinutes(10),
+                                Duration.ZERO, 1e12, 0),
+                        new CacheDefinition(ProductApiClient.SIMILAR_IDS_CACHE, 1 << 20, Duration.ofMinutes(10))),
+                null, null, null);
+        assertThat(client.getProductById("1").block().name()).isEqualTo("Shirt");
+
+        upstream.stubFor(get("/product/1").willReturn(serverError()));
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.getProductById("1").block().name()).isEqualTo("Shirt");
+            Thread.sleep(100);
+        }
+
+        assertThat(client.getProductById("1").block().name()).isEqualTo("Shirt");
+        assertThat(client.getCachedProductById("1").block().name()).isEqualTo("Shirt");
+        assertThat(upstream.countRequestsMatching(getRequestedFor(urlEqualTo("/product/1")).build()).getCount())
+                .isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Should pin the most requested ids with their cached values and serve them from the hot set")
+    void shouldPinHotKeys() {
+        upstream.stubFor(get("/product/A-7").willReturn(okJson(
+                "{\"id\":\"A-7\",\"name\":\"Hat\",\"price\":5,\"availability\":false}")));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProductApiClient client = hotKeyClient(registry);
+
+        for (int i = 0; i < 10; i++) {
+            client.getProductById("A-7").block();
+        }
+        client.getProductById("1").block();
+        client.refreshHotKeys(Duration.ofMinutes(1));
+
+        assertThat(client.hotKeys().get(ProductApiClient.PRODUCTS_CACHE).pinned()).isEqualTo(1);
+        assertThat(client.getProductById("A-7").block().name()).isEqualTo("Hat");
+        assertThat(client.hotKeys().get(ProductApiClient.PRODUCTS_CACHE).top())
+                .extracting(HotKeyTracker.HotKey::key).containsExactly("A-7");
+        assertThat(registry.get("cache.gets").tag("cache", ProductApiClient.PRODUCTS_HOT_CACHE)
+                .functionCounter().count()).isEqualTo(1);
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/A-7")));
+    }
+
+    @Test
+    @DisplayName("Should reload hot keys close to expiry and keep their values when the reload fails")
+    void shouldKeepHotKeyValueWhenReloadFails() throws InterruptedException {
+        upstream.stubFor(get("/product/A-7").willReturn(okJson(
+                "{\"id\":\"A-7\",\"name\":\"Hat\",\"price\":5,\"availability\":false}")));
+        ProductApiClient client = hotKeyClient(new SimpleMeterRegistry());
+        for (int i = 0; i < 10; i++) {
+            client.getProductById("A-7").block();
+        }
+
+        upstream.stubFor(get("/product/A-7").willReturn(serverError()));
+        client.refreshHotKeys(Duration.ofMinutes(20));
+        for (int i = 0; i < 100 && upstream.countRequestsMatching(
+                getRequestedFor(urlEqualTo("/product/A-7")).build()).getCount() < 2; i++) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(50);
+
+        assertThat(client.getProductById("A-7").block().name()).isEqualTo("Hat");
+        assertThat(client.getCachedProductById("A-7").block().name()).isEqualTo("Hat");
+        upstream.verify(2, getRequestedFor(urlEqualTo("/product/A-7")));
+    }
+
+    @Test
+    @DisplayName("Should not pin ids requested only once")
+    void shouldNotPinRarelyRequestedIds() {
+        ProductApiClient client = hotKeyClient(new SimpleMeterRegistry());
+
+        client.getProductById("1").block();
+        client.refreshHotKeys(Duration.ofMinutes(1));
+
+        assertThat(client.hotKeys().get(ProductApiClient.PRODUCTS_CACHE).top()).isEmpty();
+        assertThat(client.hotKeys().get(ProductApiClient.PRODUCTS_CACHE).pinned()).isZero();
+        upstream.verify(1, getRequestedFor(urlEqualTo("/product/1")));
+    }
+
+    @Test
+    @DisplayName("Should schedule upstream loads with the flow and priority of the caller that missed")
+    void shouldScheduleLoadsInCallerContext() {
+        upstream.stubFor(get("/product/2").willReturn(okJson(
+                "{\"id\":\"2\",\"name\":\"Hat\",\"price\":5,\"availability\":true}")));
+        UpstreamScheduler scheduler = new UpstreamScheduler(4, 1);
+        ProductApiClient client = new ProductApiClient(WebClient.create(upstream.baseUrl()),
+                cacheRegistry(new SimpleMeterRegistry()), null, null, scheduler);
+        Context request = Context.of(UpstreamFlow.class, new UpstreamFlow());
+
+        client.getProductById("1").contextWrite(request).block();
+        client.streamSimilarProductIds("1").contextWrite(request).collectList().block();
+        client.getProductById("2")
+                .contextWrite(request.put(UpstreamPriority.class, UpstreamPriority.FAN_OUT))
+                .block();
+        client.getProductById("1").contextWrite(request).block();
+
+        assertThat(scheduler.grantedCount(UpstreamPriority.LOOKUP)).isEqualTo(2);
+        assertThat(scheduler.grantedCount(UpstreamPriority.FAN_OUT)).isEqualTo(1);
+    }
+
+    private ProductApiClient hotKeyClient(SimpleMeterRegistry registry) {
+        return new ProductApiClient(WebClient.create(upstream.baseUrl()),
+                new CacheRegistry(registry, ProductApiClient.CACHE_MANAGER, 0,
+                        new CacheDefinition(ProductApiClient.PRODUCTS_CACHE, 1 << 20, Duration.ofMinutes(10),
+                                Duration.ZERO, 0, 1),
+                        new CacheDefinition(ProductApiClient.SIMILAR_IDS_CACHE, 1 << 20, Duration.ofMinutes(10))),
+                null, null, null);
+    }
+
+    private ProductApiClient client() {
+        return new ProductApiClient(WebClient.create(upstream.baseUrl()), cacheRegistry(new SimpleMeterRegistry()),
+                null, null, null);
+    }
+
+    private static CacheRegistry cacheRegistry(SimpleMeterRegistry meterRegistry) {
+        return new CacheRegistry(meterRegistry, ProductApiClient.CACHE_MANAGER, 1024,
+                new CacheDefinition(ProductApiClient.PRODUCTS_CACHE, 1 << 20, Duration.ofMinutes(10)),
+                new CacheDefinition(ProductApiClient.SIMILAR_IDS_CACHE, 1 << 20, Duration.ofMinutes(10)));
+    }
+}
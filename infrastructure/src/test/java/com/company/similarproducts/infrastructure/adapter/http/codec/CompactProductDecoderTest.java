@@ -0,0 +1,111 @@
+package com.company.similarproducts.infrastructure.adapter.http.codec;
+
+import com.company.similarproducts.infrastructure.cache.CompactProduct;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CompactProductDecoder Tests")
+class CompactProductDecoderTest {
+
+    private static final String PRODUCT = """
+            {
+              "id": "1",
+              "name": "Shirt \\"Oxford\\" \\u00f1",
+              "price": 19.90,
+              "availability": true
+            }""";
+
+    private final CompactProductDecoder decoder = new CompactProductDecoder(1024);
+
+    @Test
+    @DisplayName("Should decode a product split at every byte boundary")
+    void shouldDecodeProductSplitAnywhere() {
+        CompactProduct expected = CompactProduct.of("1", "Shirt \"Oxford\" \u00F1", new BigDecimal("19.90"), true);
+        for (int chunk = 1; chunk <= PRODUCT.length(); chunk++) {
+            StepVerifier.create(decoder.decode(chunks(PRODUCT, chunk, DefaultDataBufferFactory.sharedInstance)))
+                    .expectNext(expected)
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip unknown fields and coerce scalars as Jackson binding did")
+    void shouldSkipUnknownFieldsAndCoerceScalars() {
+        String body = "{\"id\":7,\"tags\":{\"a\":[1,{\"id\":\"x\"}]},\"name\":null,\"price\":\"12.50\",\"availability\":1}";
+
+        StepVerifier.create(decoder.decode(chunks(body, 5, DefaultDataBufferFactory.sharedInstance)))
+                .expectNext(CompactProduct.of("7", null, new BigDecimal("12.50"), true))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should complete empty for an empty or null body")
+    void shouldCompleteEmptyForEmptyOrNullBody() {
+        StepVerifier.create(decoder.decode(Flux.empty())).verifyComplete();
+        StepVerifier.create(decoder.decode(chunks("  ", 1, DefaultDataBufferFactory.sharedInstance))).verifyComplete();
+        StepVerifier.create(decoder.decode(chunks("null", 2, DefaultDataBufferFactory.sharedInstance))).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail on malformed or truncated bodies")
+    void shouldFailOnMalformedBodies() {
+        StepVerifier.create(decoder.decode(chunks("{\"id\":\"1\"", 3, DefaultDataBufferFactory.sharedInstance)))
+                .verifyError(DecodingException.class);
+        StepVerifier.create(decoder.decode(chunks("[\"1\"]", 3, DefaultDataBufferFactory.sharedInstance)))
+                .verifyError(DecodingException.class);
+        StepVerifier.create(decoder.decode(chunks("{\"price\":\"abc\"}", 3, DefaultDataBufferFactory.sharedInstance)))
+                .verifyError(DecodingException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail once the body exceeds its limit")
+    void shouldFailOverLimit() {
+        String body = "{\"id\":\"1\",\"name\":\"" + "x".repeat(2048) + "\"}";
+
+        StepVerifier.create(decoder.decode(chunks(body, 256, DefaultDataBufferFactory.sharedInstance)))
+                .verifyError(DataBufferLimitException.class);
+    }
+
+    @Test
+    @DisplayName("Should release every pooled buffer it reads")
+    void shouldReleasePooledBuffers() {
+        NettyDataBufferFactory factory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+        List<DataBuffer> buffers = chunks(PRODUCT, 16, factory).collectList().block();
+
+        StepVerifier.create(decoder.decode(Flux.fromIterable(buffers)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(buffers).allSatisfy(buffer ->
+                assertThat(((NettyDataBuffer) buffer).getNativeBuffer().refCnt()).isZero());
+    }
+
+    private static Flux<DataBuffer> chunks(String body, int size, DataBufferFactory factory) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            int length = Math.min(size, bytes.length - offset);
+            DataBuffer buffer = factory.allocateBuffer(length);
+            buffer.write(bytes, offset, length);
+            buffers.add(buffer);
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
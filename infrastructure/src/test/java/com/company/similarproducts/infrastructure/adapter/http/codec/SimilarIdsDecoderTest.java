@@ -0,0 +1,113 @@
+package com.company.similarproducts.infrastructure.adapter.http.codec;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SimilarIdsDecoder Tests")
+class SimilarIdsDecoderTest {
+
+    private static final String IDS = "[ \"2\", \"3\", 4, null, [\"x\"], {\"id\":\"y\"}, \"10\" ]";
+
+    private final SimilarIdsDecoder decoder = new SimilarIdsDecoder(1024);
+
+    @Test
+    @DisplayName("Should decode ids split at every byte boundary, skipping nulls and nested values")
+    void shouldDecodeIdsSplitAnywhere() {
+        for (int chunk = 1; chunk <= IDS.length(); chunk++) {
+            StepVerifier.create(decoder.decode(chunks(IDS, chunk, DefaultDataBufferFactory.sharedInstance)))
+                    .expectNext("2", "3", "4", "10")
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    @DisplayName("Should emit each id as soon as the buffer completing it arrives")
+    void shouldEmitIdsBeforeBodyCompletes() {
+        TestPublisher<DataBuffer> body = TestPublisher.create();
+        DataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+
+        StepVerifier.create(decoder.decode(body))
+                .then(() -> body.next(buffer("[\"2\",\"3", factory)))
+                .expectNext("2")
+                .then(() -> body.next(buffer("\",\"4\"", factory)))
+                .expectNext("3", "4")
+                .then(() -> body.next(buffer("]", factory)).complete())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should complete empty for an empty, null or empty-array body")
+    void shouldCompleteEmptyForEmptyBodies() {
+        StepVerifier.create(decoder.decode(Flux.empty())).verifyComplete();
+        StepVerifier.create(decoder.decode(chunks("null", 2, DefaultDataBufferFactory.sharedInstance))).verifyComplete();
+        StepVerifier.create(decoder.decode(chunks("[ ]", 1, DefaultDataBufferFactory.sharedInstance))).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should emit the ids read so far, then fail on a malformed or truncated body")
+    void shouldFailOnMalformedBodies() {
+        StepVerifier.create(decoder.decode(chunks("[\"2\",\"3\"", 3, DefaultDataBufferFactory.sharedInstance)))
+                .expectNext("2", "3")
+                .verifyError(DecodingException.class);
+        StepVerifier.create(decoder.decode(chunks("{\"ids\":[\"2\"]}", 3, DefaultDataBufferFactory.sharedInstance)))
+                .verifyError(DecodingException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail once the body exceeds its limit")
+    void shouldFailOverLimit() {
+        String body = "[\"" + "1\",\"".repeat(512) + "1\"]";
+
+        StepVerifier.create(decoder.decode(chunks(body, 256, DefaultDataBufferFactory.sharedInstance)))
+                .thenConsumeWhile(id -> true)
+                .verifyError(DataBufferLimitException.class);
+    }
+
+    @Test
+    @DisplayName("Should release every pooled buffer it reads")
+    void shouldReleasePooledBuffers() {
+        NettyDataBufferFactory factory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+        List<DataBuffer> buffers = chunks(IDS, 8, factory).collectList().block();
+
+        StepVerifier.create(decoder.decode(Flux.fromIterable(buffers)))
+                .expectNextCount(4)
+                .verifyComplete();
+
+        assertThat(buffers).allSatisfy(buffer ->
+                assertThat(((NettyDataBuffer) buffer).getNativeBuffer().refCnt()).isZero());
+    }
+
+    private static DataBuffer buffer(String text, DataBufferFactory factory) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return factory.allocateBuffer(bytes.length).write(bytes);
+    }
+
+    private static Flux<DataBuffer> chunks(String body, int size, DataBufferFactory factory) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            int length = Math.min(size, bytes.length - offset);
+            DataBuffer buffer = factory.allocateBuffer(length);
+            buffer.write(bytes, offset, length);
+            buffers.add(buffer);
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -0,0 +1,90 @@
+package com.company.similarproducts.infrastructure.adapter.http.degraded;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CacheFillQueue Tests")
+class CacheFillQueueTest {
+
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private final List<String> loaded = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("Should start queued loads in order at the configured rate")
+    void shouldDrainAtConfiguredRate() {
+        CacheFillQueue queue = new CacheFillQueue(100, 20, Duration.ofMillis(100), scheduler);
+        for (int i = 0; i < 5; i++) {
+            queue.offer("p:" + i, loader("p:" + i));
+        }
+        queue.start();
+
+        scheduler.advanceTimeBy(Duration.ofMillis(100));
+        assertThat(loaded).containsExactly("p:0", "p:1");
+
+        scheduler.advanceTimeBy(Duration.ofMillis(200));
+        assertThat(loaded).containsExactly("p:0", "p:1", "p:2", "p:3", "p:4");
+        assertThat(queue.pending()).isZero();
+        assertThat(queue.startedCount()).isEqualTo(5);
+        queue.close();
+    }
+
+    @Test
+    @DisplayName("Should queue a key only once until it has been loaded")
+    void shouldDeduplicateKeys() {
+        CacheFillQueue queue = new CacheFillQueue(100, 10, Duration.ofMillis(100), scheduler);
+        queue.offer("p:1", loader("p:1"));
+        queue.offer("p:1", loader("p:1"));
+        assertThat(queue.pending()).isEqualTo(1);
+
+        queue.drainTick();
+        queue.offer("p:1", loader("p:1"));
+
+        assertThat(loaded).containsExactly("p:1");
+        assertThat(queue.pending()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop offers once the queue is full")
+    void shouldDropWhenFull() {
+        CacheFillQueue queue = new CacheFillQueue(2, 10, Duration.ofMillis(100), scheduler);
+
+        assertThat(queue.offer("p:1", loader("p:1"))).isTrue();
+        assertThat(queue.offer("p:2", loader("p:2"))).isTrue();
+        assertThat(queue.offer("p:3", loader("p:3"))).isFalse();
+
+        assertThat(queue.pending()).isEqualTo(2);
+        assertThat(queue.droppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep draining after a load fails")
+    void shouldSurviveFailedLoads() {
+        CacheFillQueue queue = new CacheFillQueue(100, 10, Duration.ofMillis(100), scheduler);
+        queue.offer("p:1", () -> Mono.error(new IllegalStateException("upstream down")));
+        queue.offer("p:2", loader("p:2"));
+
+        queue.drainTick();
+        queue.drainTick();
+
+        assertThat(loaded).containsExactly("p:2");
+    }
+
+    private Supplier<Mono<?>> loader(String key) {
+        return () -> Mono.fromRunnable(() -> loaded.add(key));
+    }
+}
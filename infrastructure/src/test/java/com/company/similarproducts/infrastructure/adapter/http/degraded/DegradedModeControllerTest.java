@@ -0,0 +1,66 @@
+package com.company.similarproducts.infrastructure.adapter.http.degraded;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DegradedModeController Tests")
+class DegradedModeControllerTest {
+
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong now = new AtomicLong();
+
+    private final DegradedModeController controller = DegradedModeController.builder()
+            .enterPendingAcquires(10)
+            .enterInFlight(100)
+            .hold(Duration.ofSeconds(5))
+            .pendingAcquires(pendingAcquires::get)
+            .inFlight(inFlight::get)
+            .clock(now::get)
+            .build();
+
+    @Test
+    @DisplayName("Should enter on upstream pool saturation and leave only after the hold period")
+    void shouldHoldAfterPoolSaturation() {
+        assertThat(controller.isDegraded()).isFalse();
+
+        pendingAcquires.set(10);
+        assertThat(controller.isDegraded()).isTrue();
+
+        pendingAcquires.set(0);
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(controller.isDegraded()).isTrue();
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(controller.isDegraded()).isFalse();
+        assertThat(controller.activationCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should enter when too many requests are in flight")
+    void shouldEnterOnInFlight() {
+        inFlight.set(100);
+
+        assertThat(controller.isDegraded()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should honour admin overrides regardless of saturation")
+    void shouldHonourOverrides() {
+        controller.setMode(DegradedModeController.Mode.ON);
+        assertThat(controller.isDegraded()).isTrue();
+
+        pendingAcquires.set(50);
+        controller.setMode(DegradedModeController.Mode.OFF);
+        assertThat(controller.isDegraded()).isFalse();
+
+        controller.setMode(DegradedModeController.Mode.AUTO);
+        assertThat(controller.isDegraded()).isTrue();
+    }
+}
@@ -0,0 +1,188 @@
+package com.company.similarproducts.infrastructure.adapter.http.fault;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FaultInjectionFilter Tests")
+class FaultInjectionFilterTest {
+
+    private static final String BODY = "{\"id\":\"1\",\"name\":\"Shirt\"}";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final ExchangeFunction upstream = request -> {
+        upstreamCalls.incrementAndGet();
+        return Mono.just(ClientResponse.create(HttpStatus.OK).body(BODY).build());
+    };
+
+    @Test
+    @DisplayName("Should pass through requests that match no rule")
+    void shouldPassThroughWhenNoRuleMatches() {
+        FaultInjectionFilter filter = filter(rule("/product/{id}/similarids").errorRate(1.0).build());
+
+        ClientResponse response = filter.filter(request("/product/1"), upstream).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should pass through when inactive")
+    void shouldPassThroughWhenInactive() {
+        FaultInjectionFilter filter = filter(rule("/product/{id}").errorRate(1.0).build());
+        filter.setActive(false);
+
+        ClientResponse response = filter.filter(request("/product/1"), upstream).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("Should inject configured error status without calling upstream")
+    void shouldInjectErrorStatus() {
+        FaultInjectionFilter filter = filter(rule("/product/{id}").errorRate(1.0).errorStatus(503).build());
+
+        ClientResponse response = filter.filter(request("/product/1"), upstream).block();
+
+        assertThat(response.statusCode().value()).isEqualTo(503);
+        assertThat(upstreamCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should inject connection resets as request exceptions")
+    void shouldInjectConnectionReset() {
+        FaultInjectionFilter filter = filter(rule("/product/**").resetRate(1.0).build());
+
+        StepVerifier.create(filter.filter(request("/product/1/similarids"), upstream))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(WebClientRequestException.class)
+                        .hasMessageContaining("Connection reset"))
+                .verify();
+        assertThat(upstreamCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should delay the upstream call by the sampled latency")
+    void shouldInjectFixedLatency() {
+        FaultInjectionFilter filter = filter(rule("/product/{id}")
+                .latencyDistribution(LatencyDistribution.FIXED)
+                .latencyMin(Duration.ofSeconds(3))
+                .build());
+
+        StepVerifier.withVirtualTime(() -> filter.filter(request("/product/1"), upstream))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofSeconds(3))
+                .assertNext(response -> assertThat(response.statusCode()).isEqualTo(HttpStatus.OK))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should drip the response body in small chunks")
+    void shouldSlowDripBody() {
+        FaultInjectionFilter filter = filter(rule("/product/{id}")
+                .slowDripChunkSize(4)
+                .slowDripChunkDelay(Duration.ofMillis(1))
+                .build());
+
+        List<DataBuffer> chunks = filter.filter(request("/product/1"), upstream)
+                .flatMapMany(response -> response.bodyToFlux(DataBuffer.class))
+                .collectList()
+                .block();
+
+        assertThat(chunks).hasSize((BODY.length() + 3) / 4)
+                .allSatisfy(chunk -> assertThat(chunk.readableByteCount()).isLessThanOrEqualTo(4));
+    }
+
+    @Test
+    @DisplayName("Should replace the rule for the same path pattern at runtime")
+    void shouldReplaceRuleAtRuntime() {
+        FaultInjectionFilter filter = filter(rule("/product/{id}").errorRate(1.0).build());
+
+        filter.putRule(rule("/product/{id}").errorRate(0.0).build());
+
+        assertThat(filter.getRules()).hasSize(1);
+        assertThat(filter.filter(request("/product/1"), upstream).block().statusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("Should match rules against the path relative to the base URL")
+    void shouldMatchRelativeToBaseUrl() {
+        Random random = new Random(7);
+        FaultInjectionFilter filter = new FaultInjectionFilter(List.of(rule("/product/{id}").errorRate(1.0).build()),
+                true, "http://localhost:3001/catalog/", () -> random);
+
+        assertThat(filter.filter(ClientRequest.create(HttpMethod.GET,
+                URI.create("http://localhost:3001/catalog/product/1")).build(), upstream).block().statusCode().value())
+                .isEqualTo(500);
+        assertThat(filter.filter(ClientRequest.create(HttpMethod.GET,
+                URI.create("http://localhost:3001/catalogue/product/1")).build(), upstream).block().statusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("Should keep the fields a partial update leaves out")
+    void shouldMergePartialUpdates() {
+        FaultInjectionFilter filter = filter(rule("/product/{id}").errorRate(0.5).errorStatus(503)
+                .latencyDistribution(LatencyDistribution.FIXED).latencyMin(Duration.ofMillis(100)).build());
+        FaultInjectionEndpoint endpoint = new FaultInjectionEndpoint(filter);
+
+        endpoint.update(null, "/product/{id}", null, null, null, null, 1.0, null, null, null, null);
+
+        assertThat(filter.getRules()).singleElement().satisfies(rule -> {
+            assertThat(rule.errorRate()).isEqualTo(1.0);
+            assertThat(rule.errorStatus()).isEqualTo(503);
+            assertThat(rule.latencyDistribution()).isEqualTo(LatencyDistribution.FIXED);
+            assertThat(rule.latencyMin()).isEqualTo(Duration.ofMillis(100));
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject rates outside [0, 1]")
+    void shouldRejectInvalidRates() {
+        assertThatThrownBy(() -> rule("/product/{id}").errorRate(1.5).build())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("errorRate");
+    }
+
+    @Test
+    @DisplayName("Should keep exponential latency within min and max")
+    void shouldBoundExponentialLatency() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1_000; i++) {
+            Duration sample = LatencyDistribution.EXPONENTIAL.sample(
+                    random, Duration.ofMillis(10), Duration.ofMillis(200), Duration.ofMillis(50));
+            assertThat(sample).isBetween(Duration.ofMillis(10), Duration.ofMillis(200));
+        }
+    }
+
+    private FaultInjectionFilter filter(FaultRule rule) {
+        Random random = new Random(7);
+        return new FaultInjectionFilter(List.of(rule), true, "http://localhost:3001", () -> random);
+    }
+
+    private static FaultRule.FaultRuleBuilder rule(String pathPattern) {
+        return FaultRule.builder().pathPattern(pathPattern);
+    }
+
+    private static ClientRequest request(String path) {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://localhost:3001" + path)).build();
+    }
+}
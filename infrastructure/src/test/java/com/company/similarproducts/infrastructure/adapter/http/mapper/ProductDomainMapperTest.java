@@ -1,6 +1,7 @@
 package com.company.similarproducts.infrastructure.adapter.http.mapper;
 import com.company.similarproducts.domain.model.Product;
 import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import com.company.similarproducts.infrastructure.cache.CompactProduct;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -42,4 +43,14 @@ class ProductDomainMapperTest {
         Product result = mapper.toDomain(apiDto);
         assertThat(result.availability()).isFalse();
     }
+    @Test
+    @DisplayName("Should map the cached compact form to Product domain entity")
+    void shouldMapCompactProductToProduct() {
+        CompactProduct cached = CompactProduct.of("3", "Cached", new BigDecimal("19.90"), true);
+        Product result = mapper.toDomain(cached);
+        assertThat(result.id()).isEqualTo("3");
+        assertThat(result.name()).isEqualTo("Cached");
+        assertThat(result.price()).isEqualTo(new BigDecimal("19.90"));
+        assertThat(result.availability()).isTrue();
+    }
 }
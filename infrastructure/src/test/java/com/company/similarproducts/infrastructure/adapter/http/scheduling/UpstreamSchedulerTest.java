@@ -0,0 +1,184 @@
+package com.company.similarproducts.infrastructure.adapter.http.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UpstreamScheduler Tests")
+class UpstreamSchedulerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> granted = new ArrayList<>();
+    private final List<UpstreamScheduler.Permit> permits = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should grant at once below the limit and queue beyond it")
+    void shouldQueueBeyondLimit() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(2, 1, clock::get);
+        UpstreamFlow flow = new UpstreamFlow();
+
+        acquire(scheduler, flow, UpstreamPriority.LOOKUP, "a");
+        acquire(scheduler, flow, UpstreamPriority.LOOKUP, "b");
+        acquire(scheduler, flow, UpstreamPriority.LOOKUP, "c");
+
+        assertThat(granted).containsExactly("a", "b");
+        assertThat(scheduler.inFlight()).isEqualTo(2);
+        assertThat(scheduler.queued(UpstreamPriority.LOOKUP)).isEqualTo(1);
+
+        clock.set(5_000_000);
+        permits.get(0).release();
+        permits.get(0).release();
+
+        assertThat(granted).containsExactly("a", "b", "c");
+        assertThat(scheduler.inFlight()).isEqualTo(2);
+        assertThat(scheduler.queued(UpstreamPriority.LOOKUP)).isZero();
+        assertThat(scheduler.grantedCount(UpstreamPriority.LOOKUP)).isEqualTo(3);
+        assertThat(scheduler.totalWaitNanos(UpstreamPriority.LOOKUP)).isEqualTo(5_000_000);
+    }
+
+    @Test
+    @DisplayName("Should give lookups a free slot before fan-out calls queued earlier")
+    void shouldPreferLookups() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1, 1, clock::get);
+        UpstreamFlow large = new UpstreamFlow();
+        UpstreamFlow small = new UpstreamFlow();
+        acquire(scheduler, large, UpstreamPriority.FAN_OUT, "busy");
+
+        acquire(scheduler, large, UpstreamPriority.FAN_OUT, "fan-out");
+        acquire(scheduler, small, UpstreamPriority.LOOKUP, "lookup");
+        releaseAll();
+
+        assertThat(granted).containsExactly("busy", "lookup", "fan-out");
+    }
+
+    @Test
+    @DisplayName("Should let requests take turns instead of serving the first queued in full")
+    void shouldRoundRobinAcrossFlows() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1, 1, clock::get);
+        UpstreamFlow large = new UpstreamFlow();
+        UpstreamFlow small = new UpstreamFlow();
+        acquire(scheduler, large, UpstreamPriority.FAN_OUT, "busy");
+
+        for (int i = 1; i <= 5; i++) {
+            acquire(scheduler, large, UpstreamPriority.FAN_OUT, "large-" + i);
+        }
+        acquire(scheduler, small, UpstreamPriority.FAN_OUT, "small-1");
+        acquire(scheduler, small, UpstreamPriority.FAN_OUT, "small-2");
+        assertThat(scheduler.waitingFlows(UpstreamPriority.FAN_OUT)).isEqualTo(2);
+        releaseAll();
+
+        assertThat(granted).containsExactly("busy", "large-1", "small-1", "large-2", "small-2",
+                "large-3", "large-4", "large-5");
+        assertThat(scheduler.waitingFlows(UpstreamPriority.FAN_OUT)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should start up to a quantum of calls per turn")
+    void shouldServeQuantumPerTurn() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1, 2, clock::get);
+        UpstreamFlow first = new UpstreamFlow();
+        UpstreamFlow second = new UpstreamFlow();
+        acquire(scheduler, first, UpstreamPriority.FAN_OUT, "busy");
+
+        for (int i = 1; i <= 3; i++) {
+            acquire(scheduler, first, UpstreamPriority.FAN_OUT, "first-" + i);
+            acquire(scheduler, second, UpstreamPriority.FAN_OUT, "second-" + i);
+        }
+        releaseAll();
+
+        assertThat(granted).containsExactly("busy", "first-1", "first-2", "second-1", "second-2",
+                "first-3", "second-3");
+    }
+
+    @Test
+    @DisplayName("Should drop a waiting call that is cancelled and free the slot of a running one")
+    void shouldHandleCancellation() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1, 1, clock::get);
+        UpstreamFlow flow = new UpstreamFlow();
+        acquire(scheduler, flow, UpstreamPriority.LOOKUP, "running");
+        Disposable waiting = scheduler.acquire(flow, UpstreamPriority.LOOKUP)
+                .subscribe(permit -> granted.add("cancelled"));
+
+        waiting.dispose();
+
+        assertThat(scheduler.queued(UpstreamPriority.LOOKUP)).isZero();
+        assertThat(scheduler.waitingFlows(UpstreamPriority.LOOKUP)).isZero();
+        permits.get(0).release();
+        assertThat(scheduler.inFlight()).isZero();
+        assertThat(granted).containsExactly("running");
+    }
+
+    @Test
+    @DisplayName("Should schedule calls with the flow and priority of the subscriber's context")
+    void shouldScheduleFromContext() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1, 1, clock::get);
+        Sinks.One<String> running = Sinks.one();
+        UpstreamFlow request = new UpstreamFlow();
+        AtomicReference<String> lookup = new AtomicReference<>();
+        AtomicReference<String> background = new AtomicReference<>();
+
+        scheduler.schedule(running.asMono()).subscribe();
+        scheduler.schedule(Mono.just("background")).subscribe(background::set);
+        scheduler.schedule(Mono.just("lookup"))
+                .contextWrite(Context.of(UpstreamFlow.class, request))
+                .subscribe(lookup::set);
+        assertThat(scheduler.queued(UpstreamPriority.LOOKUP)).isEqualTo(1);
+        assertThat(scheduler.queued(UpstreamPriority.FAN_OUT)).isEqualTo(1);
+
+        running.tryEmitValue("done");
+
+        assertThat(lookup).hasValue("lookup");
+        assertThat(background).hasValue("background");
+        assertThat(scheduler.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold the slot until a streamed call completes")
+    void shouldHoldSlotForStream() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1, 1, clock::get);
+        Sinks.Many<String> body = Sinks.many().unicast().onBackpressureBuffer();
+
+        StepVerifier.create(scheduler.schedule(body.asFlux()))
+                .then(() -> body.tryEmitNext("1"))
+                .expectNext("1")
+                .then(() -> assertThat(scheduler.inFlight()).isEqualTo(1))
+                .then(body::tryEmitComplete)
+                .verifyComplete();
+
+        assertThat(scheduler.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a limit or quantum below one")
+    void shouldRejectInvalidSettings() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new UpstreamScheduler(0, 1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new UpstreamScheduler(1, 0));
+    }
+
+    private void acquire(UpstreamScheduler scheduler, UpstreamFlow flow, UpstreamPriority priority, String label) {
+        scheduler.acquire(flow, priority).subscribe(permit -> {
+            granted.add(label);
+            permits.add(permit);
+        });
+    }
+
+    /**
+     * Completes granted calls one at a time, each release granting the next waiting call.
+     */
+    private void releaseAll() {
+        for (int i = 0; i < permits.size(); i++) {
+            permits.get(i).release();
+        }
+    }
+}
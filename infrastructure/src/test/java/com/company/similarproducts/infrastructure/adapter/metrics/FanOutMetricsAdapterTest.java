@@ -0,0 +1,27 @@
+package com.company.similarproducts.infrastructure.adapter.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FanOutMetricsAdapter Tests")
+class FanOutMetricsAdapterTest {
+
+    @Test
+    @DisplayName("Should record reorder buffer occupancy and head-of-line wait per fan-out")
+    void shouldRecordPerFanOut() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FanOutMetricsAdapter metrics = new FanOutMetricsAdapter(registry);
+
+        metrics.recordFanOut(3, TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.recordFanOut(0, 0);
+
+        assertThat(registry.get("fanout.reorder.buffered").summary().count()).isEqualTo(2);
+        assertThat(registry.get("fanout.reorder.buffered").summary().max()).isEqualTo(3);
+        assertThat(registry.get("fanout.reorder.wait").timer().max(TimeUnit.MILLISECONDS)).isEqualTo(40);
+    }
+}
@@ -0,0 +1,52 @@
+package com.company.similarproducts.infrastructure.adapter.rest.access;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AccessLogRecorder Tests")
+class AccessLogRecorderTest {
+
+    private static final String ENDPOINT = "/product/{productId}/similar";
+
+    @Test
+    @DisplayName("Should write each record as one JSON line, in order")
+    void shouldWriteJsonLines() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AccessLogRecorder recorder = new AccessLogRecorder(out, true, 1_024);
+
+        recorder.record(0, 1_234_567, 200, "a1-1", "/product/1/similar", ENDPOINT, "hit");
+        recorder.record(1_000, 42_000, 404, "a1-2", "/product/x\"y/similar", ENDPOINT, "miss");
+        recorder.close();
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "{\"ts\":\"1970-01-01T00:00:00Z\",\"requestId\":\"a1-1\",\"endpoint\":\"" + ENDPOINT + "\","
+                        + "\"productId\":\"1\",\"status\":200,\"latencyMs\":1.234,\"cache\":\"hit\"}",
+                "{\"ts\":\"1970-01-01T00:00:01Z\",\"requestId\":\"a1-2\",\"endpoint\":\"" + ENDPOINT + "\","
+                        + "\"productId\":\"x\\\"y\",\"status\":404,\"latencyMs\":0.042,\"cache\":\"miss\"}");
+        assertThat(recorder.writtenCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop records once the ring is a full lap ahead of the consumer")
+    void shouldDropWhenFull() {
+        AccessLogRingBuffer ring = new AccessLogRingBuffer(4);
+
+        for (int i = 0; i < 6; i++) {
+            ring.offer(i, 0, 200, "r" + i, "/product/" + i + "/similar", ENDPOINT, "hit");
+        }
+        List<String> drained = new ArrayList<>();
+        ring.drain(slot -> drained.add(slot.requestId), 10);
+
+        assertThat(drained).containsExactly("r0", "r1", "r2", "r3");
+        assertThat(ring.droppedCount()).isEqualTo(2);
+        assertThat(ring.offer(9, 0, 200, "r9", "/product/9/similar", ENDPOINT, "hit")).isTrue();
+    }
+}
@@ -0,0 +1,67 @@
+package com.company.similarproducts.infrastructure.adapter.rest.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AdmissionControlWebFilter Tests")
+class AdmissionControlWebFilterTest {
+
+    private final AdmissionController controller = AdmissionController.builder()
+            .maxConcurrent(1)
+            .maxQueue(0)
+            .target(Duration.ofMillis(5))
+            .interval(Duration.ofMillis(100))
+            .build();
+
+    private final AdmissionControlWebFilter filter =
+            new AdmissionControlWebFilter(controller, "/product/", Duration.ofSeconds(2));
+
+    @Test
+    @DisplayName("Should reject with 503 and Retry-After while the limit is reached, and release on completion")
+    void shouldRejectWhenSaturated() {
+        Sinks.Empty<Void> slowRequest = Sinks.empty();
+        MockServerWebExchange admitted = exchange("/product/1/similar");
+        filter.filter(admitted, exchange -> slowRequest.asMono()).subscribe();
+
+        MockServerWebExchange rejected = exchange("/product/2/similar");
+        StepVerifier.create(filter.filter(rejected, exchange -> Mono.error(new AssertionError("must not run"))))
+                .verifyComplete();
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        StepVerifier.create(rejected.getResponse().getBodyAsString())
+                .assertNext(body -> assertThat(body).contains("\"status\":503"))
+                .verifyComplete();
+
+        slowRequest.tryEmitEmpty();
+        assertThat(controller.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not apply to paths outside the prefix")
+    void shouldIgnoreOtherPaths() {
+        filter.filter(exchange("/product/1/similar"), exchange -> Mono.never()).subscribe();
+
+        WebFilterChain chain = exchange -> Mono.empty();
+        StepVerifier.create(filter.filter(exchange("/actuator/health"), chain)).verifyComplete();
+
+        assertThat(controller.rejectedCount(AdmissionRejectedException.Reason.QUEUE_FULL)).isZero();
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+}
@@ -0,0 +1,176 @@
+package com.company.similarproducts.infrastructure.adapter.rest.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AdmissionController Tests")
+class AdmissionControllerTest {
+
+    private VirtualTimeScheduler scheduler;
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+    private final AtomicLong eventLoopLag = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    private AdmissionController controller(int maxConcurrent, int maxQueue) {
+        return AdmissionController.builder()
+                .maxConcurrent(maxConcurrent)
+                .maxQueue(maxQueue)
+                .target(Duration.ofMillis(5))
+                .interval(Duration.ofMillis(100))
+                .maxPendingAcquires(10)
+                .maxEventLoopLag(Duration.ofMillis(200))
+                .pendingAcquires(pendingAcquires::get)
+                .eventLoopLagNanos(eventLoopLag::get)
+                .clock(() -> scheduler.now(TimeUnit.NANOSECONDS))
+                .timer(scheduler)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should queue beyond the concurrency limit and hand permits over in arrival order")
+    void shouldQueueAndGrantInOrder() {
+        AdmissionController controller = controller(1, 10);
+        Attempt first = Attempt.start(controller);
+        Attempt second = Attempt.start(controller);
+        Attempt third = Attempt.start(controller);
+
+        assertThat(first.permit()).isNotNull();
+        assertThat(second.permit()).isNull();
+        assertThat(controller.queued()).isEqualTo(2);
+
+        first.permit().release();
+        first.permit().release();
+
+        assertThat(second.permit()).isNotNull();
+        assertThat(third.permit()).isNull();
+        assertThat(controller.inFlight()).isEqualTo(1);
+
+        second.permit().release();
+        third.permit().release();
+
+        assertThat(controller.inFlight()).isZero();
+        assertThat(controller.admittedCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the queue is full")
+    void shouldRejectWhenQueueFull() {
+        AdmissionController controller = controller(1, 1);
+        Attempt.start(controller);
+        Attempt.start(controller);
+
+        Attempt rejected = Attempt.start(controller);
+
+        assertThat(rejected.reason()).isEqualTo(AdmissionRejectedException.Reason.QUEUE_FULL);
+        assertThat(controller.rejectedCount(AdmissionRejectedException.Reason.QUEUE_FULL)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let a waiter wait up to the interval while there is no standing queue")
+    void shouldTimeOutAfterIntervalWithoutStandingQueue() {
+        AdmissionController controller = controller(1, 10);
+        Attempt.start(controller);
+        Attempt waiter = Attempt.start(controller);
+
+        scheduler.advanceTimeBy(Duration.ofMillis(99));
+        assertThat(waiter.reason()).isNull();
+
+        scheduler.advanceTimeBy(Duration.ofMillis(1));
+        assertThat(waiter.reason()).isEqualTo(AdmissionRejectedException.Reason.QUEUE_TIMEOUT);
+        assertThat(controller.queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should only allow the target delay once the queue has not drained for an interval")
+    void shouldShortenWaitOnStandingQueue() {
+        AdmissionController controller = controller(1, 100);
+        Attempt.start(controller);
+        List<Attempt> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(Attempt.start(controller));
+            scheduler.advanceTimeBy(Duration.ofMillis(40));
+        }
+
+        Attempt late = Attempt.start(controller);
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+
+        assertThat(late.reason()).isEqualTo(AdmissionRejectedException.Reason.QUEUE_TIMEOUT);
+        assertThat(waiters.get(2).reason()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should shed immediately on upstream pool saturation or event-loop lag")
+    void shouldRejectOnSaturationSignals() {
+        AdmissionController controller = controller(10, 10);
+
+        pendingAcquires.set(10);
+        assertThat(Attempt.start(controller).reason()).isEqualTo(AdmissionRejectedException.Reason.UPSTREAM_SATURATED);
+
+        pendingAcquires.set(0);
+        eventLoopLag.set(Duration.ofMillis(250).toNanos());
+        assertThat(Attempt.start(controller).reason()).isEqualTo(AdmissionRejectedException.Reason.EVENT_LOOP_LAG);
+
+        eventLoopLag.set(0);
+        assertThat(Attempt.start(controller).permit()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop cancelled waiters from the queue")
+    void shouldRemoveCancelledWaiters() {
+        AdmissionController controller = controller(1, 10);
+        Attempt first = Attempt.start(controller);
+        Attempt cancelled = Attempt.start(controller);
+        Attempt next = Attempt.start(controller);
+
+        cancelled.subscription().dispose();
+        first.permit().release();
+
+        assertThat(cancelled.permit()).isNull();
+        assertThat(next.permit()).isNotNull();
+        assertThat(controller.queued()).isZero();
+    }
+
+    private record Attempt(AtomicReference<AdmissionController.Permit> permitRef,
+                           AtomicReference<AdmissionRejectedException.Reason> reasonRef,
+                           Disposable subscription) {
+
+        static Attempt start(AdmissionController controller) {
+            AtomicReference<AdmissionController.Permit> permit = new AtomicReference<>();
+            AtomicReference<AdmissionRejectedException.Reason> reason = new AtomicReference<>();
+            Disposable subscription = controller.acquire().subscribe(permit::set,
+                    error -> reason.set(((AdmissionRejectedException) error).getReason()));
+            return new Attempt(permit, reason, subscription);
+        }
+
+        AdmissionController.Permit permit() {
+            return permitRef.get();
+        }
+
+        AdmissionRejectedException.Reason reason() {
+            return reasonRef.get();
+        }
+    }
+}
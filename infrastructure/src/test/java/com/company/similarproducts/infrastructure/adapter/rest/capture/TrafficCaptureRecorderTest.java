@@ -0,0 +1,211 @@
+package com.company.similarproducts.infrastructure.adapter.rest.capture;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TrafficCaptureRecorder Tests")
+class TrafficCaptureRecorderTest {
+
+    @Test
+    @DisplayName("Should write captured paths and arrival offsets readable by the log reader")
+    void shouldRoundTripCapturedTraffic() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TrafficCaptureRecorder recorder = new TrafficCaptureRecorder(out, 1_024);
+        long base = System.nanoTime();
+
+        recorder.record(base + 1_000_000, "/product/1/similar");
+        recorder.record(base + 3_500_000, "/product/42/similar");
+        recorder.record(base + 3_500_000, "/product/1/similar");
+        recorder.close();
+
+        List<TrafficLogFormat.TrafficRecord> records = readAll(out.toByteArray());
+
+        assertThat(records).extracting(TrafficLogFormat.TrafficRecord::path)
+                .containsExactly("/product/1/similar", "/product/42/similar", "/product/1/similar");
+        assertThat(records.get(1).offsetMicros() - records.get(0).offsetMicros()).isEqualTo(2_500);
+        assertThat(records.get(2).offsetMicros()).isEqualTo(records.get(1).offsetMicros());
+        assertThat(recorder.recordedCount()).isEqualTo(3);
+        assertThat(recorder.droppedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should finish a file write in progress when closed")
+    void shouldFinishFileWriteInProgressOnClose(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("capture.bin");
+        SlowFirstWriteStream out = new SlowFirstWriteStream(Channels.newOutputStream(
+                FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)));
+        TrafficCaptureRecorder recorder = new TrafficCaptureRecorder(out, 1_024);
+        long base = System.nanoTime();
+
+        for (int i = 0; i < 100; i++) {
+            recorder.record(base + i, "/product/" + i + "/similar");
+        }
+        out.awaitFirstWrite();
+        recorder.close();
+
+        List<TrafficLogFormat.TrafficRecord> records = readAll(Files.readAllBytes(file));
+
+        assertThat(records).hasSize(100);
+        assertThat(records.get(99).path()).isEqualTo("/product/99/similar");
+        assertThat(recorder.recordedCount()).isEqualTo(100);
+        assertThat(recorder.droppedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave the log to a writer still busy when closing stops waiting")
+    void shouldNotCloseLogUnderBusyWriter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingStream out = new BlockingStream(release);
+        TrafficCaptureRecorder recorder = new TrafficCaptureRecorder(out, 1_024, Duration.ofMillis(50));
+        recorder.record(System.nanoTime(), "/product/1/similar");
+        out.awaitWrite();
+
+        recorder.close();
+        assertThat(out.closed).isZero();
+
+        release.countDown();
+        assertThat(out.closedLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(readAll(out.toByteArray())).extracting(TrafficLogFormat.TrafficRecord::path)
+                .containsExactly("/product/1/similar");
+        assertThat(recorder.recordedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should read a log cut short mid-record up to its last complete record")
+    void shouldEndAtPartialLastRecord() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TrafficLogFormat.Writer writer = TrafficLogFormat.writer(out, 0L, 0L)) {
+            writer.write(1_000, "/product/1/similar");
+            writer.write(2_000, "/product/2/similar");
+        }
+        byte[] bytes = out.toByteArray();
+
+        assertThat(readAll(Arrays.copyOf(bytes, bytes.length - 3))).extracting(TrafficLogFormat.TrafficRecord::path)
+                .containsExactly("/product/1/similar");
+    }
+
+    @Test
+    @DisplayName("Should clamp out-of-order arrivals to the previous record")
+    void shouldClampOutOfOrderArrivals() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TrafficLogFormat.Writer writer = TrafficLogFormat.writer(out, 0L, 0L);
+
+        writer.write(5_000_000, "/product/1/similar");
+        writer.write(4_000_000, "/product/2/similar");
+        writer.close();
+
+        List<TrafficLogFormat.TrafficRecord> records = readAll(out.toByteArray());
+
+        assertThat(records).extracting(TrafficLogFormat.TrafficRecord::offsetMicros)
+                .containsExactly(5_000L, 5_000L);
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not traffic capture logs")
+    void shouldRejectForeignFiles() {
+        assertThatThrownBy(() -> TrafficLogFormat.reader(new ByteArrayInputStream(new byte[16])))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a traffic capture log");
+    }
+
+    /**
+     * A stream over an interruptible file channel whose first write takes a while without reacting to interrupts, so that the
+     * recorder is closed while the writer thread is in the middle of it.
+     */
+    private static final class SlowFirstWriteStream extends FilterOutputStream {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+
+        SlowFirstWriteStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (writing.getCount() > 0) {
+                writing.countDown();
+                long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+            out.write(b, off, len);
+        }
+
+        void awaitFirstWrite() {
+            try {
+                assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    /**
+     * An in-memory log whose writes wait for {@code release}, and which counts how often it is closed.
+     */
+    private static final class BlockingStream extends ByteArrayOutputStream {
+
+        private final CountDownLatch release;
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch closedLatch = new CountDownLatch(1);
+        private volatile int closed;
+
+        BlockingStream(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closed++;
+            closedLatch.countDown();
+        }
+
+        void awaitWrite() throws InterruptedException {
+            assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    private static List<TrafficLogFormat.TrafficRecord> readAll(byte[] bytes) throws IOException {
+        List<TrafficLogFormat.TrafficRecord> records = new ArrayList<>();
+        try (TrafficLogFormat.Reader reader = TrafficLogFormat.reader(new ByteArrayInputStream(bytes))) {
+            TrafficLogFormat.TrafficRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,142 @@
+package com.company.similarproducts.infrastructure.adapter.rest.codec;
+
+import com.company.similarproducts.infrastructure.adapter.rest.dto.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProductResponseEncoder Tests")
+class ProductResponseEncoderTest {
+
+    /** Matches the Jackson output the response had before this encoder, kept in {@code json/similar-products.json}. */
+    private static final List<ProductResponse> GOLDEN = List.of(
+            new ProductResponse("1", "Shirt", new BigDecimal("19.99"), true),
+            new ProductResponse("2", "Dress", new BigDecimal("19.90"), false),
+            new ProductResponse("3", "Blazer", new BigDecimal("100"), true),
+            new ProductResponse("4", "Boots \"Chelsea\" \\ 42", new BigDecimal("0.05"), true),
+            new ProductResponse("5", "L\u00EDnea\tnueva\n", new BigDecimal("-3.5"), false),
+            new ProductResponse("6", "Emoji \uD83D\uDE00", new BigDecimal("1E+3"), true),
+            new ProductResponse("7", null, null, false),
+            new ProductResponse("8", "Tiny", new BigDecimal("0.0000001"), true),
+            new ProductResponse("9", "Wide", new BigDecimal("12345678901234567890.12"), true),
+            new ProductResponse("10", "Zero", new BigDecimal("0.00"), false),
+            new ProductResponse("11", "Control \u0001", new BigDecimal("0.000001"), true));
+
+    private static final ResolvableType RESPONSE_TYPE = ResolvableType.forClassWithGenerics(List.class, ProductResponse.class);
+
+    private final ProductResponseEncoder encoder = new ProductResponseEncoder();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    @DisplayName("Golden file should still be what Jackson writes")
+    void goldenFileShouldMatchJackson() throws IOException {
+        assertThat(objectMapper.writeValueAsBytes(GOLDEN)).isEqualTo(golden());
+    }
+
+    @Test
+    @DisplayName("Should encode byte for byte as the golden file")
+    void shouldEncodeAsGoldenFile() throws IOException {
+        assertThat(encode(GOLDEN, DefaultDataBufferFactory.sharedInstance)).isEqualTo(golden());
+    }
+
+    @Test
+    @DisplayName("Should write into a pooled Netty buffer")
+    void shouldWriteIntoPooledNettyBuffer() throws IOException {
+        NettyDataBufferFactory factory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+        DataBuffer buffer = encoder.encode(GOLDEN, factory);
+
+        assertThat(buffer).isInstanceOf(NettyDataBuffer.class);
+        assertThat(((NettyDataBuffer) buffer).getNativeBuffer().alloc()).isSameAs(PooledByteBufAllocator.DEFAULT);
+        assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo(new String(golden(), StandardCharsets.UTF_8));
+        assertThat(DataBufferUtils.release(buffer)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should encode an empty list as an empty array")
+    void shouldEncodeEmptyList() throws IOException {
+        assertThat(encode(List.of(), DefaultDataBufferFactory.sharedInstance))
+                .isEqualTo(objectMapper.writeValueAsBytes(List.of()));
+    }
+
+    @Test
+    @DisplayName("Should match Jackson for random prices and strings")
+    void shouldMatchJacksonForRandomValues() throws IOException {
+        Random random = new Random(42);
+        String[] names = {"Shirt", "a\"b", "c\\d", "\r\b\f\u001F", "\u00F1\u65E5\u672C", "\uD83D\uDC57", "", "x\u007Fy"};
+        for (int i = 0; i < 2_000; i++) {
+            List<ProductResponse> products = new ArrayList<>();
+            for (int j = random.nextInt(5); j > 0; j--) {
+                products.add(new ProductResponse(String.valueOf(random.nextInt(100_000)),
+                        names[random.nextInt(names.length)] + random.nextInt(),
+                        randomPrice(random), random.nextBoolean()));
+            }
+            assertThat(encode(products, DefaultDataBufferFactory.sharedInstance))
+                    .as("products %s", products)
+                    .isEqualTo(objectMapper.writeValueAsBytes(products));
+        }
+    }
+
+    @Test
+    @DisplayName("Should only claim List<ProductResponse> as UTF-8 JSON")
+    void shouldOnlyClaimProductResponseListsAsJson() {
+        assertThat(encoder.canEncode(RESPONSE_TYPE, null)).isTrue();
+        assertThat(encoder.canEncode(RESPONSE_TYPE, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(encoder.canEncode(RESPONSE_TYPE, MediaType.ALL)).isTrue();
+        assertThat(encoder.canEncode(RESPONSE_TYPE, new MimeType("application", "json", StandardCharsets.UTF_8)))
+                .isTrue();
+
+        assertThat(encoder.canEncode(RESPONSE_TYPE, new MimeType("application", "json", StandardCharsets.UTF_16)))
+                .isFalse();
+        assertThat(encoder.canEncode(RESPONSE_TYPE, MediaType.APPLICATION_XML)).isFalse();
+        assertThat(encoder.canEncode(ResolvableType.forClassWithGenerics(List.class, String.class), null)).isFalse();
+        assertThat(encoder.canEncode(ResolvableType.forClass(ProductResponse.class), null)).isFalse();
+    }
+
+    private static BigDecimal randomPrice(Random random) {
+        return switch (random.nextInt(5)) {
+            case 0 -> null;
+            case 1 -> BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(30) - 10);
+            case 2 -> new BigDecimal(new BigInteger(80, random), random.nextInt(40) - 20).negate();
+            case 3 -> BigDecimal.valueOf(random.nextInt(100_000), random.nextInt(4));
+            default -> BigDecimal.valueOf(random.nextInt(20) - 10, random.nextInt(12));
+        };
+    }
+
+    private byte[] encode(List<ProductResponse> products, DataBufferFactory factory) {
+        DataBuffer buffer = encoder.encode(products, factory);
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    private static byte[] golden() throws IOException {
+        try (InputStream in = ProductResponseEncoderTest.class.getResourceAsStream("/json/similar-products.json")) {
+            assertThat(in).as("golden file").isNotNull();
+            return in.readAllBytes();
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package com.company.similarproducts.infrastructure.adapter.rest.exception;
 import com.company.similarproducts.domain.exception.ProductNotFoundException;
 import com.company.similarproducts.domain.model.ProductId;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import static org.assertj.core.api.Assertions.*;
 @DisplayName("GlobalExceptionHandler Tests")
 class GlobalExceptionHandlerTest {
@@ -19,10 +32,23 @@ class GlobalExceptionHandlerTest {
     void shouldHandleProductNotFoundWith404() {
         ProductId productId = new ProductId("999");
         ProductNotFoundException exception = new ProductNotFoundException(productId);
-        ProblemDetail result = exceptionHandler.handleProductNotFound(exception);
-        assertThat(result.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
-        assertThat(result.getTitle()).isEqualTo("Product Not Found");
-        assertThat(result.getDetail()).contains("999");
+        ResponseEntity<byte[]> result = exceptionHandler.handleProductNotFound(exception, exchange("/product/999/similar"));
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(new String(result.getBody(), StandardCharsets.UTF_8)).isEqualTo(
+                "{\"type\":\"about:blank\",\"title\":\"Product Not Found\",\"status\":404,"
+                        + "\"detail\":\"Product not found: 999\",\"instance\":\"/product/999/similar\"}");
+    }
+    @Test
+    @DisplayName("Should escape product ids in the pre-encoded not-found body")
+    void shouldEscapeProductIdInNotFoundBody() throws Exception {
+        ProductId productId = new ProductId("a\"b\\c\u0001\u00F1");
+        ResponseEntity<byte[]> result = exceptionHandler.handleProductNotFound(
+                new ProductNotFoundException(productId), exchange("/product/abc/similar"));
+        JsonNode body = new ObjectMapper().readTree(result.getBody());
+        assertThat(body.get("detail").asText()).isEqualTo("Product not found: " + productId.value());
+        assertThat(body.get("instance").asText()).isEqualTo("/product/abc/similar");
+        assertThat(result.getHeaders().getContentLength()).isEqualTo(result.getBody().length);
     }
     @Test
     @DisplayName("Should handle IllegalArgumentException with 400")
@@ -37,8 +63,42 @@ class GlobalExceptionHandlerTest {
     @DisplayName("Should handle generic Exception with 500")
     void shouldHandleGenericExceptionWith500() {
         Exception exception = new RuntimeException("Unexpected error");
-        ProblemDetail result = exceptionHandler.handleGenericException(exception);
-        assertThat(result.getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
-        assertThat(result.getTitle()).isEqualTo("Internal Server Error");
+        ResponseEntity<byte[]> result = exceptionHandler.handleGenericException(exception, exchange("/product/1/similar"));
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(new String(result.getBody(), StandardCharsets.UTF_8))
+                .contains("\"title\":\"Internal Server Error\"", "\"status\":500");
+    }
+    @Test
+    @DisplayName("Should write the same members as ProblemDetail in pre-encoded bodies")
+    void shouldMatchProblemDetailMembersInPreEncodedBodies() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ProblemDetail expected = ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        expected.setInstance(URI.create("/product/1/similar"));
+        ResponseEntity<byte[]> result = exceptionHandler.handleGenericException(new RuntimeException(), exchange("/product/1/similar"));
+        assertThat(objectMapper.readTree(result.getBody())).isEqualTo(objectMapper.valueToTree(expected));
+    }
+    @Test
+    @DisplayName("Should rate limit each kind of warning on its own and report drops only when there were some")
+    void shouldRateLimitWarningsPerKind() {
+        Logger logger = (Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            for (int i = 0; i < 50; i++) {
+                exceptionHandler.handleProductNotFound(new ProductNotFoundException(new ProductId("999")),
+                        exchange("/product/999/similar"));
+            }
+            exceptionHandler.handleIllegalArgument(new IllegalArgumentException("Invalid input"));
+        } finally {
+            logger.detachAppender(appender);
+        }
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .hasSize(11)
+                .contains("Product not found: 999", "Invalid argument: Invalid input")
+                .noneMatch(message -> message.contains("dropped"));
+    }
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
     }
 }
@@ -0,0 +1,30 @@
+package com.company.similarproducts.infrastructure.adapter.rest.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LogRateLimiter Tests")
+class LogRateLimiterTest {
+
+    @Test
+    @DisplayName("Should let a fixed number of statements through per second and report the dropped ones")
+    void shouldLimitPerSecond() {
+        AtomicLong clock = new AtomicLong();
+        LogRateLimiter limiter = new LogRateLimiter(2, clock::get);
+
+        assertThat(limiter.tryAcquire()).isZero();
+        assertThat(limiter.tryAcquire()).isZero();
+        assertThat(limiter.tryAcquire()).isEqualTo(LogRateLimiter.DROP);
+        assertThat(limiter.tryAcquire()).isEqualTo(LogRateLimiter.DROP);
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertThat(limiter.tryAcquire()).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isZero();
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CacheLimit Tests")
+class CacheLimitTest {
+
+    private static final long HEAP = 1L << 30;
+
+    @Test
+    @DisplayName("Should resolve absolute sizes regardless of the heap")
+    void shouldResolveAbsoluteSizes() {
+        assertThat(CacheLimit.valueOf("64MB").toBytes(HEAP)).isEqualTo(64L << 20);
+        assertThat(CacheLimit.valueOf("4096").toBytes(HEAP)).isEqualTo(4096);
+    }
+
+    @Test
+    @DisplayName("Should resolve percentages against the max heap")
+    void shouldResolvePercentages() {
+        assertThat(CacheLimit.valueOf("10%").toBytes(HEAP)).isEqualTo(HEAP / 10);
+        assertThat(CacheLimit.valueOf(" 2.5 % ").toBytes(HEAP)).isEqualTo((long) (HEAP * 0.025));
+    }
+
+    @Test
+    @DisplayName("Should reject percentages outside (0, 100]")
+    void shouldRejectBadPercentages() {
+        assertThatThrownBy(() -> CacheLimit.valueOf("0%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CacheLimit.valueOf("150%")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
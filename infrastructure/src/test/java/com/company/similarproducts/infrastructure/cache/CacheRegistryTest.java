@@ -0,0 +1,63 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.cache.CacheRegistry.CacheDefinition;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CacheRegistry Tests")
+class CacheRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheRegistry registry = new CacheRegistry(meterRegistry, "test", 0,
+            new CacheDefinition("similarIds", 64 * 1024, Duration.ofMinutes(10)));
+
+    @Test
+    @DisplayName("Should bound caches by estimated bytes, so large entries displace more small ones")
+    void shouldBoundByWeight() {
+        Cache<String, List<String>> cache = registry.newBuilder("similarIds", CacheWeights::similarIds)
+                .executor(Runnable::run)
+                .build();
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(Integer.toString(i), List.of("1", "2", "3"));
+        }
+        cache.cleanUp();
+        long smallEntries = cache.estimatedSize();
+        cache.put("big", Collections.nCopies(2_000, "12345"));
+        cache.cleanUp();
+
+        assertThat(smallEntries).isBetween(100L, 999L);
+        assertThat(cache.policy().eviction().orElseThrow().weightedSize().orElseThrow()).isLessThanOrEqualTo(64 * 1024);
+    }
+
+    @Test
+    @DisplayName("Should publish estimated and maximum weight in bytes")
+    void shouldPublishWeightGauges() {
+        Cache<String, List<String>> cache = registry.newBuilder("similarIds", CacheWeights::similarIds)
+                .executor(Runnable::run)
+                .build();
+        registry.monitor(cache, "similarIds");
+
+        cache.put("1", List.of("2", "3"));
+        cache.cleanUp();
+
+        assertThat(meterRegistry.get("cache.weight.estimated").tag("cache", "similarIds").gauge().value())
+                .isEqualTo(CacheWeights.similarIds("1", List.of("2", "3")));
+        assertThat(meterRegistry.get("cache.weight.max").tag("cache.manager", "test").gauge().value())
+                .isEqualTo(64 * 1024);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown cache names")
+    void shouldRejectUnknownNames() {
+        assertThatThrownBy(() -> registry.definition("nope")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,125 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CacheSnapshotFile Tests")
+class CacheSnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should round-trip products and similar ids with their write times")
+    void shouldRoundTrip() throws IOException {
+        Path file = dir.resolve("snapshot.bin");
+        ProductApiDto product = new ProductApiDto("1", "Shirt", new BigDecimal("19.99"), true);
+        SnapshotableProductCache source = fixedCache(sink -> {
+            sink.product("1", product, 1_000L);
+            sink.similarIds("1", List.of("2", "3"), 2_000L);
+        });
+
+        assertThat(CacheSnapshotFile.write(file, source)).isEqualTo(2);
+
+        RecordingSink restored = new RecordingSink();
+        assertThat(CacheSnapshotFile.read(file, restored)).isEqualTo(2);
+        assertThat(restored.entries).containsExactly(
+                "product 1 " + product + " @1000",
+                "similarIds 1 [2, 3] @2000");
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should round-trip keys, names and similar ids longer than 64KB of UTF-8")
+    void shouldRoundTripLongStrings() throws IOException {
+        Path file = dir.resolve("snapshot.bin");
+        String longId = "ñ".repeat(40_000);
+        ProductApiDto product = new ProductApiDto(longId, "ñ".repeat(40_000), BigDecimal.ONE, true);
+        CacheSnapshotFile.write(file, fixedCache(sink -> {
+            sink.product(longId, product, 1L);
+            sink.similarIds(longId, List.of(longId), 1L);
+        }));
+
+        RecordingSink restored = new RecordingSink();
+        assertThat(CacheSnapshotFile.read(file, restored)).isEqualTo(2);
+        assertThat(restored.entries).containsExactly(
+                "product " + longId + " " + product + " @1",
+                "similarIds " + longId + " [" + longId + "] @1");
+    }
+
+    @Test
+    @DisplayName("Should read a missing snapshot as empty")
+    void shouldReadMissingFileAsEmpty() throws IOException {
+        assertThat(CacheSnapshotFile.read(dir.resolve("absent.bin"), new RecordingSink())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should deliver the entries before a truncation and then fail")
+    void shouldFailOnTruncatedFile() throws IOException {
+        Path file = dir.resolve("snapshot.bin");
+        CacheSnapshotFile.write(file, fixedCache(sink -> {
+            sink.similarIds("1", List.of("2"), 1L);
+            sink.similarIds("2", List.of("3"), 1L);
+        }));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        RecordingSink restored = new RecordingSink();
+        assertThatThrownBy(() -> CacheSnapshotFile.read(file, restored)).isInstanceOf(EOFException.class);
+        assertThat(restored.entries).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not snapshots")
+    void shouldRejectForeignFiles() throws IOException {
+        Path file = dir.resolve("other.bin");
+        Files.writeString(file, "definitely not a snapshot");
+
+        assertThatThrownBy(() -> CacheSnapshotFile.read(file, new RecordingSink())).isInstanceOf(IOException.class);
+    }
+
+    private static SnapshotableProductCache fixedCache(Consumer<CacheEntrySink> entries) {
+        return new SnapshotableProductCache() {
+            @Override
+            public void exportEntries(CacheEntrySink sink) {
+                entries.accept(sink);
+            }
+
+            @Override
+            public CacheEntrySink importer() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static final class RecordingSink implements CacheEntrySink {
+
+        private final List<String> entries = new ArrayList<>();
+
+        @Override
+        public void product(String productId, ProductApiDto product, long writeMillis) {
+            entries.add("product " + productId + " " + product + " @" + writeMillis);
+        }
+
+        @Override
+        public void similarIds(String productId, List<String> similarIds, long writeMillis) {
+            entries.add("similarIds " + productId + " " + similarIds + " @" + writeMillis);
+        }
+    }
+}
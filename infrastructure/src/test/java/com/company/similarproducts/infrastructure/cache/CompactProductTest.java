@@ -0,0 +1,59 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CompactProduct Tests")
+class CompactProductTest {
+
+    @Test
+    @DisplayName("Should keep canonical numeric ids as a long and round-trip every field")
+    void shouldRoundTripNumericId() {
+        ProductApiDto dto = new ProductApiDto("42", "Blue Shirt", new BigDecimal("19.90"), true);
+
+        CompactProduct compact = CompactProduct.from(dto);
+
+        assertThat(compact.numericId()).isEqualTo(42);
+        assertThat(compact.toDto()).isEqualTo(dto);
+        assertThat(compact.price().toPlainString()).isEqualTo("19.90");
+    }
+
+    @Test
+    @DisplayName("Should keep non-canonical ids as text")
+    void shouldKeepNonCanonicalIdsAsText() {
+        for (String id : new String[]{"042", "+42", "A-7", "", "1234567890123456789", "producto-ñ"}) {
+            CompactProduct compact = CompactProduct.of(id, "x", BigDecimal.ONE, false);
+
+            assertThat(compact.numericId()).as(id).isEqualTo(-1);
+            assertThat(compact.id()).isEqualTo(id);
+        }
+        assertThat(CompactProduct.of("0", null, null, false).numericId()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should preserve missing fields and prices that do not fit in a long")
+    void shouldPreserveNullsAndWidePrices() {
+        BigDecimal wide = new BigDecimal("123456789012345678901234567890.5");
+        BigDecimal tiny = new BigDecimal("1E-200");
+
+        CompactProduct empty = CompactProduct.of(null, null, null, false);
+        assertThat(empty.toDto()).isEqualTo(new ProductApiDto(null, null, null, false));
+        assertThat(CompactProduct.of("1", "n", wide, true).price()).isEqualTo(wide);
+        assertThat(CompactProduct.of("1", "n", tiny, true).price()).isEqualTo(tiny);
+        assertThat(CompactProduct.of("1", "n", new BigDecimal("-5.00"), true).price()).isEqualTo(new BigDecimal("-5.00"));
+    }
+
+    @Test
+    @DisplayName("Should keep multi-byte names intact")
+    void shouldKeepUtf8Names() {
+        CompactProduct compact = CompactProduct.of("7", "Camiseta ñandú 🙂", BigDecimal.TEN, true);
+
+        assertThat(compact.name()).isEqualTo("Camiseta ñandú 🙂");
+        assertThat(compact).isEqualTo(CompactProduct.of("7", "Camiseta ñandú 🙂", BigDecimal.TEN, true));
+    }
+}
@@ -0,0 +1,56 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("EarlyRefresh Tests")
+class EarlyRefreshTest {
+
+    private static final long LOAD = Duration.ofMillis(20).toNanos();
+
+    @Test
+    @DisplayName("Should never refresh far from expiry and almost always right before it")
+    void shouldRefreshMoreOftenNearExpiry() {
+        EarlyRefresh early = new EarlyRefresh(1.0, LOAD);
+
+        assertThat(refreshes(early, Duration.ofSeconds(10).toNanos())).isZero();
+        assertThat(refreshes(early, LOAD / 100)).isGreaterThan(9_000);
+    }
+
+    @Test
+    @DisplayName("Should refresh with probability exp(-remaining / (beta * delta))")
+    void shouldFollowXFetchDistribution() {
+        EarlyRefresh early = new EarlyRefresh(2.0, LOAD);
+
+        double expected = Math.exp(-1.0 / 2.0) * 10_000;
+
+        assertThat((double) refreshes(early, LOAD)).isCloseTo(expected, within(expected * 0.1));
+    }
+
+    @Test
+    @DisplayName("Should move its load estimate toward observed load times")
+    void shouldAverageLoadTimes() {
+        EarlyRefresh early = new EarlyRefresh(1.0, LOAD);
+
+        for (int i = 0; i < 100; i++) {
+            early.recordLoad(LOAD * 3);
+        }
+
+        assertThat(early.deltaNanos()).isCloseTo(LOAD * 3, within(LOAD / 10));
+        assertThatThrownBy(() -> new EarlyRefresh(0, LOAD)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int refreshes(EarlyRefresh early, long remainingNanos) {
+        int refreshes = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (early.shouldRefresh(remainingNanos)) {
+                refreshes++;
+            }
+        }
+        return refreshes;
+    }
+}
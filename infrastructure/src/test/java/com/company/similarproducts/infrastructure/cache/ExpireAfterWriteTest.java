@@ -0,0 +1,50 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ExpireAfterWrite Tests")
+class ExpireAfterWriteTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Test
+    @DisplayName("Should give every write exactly the TTL without jitter")
+    void shouldUseFixedTtl() {
+        ExpireAfterWrite<String, String> expiry = new ExpireAfterWrite<>(TTL);
+
+        assertThat(expiry.expireAfterCreate("1", "a", 0)).isEqualTo(TTL.toNanos());
+        assertThat(expiry.expireAfterUpdate("1", "a", 0, 5)).isEqualTo(TTL.toNanos());
+        assertThat(expiry.expireAfterRead("1", "a", 0, 5)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should spread lifetimes over [ttl - jitter, ttl]")
+    void shouldSpreadLifetimes() {
+        Duration jitter = Duration.ofMinutes(1);
+        ExpireAfterWrite<String, String> expiry = new ExpireAfterWrite<>(TTL, jitter);
+        Set<Long> secondsLeft = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            long nanos = expiry.expireAfterCreate("1", "a", 0);
+            assertThat(nanos).isBetween(TTL.minus(jitter).toNanos(), TTL.toNanos());
+            secondsLeft.add(Duration.ofNanos(nanos).toSeconds());
+        }
+
+        assertThat(secondsLeft).hasSizeGreaterThan(50);
+    }
+
+    @Test
+    @DisplayName("Should reject a jitter that is negative or not below the TTL")
+    void shouldRejectBadJitter() {
+        assertThatThrownBy(() -> new ExpireAfterWrite<>(TTL, Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExpireAfterWrite<>(TTL, TTL)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HotKeyTracker Tests")
+class HotKeyTrackerTest {
+
+    @Test
+    @DisplayName("Should report the heavy hitters of a skewed stream, most requested first")
+    void shouldFindHeavyHitters() {
+        HotKeyTracker tracker = new HotKeyTracker(3, 1 << 12, 1, Duration.ofHours(1));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 20_000; i++) {
+            tracker.record("hot-1");
+            if (i % 2 == 0) {
+                tracker.record("hot-2");
+            }
+            if (i % 4 == 0) {
+                tracker.record("hot-3");
+            }
+            tracker.record("cold-" + random.nextInt(1_000_000));
+        }
+
+        assertThat(tracker.topKeys()).extracting(HotKeyTracker.HotKey::key)
+                .containsExactly("hot-1", "hot-2", "hot-3");
+        assertThat(tracker.isHot("hot-1")).isTrue();
+        assertThat(tracker.isHot("cold-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let new hot keys displace ones that stopped being requested")
+    void shouldAgeOutFormerHotKeys() {
+        HotKeyTracker tracker = new HotKeyTracker(1, 1 << 8, 1, Duration.ofHours(1));
+
+        for (int i = 0; i < 10_000; i++) {
+            tracker.record("old");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            tracker.record("new");
+        }
+
+        assertThat(tracker.topKeys()).extracting(HotKeyTracker.HotKey::key).containsExactly("new");
+        assertThat(tracker.estimate("old")).isLessThan(tracker.estimate("new"));
+    }
+
+    @Test
+    @DisplayName("Should not report keys requested fewer than the minimum number of times")
+    void shouldIgnoreKeysBelowMinimum() {
+        HotKeyTracker tracker = new HotKeyTracker(4, 1 << 8, 3, Duration.ofHours(1));
+
+        tracker.record("once");
+        tracker.record("thrice");
+        tracker.record("thrice");
+        tracker.record("thrice");
+
+        assertThat(tracker.topKeys()).extracting(HotKeyTracker.HotKey::key).containsExactly("thrice");
+        assertThat(tracker.isHot("once")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should age counts by time so hot keys fade on a quiet instance")
+    void shouldAgeByTime() {
+        AtomicLong clock = new AtomicLong();
+        HotKeyTracker tracker = new HotKeyTracker(4, 1 << 8, 4, Duration.ofSeconds(60), clock::get);
+
+        for (int i = 0; i < 16; i++) {
+            tracker.record("hot");
+        }
+        assertThat(tracker.topKeys()).extracting(HotKeyTracker.HotKey::key).containsExactly("hot");
+
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        assertThat(tracker.estimate("hot")).isEqualTo(16);
+        assertThat(tracker.topKeys()).extracting(HotKeyTracker.HotKey::hits).containsExactly(8L);
+
+        clock.addAndGet(Duration.ofSeconds(120).toNanos());
+        assertThat(tracker.topKeys()).isEmpty();
+        assertThat(tracker.isHot("hot")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive top-K")
+    void shouldRejectBadSize() {
+        assertThatThrownBy(() -> new HotKeyTracker(0, 1024, 1, Duration.ofHours(1))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LongKeyedCache Tests")
+class LongKeyedCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    @DisplayName("Should return stored values and count only hits")
+    void shouldStoreAndLoad() {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(16, now::get);
+
+        cache.put(42, "shirt", Duration.ofMinutes(10));
+
+        assertThat(cache.get(42)).isEqualTo("shirt");
+        assertThat(cache.get(43)).isNull();
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should treat entries past their deadline as absent")
+    void shouldExpire() {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(16, now::get);
+        cache.put(1, "a", Duration.ofNanos(100));
+
+        now.addAndGet(99);
+        assertThat(cache.get(1)).isEqualTo("a");
+        now.addAndGet(1);
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should let a colliding key displace the previous one without returning it")
+    void shouldDisplaceOnCollision() {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(1, now::get);
+
+        cache.put(1, "a", Duration.ofMinutes(1));
+        cache.put(2, "b", Duration.ofMinutes(1));
+
+        assertThat(cache.capacity()).isEqualTo(1);
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(2)).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two and invalidate only the matching key")
+    void shouldInvalidate() {
+        LongKeyedCache<String> cache = new LongKeyedCache<>(1000, now::get);
+        cache.put(7, "a", Duration.ofMinutes(1));
+
+        cache.invalidate(8);
+        assertThat(cache.get(7)).isEqualTo("a");
+        cache.invalidate(7);
+
+        assertThat(cache.get(7)).isNull();
+        assertThat(cache.capacity()).isEqualTo(1024);
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("NotFoundFilter Tests")
+class NotFoundFilterTest {
+
+    @Test
+    @DisplayName("Should report every recorded id and few others")
+    void shouldKeepFalsePositivesNearTheConfiguredRate() {
+        NotFoundFilter filter = new NotFoundFilter(10_000, 0.01, Duration.ofHours(1), 0);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("missing-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.check("missing-" + i)).isEqualTo(NotFoundFilter.Verdict.NOT_FOUND);
+            if (filter.contains("present-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(200);
+        assertThat(filter.sizeInBytes()).isLessThan(64 * 1024);
+    }
+
+    @Test
+    @DisplayName("Should forget ids two rotations after recording them")
+    void shouldForgetAfterTwoRotations() {
+        AtomicLong clock = new AtomicLong();
+        NotFoundFilter filter = new NotFoundFilter(1_000, 0.01, Duration.ofMinutes(10), 0, clock::get);
+        filter.put("404");
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertThat(filter.contains("404")).isTrue();
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertThat(filter.contains("404")).isFalse();
+        assertThat(filter.rotationCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should send sampled hits to verification and exempt ids confirmed to exist")
+    void shouldVerifyAndExemptFalsePositives() {
+        NotFoundFilter filter = new NotFoundFilter(1_000, 0.01, Duration.ofHours(1), 1.0);
+        filter.put("1");
+
+        assertThat(filter.check("1")).isEqualTo(NotFoundFilter.Verdict.VERIFY);
+        filter.confirmExists("1");
+
+        assertThat(filter.check("1")).isEqualTo(NotFoundFilter.Verdict.UNKNOWN);
+        assertThat(filter.verificationCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,115 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OffHeapProductStore Tests")
+class OffHeapProductStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    @DisplayName("Should return stored products and count hits and misses")
+    void shouldStoreAndLoad() {
+        OffHeapProductStore store = new OffHeapProductStore(64 * 1024, 4, Duration.ofMinutes(10), now::get);
+        ProductApiDto product = product("1", "Shirt", "19.99");
+
+        store.put("1", product);
+
+        assertThat(store.get("1")).isEqualTo(product);
+        assertThat(store.get("2")).isNull();
+        assertThat(store.hitCount()).isEqualTo(1);
+        assertThat(store.missCount()).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replace the value on update")
+    void shouldReplaceOnUpdate() {
+        OffHeapProductStore store = new OffHeapProductStore(64 * 1024, 1, Duration.ofMinutes(10), now::get);
+
+        store.put("1", product("1", "Old", "1.00"));
+        store.put("1", product("1", "New", "2.00"));
+
+        assertThat(store.get("1").getName()).isEqualTo("New");
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should treat entries older than the TTL as absent, relative to their write time")
+    void shouldExpireByWriteTime() {
+        OffHeapProductStore store = new OffHeapProductStore(64 * 1024, 1, Duration.ofMinutes(10), now::get);
+        store.put("1", product("1", "Shirt", "19.99"));
+        store.put("2", product("2", "Shoes", "49.99"), now.get() - Duration.ofMinutes(9).toMillis());
+
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+
+        assertThat(store.get("1")).isNotNull();
+        assertThat(store.get("2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict oldest entries once the byte capacity is reached")
+    void shouldEvictOldestWhenFull() {
+        OffHeapProductStore store = new OffHeapProductStore(4 * 1024, 1, Duration.ofMinutes(10), now::get);
+        for (int i = 0; i < 500; i++) {
+            store.put(String.valueOf(i), product(String.valueOf(i), "Product " + i, "10.00"));
+        }
+
+        assertThat(store.get("0")).isNull();
+        assertThat(store.get("499")).isNotNull();
+        assertThat(store.usedBytes()).isLessThanOrEqualTo(store.capacityBytes());
+        assertThat(store.evictionCount()).isEqualTo(500 - store.size());
+    }
+
+    @Test
+    @DisplayName("Should keep the index consistent with the ring across wrap-arounds and updates")
+    void shouldMatchReferenceModel() {
+        OffHeapSegment segment = new OffHeapSegment(2 * 1024);
+        Map<String, String> latest = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            String key = "k" + random.nextInt(300);
+            String value = key + ":" + i + "x".repeat(random.nextInt(40));
+            segment.put(key.hashCode(), bytes(key), bytes(value), 0);
+            latest.put(key, value);
+
+            String probe = "k" + random.nextInt(300);
+            byte[] found = segment.get(probe.hashCode(), bytes(probe), 0);
+            if (found != null) {
+                assertThat(new String(found, StandardCharsets.UTF_8)).isEqualTo(latest.get(probe));
+            }
+            assertThat(segment.get(key.hashCode(), bytes(key), 0)).isEqualTo(bytes(value));
+        }
+        assertThat(segment.usedBytes()).isLessThanOrEqualTo(segment.capacity());
+    }
+
+    @Test
+    @DisplayName("Should reject records larger than a segment")
+    void shouldRejectOversizedRecords() {
+        OffHeapSegment segment = new OffHeapSegment(64);
+
+        assertThat(segment.put(1, bytes("k"), new byte[100], 0)).isFalse();
+        assertThat(segment.size()).isZero();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ProductApiDto product(String id, String name, String price) {
+        return new ProductApiDto(id, name, new BigDecimal(price), true);
+    }
+}
@@ -0,0 +1,42 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProductBinaryCodec Tests")
+class ProductBinaryCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip products, keeping the price scale")
+    void shouldRoundTrip() {
+        ProductApiDto product = new ProductApiDto("1", "Camiseta ñ", new BigDecimal("19.90"), true);
+
+        ProductApiDto decoded = ProductBinaryCodec.decode(ProductBinaryCodec.encode(product));
+
+        assertThat(decoded).isEqualTo(product);
+        assertThat(decoded.getPrice().scale()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should round-trip null fields and prices beyond a long")
+    void shouldRoundTripEdgeCases() {
+        ProductApiDto empty = new ProductApiDto(null, null, null, false);
+        ProductApiDto huge = new ProductApiDto("2", "Yacht", new BigDecimal("123456789012345678901234567890.5"), false);
+
+        assertThat(ProductBinaryCodec.decode(ProductBinaryCodec.encode(empty))).isEqualTo(empty);
+        assertThat(ProductBinaryCodec.decode(ProductBinaryCodec.encode(huge))).isEqualTo(huge);
+    }
+
+    @Test
+    @DisplayName("Should round-trip names longer than 64KB of UTF-8")
+    void shouldRoundTripLongNames() {
+        ProductApiDto product = new ProductApiDto("3", "ñ".repeat(40_000), BigDecimal.ONE, true);
+
+        assertThat(ProductBinaryCodec.decode(ProductBinaryCodec.encode(product))).isEqualTo(product);
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.similarproducts.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProductIdCodec Tests")
+class ProductIdCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip canonical decimal ids")
+    void shouldRoundTripCanonicalIds() {
+        for (String id : new String[]{"0", "1", "42", "999999999999999999"}) {
+            assertThat(ProductIdCodec.decode(ProductIdCodec.encode(id))).isEqualTo(id);
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse ids that would not round-trip")
+    void shouldRejectNonCanonicalIds() {
+        for (String id : new String[]{null, "", "042", "+42", "-1", "4 2", "A-7", "1234567890123456789"}) {
+            assertThat(ProductIdCodec.encode(id)).as(String.valueOf(id)).isEqualTo(ProductIdCodec.NOT_NUMERIC);
+        }
+        assertThatThrownBy(() -> ProductIdCodec.decode(ProductIdCodec.NOT_NUMERIC))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
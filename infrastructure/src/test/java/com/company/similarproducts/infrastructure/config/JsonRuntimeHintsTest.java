@@ -0,0 +1,46 @@
+package com.company.similarproducts.infrastructure.config;
+
+import com.company.similarproducts.infrastructure.adapter.http.dto.ProductApiDto;
+import com.company.similarproducts.infrastructure.adapter.rest.dto.ProductResponse;
+import com.company.similarproducts.infrastructure.adapter.rest.dto.VersionResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JsonRuntimeHints Tests")
+class JsonRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    @DisplayName("Should register Jackson binding hints for the JSON DTOs")
+    void shouldRegisterDtoBindingHints() throws NoSuchMethodException {
+        new JsonRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ProductApiDto.class.getMethod("setPrice", BigDecimal.class)))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ProductApiDto.class.getMethod("getName")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ProductResponse.class.getMethod("price")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(VersionResponse.class.getMethod("gitCommit")))
+                .accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should register the Lombok builders")
+    void shouldRegisterBuilders() {
+        new JsonRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(ProductApiDto.ProductApiDtoBuilder.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ProductResponse.ProductResponseBuilder.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+    }
+}
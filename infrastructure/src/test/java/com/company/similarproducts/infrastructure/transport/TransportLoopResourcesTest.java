@@ -0,0 +1,91 @@
+package com.company.similarproducts.infrastructure.transport;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TransportLoopResources Tests")
+class TransportLoopResourcesTest {
+
+    @Test
+    @DisplayName("Should run the client colocated on the server workers when loops are shared")
+    void shouldColocateClientOnServerWorkers() throws Exception {
+        TransportLoopResources resources = new TransportLoopResources(NettyTransport.NIO, 1, 2, true, 4);
+        try {
+            EventLoopGroup server = resources.onServer(true);
+            EventLoopGroup client = resources.onClient(true);
+
+            Thread[] threads = new Thread[2];
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            server.next().execute(() -> {
+                threads[0] = Thread.currentThread();
+                client.next().execute(() -> {
+                    threads[1] = Thread.currentThread();
+                    done.complete(null);
+                });
+            });
+            done.get(5, TimeUnit.SECONDS);
+
+            assertThat(threads[1]).isSameAs(threads[0]);
+            assertThat(threads[0].getName()).startsWith("http-nio-worker");
+        } finally {
+            resources.disposeLater(Duration.ZERO, Duration.ofSeconds(5)).block();
+        }
+    }
+
+    @Test
+    @DisplayName("Should give the client its own group when loops are not shared")
+    void shouldUseSeparateClientGroup() throws Exception {
+        TransportLoopResources resources = new TransportLoopResources(NettyTransport.NIO, 1, 2, false, 3);
+        try {
+            assertThat(resources.onClient(true)).isNotSameAs(resources.onServer(true));
+            assertThat(resources.onClient(true)).hasSize(3);
+            assertThat(resources.onServer(true)).hasSize(2);
+            assertThat(resources.onServerSelect(true)).hasSize(1);
+        } finally {
+            resources.disposeLater(Duration.ZERO, Duration.ofSeconds(5)).block();
+        }
+
+        assertThat(resources.isDisposed()).isTrue();
+        assertThat(resources.onClient(true).isTerminated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should create channels of the selected transport")
+    void shouldCreateTransportChannels() {
+        TransportLoopResources resources = new TransportLoopResources(NettyTransport.NIO, 1, 1, true, 1);
+        try {
+            EventLoopGroup group = resources.onServer(true);
+
+            assertThat(resources.onChannel(SocketChannel.class, group)).isInstanceOf(NioSocketChannel.class);
+            assertThat(resources.onChannel(ServerSocketChannel.class, group)).isInstanceOf(NioServerSocketChannel.class);
+            assertThat(resources.onChannelClass(DatagramChannel.class, group)).isEqualTo(NioDatagramChannel.class);
+        } finally {
+            resources.disposeLater(Duration.ZERO, Duration.ofSeconds(5)).block();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back when a native transport is not available")
+    void shouldFallBackWhenTransportUnavailable() {
+        NettyTransport resolved = NettyTransport.resolve(NettyTransport.Preference.IO_URING);
+
+        assertThat(resolved.isAvailable()).isTrue();
+        if (!NettyTransport.IO_URING.isAvailable()) {
+            assertThat(resolved).isNotEqualTo(NettyTransport.IO_URING);
+        }
+        assertThat(NettyTransport.resolve(NettyTransport.Preference.NIO)).isEqualTo(NettyTransport.NIO);
+    }
+}
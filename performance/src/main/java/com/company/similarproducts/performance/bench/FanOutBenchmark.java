@@ -0,0 +1,111 @@
+package com.company.similarproducts.performance.bench;
+
+import com.company.similarproducts.application.service.OrderedFanOut;
+import com.company.similarproducts.domain.port.FanOutMetricsPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Compares the product fan-out stages: {@code flatMap}, which is unordered, {@code flatMapSequential}
+ * and {@link OrderedFanOut}, all at the service's concurrency of 8.
+ * <p>
+ * Two measurements: the operator cost with loads that complete at once, single-threaded through
+ * {@link MicroBenchmark}; then the wall time of fan-outs whose loads take a few milliseconds
+ * with an occasional slow one, where head-of-line blocking shows.
+ * <pre>
+ * mvn -pl performance exec:java@fan-out-benchmark -Dexec.args="--ids=20 --iterations=200000 --latency-runs=50"
+ * </pre>
+ */
+public final class FanOutBenchmark {
+
+    private static final int CONCURRENCY = 8;
+    private static final int WINDOW = 32;
+
+    private FanOutBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int ids = 20;
+        int iterations = 200_000;
+        int latencyRuns = 50;
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            switch (pair[0]) {
+                case "--ids" -> ids = Integer.parseInt(pair[1]);
+                case "--iterations" -> iterations = Integer.parseInt(pair[1]);
+                case "--latency-runs" -> latencyRuns = Integer.parseInt(pair[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + pair[0]);
+            }
+        }
+
+        List<Stage> stages = List.of(
+                new Stage("flatMap (unordered)", (source, load) -> source.flatMap(load, CONCURRENCY)),
+                new Stage("flatMapSequential", (source, load) -> source.flatMapSequential(load, CONCURRENCY)),
+                new Stage("OrderedFanOut", (source, load) ->
+                        OrderedFanOut.fanOut(source, load, CONCURRENCY, WINDOW, FanOutMetricsPort.NONE)));
+
+        System.out.printf("Fanning out %d ids, %d iterations per round%n", ids, iterations);
+        Flux<Integer> source = Flux.range(0, ids);
+        MicroBenchmark benchmark = new MicroBenchmark(iterations / 2, iterations, 5);
+        for (Stage stage : stages) {
+            benchmark.run(stage.name(), () -> stage.apply(source, Mono::just).count().block());
+        }
+        benchmark.print(System.out);
+
+        long[] delays = delaysMillis(ids, latencyRuns);
+        System.out.printf("%nWall time over %d fan-outs of %d ids, loads of 1-5 ms and one in ten of 40 ms%n",
+                latencyRuns, ids);
+        System.out.printf("%-40s %12s %12s%n", "stage", "mean ms", "max ms");
+        for (Stage stage : stages) {
+            measureLatency(stage, ids, delays, latencyRuns);
+        }
+    }
+
+    private static void measureLatency(Stage stage, int ids, long[] delays, int runs) {
+        double total = 0;
+        double max = 0;
+        for (int run = 0; run < runs; run++) {
+            int offset = run * ids;
+            long start = System.nanoTime();
+            stage.apply(Flux.range(0, ids), i -> Mono.just(i).delayElement(Duration.ofMillis(delays[offset + i])))
+                    .count()
+                    .block();
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            total += millis;
+            max = Math.max(max, millis);
+        }
+        System.out.printf("%-40s %12.2f %12.2f%n", stage.name(), total / runs, max);
+    }
+
+    /**
+     * The same load times for every stage, so they are compared on identical runs.
+     */
+    private static long[] delaysMillis(int ids, int runs) {
+        Random random = new Random(11);
+        long[] delays = new long[ids * runs];
+        Arrays.setAll(delays, i -> random.nextInt(10) == 0 ? 40 : 1 + random.nextInt(5));
+        return delays;
+    }
+
+    private record Stage(String name, StageFunction function) {
+
+        Flux<Integer> apply(Flux<Integer> source, Function<Integer, Mono<Integer>> load) {
+            return function.apply(source, load);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StageFunction {
+
+        Flux<Integer> apply(Flux<Integer> source, Function<Integer, Mono<Integer>> load);
+    }
+}
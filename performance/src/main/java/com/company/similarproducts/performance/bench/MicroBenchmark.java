@@ -0,0 +1,79 @@
+package com.company.similarproducts.performance.bench;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal single-threaded micro-benchmark runner: warm-up, then several timed rounds of which the
+ * fastest is reported, with the bytes the thread allocated per operation. Each operation returns
+ * a value that is folded into a sink, so the JIT cannot drop the work.
+ * <p>
+ * This is no substitute for JMH; it is meant for comparing two implementations of the same
+ * operation under identical conditions, in one run.
+ */
+public final class MicroBenchmark {
+
+    /**
+     * @param nanosPerOp fastest round's mean time per operation
+     * @param bytesPerOp heap allocated per operation in that round
+     */
+    public record Result(String name, double nanosPerOp, double bytesPerOp) {
+    }
+
+    private static volatile long sink;
+
+    private final int warmUpIterations;
+    private final int iterations;
+    private final int rounds;
+    private final List<Result> results = new ArrayList<>();
+
+    public MicroBenchmark(int warmUpIterations, int iterations, int rounds) {
+        if (warmUpIterations < 0 || iterations < 1 || rounds < 1) {
+            throw new IllegalArgumentException("Invalid benchmark settings");
+        }
+        this.warmUpIterations = warmUpIterations;
+        this.iterations = iterations;
+        this.rounds = rounds;
+    }
+
+    public Result run(String name, LongSupplier operation) {
+        long folded = 0;
+        for (int i = 0; i < warmUpIterations; i++) {
+            folded += operation.getAsLong();
+        }
+        Result best = null;
+        for (int round = 0; round < rounds; round++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                folded += operation.getAsLong();
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = allocatedBytes() - allocatedBefore;
+            Result result = new Result(name, (double) elapsed / iterations, (double) allocated / iterations);
+            if (best == null || result.nanosPerOp() < best.nanosPerOp()) {
+                best = result;
+            }
+        }
+        sink += folded;
+        results.add(best);
+        return best;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-40s %12s %12s%n", "benchmark", "ns/op", "B/op");
+        for (Result result : results) {
+            out.printf("%-40s %12.1f %12.1f%n", result.name(), result.nanosPerOp(), result.bytesPerOp());
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+}
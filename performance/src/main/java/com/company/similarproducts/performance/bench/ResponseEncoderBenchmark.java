@@ -0,0 +1,83 @@
+package com.company.similarproducts.performance.bench;
+
+import com.company.similarproducts.infrastructure.adapter.rest.codec.ProductResponseEncoder;
+import com.company.similarproducts.infrastructure.adapter.rest.dto.ProductResponse;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Encodes the same similar-products responses with the Jackson encoder WebFlux uses by default
+ * and with {@link ProductResponseEncoder}, both into pooled Netty buffers as on the server.
+ * <pre>
+ * mvn -pl performance exec:java@encoder-benchmark -Dexec.args="--products=5 --iterations=1000000"
+ * </pre>
+ */
+public final class ResponseEncoderBenchmark {
+
+    private static final ResolvableType RESPONSE_TYPE =
+            ResolvableType.forClassWithGenerics(List.class, ProductResponse.class);
+
+    private ResponseEncoderBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int products = 5;
+        int iterations = 1_000_000;
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            switch (pair[0]) {
+                case "--products" -> products = Integer.parseInt(pair[1]);
+                case "--iterations" -> iterations = Integer.parseInt(pair[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + pair[0]);
+            }
+        }
+
+        List<ProductResponse> response = response(products);
+        NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+        Jackson2JsonEncoder jackson = new Jackson2JsonEncoder(Jackson2ObjectMapperBuilder.json().build());
+        ProductResponseEncoder direct = new ProductResponseEncoder();
+
+        System.out.printf("Encoding %d products per response, %d iterations per round%n", products, iterations);
+        MicroBenchmark benchmark = new MicroBenchmark(iterations / 2, iterations, 5);
+        benchmark.run("Jackson2JsonEncoder", () -> written(() -> jackson.encodeValue(
+                response, bufferFactory, RESPONSE_TYPE, MediaType.APPLICATION_JSON, null)));
+        benchmark.run("ProductResponseEncoder", () -> written(() -> direct.encode(response, bufferFactory)));
+        benchmark.print(System.out);
+    }
+
+    private static long written(Supplier<DataBuffer> encode) {
+        DataBuffer buffer = encode.get();
+        int written = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return written;
+    }
+
+    /**
+     * Products shaped like the upstream mocks: numeric ids, short names, two-decimal prices.
+     */
+    private static List<ProductResponse> response(int size) {
+        Random random = new Random(7);
+        List<ProductResponse> response = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int id = 1 + random.nextInt(100_000);
+            response.add(new ProductResponse(String.valueOf(id), "Product " + id,
+                    BigDecimal.valueOf(100 + random.nextInt(99_900), 2), random.nextBoolean()));
+        }
+        return response;
+    }
+}
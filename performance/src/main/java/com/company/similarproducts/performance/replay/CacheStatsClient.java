@@ -0,0 +1,89 @@
+package com.company.similarproducts.performance.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Reads the ProductApiClient cache hit and miss counters from the actuator metrics endpoint.
+ * The numeric-id fast path and the pinned hot set sit in front of a cache and count hits only,
+ * so their hits are added to those of the cache behind them.
+ */
+class CacheStatsClient {
+
+    static final String[] CACHES = {"products", "similarIds"};
+
+    private static final Map<String, List<String>> FRONT_CACHES = Map.of(
+            "products", List.of("productsByNumericId", "productsHot"),
+            "similarIds", List.of("similarIdsByNumericId", "similarIdsHot"));
+
+    private final HttpClient httpClient;
+    private final URI target;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    CacheStatsClient(HttpClient httpClient, URI target) {
+        this.httpClient = httpClient;
+        this.target = target;
+    }
+
+    /**
+     * @return hits and misses of the given cache, or {@code null} when metrics are unavailable;
+     *         a front cache that is disabled has no meter and adds no hits
+     */
+    CacheCounts fetch(String cache) {
+        OptionalLong hits = count(cache, "hit");
+        OptionalLong misses = count(cache, "miss");
+        if (hits.isEmpty() || misses.isEmpty()) {
+            return null;
+        }
+        long frontHits = 0;
+        for (String front : FRONT_CACHES.getOrDefault(cache, List.of())) {
+            frontHits += count(front, "hit").orElse(0);
+        }
+        return new CacheCounts(hits.getAsLong() + frontHits, misses.getAsLong());
+    }
+
+    private OptionalLong count(String cache, String result) {
+        URI uri = target.resolve("/actuator/metrics/cache.gets?tag=cache.manager:productApiClient"
+                + "&tag=cache:" + cache + "&tag=result:" + result);
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return OptionalLong.empty();
+            }
+            for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+                if ("COUNT".equals(measurement.path("statistic").asText())) {
+                    return OptionalLong.of(measurement.path("value").asLong());
+                }
+            }
+            return OptionalLong.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OptionalLong.empty();
+        } catch (Exception e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    record CacheCounts(long hits, long misses) {
+
+        CacheCounts minus(CacheCounts before) {
+            return new CacheCounts(hits - before.hits, misses - before.misses);
+        }
+
+        double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
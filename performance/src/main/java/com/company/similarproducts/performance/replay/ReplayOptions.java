@@ -0,0 +1,53 @@
+package com.company.similarproducts.performance.replay;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Options for a traffic replay run.
+ *
+ * @param file        traffic capture log to replay
+ * @param target      base URL of the instance under test
+ * @param speed       time scale, 2.0 replays the capture twice as fast
+ * @param maxInFlight requests allowed in flight before new ones are skipped
+ * @param timeout     per-request timeout
+ */
+public record ReplayOptions(Path file, URI target, double speed, int maxInFlight, Duration timeout) {
+
+    public ReplayOptions {
+        if (file == null) {
+            throw new IllegalArgumentException("Replay file is required (--file=...)");
+        }
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Speed must be positive: " + speed);
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight must be positive: " + maxInFlight);
+        }
+    }
+
+    public static ReplayOptions parse(String[] args) {
+        Path file = null;
+        URI target = URI.create("http://localhost:5000");
+        double speed = 1.0;
+        int maxInFlight = 1_024;
+        Duration timeout = Duration.ofSeconds(10);
+
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            switch (pair[0]) {
+                case "--file" -> file = Path.of(pair[1]);
+                case "--target" -> target = URI.create(pair[1]);
+                case "--speed" -> speed = Double.parseDouble(pair[1]);
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(pair[1]);
+                case "--timeout-ms" -> timeout = Duration.ofMillis(Long.parseLong(pair[1]));
+                default -> throw new IllegalArgumentException("Unknown option: " + pair[0]);
+            }
+        }
+        return new ReplayOptions(file, target, speed, maxInFlight, timeout);
+    }
+}
@@ -0,0 +1,118 @@
+package com.company.similarproducts.performance.replay;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram, status counts and key skew of a replay run.
+ * Latency is measured from the scheduled send time, so queueing inside the
+ * tool under overload shows up in the histogram instead of being hidden.
+ */
+public class ReplayReport {
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> keys = new ConcurrentHashMap<>();
+    private final AtomicLong skipped = new AtomicLong();
+    private final Map<String, CacheStatsClient.CacheCounts> cacheCounts = new LinkedHashMap<>();
+    private volatile long elapsedNanos;
+
+    void recordResponse(String path, int status, long latencyNanos) {
+        latencyMicros.recordValue(Math.min(latencyMicros.getHighestTrackableValue(),
+                Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos))));
+        statuses.computeIfAbsent(String.valueOf(status), k -> new LongAdder()).increment();
+        keys.computeIfAbsent(path, k -> new LongAdder()).increment();
+    }
+
+    void recordFailure(String path, Throwable error) {
+        statuses.computeIfAbsent(error.getClass().getSimpleName(), k -> new LongAdder()).increment();
+        keys.computeIfAbsent(path, k -> new LongAdder()).increment();
+    }
+
+    void recordSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    void recordCacheCounts(String cache, CacheStatsClient.CacheCounts counts) {
+        cacheCounts.put(cache, counts);
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long completed() {
+        return statuses.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long skipped() {
+        return skipped.get();
+    }
+
+    public long count(String status) {
+        LongAdder adder = statuses.get(status);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public int distinctKeys() {
+        return keys.size();
+    }
+
+    public Histogram latencyMicros() {
+        return latencyMicros;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("Requests      : %d completed, %d skipped (in-flight limit) in %.1fs (%.1f req/s)%n",
+                completed(), skipped(), seconds, seconds > 0 ? completed() / seconds : 0.0);
+        out.printf("Statuses      : %s%n", new TreeMap<>(statuses));
+        out.printf("Latency (ms)  : p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(99.9),
+                latencyMicros.getMaxValue() / 1000.0);
+        printKeySkew(out);
+        if (cacheCounts.isEmpty()) {
+            out.println("Cache         : n/a (actuator metrics not reachable)");
+        }
+        cacheCounts.forEach((cache, counts) -> out.printf(
+                "Cache %-8s: hits=%d misses=%d hit ratio=%.1f%%%n",
+                cache, counts.hits(), counts.misses(), counts.hitRatio() * 100));
+    }
+
+    private void printKeySkew(PrintStream out) {
+        long total = keys.values().stream().mapToLong(LongAdder::sum).sum();
+        if (total == 0) {
+            return;
+        }
+        long[] sorted = keys.values().stream()
+                .mapToLong(LongAdder::sum)
+                .boxed()
+                .sorted(Comparator.reverseOrder())
+                .mapToLong(Long::longValue)
+                .toArray();
+        out.printf("Keys          : %d distinct, top 10 = %.1f%%, top 1%% = %.1f%% of traffic%n",
+                sorted.length, share(sorted, 10, total), share(sorted, Math.max(1, sorted.length / 100), total));
+    }
+
+    private static double share(long[] sortedCounts, int top, long total) {
+        long sum = 0;
+        for (int i = 0; i < Math.min(top, sortedCounts.length); i++) {
+            sum += sortedCounts[i];
+        }
+        return 100.0 * sum / total;
+    }
+
+    private double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.company.similarproducts.performance.replay;
+
+/**
+ * Command line entry point for replaying a traffic capture.
+ * <pre>
+ * mvn -pl performance exec:java -Dexec.args="--file=traffic-capture/traffic-20250101-120000.sptl \
+ *     --target=http://localhost:5000 --speed=4 --max-in-flight=2048 --timeout-ms=10000"
+ * </pre>
+ */
+public final class TrafficReplayTool {
+
+    private TrafficReplayTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ReplayOptions options = ReplayOptions.parse(args);
+        System.out.printf("Replaying %s against %s at %.1fx%n", options.file(), options.target(), options.speed());
+
+        ReplayReport report = new TrafficReplayer(options).replay();
+        report.print(System.out);
+    }
+}
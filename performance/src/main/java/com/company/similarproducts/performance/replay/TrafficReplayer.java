@@ -0,0 +1,102 @@
+package com.company.similarproducts.performance.replay;
+
+import com.company.similarproducts.infrastructure.adapter.rest.capture.TrafficLogFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays a traffic capture log against an instance, preserving the captured
+ * inter-arrival times scaled by {@link ReplayOptions#speed()} (open workload model).
+ */
+public class TrafficReplayer {
+
+    private final ReplayOptions options;
+    private final HttpClient httpClient;
+    private final CacheStatsClient cacheStats;
+
+    public TrafficReplayer(ReplayOptions options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .build();
+        this.cacheStats = new CacheStatsClient(httpClient, options.target());
+    }
+
+    public ReplayReport replay() throws IOException, InterruptedException {
+        ReplayReport report = new ReplayReport();
+        Map<String, CacheStatsClient.CacheCounts> before = fetchCacheCounts();
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+
+        long start = System.nanoTime();
+        try (InputStream in = Files.newInputStream(options.file());
+             TrafficLogFormat.Reader reader = TrafficLogFormat.reader(in)) {
+            TrafficLogFormat.TrafficRecord record;
+            while ((record = reader.next()) != null) {
+                long scheduled = start + (long) (TimeUnit.MICROSECONDS.toNanos(record.offsetMicros()) / options.speed());
+                waitUntil(scheduled);
+                if (!inFlight.tryAcquire()) {
+                    report.recordSkipped();
+                    continue;
+                }
+                send(record.path(), scheduled, report, inFlight);
+            }
+        }
+
+        inFlight.tryAcquire(options.maxInFlight(), options.timeout().toMillis() * 2, TimeUnit.MILLISECONDS);
+        report.finish(System.nanoTime() - start);
+
+        Map<String, CacheStatsClient.CacheCounts> after = fetchCacheCounts();
+        before.forEach((cache, counts) -> {
+            CacheStatsClient.CacheCounts end = after.get(cache);
+            if (end != null) {
+                report.recordCacheCounts(cache, end.minus(counts));
+            }
+        });
+        return report;
+    }
+
+    private void send(String path, long scheduled, ReplayReport report, Semaphore inFlight) {
+        HttpRequest request = HttpRequest.newBuilder(options.target().resolve(path))
+                .timeout(options.timeout())
+                .GET()
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    inFlight.release();
+                    if (error != null) {
+                        report.recordFailure(path, error);
+                    } else {
+                        report.recordResponse(path, response.statusCode(), System.nanoTime() - scheduled);
+                    }
+                });
+    }
+
+    private Map<String, CacheStatsClient.CacheCounts> fetchCacheCounts() {
+        Map<String, CacheStatsClient.CacheCounts> counts = new LinkedHashMap<>();
+        for (String cache : CacheStatsClient.CACHES) {
+            CacheStatsClient.CacheCounts cacheCounts = cacheStats.fetch(cache);
+            if (cacheCounts != null) {
+                counts.put(cache, cacheCounts);
+            }
+        }
+        return counts;
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.similarproducts.performance.replay;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CacheStatsClient Tests")
+class CacheStatsClientTest {
+
+    private static final Map<String, Long> COUNTS = Map.of(
+            "cache:products&tag=result:hit", 10L,
+            "cache:products&tag=result:miss", 5L,
+            "cache:productsByNumericId&tag=result:hit", 20L,
+            "cache:productsHot&tag=result:hit", 30L);
+
+    private HttpServer server;
+    private CacheStatsClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/actuator/metrics/cache.gets", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            Long count = COUNTS.entrySet().stream()
+                    .filter(entry -> query.endsWith(entry.getKey()))
+                    .map(Map.Entry::getValue)
+                    .findFirst().orElse(null);
+            byte[] body = (count == null ? "{}"
+                    : "{\"measurements\":[{\"statistic\":\"COUNT\",\"value\":" + count + "}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(count == null ? 404 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        client = new CacheStatsClient(HttpClient.newHttpClient(),
+                URI.create("http://localhost:" + server.getAddress().getPort()));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should add the hits of the fast path and the hot set to those of the cache behind them")
+    void shouldAddFrontCacheHits() {
+        assertThat(client.fetch("products")).isEqualTo(new CacheStatsClient.CacheCounts(60, 5));
+    }
+
+    @Test
+    @DisplayName("Should report no counts when the cache itself has no meters")
+    void shouldReportNothingWithoutMeters() {
+        assertThat(client.fetch("similarIds")).isNull();
+    }
+}
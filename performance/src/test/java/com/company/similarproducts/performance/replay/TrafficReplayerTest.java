@@ -0,0 +1,91 @@
+package com.company.similarproducts.performance.replay;
+
+import com.company.similarproducts.infrastructure.adapter.rest.capture.TrafficLogFormat;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TrafficReplayer Tests")
+class TrafficReplayerTest {
+
+    private HttpServer server;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/product/", exchange -> {
+            boolean notFound = exchange.getRequestURI().getPath().startsWith("/product/999/");
+            byte[] body = (notFound ? "{}" : "[]").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(notFound ? 404 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should replay every captured request and report statuses and key skew")
+    void shouldReplayCapturedTraffic() throws Exception {
+        Path capture = tempDir.resolve("traffic.sptl");
+        try (OutputStream out = Files.newOutputStream(capture);
+             TrafficLogFormat.Writer writer = TrafficLogFormat.writer(out, 0L, 0L)) {
+            for (int i = 0; i < 20; i++) {
+                writer.write(i * 10_000_000L, i % 4 == 0 ? "/product/999/similar" : "/product/1/similar");
+            }
+        }
+        URI target = URI.create("http://localhost:" + server.getAddress().getPort());
+
+        ReplayReport report = new TrafficReplayer(
+                new ReplayOptions(capture, target, 10.0, 64, Duration.ofSeconds(5))).replay();
+
+        assertThat(report.completed()).isEqualTo(20);
+        assertThat(report.skipped()).isZero();
+        assertThat(report.count("200")).isEqualTo(15);
+        assertThat(report.count("404")).isEqualTo(5);
+        assertThat(report.distinctKeys()).isEqualTo(2);
+        assertThat(report.latencyMicros().getTotalCount()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should parse command line options")
+    void shouldParseOptions() {
+        ReplayOptions options = ReplayOptions.parse(new String[]{
+                "--file=capture.sptl", "--target=http://localhost:5001", "--speed=4", "--max-in-flight=16"});
+
+        assertThat(options.file()).isEqualTo(Path.of("capture.sptl"));
+        assertThat(options.target()).isEqualTo(URI.create("http://localhost:5001"));
+        assertThat(options.speed()).isEqualTo(4.0);
+        assertThat(options.maxInFlight()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Should require a capture file")
+    void shouldRequireCaptureFile() {
+        assertThatThrownBy(() -> ReplayOptions.parse(new String[]{"--speed=2"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("--file");
+    }
+}
@@ -0,0 +1,76 @@
+# Side-by-side throughput benchmark of the upstream client modes:
+#   reactive        - WebClient on Reactor Netty (default)
+#   virtual-threads - blocking JDK HttpClient on virtual threads
+# Each mode runs the same open-model k6 test (shared/k6/throughput.js) against a fresh
+# JVM limited to the same number of CPUs, and reports requests per CPU-second.
+# Requires the mocks (docker-compose up -d simulado) and k6 on the PATH.
+
+param(
+    [Parameter()]
+    [int]$Cpus = 2,
+    [Parameter()]
+    [int]$PeakRate = 4000,
+    [Parameter()]
+    [string]$Jar = "bootstrap/target/bootstrap-1.0.1-SNAPSHOT.jar"
+)
+
+if (-not (Test-Path $Jar)) {
+    Write-Host "Jar not found: $Jar. Build it first with: mvn clean package -DskipTests" -ForegroundColor Red
+    exit 1
+}
+
+$results = @()
+
+foreach ($mode in @("reactive", "virtual-threads")) {
+    Write-Host ""
+    Write-Host "Benchmarking client mode '$mode' on $Cpus CPUs..." -ForegroundColor Magenta
+
+    $app = Start-Process java -PassThru -NoNewWindow -RedirectStandardOutput "benchmark-$mode.log" -ArgumentList @(
+        "-XX:ActiveProcessorCount=$Cpus", "-Xms512m", "-Xmx512m",
+        "-jar", $Jar, "--external-apis.product-service.client=$mode")
+
+    $ready = $false
+    for ($i = 0; $i -lt 60 -and -not $ready; $i++) {
+        Start-Sleep -Seconds 1
+        try {
+            Invoke-RestMethod -Uri "http://localhost:5000/actuator/health" -TimeoutSec 2 | Out-Null
+            $ready = $true
+        } catch { }
+    }
+    if (-not $ready) {
+        Write-Host "Application did not start, see benchmark-$mode.log" -ForegroundColor Red
+        Stop-Process -Id $app.Id -Force
+        exit 1
+    }
+
+    # Warm up JIT and caches so both modes are measured in steady state
+    for ($i = 0; $i -lt 200; $i++) {
+        try { Invoke-WebRequest -Uri "http://localhost:5000/product/1/similar" -TimeoutSec 5 | Out-Null } catch { }
+    }
+
+    $cpuBefore = (Get-Process -Id $app.Id).TotalProcessorTime.TotalSeconds
+    k6 run --quiet --summary-export "benchmark-$mode.json" `
+        -e TARGET=http://localhost:5000 -e PEAK_RATE=$PeakRate shared/k6/throughput.js
+    $cpuAfter = (Get-Process -Id $app.Id).TotalProcessorTime.TotalSeconds
+
+    $summary = Get-Content "benchmark-$mode.json" | ConvertFrom-Json
+    $requests = $summary.metrics.http_reqs.count
+    $cpuSeconds = [math]::Round($cpuAfter - $cpuBefore, 1)
+
+    $results += [pscustomobject]@{
+        Mode            = $mode
+        Requests        = $requests
+        ReqPerSec       = [math]::Round($summary.metrics.http_reqs.rate, 0)
+        P95Ms           = [math]::Round($summary.metrics.http_req_duration.'p(95)', 1)
+        P99Ms           = [math]::Round($summary.metrics.http_req_duration.'p(99)', 1)
+        CpuSeconds      = $cpuSeconds
+        ReqPerCpuSecond = if ($cpuSeconds -gt 0) { [math]::Round($requests / $cpuSeconds, 0) } else { 0 }
+    }
+
+    Stop-Process -Id $app.Id
+    Start-Sleep -Seconds 3
+}
+
+Write-Host ""
+Write-Host "Client mode comparison ($Cpus CPUs, peak $PeakRate req/s offered):" -ForegroundColor Green
+$results | Format-Table -AutoSize
@@ -0,0 +1,128 @@
+# Startup time and memory of the build modes:
+#   jvm     - the executable jar as is
+#   aot     - the executable jar with the Spring AOT bean definitions (-P aot)
+#   aot-cds - the AOT code path plus the AppCDS archive from the training run (-P aot,cds)
+#   native  - the GraalVM native image (-P native), only with -Native
+# Builds every mode, starts each one Runs times and reports the time to readiness, the startup
+# time logged by Spring Boot and the resident set size once ready and after a short warm-up.
+# The warm-up requests need the mocks (docker-compose up -d simulado); without them only the
+# readiness figures are meaningful.
+
+param(
+    [Parameter()]
+    [int]$Runs = 5,
+    [Parameter()]
+    [int]$Requests = 200,
+    [Parameter()]
+    [switch]$Native,
+    [Parameter()]
+    [switch]$SkipBuild
+)
+
+$work = "bootstrap/target/startup"
+$cdsDir = "bootstrap/target/cds"
+
+function Invoke-Build {
+    param([string[]]$MavenArgs)
+    & mvn -B -q package -DskipTests @MavenArgs
+    if ($LASTEXITCODE -ne 0) {
+        Write-Host "Build failed: mvn $MavenArgs" -ForegroundColor Red
+        exit 1
+    }
+}
+
+function Get-RssMegabytes {
+    param([int]$ProcessId)
+    return [math]::Round((Get-Process -Id $ProcessId).WorkingSet64 / 1MB, 0)
+}
+
+if (-not $SkipBuild) {
+    Write-Host "Building the plain executable jar..." -ForegroundColor Magenta
+    Invoke-Build @("clean")
+    Copy-Item "bootstrap/target/bootstrap-1.0.1-SNAPSHOT.jar" "bootstrap/target/jvm.jar"
+
+    Write-Host "Building the AOT jar and the CDS archive..." -ForegroundColor Magenta
+    Invoke-Build @("-P", "aot,cds")
+    Copy-Item "bootstrap/target/bootstrap-1.0.1-SNAPSHOT.jar" "bootstrap/target/aot.jar"
+
+    if ($Native) {
+        Write-Host "Building the native image..." -ForegroundColor Magenta
+        & mvn -B -q package -DskipTests -P native
+        if ($LASTEXITCODE -ne 0) {
+            Write-Host "Native build failed, is GraalVM the JAVA_HOME?" -ForegroundColor Red
+            exit 1
+        }
+    }
+}
+
+$modes = [ordered]@{
+    "jvm"     = @("java", @("-jar", "bootstrap/target/jvm.jar"))
+    "aot"     = @("java", @("-Dspring.aot.enabled=true", "-jar", "bootstrap/target/aot.jar"))
+    "aot-cds" = @("java", @("-XX:SharedArchiveFile=$cdsDir/similar-products-api.jsa", "-Dspring.aot.enabled=true",
+                            "-jar", "$cdsDir/similar-products-api.jar"))
+}
+if ($Native) {
+    $modes["native"] = @("bootstrap/target/similar-products-api", @())
+}
+
+New-Item -ItemType Directory -Force -Path $work | Out-Null
+$results = @()
+
+foreach ($mode in $modes.Keys) {
+    Write-Host ""
+    Write-Host "Measuring startup of '$mode' over $Runs runs..." -ForegroundColor Magenta
+    $command = $modes[$mode][0]
+    $arguments = $modes[$mode][1]
+
+    $readyMs = @()
+    $startedMs = @()
+    $rssReady = @()
+    $rssWarm = @()
+    for ($run = 1; $run -le $Runs; $run++) {
+        $log = "$work/$mode-$run.log"
+        $clock = [System.Diagnostics.Stopwatch]::StartNew()
+        $app = Start-Process $command -PassThru -NoNewWindow -RedirectStandardOutput $log -ArgumentList $arguments
+
+        $ready = $false
+        while (-not $ready -and $clock.Elapsed.TotalSeconds -lt 60) {
+            try {
+                Invoke-RestMethod -Uri "http://localhost:5000/actuator/health/readiness" -TimeoutSec 1 | Out-Null
+                $ready = $true
+            } catch {
+                Start-Sleep -Milliseconds 20
+            }
+        }
+        if (-not $ready) {
+            Write-Host "'$mode' did not become ready, see $log" -ForegroundColor Red
+            Stop-Process -Id $app.Id -Force
+            exit 1
+        }
+        $readyMs += $clock.ElapsedMilliseconds
+        $rssReady += Get-RssMegabytes -ProcessId $app.Id
+
+        $started = Select-String -Path $log -Pattern "Started \S+ in ([\d.]+) seconds" | Select-Object -First 1
+        if ($started) {
+            $startedMs += [double]$started.Matches[0].Groups[1].Value * 1000
+        }
+
+        for ($i = 0; $i -lt $Requests; $i++) {
+            try { Invoke-WebRequest -Uri "http://localhost:5000/product/$((($i % 5) + 1))/similar" -TimeoutSec 5 | Out-Null } catch { }
+        }
+        $rssWarm += Get-RssMegabytes -ProcessId $app.Id
+
+        Stop-Process -Id $app.Id
+        Start-Sleep -Seconds 2
+    }
+
+    $results += [pscustomobject]@{
+        Mode         = $mode
+        ReadyMs      = [math]::Round(($readyMs | Measure-Object -Average).Average, 0)
+        StartedMs    = if ($startedMs.Count -gt 0) { [math]::Round(($startedMs | Measure-Object -Average).Average, 0) } else { "n/a" }
+        RssReadyMb   = [math]::Round(($rssReady | Measure-Object -Average).Average, 0)
+        RssWarmMb    = [math]::Round(($rssWarm | Measure-Object -Average).Average, 0)
+    }
+}
+
+Write-Host ""
+Write-Host "Startup comparison (average of $Runs runs, RSS after $Requests requests):" -ForegroundColor Green
+$results | Format-Table -AutoSize
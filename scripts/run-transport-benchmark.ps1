@@ -0,0 +1,107 @@
+# Throughput benchmark of the Netty transport settings (netty-transport.* in application.yml).
+# Runs the open-model k6 test (shared/k6/throughput.js) against a fresh JVM per setup,
+# limited to the same number of CPUs, and reports requests per CPU-second. On Linux it
+# also reports context switches per request, summed over all JVM threads from /proc.
+# Requires the mocks (docker-compose up -d simulado) and k6 on the PATH. Build with
+# -P io-uring to include the io_uring setup.
+
+param(
+    [Parameter()]
+    [int]$Cpus = 2,
+    [Parameter()]
+    [int]$PeakRate = 4000,
+    [Parameter()]
+    [string]$Jar = "bootstrap/target/bootstrap-1.0.1-SNAPSHOT.jar"
+)
+
+$setups = [ordered]@{
+    "default"         = @("--netty-transport.enabled=false")
+    "nio-separate"    = @("--netty-transport.enabled=true", "--netty-transport.type=nio", "--netty-transport.share-loops=false")
+    "epoll-separate"  = @("--netty-transport.enabled=true", "--netty-transport.type=epoll", "--netty-transport.share-loops=false")
+    "epoll-shared"    = @("--netty-transport.enabled=true", "--netty-transport.type=epoll", "--netty-transport.share-loops=true")
+    "io-uring-shared" = @("--netty-transport.enabled=true", "--netty-transport.type=io-uring", "--netty-transport.share-loops=true")
+}
+
+function Get-ContextSwitches {
+    param([int]$ProcessId)
+    $total = 0
+    if (-not (Test-Path "/proc/$ProcessId/task")) {
+        return $null
+    }
+    foreach ($task in Get-ChildItem "/proc/$ProcessId/task" -ErrorAction SilentlyContinue) {
+        foreach ($line in Get-Content "$($task.FullName)/status" -ErrorAction SilentlyContinue) {
+            if ($line -match '^(non)?voluntary_ctxt_switches:\s+(\d+)') {
+                $total += [long]$Matches[2]
+            }
+        }
+    }
+    return $total
+}
+
+if (-not (Test-Path $Jar)) {
+    Write-Host "Jar not found: $Jar. Build it first with: mvn clean package -DskipTests" -ForegroundColor Red
+    exit 1
+}
+
+$results = @()
+
+foreach ($setup in $setups.Keys) {
+    Write-Host ""
+    Write-Host "Benchmarking transport setup '$setup' on $Cpus CPUs..." -ForegroundColor Magenta
+
+    $app = Start-Process java -PassThru -NoNewWindow -RedirectStandardOutput "benchmark-$setup.log" -ArgumentList (@(
+        "-XX:ActiveProcessorCount=$Cpus", "-Xms512m", "-Xmx512m", "-jar", $Jar) + $setups[$setup])
+
+    $ready = $false
+    for ($i = 0; $i -lt 60 -and -not $ready; $i++) {
+        Start-Sleep -Seconds 1
+        try {
+            Invoke-RestMethod -Uri "http://localhost:5000/actuator/health" -TimeoutSec 2 | Out-Null
+            $ready = $true
+        } catch { }
+    }
+    if (-not $ready) {
+        Write-Host "Application did not start, see benchmark-$setup.log" -ForegroundColor Red
+        Stop-Process -Id $app.Id -Force
+        exit 1
+    }
+    if (Select-String -Path "benchmark-$setup.log" -Pattern "falling back" -Quiet) {
+        Write-Host "Requested transport not available, skipping '$setup'" -ForegroundColor Yellow
+        Stop-Process -Id $app.Id
+        Start-Sleep -Seconds 3
+        continue
+    }
+
+    # Warm up JIT and caches so every setup is measured in steady state
+    for ($i = 0; $i -lt 200; $i++) {
+        try { Invoke-WebRequest -Uri "http://localhost:5000/product/1/similar" -TimeoutSec 5 | Out-Null } catch { }
+    }
+
+    $cpuBefore = (Get-Process -Id $app.Id).TotalProcessorTime.TotalSeconds
+    $switchesBefore = Get-ContextSwitches -ProcessId $app.Id
+    k6 run --quiet --summary-export "benchmark-$setup.json" `
+        -e TARGET=http://localhost:5000 -e PEAK_RATE=$PeakRate shared/k6/throughput.js
+    $cpuAfter = (Get-Process -Id $app.Id).TotalProcessorTime.TotalSeconds
+    $switchesAfter = Get-ContextSwitches -ProcessId $app.Id
+
+    $summary = Get-Content "benchmark-$setup.json" | ConvertFrom-Json
+    $requests = $summary.metrics.http_reqs.count
+    $cpuSeconds = [math]::Round($cpuAfter - $cpuBefore, 1)
+
+    $results += [pscustomobject]@{
+        Setup           = $setup
+        ReqPerSec       = [math]::Round($summary.metrics.http_reqs.rate, 0)
+        P95Ms           = [math]::Round($summary.metrics.http_req_duration.'p(95)', 1)
+        P99Ms           = [math]::Round($summary.metrics.http_req_duration.'p(99)', 1)
+        CpuSeconds      = $cpuSeconds
+        ReqPerCpuSecond = if ($cpuSeconds -gt 0) { [math]::Round($requests / $cpuSeconds, 0) } else { 0 }
+        CtxSwitchPerReq = if ($null -ne $switchesBefore -and $requests -gt 0) { [math]::Round(($switchesAfter - $switchesBefore) / $requests, 2) } else { "n/a" }
+    }
+
+    Stop-Process -Id $app.Id
+    Start-Sleep -Seconds 3
+}
+
+Write-Host ""
+Write-Host "Transport comparison ($Cpus CPUs, peak $PeakRate req/s offered):" -ForegroundColor Green
+$results | Format-Table -AutoSize
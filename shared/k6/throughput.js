@@ -0,0 +1,38 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// Open-model throughput test used to compare upstream client modes
+// (see scripts/run-client-mode-benchmark.ps1). The arrival rate keeps
+// climbing regardless of latency, so the run shows where each mode saturates.
+const host = __ENV.TARGET || "http://host.docker.internal:5000";
+const peakRate = parseInt(__ENV.PEAK_RATE || "4000");
+
+export let options = {
+  discardResponseBodies: true,
+  scenarios: {
+    ramp: {
+      executor: 'ramping-arrival-rate',
+      startRate: 100,
+      timeUnit: '1s',
+      preAllocatedVUs: 500,
+      maxVUs: 4000,
+      stages: [
+        { target: peakRate / 4, duration: '15s' },
+        { target: peakRate, duration: '30s' },
+        { target: peakRate, duration: '30s' },
+      ],
+      gracefulStop: '5s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+// Mostly the fast, healthy path plus some 404s so both the hit and the miss
+// branches of the upstream client are exercised.
+const ids = ["1", "1", "1", "2", "3", "4", "5"];
+
+export default function () {
+  const id = ids[Math.floor(Math.random() * ids.length)];
+  const res = http.get(host + "/product/" + id + "/similar");
+  check(res, { 'answered': (r) => r.status === 200 || r.status === 404 });
+}